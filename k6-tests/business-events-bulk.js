@@ -0,0 +1,69 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter } from 'k6/metrics';
+
+// 비즈니스 이벤트 일괄 수집 - 이벤트 BATCH개를 NDJSON(gzip) 요청 한 번으로 보냄
+// 단건 POST /api/business/order|signup|login 대신 부하 하네스/상위 서비스가 결과를 보고할 때 사용
+//
+//   k6 run -e BATCH=10000 business-events-bulk.js
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const BATCH = parseInt(__ENV.BATCH || '10000');
+
+const acceptedEvents = new Counter('ingested_events_accepted');
+const rejectedEvents = new Counter('ingested_events_rejected');
+const throttled = new Counter('ingest_throttled');
+
+export const options = {
+  vus: parseInt(__ENV.VUS || '4'),
+  duration: __ENV.DURATION || '1m',
+  thresholds: {
+    'http_req_failed{status:200}': ['rate<0.01'],
+  },
+};
+
+// 버전별 전환율 차이를 넣어 A/B 결과(/api/business/ab-test/order?scope=cluster)에서 확인할 수 있게 함
+const SUCCESS_RATES = {
+  order: { legacy: 0.90, refactored: 0.95 },
+  signup: { legacy: 0.85, refactored: 0.92 },
+  login: { legacy: 0.88, refactored: 0.88 },
+};
+const TYPES = Object.keys(SUCCESS_RATES);
+
+function buildBody() {
+  const lines = new Array(BATCH);
+  for (let i = 0; i < BATCH; i++) {
+    const type = TYPES[Math.floor(Math.random() * TYPES.length)];
+    const version = Math.random() < 0.5 ? 'legacy' : 'refactored';
+    const event = { type, version, success: Math.random() < SUCCESS_RATES[type][version] };
+    if (type === 'order') {
+      event.durationMs = 500 + Math.floor(Math.random() * 1000);
+    }
+    lines[i] = JSON.stringify(event);
+  }
+  return lines.join('\n') + '\n';
+}
+
+export default function () {
+  const res = http.post(`${BASE_URL}/api/business/events`, buildBody(), {
+    headers: { 'Content-Type': 'application/x-ndjson' },
+    compression: 'gzip',
+    responseCallback: http.expectedStatuses(200, 429),
+  });
+
+  // 동시 수집 한도를 넘으면 서버가 알려준 시간만큼 쉬고 다시 시도
+  if (res.status === 429) {
+    throttled.add(1);
+    sleep(parseInt(res.headers['Retry-After'] || '1'));
+    return;
+  }
+
+  const ok = check(res, {
+    'status is 200': (r) => r.status === 200,
+    'all lines accepted': (r) => r.json('rejected') === 0,
+  });
+  if (ok || res.status === 200) {
+    acceptedEvents.add(res.json('accepted'));
+    rejectedEvents.add(res.json('rejected'));
+  }
+}
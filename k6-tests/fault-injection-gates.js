@@ -0,0 +1,92 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+// 성능 장애 주입으로 SLO 게이트(p95/p99/가용성)가 실제 회귀를 잡는지 검증
+// 리팩토링 버전 인스턴스에만 장애를 걸고 NGINX로 부하를 준 뒤 SliSloEvaluator 결과를 확인
+//
+//   k6 run -e FAULT=lognormal fault-injection-gates.js
+//   FAULT: lognormal | bimodal | cpu | alloc | threads
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8000';
+// 장애 규칙은 인스턴스별 메모리에 있으므로 모든 인스턴스에 직접 등록 (version으로 대상 지정)
+const INSTANCES = (__ENV.INSTANCES || 'http://localhost:8080,http://localhost:8081,http://localhost:9080,http://localhost:9081').split(',');
+const TARGET_VERSION = __ENV.TARGET_VERSION || 'refactored';
+const FAULT = __ENV.FAULT || 'lognormal';
+
+// 실제로 겪었던 회귀 유형별 규칙
+const FAULTS = {
+  // 전체적으로 느려짐 - 중앙값 300ms, 긴 꼬리
+  lognormal: { mode: 'LATENCY', distribution: 'LOGNORMAL', latencyMs: 300, sigma: 0.8 },
+  // 평균은 멀쩡하고 2% 요청만 2초 - p99 게이트만 잡을 수 있음
+  bimodal: { mode: 'LATENCY', distribution: 'BIMODAL', latencyMs: 5, tailLatencyMs: 2000, tailPercentage: 2 },
+  // 요청마다 CPU 50ms - 동시 요청이 코어 수를 넘으면 대기열로 지연 증가
+  cpu: { mode: 'CPU_BURN', cpuMillis: 50 },
+  // 요청마다 8MB 할당 - GC 빈도 증가로 인한 꼬리 지연
+  alloc: { mode: 'ALLOCATION', allocationKb: 8192 },
+  // 요청 스레드 180개를 5초씩 점유 - 남은 스레드로만 처리하며 대기열 증가
+  threads: { mode: 'THREAD_EXHAUSTION', maxThreads: 180, holdMs: 5000 },
+};
+
+export const options = {
+  scenarios: {
+    load: {
+      executor: 'constant-arrival-rate',
+      rate: 50,
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '3m',
+      preAllocatedVUs: 50,
+      maxVUs: 400,
+    },
+  },
+};
+
+export function setup() {
+  if (!FAULTS[FAULT]) {
+    throw new Error(`Unknown FAULT ${FAULT} (use one of ${Object.keys(FAULTS).join(', ')})`);
+  }
+  const rule = Object.assign({ path: '/api/**', version: TARGET_VERSION }, FAULTS[FAULT]);
+
+  for (const instance of INSTANCES) {
+    const res = http.post(`${instance}/api/error-simulation/faults`, JSON.stringify(rule), {
+      headers: { 'Content-Type': 'application/json' },
+    });
+    console.log(`💉 ${instance}: ${res.status} ${res.body}`);
+  }
+  return { rule };
+}
+
+export default function () {
+  const endpoints = ['/api/test', '/api/hello', '/api/version', '/api/business/feature/checkout_optimization'];
+  const endpoint = endpoints[Math.floor(Math.random() * endpoints.length)];
+  const res = http.get(`${BASE_URL}${endpoint}`, {
+    headers: { 'User-Agent': 'K6-FaultInjection/1.0', 'X-Test-Scenario': `fault-${FAULT}` },
+    tags: { endpoint },
+  });
+  check(res, { 'status is not 5xx': (r) => r.status < 500 });
+  sleep(0.1);
+}
+
+export function teardown(data) {
+  // 평가 구간(2m)이 장애 구간 안에 들어오도록 부하 직후 평가
+  const res = http.get(`${INSTANCES[0]}/api/auto-deployment/sli-slo/2m`);
+  let caught = false;
+  if (res.status === 200) {
+    const sli = res.json();
+    const p95Violated = sli.responseTimeP95 != null && sli.responseTimeP95 > sli.responseTimeThreshold;
+    const p99Violated = sli.responseTimeP99 != null && sli.responseTimeP99 > sli.responseTimeP99Threshold;
+    const availabilityViolated = sli.availability != null && sli.availability < sli.availabilityThreshold;
+    caught = p95Violated || p99Violated || availabilityViolated;
+
+    console.log(`\n=== Fault ${FAULT}: ${JSON.stringify(data.rule)} ===`);
+    console.log(`p95 ${sli.responseTimeP95}s (threshold ${sli.responseTimeThreshold}s) ${p95Violated ? '❌ violated' : 'ok'}`);
+    console.log(`p99 ${sli.responseTimeP99}s (threshold ${sli.responseTimeP99Threshold}s) ${p99Violated ? '❌ violated' : 'ok'}`);
+    console.log(`availability ${sli.availability}% (threshold ${sli.availabilityThreshold}%) ${availabilityViolated ? '❌ violated' : 'ok'}`);
+  } else {
+    console.log(`SLI evaluation failed: ${res.status}`);
+  }
+  console.log(caught ? '✅ SLO gates caught the injected regression' : '🚨 Injected regression was NOT caught by the SLO gates');
+
+  for (const instance of INSTANCES) {
+    http.del(`${instance}/api/error-simulation/faults`);
+  }
+}
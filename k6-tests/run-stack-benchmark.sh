@@ -0,0 +1,122 @@
+#!/bin/bash
+
+# 서블릿 스택과 리액티브 스택(reactive 프로파일)의 처리량/p99/메모리 비교
+# 같은 JAR, 같은 JVM 옵션으로 스택마다 앱을 새로 띄우고 동시 사용자 수를 늘려가며 k6 실행
+#
+#   ./run-stack-benchmark.sh
+#   VUS_LIST="100 1000" DURATION=30s ./run-stack-benchmark.sh
+#
+# BASE_URL을 주면 앱을 띄우지 않고 이미 실행 중인 앱(다른 머신)을 측정 - 스택마다 한 번씩 실행하고 STACK으로 구분
+#   BASE_URL=http://10.0.0.5:8080 STACK=servlet ./run-stack-benchmark.sh
+#   BASE_URL=http://10.0.0.5:8080 STACK=reactive RESULTS=results-reactive.csv ./run-stack-benchmark.sh
+# (원격 측정에서는 RSS를 잴 수 없어 rss_mb가 비어 있음)
+#
+# 결과: stack-benchmark-results.csv (stack,vus,rps,p50_ms,p95_ms,p99_ms,error_rate,rss_mb,heap_mb,threads)
+
+set -e
+
+cd "$(dirname "$0")"
+
+JAR=${JAR:-$(ls ../build/libs/*-SNAPSHOT.jar 2>/dev/null | grep -v plain | head -1)}
+PORT=${PORT:-18080}
+REMOTE_BASE_URL=${BASE_URL:-}
+VUS_LIST=${VUS_LIST:-"100 250 500 1000 2500 5000"}
+DURATION=${DURATION:-60s}
+WARMUP=${WARMUP:-20s}
+JAVA_OPTS=${JAVA_OPTS:-"-Xms512m -Xmx512m"}
+RESULTS=${RESULTS:-stack-benchmark-results.csv}
+
+if ! command -v k6 &> /dev/null; then
+    echo "Error: k6가 설치되어 있지 않습니다."
+    exit 1
+fi
+if [ -z "$REMOTE_BASE_URL" ] && [ -z "$JAR" ]; then
+    echo "Error: JAR가 없습니다. 먼저 ./gradlew bootJar를 실행하세요."
+    exit 1
+fi
+
+# 5000 VU는 클라이언트/서버 모두 파일 디스크립터가 부족할 수 있음
+ulimit -n 65535 2>/dev/null || echo "Warning: ulimit -n을 올릴 수 없습니다 ($(ulimit -n))"
+
+# 백그라운드 기능은 끄고 요청 처리 경로만 비교
+APP_ARGS="--server.port=$PORT --auto-deployment.enabled=false --traffic-split.enabled=false \
+--outlier-detection.enabled=false --capacity.enabled=false --warmup.enabled=false \
+--slo-baseline.enabled=false --deployment-stream.enabled=false --concurrency-limit.enabled=false \
+--response-cache.enabled=false --logging.level.junghun.studycicd=WARN"
+
+metric() {
+    # Prometheus 노출 형식에서 이름이 일치하는 시계열 합계
+    curl -s "$BASE_URL/actuator/prometheus" \
+        | awk -v name="$1" -v filter="$2" 'index($0, name) == 1 && index($0, filter) > 0 { sum += $NF } END { printf "%.0f", sum }'
+}
+
+echo "stack,vus,rps,p50_ms,p95_ms,p99_ms,error_rate,rss_mb,heap_mb,threads" > "$RESULTS"
+
+if [ -n "$REMOTE_BASE_URL" ]; then
+    STACKS=${STACK:-remote}
+else
+    STACKS="servlet reactive"
+fi
+
+for STACK in $STACKS; do
+    APP_PID=""
+    if [ -n "$REMOTE_BASE_URL" ]; then
+        BASE_URL=$REMOTE_BASE_URL
+        echo "=== $STACK 스택 측정 ($BASE_URL) ==="
+        if ! curl -s -f "$BASE_URL/actuator/health" > /dev/null; then
+            echo "Error: $BASE_URL에 연결할 수 없습니다."
+            exit 1
+        fi
+    else
+        BASE_URL="http://localhost:$PORT"
+        PROFILE_ARG=""
+        if [ "$STACK" = "reactive" ]; then
+            PROFILE_ARG="--spring.profiles.active=reactive"
+        fi
+
+        echo "=== $STACK 스택 시작 ==="
+        java $JAVA_OPTS -jar "$JAR" $APP_ARGS $PROFILE_ARG > "stack-benchmark-$STACK.log" 2>&1 &
+        APP_PID=$!
+        trap 'kill $APP_PID 2>/dev/null' EXIT
+
+        for i in $(seq 1 60); do
+            curl -s -f "$BASE_URL/actuator/health" > /dev/null && break
+            sleep 1
+        done
+    fi
+
+    # JIT 워밍업 - 결과에 포함하지 않음
+    k6 run -q -e BASE_URL="$BASE_URL" -e VUS=100 -e DURATION="$WARMUP" -e STACK=warmup \
+        -e OUT=/dev/null stack-benchmark.js > /dev/null
+
+    for VUS in $VUS_LIST; do
+        OUT="stack-benchmark-$STACK-$VUS.json"
+        k6 run -q -e BASE_URL="$BASE_URL" -e VUS="$VUS" -e DURATION="$DURATION" \
+            -e STACK="$STACK" -e OUT="$OUT" stack-benchmark.js || true
+
+        # 부하 직후 메모리/스레드 - RSS는 OS 기준, 힙과 스레드 수는 JVM 기준
+        RSS_MB=""
+        if [ -n "$APP_PID" ]; then
+            RSS_MB=$(( $(ps -o rss= -p $APP_PID) / 1024 ))
+        fi
+        HEAP_MB=$(( $(metric jvm_memory_used_bytes 'area="heap"') / 1024 / 1024 ))
+        THREADS=$(metric jvm_threads_live_threads "")
+
+        python3 - "$OUT" "$RSS_MB" "$HEAP_MB" "$THREADS" >> "$RESULTS" <<'PY'
+import json, sys
+r = json.load(open(sys.argv[1]))
+print(f"{r['stack']},{r['vus']},{r['rps']:.1f},{r['p50']:.1f},{r['p95']:.1f},{r['p99']:.1f},"
+      f"{r['errorRate']:.4f},{sys.argv[2]},{sys.argv[3]},{sys.argv[4]}")
+PY
+        sleep 5
+    done
+
+    if [ -n "$APP_PID" ]; then
+        kill $APP_PID
+        wait $APP_PID 2>/dev/null || true
+        trap - EXIT
+    fi
+done
+
+echo ""
+column -s, -t < "$RESULTS"
@@ -0,0 +1,61 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// 서블릿(thread-per-request) vs 리액티브(WebFlux/Netty) 스택 비교용 부하
+// run-stack-benchmark.sh가 스택/동시 사용자 수별로 실행 - 단독 실행도 가능
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 -e STACK=servlet stack-benchmark.js
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '100');
+const DURATION = __ENV.DURATION || '60s';
+const STACK = __ENV.STACK || 'unknown';
+const OUT = __ENV.OUT || `stack-benchmark-${STACK}-${VUS}.json`;
+
+export let options = {
+  scenarios: {
+    // 닫힌 모델 - 각 VU가 응답을 받아야 다음 요청을 보내므로 처리량 상한이 그대로 드러남
+    closed_loop: {
+      executor: 'constant-vus',
+      vus: VUS,
+      duration: DURATION,
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  discardResponseBodies: true,
+};
+
+// /api/test(0~100ms 지연)가 대부분이고 지연 없는 엔드포인트를 섞음
+const ENDPOINTS = [
+  { path: '/api/test', weight: 70 },
+  { path: '/api/hello', weight: 15 },
+  { path: '/api/business/feature/checkout_optimization?userGroup=premium', weight: 15 },
+];
+
+function pickEndpoint() {
+  let r = Math.random() * 100;
+  for (const endpoint of ENDPOINTS) {
+    if ((r -= endpoint.weight) < 0) {
+      return endpoint.path;
+    }
+  }
+  return ENDPOINTS[0].path;
+}
+
+export default function () {
+  const response = http.get(`${BASE_URL}${pickEndpoint()}`, { timeout: '30s' });
+  check(response, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+  const duration = data.metrics.http_req_duration.values;
+  const result = {
+    stack: STACK,
+    vus: VUS,
+    rps: data.metrics.http_reqs.values.rate,
+    p50: duration['p(50)'],
+    p95: duration['p(95)'],
+    p99: duration['p(99)'],
+    errorRate: data.metrics.http_req_failed.values.rate,
+  };
+  console.log(`${STACK} @ ${VUS} VUs: ${result.rps.toFixed(0)} rps, p99 ${result.p99.toFixed(1)}ms, errors ${(result.errorRate * 100).toFixed(2)}%`);
+  return { [OUT]: JSON.stringify(result) };
+}
@@ -12,6 +12,18 @@ LEGACY_WEIGHT=${1:-${LEGACY_WEIGHT:-95}}
 REFACTORED_WEIGHT=${2:-${REFACTORED_WEIGHT:-5}}
 REFACTORED_PERCENTAGE=${3:-${REFACTORED_PERCENTAGE:-5}}
 
+# 서버별 server 지시어 (컨트롤러가 docker exec -e 로 전달하지 않은 경우 그룹 가중치로 생성)
+# NGINX는 weight=0을 허용하지 않으므로 0이면 down으로 표시
+server_params() {
+    if [ "$1" -gt 0 ]; then echo "weight=$1"; else echo "down"; fi
+}
+if [ -z "${UPSTREAM_SERVERS}" ]; then
+    UPSTREAM_SERVERS="server legacy-app-1:8080 $(server_params ${LEGACY_WEIGHT});
+    server legacy-app-2:8080 $(server_params ${LEGACY_WEIGHT});
+    server refactored-app-1:8080 $(server_params ${REFACTORED_WEIGHT});
+    server refactored-app-2:8080 $(server_params ${REFACTORED_WEIGHT});"
+fi
+
 # 변경될 가중치 정보 출력
 echo "Updating NGINX configuration with new weights:"
 echo "  Legacy: ${LEGACY_WEIGHT}%"
@@ -22,11 +34,17 @@ echo "  Refactored Percentage: ${REFACTORED_PERCENTAGE}%"
 export LEGACY_WEIGHT
 export REFACTORED_WEIGHT
 export REFACTORED_PERCENTAGE
+export UPSTREAM_SERVERS
+
+# 섀도 미러링 설정 (컨트롤러가 켰을 때만 전달, 기본은 꺼짐)
+export SHADOW_HTTP="${SHADOW_HTTP:-}"
+export SHADOW_MIRROR="${SHADOW_MIRROR:-}"
+export SHADOW_LOCATION="${SHADOW_LOCATION:-}"
 
 # envsubst: 템플릿 파일의 환경변수 placeholder를 실제 값으로 치환
-# '${LEGACY_WEIGHT},${REFACTORED_WEIGHT},${REFACTORED_PERCENTAGE}': 치환할 변수 목록 지정
+# '${LEGACY_WEIGHT},${REFACTORED_WEIGHT},${REFACTORED_PERCENTAGE},${UPSTREAM_SERVERS}': 치환할 변수 목록 지정
 # < 템플릿파일 > 실제설정파일: 입력을 템플릿에서 받아 출력을 실제 설정파일로 리다이렉트
-envsubst '${LEGACY_WEIGHT},${REFACTORED_WEIGHT},${REFACTORED_PERCENTAGE}' \
+envsubst '${LEGACY_WEIGHT},${REFACTORED_WEIGHT},${REFACTORED_PERCENTAGE},${UPSTREAM_SERVERS},${SHADOW_HTTP},${SHADOW_MIRROR},${SHADOW_LOCATION}' \
     < /etc/nginx/conf.d/default.conf.template \
     > /etc/nginx/conf.d/default.conf
 
@@ -0,0 +1,63 @@
+package junghun.studycicd.benchmark;
+
+import junghun.studycicd.featureflag.FeatureFlagService;
+import junghun.studycicd.featureflag.FeatureFlagTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기능 플래그 평가 비용 - 컴파일된 테이블 조회 한 번 (B/op가 0이어야 함)
+ *
+ *   ./gradlew jmh -PjmhIncludes=FeatureFlagBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FeatureFlagBenchmark {
+
+    private static final String[] FLAGS = {"checkout_optimization", "personalization", "new_dashboard", "unknown"};
+
+    private FeatureFlagTable table;
+    private String[] userIds;
+
+    @Setup
+    public void setUp() {
+        table = FeatureFlagTable.compile(FeatureFlagService.defaultFlags(), "refactored");
+        userIds = new String[1024];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = "user-" + i;
+            userIds[i].hashCode();
+        }
+    }
+
+    @Benchmark
+    public boolean groupRule() {
+        return table.isEnabled("checkout_optimization", "premium", "user-42");
+    }
+
+    @Benchmark
+    public boolean percentageRollout() {
+        return table.isEnabled("personalization", "default", "user-42");
+    }
+
+    /**
+     * 페이지 하나에 필요한 플래그 묶음을 사용자마다 평가
+     */
+    @Benchmark
+    public void pageFlags(Blackhole blackhole) {
+        for (int i = 0; i < userIds.length; i++) {
+            String userId = userIds[i];
+            for (String flag : FLAGS) {
+                blackhole.consume(table.isEnabled(flag, "default", userId));
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package junghun.studycicd.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import junghun.studycicd.dto.FeatureFlagResponse;
+import junghun.studycicd.dto.HelloResponse;
+import junghun.studycicd.dto.OrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핫 엔드포인트 응답 생성 + 직렬화 비용 비교 - 기존 HashMap 응답 vs 타입 레코드 응답
+ * ns/op는 기본 결과, 요청당 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op)
+ *
+ *   ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseSerializationBenchmark {
+
+    private static final String VERSION = "refactored";
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot 기본 ObjectMapper와 같은 날짜 설정
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] helloMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Hello from " + VERSION + " version!");
+        response.put("timestamp", LocalDateTime.now());
+        response.put("version", VERSION);
+        response.put("instance", "unknown");
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] helloRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(new HelloResponse(
+            "Hello from " + VERSION + " version!", LocalDateTime.now(), VERSION, "unknown"));
+    }
+
+    @Benchmark
+    public byte[] orderMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("orderId", UUID.randomUUID().toString());
+        response.put("version", VERSION);
+        response.put("timestamp", LocalDateTime.now());
+        response.put("success", true);
+        response.put("amount", 100.0);
+        response.put("processingTime", 750);
+        response.put("message", "Order processed successfully");
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] orderRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(
+            OrderResponse.completed(UUID.randomUUID().toString(), VERSION, 100.0, 750));
+    }
+
+    @Benchmark
+    public byte[] featureMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("feature", "checkout_optimization");
+        response.put("version", VERSION);
+        response.put("userGroup", "premium");
+        response.put("timestamp", LocalDateTime.now());
+        response.put("enabled", true);
+        response.put("config", Map.of(
+            "newUI", true,
+            "expressCheckout", true,
+            "recommendedItems", 3
+        ));
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] featureRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(new FeatureFlagResponse(
+            "checkout_optimization", VERSION, "premium", null, LocalDateTime.now(), true,
+            new FeatureFlagResponse.CheckoutConfig(true, true, 3)));
+    }
+}
@@ -0,0 +1,126 @@
+package junghun.studycicd.baseline;
+
+import java.util.Arrays;
+
+/**
+ * P² 알고리즘 분위수 추정 (Jain & Chlamtac) - 관측값을 저장하지 않고 마커 5개로 분위수를 추적
+ * 스레드 안전하지 않음 - 호출하는 쪽에서 동기화
+ */
+class P2Quantile {
+
+    static final int STATE_SIZE = 16;
+
+    private final double p;
+    private final double[] heights = new double[5];
+    private final double[] positions = new double[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private long count;
+
+    P2Quantile(double p) {
+        this.p = p;
+        this.increments = new double[] {0, p / 2, p, (1 + p) / 2, 1};
+    }
+
+    void add(double x) {
+        if (count < 5) {
+            heights[(int) count++] = x;
+            if (count == 5) {
+                Arrays.sort(heights);
+                for (int i = 0; i < 5; i++) {
+                    positions[i] = i;
+                }
+                desired[0] = 0;
+                desired[1] = 2 * p;
+                desired[2] = 4 * p;
+                desired[3] = 2 + 2 * p;
+                desired[4] = 4;
+            }
+            return;
+        }
+        count++;
+
+        int k;
+        if (x < heights[0]) {
+            heights[0] = x;
+            k = 0;
+        } else if (x >= heights[4]) {
+            heights[4] = Math.max(heights[4], x);
+            k = 3;
+        } else {
+            k = 0;
+            while (k < 3 && x >= heights[k + 1]) {
+                k++;
+            }
+        }
+
+        for (int i = k + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+
+        // 가운데 마커 3개를 원하는 위치로 한 칸씩 이동
+        for (int i = 1; i <= 3; i++) {
+            double d = desired[i] - positions[i];
+            if ((d >= 1 && positions[i + 1] - positions[i] > 1) || (d <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = d > 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                if (heights[i - 1] < candidate && candidate < heights[i + 1]) {
+                    heights[i] = candidate;
+                } else {
+                    heights[i] = heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+                }
+                positions[i] += step;
+            }
+        }
+    }
+
+    private double parabolic(int i, int step) {
+        return heights[i] + step / (positions[i + 1] - positions[i - 1])
+            * ((positions[i] - positions[i - 1] + step) * (heights[i + 1] - heights[i]) / (positions[i + 1] - positions[i])
+               + (positions[i + 1] - positions[i] - step) * (heights[i] - heights[i - 1]) / (positions[i] - positions[i - 1]));
+    }
+
+    /**
+     * 현재 추정치 - 관측값이 5개 미만이면 가진 값으로 직접 계산, 없으면 NaN
+     */
+    double estimate() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] sorted = Arrays.copyOf(heights, (int) count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.round(p * (count - 1)))];
+        }
+        return heights[2];
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * 저장용 상태 [count, heights x5, positions x5, desired x5]
+     */
+    double[] toState() {
+        double[] state = new double[STATE_SIZE];
+        state[0] = count;
+        System.arraycopy(heights, 0, state, 1, 5);
+        System.arraycopy(positions, 0, state, 6, 5);
+        System.arraycopy(desired, 0, state, 11, 5);
+        return state;
+    }
+
+    void restore(double[] state) {
+        if (state == null || state.length != STATE_SIZE) {
+            throw new IllegalArgumentException("Invalid P2 state");
+        }
+        count = (long) state[0];
+        System.arraycopy(state, 1, heights, 0, 5);
+        System.arraycopy(state, 6, positions, 0, 5);
+        System.arraycopy(state, 11, desired, 0, 5);
+    }
+}
@@ -0,0 +1,442 @@
+package junghun.studycicd.baseline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import junghun.studycicd.config.RolloutConfig;
+import junghun.studycicd.config.RolloutConfigSource;
+import junghun.studycicd.service.PrometheusQueryClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 요일/시간대별 SLO 기준선 학습
+ * 레거시 버전의 SLI를 주중 시간(168개 슬롯)별로 누적해 두고, 현재 시간대의 기대값을 기준으로 게이트를 계산
+ * - 지연/에러율: 피크 시간에 레거시도 고정 임계값에 근접하므로 기대값 위로 완화 (상한: 고정값 x max-relax-factor)
+ * - 처리량: 야간에는 트래픽 자체가 적으므로 최소 RPS를 기대값 아래로 낮춤
+ * 슬롯 관측이 min-samples 미만이면 해당 지표는 고정 임계값을 그대로 사용
+ */
+@Service
+public class SloBaselineLearner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SloBaselineLearner.class);
+    private static final String REQUEST_FILTER = "uri!~\"/actuator.*\"";
+    private static final String LEGACY_FILTER = REQUEST_FILTER + ",version=\"legacy\"";
+    private static final int SLOTS = 7 * 24;
+    // 2: 슬롯마다 현재/직전 P² 추정기를 함께 저장
+    private static final int STATE_VERSION = 2;
+
+    static final String ERROR_RATE = "errorRatePercent";
+    static final String RESPONSE_TIME_P95 = "responseTimeP95";
+    static final String RESPONSE_TIME_P99 = "responseTimeP99";
+    static final String THROUGHPUT = "throughputRps";
+    private static final List<String> METRICS = List.of(ERROR_RATE, RESPONSE_TIME_P95, RESPONSE_TIME_P99, THROUGHPUT);
+
+    private final PrometheusQueryClient prometheusQueryClient;
+    private final RolloutConfigSource rolloutConfigSource;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${slo-baseline.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${slo-baseline.window:5m}")
+    private String window;
+
+    @Value("${slo-baseline.zone:}")
+    private String zone;
+
+    // 슬롯별 관측이 이보다 적으면 고정 임계값 사용
+    @Value("${slo-baseline.min-samples:30}")
+    private Integer minSamples;
+
+    // 슬롯 통계의 최대 가중치 (1분 학습 기준 약 4주 분량의 같은 시간대)
+    @Value("${slo-baseline.max-weight:240}")
+    private Integer maxWeight;
+
+    // 레거시 요청이 이보다 적으면 지연/에러율 관측을 건너뜀 (표본이 적은 분위수는 잡음이 큼)
+    @Value("${slo-baseline.min-request-rate:1.0}")
+    private Double minRequestRate;
+
+    @Value("${slo-baseline.sigma:2.0}")
+    private Double sigma;
+
+    @Value("${slo-baseline.latency-ratio:1.2}")
+    private Double latencyRatio;
+
+    @Value("${slo-baseline.error-rate-margin-percent:1.0}")
+    private Double errorRateMarginPercent;
+
+    @Value("${slo-baseline.max-relax-factor:2.0}")
+    private Double maxRelaxFactor;
+
+    @Value("${slo-baseline.throughput-fraction:0.5}")
+    private Double throughputFraction;
+
+    @Value("${slo-baseline.state-file:}")
+    private String stateFile;
+
+    @Value("${slo-baseline.persist-every:10}")
+    private Integer persistEvery;
+
+    // 지표 -> 168개 슬롯
+    private final Map<String, SlotStats[]> slots = new LinkedHashMap<>();
+    private int learnsSinceSave;
+
+    public SloBaselineLearner(PrometheusQueryClient prometheusQueryClient,
+                              RolloutConfigSource rolloutConfigSource,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.prometheusQueryClient = prometheusQueryClient;
+        this.rolloutConfigSource = rolloutConfigSource;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private void registerGateGauge(String sli, ToDoubleFunction<SloGates> gate) {
+        Gauge.builder("slo_baseline_gate", this, l -> gate.applyAsDouble(l.gatesFor(l.rolloutConfigSource.current())))
+                .description("SLO gate derived from the hour-of-week baseline")
+                .tag("sli", sli)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        for (String metric : METRICS) {
+            // 처리량은 낮은 쪽(야간 최소치), 나머지는 높은 쪽 분위수를 추적
+            double quantile = THROUGHPUT.equals(metric) ? 0.1 : 0.9;
+            SlotStats[] stats = new SlotStats[SLOTS];
+            for (int i = 0; i < SLOTS; i++) {
+                stats[i] = new SlotStats(quantile, maxWeight);
+            }
+            slots.put(metric, stats);
+        }
+        registerGateGauge(ERROR_RATE, SloGates::getErrorRateThreshold);
+        registerGateGauge(RESPONSE_TIME_P95, SloGates::getResponseTimeP95Threshold);
+        registerGateGauge(RESPONSE_TIME_P99, SloGates::getResponseTimeP99Threshold);
+        registerGateGauge(THROUGHPUT, SloGates::getMinThroughputRps);
+        // 비활성화 상태에서는 빈 슬롯만 남아 모든 게이트가 고정 임계값으로 동작
+        if (enabled) {
+            load();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        save();
+    }
+
+    /**
+     * 현재 시간대 슬롯에 레거시 SLI 관측 추가
+     */
+    @Scheduled(fixedRateString = "${slo-baseline.learn-interval-ms:60000}")
+    public void learn() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Double throughput = prometheusQueryClient.queryScalar(String.format(
+                "sum(rate(http_server_requests_seconds_count{%s}[%s]))", REQUEST_FILTER, window));
+            Double legacyRate = prometheusQueryClient.queryScalar(String.format(
+                "sum(rate(http_server_requests_seconds_count{%s}[%s]))", LEGACY_FILTER, window));
+            Double legacyErrors = prometheusQueryClient.queryScalar(String.format(
+                "sum(rate(http_server_requests_seconds_count{%s,status=~\"5..\"}[%s]))", LEGACY_FILTER, window));
+            Double legacyP95 = prometheusQueryClient.queryScalar(String.format(
+                "histogram_quantile(0.95, sum by (le) (rate(http_server_requests_seconds_bucket{%s}[%s])))",
+                LEGACY_FILTER, window));
+            Double legacyP99 = prometheusQueryClient.queryScalar(String.format(
+                "histogram_quantile(0.99, sum by (le) (rate(http_server_requests_seconds_bucket{%s}[%s])))",
+                LEGACY_FILTER, window));
+
+            int slot = currentSlot();
+            synchronized (this) {
+                if (isValid(throughput)) {
+                    slots.get(THROUGHPUT)[slot].add(throughput);
+                }
+                if (isValid(legacyRate) && legacyRate >= minRequestRate) {
+                    slots.get(ERROR_RATE)[slot].add(isValid(legacyErrors) ? legacyErrors / legacyRate * 100 : 0.0);
+                    if (isValid(legacyP95)) {
+                        slots.get(RESPONSE_TIME_P95)[slot].add(legacyP95);
+                    }
+                    if (isValid(legacyP99)) {
+                        slots.get(RESPONSE_TIME_P99)[slot].add(legacyP99);
+                    }
+                }
+            }
+
+            if (++learnsSinceSave >= persistEvery) {
+                save();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to learn SLO baseline", e);
+        }
+    }
+
+    /**
+     * 현재 시간대 기준선으로 게이트 계산 - 기준선이 없는 지표는 고정 임계값
+     */
+    public synchronized SloGates gatesFor(RolloutConfig config) {
+        int slot = currentSlot();
+        double errorRate = config.getErrorRateThreshold();
+        double p95 = config.getResponseTimeP95Threshold();
+        double p99 = config.getResponseTimeP99Threshold();
+        double minRps = config.getMinThroughputRps();
+        Map<String, String> sources = new LinkedHashMap<>();
+
+        SlotStats errors = slots.get(ERROR_RATE)[slot];
+        if (errors.getCount() >= minSamples) {
+            double expected = Math.max(errors.getQuantile(), errors.getMean() + sigma * errors.getStdDev());
+            errorRate = relax(errorRate, expected + errorRateMarginPercent);
+            sources.put(ERROR_RATE, "baseline");
+        }
+
+        SlotStats latency95 = slots.get(RESPONSE_TIME_P95)[slot];
+        if (latency95.getCount() >= minSamples) {
+            double expected = Math.max(latency95.getQuantile(), latency95.getMean() + sigma * latency95.getStdDev());
+            p95 = relax(p95, expected * latencyRatio);
+            sources.put(RESPONSE_TIME_P95, "baseline");
+        }
+
+        SlotStats latency99 = slots.get(RESPONSE_TIME_P99)[slot];
+        if (latency99.getCount() >= minSamples) {
+            double expected = Math.max(latency99.getQuantile(), latency99.getMean() + sigma * latency99.getStdDev());
+            p99 = relax(p99, expected * latencyRatio);
+            sources.put(RESPONSE_TIME_P99, "baseline");
+        }
+
+        SlotStats throughput = slots.get(THROUGHPUT)[slot];
+        if (throughput.getCount() >= minSamples) {
+            double expected = Math.max(0.0, Math.min(throughput.getQuantile(),
+                                                     throughput.getMean() - sigma * throughput.getStdDev()));
+            // 기대 트래픽이 고정 최소치보다 낮은 시간대에만 완화 (강화하지 않음)
+            minRps = Math.min(minRps, expected * throughputFraction);
+            sources.put(THROUGHPUT, "baseline");
+        }
+
+        // 레거시 p99 기대값이 낮아도 p95 게이트보다 낮아지지 않도록 유지
+        p99 = Math.max(p99, p95);
+
+        for (String metric : METRICS) {
+            sources.putIfAbsent(metric, "static");
+        }
+        return new SloGates(errorRate, p95, p99, config.getAvailabilityThreshold(), minRps, slot, sources);
+    }
+
+    /**
+     * 고정 임계값보다 엄격해지지 않고, 고정값 x max-relax-factor를 넘지 않도록 완화
+     */
+    private double relax(double staticThreshold, double derived) {
+        return Math.min(staticThreshold * maxRelaxFactor, Math.max(staticThreshold, derived));
+    }
+
+    /**
+     * 현재 슬롯의 지표별 기대값 요약
+     */
+    public synchronized BaselineReport getReport() {
+        RolloutConfig config = rolloutConfigSource.current();
+        ZonedDateTime now = now();
+        int slot = slotOf(now);
+        Map<String, SlotSummary> expected = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            SlotStats stats = slots.get(metric)[slot];
+            expected.put(metric, new SlotSummary(stats.getCount(), stats.getMean(), stats.getStdDev(),
+                                                 stats.getQuantile(), THROUGHPUT.equals(metric) ? 0.1 : 0.9));
+        }
+
+        int coveredSlots = 0;
+        for (SlotStats stats : slots.get(RESPONSE_TIME_P95)) {
+            if (stats.getCount() >= minSamples) {
+                coveredSlots++;
+            }
+        }
+        return new BaselineReport(slot, now.getDayOfWeek().toString(), now.getHour(),
+                                  coveredSlots, SLOTS, expected, gatesFor(config));
+    }
+
+    private int currentSlot() {
+        return slotOf(now());
+    }
+
+    private int slotOf(ZonedDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+    }
+
+    private ZonedDateTime now() {
+        return ZonedDateTime.now(zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone));
+    }
+
+    private boolean isValid(Double value) {
+        return value != null && Double.isFinite(value) && value >= 0;
+    }
+
+    private void load() {
+        if (stateFile == null || stateFile.isBlank() || !Files.exists(Path.of(stateFile))) {
+            return;
+        }
+        try {
+            BaselineState state = objectMapper.readValue(Path.of(stateFile).toFile(), BaselineState.class);
+            if (state.version() == null || state.version() != STATE_VERSION || state.slots() == null) {
+                logger.warn("Ignoring SLO baseline state with unknown version {}", state.version());
+                return;
+            }
+            synchronized (this) {
+                for (String metric : METRICS) {
+                    double[][] metricSlots = state.slots().get(metric);
+                    if (metricSlots == null || metricSlots.length != SLOTS) {
+                        continue;
+                    }
+                    for (int i = 0; i < SLOTS; i++) {
+                        slots.get(metric)[i].restore(metricSlots[i]);
+                    }
+                }
+            }
+            logger.info("Loaded SLO baseline state from {}", stateFile);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load SLO baseline state from {} - starting empty", stateFile, e);
+        }
+    }
+
+    private void save() {
+        learnsSinceSave = 0;
+        if (stateFile == null || stateFile.isBlank()) {
+            return;
+        }
+        try {
+            Map<String, double[][]> saved = new LinkedHashMap<>();
+            synchronized (this) {
+                for (String metric : METRICS) {
+                    double[][] metricSlots = new double[SLOTS][];
+                    for (int i = 0; i < SLOTS; i++) {
+                        metricSlots[i] = slots.get(metric)[i].toState();
+                    }
+                    saved.put(metric, metricSlots);
+                }
+            }
+            Path path = Path.of(stateFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            // 쓰는 도중 종료되어도 이전 상태가 남도록 임시 파일에 쓴 뒤 교체
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new BaselineState(STATE_VERSION, saved));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to save SLO baseline state to {}", stateFile, e);
+        }
+    }
+
+    /**
+     * 저장 파일 형식 - 지표 -> 168개 슬롯 상태
+     */
+    record BaselineState(Integer version, Map<String, double[][]> slots) {
+    }
+
+    /**
+     * 현재 시간대에 적용되는 SLO 게이트
+     */
+    public static class SloGates {
+        private final Double errorRateThreshold;
+        private final Double responseTimeP95Threshold;
+        private final Double responseTimeP99Threshold;
+        private final Double availabilityThreshold;
+        private final Double minThroughputRps;
+        private final Integer hourOfWeek;
+        private final Map<String, String> sources;
+
+        public SloGates(Double errorRateThreshold, Double responseTimeP95Threshold, Double responseTimeP99Threshold,
+                        Double availabilityThreshold, Double minThroughputRps, Integer hourOfWeek,
+                        Map<String, String> sources) {
+            this.errorRateThreshold = errorRateThreshold;
+            this.responseTimeP95Threshold = responseTimeP95Threshold;
+            this.responseTimeP99Threshold = responseTimeP99Threshold;
+            this.availabilityThreshold = availabilityThreshold;
+            this.minThroughputRps = minThroughputRps;
+            this.hourOfWeek = hourOfWeek;
+            this.sources = sources;
+        }
+
+        // Getters
+        public Double getErrorRateThreshold() { return errorRateThreshold; }
+        public Double getResponseTimeP95Threshold() { return responseTimeP95Threshold; }
+        public Double getResponseTimeP99Threshold() { return responseTimeP99Threshold; }
+        public Double getAvailabilityThreshold() { return availabilityThreshold; }
+        public Double getMinThroughputRps() { return minThroughputRps; }
+        public Integer getHourOfWeek() { return hourOfWeek; }
+        public Map<String, String> getSources() { return sources; }
+    }
+
+    /**
+     * 슬롯 하나의 지표 요약
+     */
+    public static class SlotSummary {
+        private final Long samples;
+        private final Double mean;
+        private final Double stdDev;
+        private final Double quantile;
+        private final Double quantileLevel;
+
+        public SlotSummary(Long samples, Double mean, Double stdDev, Double quantile, Double quantileLevel) {
+            this.samples = samples;
+            this.mean = mean;
+            this.stdDev = stdDev;
+            this.quantile = quantile;
+            this.quantileLevel = quantileLevel;
+        }
+
+        // Getters
+        public Long getSamples() { return samples; }
+        public Double getMean() { return mean; }
+        public Double getStdDev() { return stdDev; }
+        public Double getQuantile() { return quantile; }
+        public Double getQuantileLevel() { return quantileLevel; }
+    }
+
+    /**
+     * 현재 시간대 기준선 보고서
+     */
+    public static class BaselineReport {
+        private final Integer hourOfWeek;
+        private final String dayOfWeek;
+        private final Integer hour;
+        private final Integer coveredSlots;
+        private final Integer totalSlots;
+        private final Map<String, SlotSummary> expected;
+        private final SloGates gates;
+
+        public BaselineReport(Integer hourOfWeek, String dayOfWeek, Integer hour, Integer coveredSlots,
+                              Integer totalSlots, Map<String, SlotSummary> expected, SloGates gates) {
+            this.hourOfWeek = hourOfWeek;
+            this.dayOfWeek = dayOfWeek;
+            this.hour = hour;
+            this.coveredSlots = coveredSlots;
+            this.totalSlots = totalSlots;
+            this.expected = expected;
+            this.gates = gates;
+        }
+
+        // Getters
+        public Integer getHourOfWeek() { return hourOfWeek; }
+        public String getDayOfWeek() { return dayOfWeek; }
+        public Integer getHour() { return hour; }
+        public Integer getCoveredSlots() { return coveredSlots; }
+        public Integer getTotalSlots() { return totalSlots; }
+        public Map<String, SlotSummary> getExpected() { return expected; }
+        public SloGates getGates() { return gates; }
+    }
+}
@@ -0,0 +1,94 @@
+package junghun.studycicd.baseline;
+
+import java.util.Arrays;
+
+/**
+ * 요일/시간 슬롯 하나의 지표 통계 - Welford 평균/분산 + P² 분위수
+ * 가중치 상한(maxWeight)에 도달하면 오래된 관측의 비중을 줄여 최근 추세를 따라가도록 함
+ * P²는 관측을 빼낼 수 없으므로 maxWeight개마다 새 추정기로 교체하고 직전 추정기와 개수 가중 평균
+ * (분위수는 최근 maxWeight~2 x maxWeight개 관측만 반영)
+ */
+class SlotStats {
+
+    static final int STATE_SIZE = 3 + 2 * P2Quantile.STATE_SIZE;
+
+    private final double level;
+    private final int maxWeight;
+    private P2Quantile quantile;
+    private P2Quantile previousQuantile;
+    private double weight;
+    private double mean;
+    private double m2;
+
+    SlotStats(double quantile, int maxWeight) {
+        this.level = quantile;
+        this.maxWeight = maxWeight;
+        this.quantile = new P2Quantile(quantile);
+        this.previousQuantile = new P2Quantile(quantile);
+    }
+
+    void add(double x) {
+        if (weight >= maxWeight) {
+            // 지수 가중 망각 - 분산 누적치를 가중치와 같은 비율로 줄임
+            m2 *= (maxWeight - 1.0) / maxWeight;
+            weight = maxWeight - 1.0;
+        }
+        weight++;
+        double delta = x - mean;
+        mean += delta / weight;
+        m2 += delta * (x - mean);
+        if (quantile.getCount() >= maxWeight) {
+            previousQuantile = quantile;
+            quantile = new P2Quantile(level);
+        }
+        quantile.add(x);
+    }
+
+    long getCount() {
+        return quantile.getCount() + previousQuantile.getCount();
+    }
+
+    double getMean() {
+        return mean;
+    }
+
+    double getStdDev() {
+        return weight > 1 ? Math.sqrt(m2 / (weight - 1)) : 0.0;
+    }
+
+    double getQuantile() {
+        long current = quantile.getCount();
+        long previous = previousQuantile.getCount();
+        if (previous == 0) {
+            return quantile.estimate();
+        }
+        if (current == 0) {
+            return previousQuantile.estimate();
+        }
+        return (quantile.estimate() * current + previousQuantile.estimate() * previous) / (current + previous);
+    }
+
+    /**
+     * 저장용 상태 [weight, mean, m2, 현재 P² 상태..., 직전 P² 상태...]
+     */
+    double[] toState() {
+        double[] state = new double[STATE_SIZE];
+        state[0] = weight;
+        state[1] = mean;
+        state[2] = m2;
+        System.arraycopy(quantile.toState(), 0, state, 3, P2Quantile.STATE_SIZE);
+        System.arraycopy(previousQuantile.toState(), 0, state, 3 + P2Quantile.STATE_SIZE, P2Quantile.STATE_SIZE);
+        return state;
+    }
+
+    void restore(double[] state) {
+        if (state == null || state.length != STATE_SIZE) {
+            throw new IllegalArgumentException("Invalid slot state");
+        }
+        weight = state[0];
+        mean = state[1];
+        m2 = state[2];
+        quantile.restore(Arrays.copyOfRange(state, 3, 3 + P2Quantile.STATE_SIZE));
+        previousQuantile.restore(Arrays.copyOfRange(state, 3 + P2Quantile.STATE_SIZE, STATE_SIZE));
+    }
+}
@@ -0,0 +1,287 @@
+package junghun.studycicd.business;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * NDJSON 비즈니스 이벤트 일괄 수집
+ *
+ *   {"type":"order","success":true,"durationMs":820,"version":"refactored"}
+ *
+ * 본문을 읽으면서 한 줄씩 스트리밍 파서로 처리 (본문 전체를 메모리에 올리지 않음)
+ * 결과는 종류/버전별로 모아 batch-size마다 카운터에 한 번씩 더함 - 이벤트마다 카운터를 건드리지 않음
+ * version이 없으면 이 인스턴스 버전으로 집계 - 알려진 버전(known-versions와 이 인스턴스 버전)만 받음
+ * 다른 버전의 이벤트는 A/B 실험에만 반영하고 이 인스턴스의 business_* 메트릭에는 더하지 않음
+ */
+@Service
+public class BusinessEventIngester {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessEventIngester.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final long MAX_DURATION_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final BusinessEventRecorder businessEventRecorder;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${business-events.ingest.batch-size:1000}")
+    private Integer batchSize;
+
+    @Value("${business-events.ingest.max-line-bytes:4096}")
+    private Integer maxLineBytes;
+
+    @Value("${business-events.ingest.max-events:100000}")
+    private Long maxEvents;
+
+    // 압축 해제 후 기준
+    @Value("${business-events.ingest.max-body-bytes:67108864}")
+    private Long maxBodyBytes;
+
+    @Value("${business-events.ingest.max-concurrent:2}")
+    private Integer maxConcurrent;
+
+    @Value("${business-events.ingest.retry-after-seconds:1}")
+    private Long retryAfterSeconds;
+
+    @Value("${business-events.ingest.max-reported-errors:100}")
+    private Integer maxReportedErrors;
+
+    // 실험 변형 이름이 되므로 임의의 값으로 변형이 계속 늘지 않게 제한
+    @Value("${business-events.ingest.known-versions:legacy,refactored}")
+    private List<String> knownVersions;
+
+    public BusinessEventIngester(BusinessEventRecorder businessEventRecorder) {
+        this.businessEventRecorder = businessEventRecorder;
+    }
+
+    /**
+     * 요청 본문을 끝까지 읽어 수집 (요청 스레드에서 호출 - 블로킹)
+     *
+     * @throws IngestBusyException 동시 수집 한도를 넘은 경우
+     */
+    public IngestResult ingest(InputStream body, boolean gzip) {
+        if (inFlight.incrementAndGet() > maxConcurrent) {
+            inFlight.decrementAndGet();
+            throw new IngestBusyException(maxConcurrent, retryAfterSeconds);
+        }
+        try {
+            return process(body, gzip);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private IngestResult process(InputStream body, boolean gzip) {
+        long startTime = System.nanoTime();
+        Set<String> versions = acceptedVersions();
+        Batch batch = new Batch(businessEventRecorder.getVersionType());
+        ParsedEvent event = new ParsedEvent();
+        List<IngestResult.LineError> errors = new ArrayList<>();
+        long lines = 0;
+        long accepted = 0;
+        long rejected = 0;
+        boolean truncated = false;
+        IngestResult.Failure failure = null;
+
+        try {
+            NdjsonLineReader reader = new NdjsonLineReader(
+                gzip ? new GZIPInputStream(body, 16 * 1024) : body, maxLineBytes, maxBodyBytes);
+            while (reader.next()) {
+                if (accepted + rejected >= maxEvents) {
+                    truncated = true;
+                    break;
+                }
+                lines++;
+                if (reader.isBlank()) {
+                    continue;
+                }
+                String error = reader.isOverflow() ? "Line exceeds " + maxLineBytes + " bytes" : parse(reader, event, versions);
+                if (error != null) {
+                    rejected++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add(new IngestResult.LineError(lines, error));
+                    }
+                    continue;
+                }
+                accepted++;
+                if (batch.add(event) >= batchSize) {
+                    batch.flush(businessEventRecorder);
+                }
+            }
+        } catch (IOException e) {
+            // 연결이 끊기거나 gzip이 깨졌거나 본문이 한도를 넘은 경우 - 그때까지 받은 이벤트는 반영하고 중단 지점을 보고
+            truncated = true;
+            if (e instanceof NdjsonLineReader.BodyTooLargeException) {
+                failure = IngestResult.Failure.BODY_TOO_LARGE;
+            } else if (gzip && (e instanceof ZipException || e instanceof EOFException)) {
+                // 헤더가 gzip이 아니거나 압축 데이터가 깨졌거나 중간에 끝남
+                failure = IngestResult.Failure.INVALID_GZIP;
+            }
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new IngestResult.LineError(lines + 1, "Request body could not be read: " + e.getMessage()));
+            }
+            rejected++;
+        } finally {
+            batch.flush(businessEventRecorder);
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        logger.info("📥 Ingested {} business events ({} rejected{}) in {}ms",
+                   accepted, rejected, failure != null ? ", " + failure : truncated ? ", truncated" : "", durationMs);
+        return new IngestResult(lines, accepted, rejected, truncated, failure, errors, durationMs);
+    }
+
+    private Set<String> acceptedVersions() {
+        Set<String> versions = new LinkedHashSet<>(knownVersions);
+        versions.add(businessEventRecorder.getVersionType());
+        return versions;
+    }
+
+    /**
+     * 한 줄 파싱 - 알 수 없는 필드는 건너뜀
+     *
+     * @return 거부 사유, 정상이면 null
+     */
+    private static String parse(NdjsonLineReader reader, ParsedEvent event, Set<String> versions) throws IOException {
+        event.reset();
+        try (JsonParser parser = JSON_FACTORY.createParser(reader.line(), 0, reader.length())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return "Expected a JSON object";
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "type" -> {
+                        if (value != JsonToken.VALUE_STRING) {
+                            return "type must be a string";
+                        }
+                        event.type = BusinessEventType.fromName(parser.getText());
+                        if (event.type == null) {
+                            return "Unknown type: " + parser.getText();
+                        }
+                    }
+                    case "success" -> {
+                        if (!value.isBoolean()) {
+                            return "success must be a boolean";
+                        }
+                        event.success = value == JsonToken.VALUE_TRUE;
+                        event.hasSuccess = true;
+                    }
+                    case "version" -> {
+                        if (value != JsonToken.VALUE_STRING || !versions.contains(parser.getText())) {
+                            return "version must be one of " + versions;
+                        }
+                        event.version = parser.getText();
+                    }
+                    case "durationMs" -> {
+                        if (value != JsonToken.VALUE_NUMBER_INT) {
+                            return "durationMs must be an integer";
+                        }
+                        long durationMs = parser.getLongValue();
+                        if (durationMs < 0 || durationMs > MAX_DURATION_MS) {
+                            return "durationMs must be in [0, " + MAX_DURATION_MS + "]";
+                        }
+                        event.durationMs = durationMs;
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.nextToken() != null) {
+                return "Unexpected content after JSON object";
+            }
+        } catch (JsonProcessingException e) {
+            return "Malformed JSON: " + e.getOriginalMessage();
+        }
+        if (event.type == null) {
+            return "type is required";
+        }
+        if (!event.hasSuccess) {
+            return "success is required";
+        }
+        return null;
+    }
+
+    /**
+     * 파싱 중인 이벤트 - 줄마다 새로 만들지 않고 재사용
+     */
+    private static final class ParsedEvent {
+        private BusinessEventType type;
+        private boolean success;
+        private boolean hasSuccess;
+        private String version;
+        private long durationMs;
+
+        void reset() {
+            type = null;
+            success = false;
+            hasSuccess = false;
+            version = null;
+            durationMs = -1;
+        }
+    }
+
+    /**
+     * 종류/버전별 시도/성공 수와 체크아웃 시간을 모아 두었다가 한 번에 기록
+     */
+    private static final class Batch {
+        private final String defaultVersion;
+        private final Map<BusinessEventType, Map<String, long[]>> counts = new EnumMap<>(BusinessEventType.class);
+        private final List<Long> checkoutDurations = new ArrayList<>();
+        private int size;
+
+        Batch(String defaultVersion) {
+            this.defaultVersion = defaultVersion;
+        }
+
+        int add(ParsedEvent event) {
+            String version = event.version != null ? event.version : defaultVersion;
+            long[] count = counts.computeIfAbsent(event.type, type -> new HashMap<>())
+                    .computeIfAbsent(version, key -> new long[2]);
+            count[0]++;
+            if (event.success) {
+                count[1]++;
+            }
+            // 체크아웃 시간은 이 인스턴스 버전의 메트릭이므로 다른 버전 이벤트는 제외
+            if (event.type == BusinessEventType.ORDER && event.durationMs >= 0 && version.equals(defaultVersion)) {
+                checkoutDurations.add(event.durationMs);
+            }
+            return ++size;
+        }
+
+        void flush(BusinessEventRecorder recorder) {
+            if (size == 0) {
+                return;
+            }
+            counts.forEach((type, versions) -> versions.forEach(
+                (version, count) -> recorder.record(type, version, count[0], count[1])));
+            for (long durationMs : checkoutDurations) {
+                recorder.recordCheckout(durationMs);
+            }
+            counts.clear();
+            checkoutDurations.clear();
+            size = 0;
+        }
+    }
+}
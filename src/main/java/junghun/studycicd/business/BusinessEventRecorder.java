@@ -0,0 +1,92 @@
+package junghun.studycicd.business;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import junghun.studycicd.experiment.ExperimentEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문/회원가입/로그인 결과를 비즈니스 메트릭과 A/B 실험에 기록
+ * 단건 API(서블릿/리액티브)와 NDJSON 일괄 수집이 같은 카운터를 사용 - 워밍업 요청 제외는 호출하는 쪽에서
+ */
+@Component
+public class BusinessEventRecorder {
+
+    private final ExperimentEngine experimentEngine;
+    private final Map<BusinessEventType, Counter> attempts = new EnumMap<>(BusinessEventType.class);
+    private final Map<BusinessEventType, Counter> successes = new EnumMap<>(BusinessEventType.class);
+    private final Timer checkoutTime;
+
+    @Value("${info.app.version.type:default}")
+    private String versionType;
+
+    public BusinessEventRecorder(MeterRegistry meterRegistry, ExperimentEngine experimentEngine) {
+        this.experimentEngine = experimentEngine;
+        // 생성자 시점에는 버전 값이 주입되기 전이라 태그는 "default" (버전 구분은 Prometheus 타겟 라벨로)
+        for (BusinessEventType type : BusinessEventType.values()) {
+            attempts.put(type, Counter.builder(type.getMetricPrefix() + "_attempted_total")
+                    .description("Total number of " + type.getNoun() + " attempts")
+                    .tag("version", "default")
+                    .register(meterRegistry));
+            successes.put(type, Counter.builder(type.getMetricPrefix() + "_completed_total")
+                    .description("Total number of successful " + type.getNoun() + "s")
+                    .tag("version", "default")
+                    .register(meterRegistry));
+        }
+        this.checkoutTime = Timer.builder("business_checkout_duration_seconds")
+                .description("Time taken for checkout process")
+                .tag("version", "default")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이 인스턴스 버전의 결과 하나 기록
+     */
+    public void record(BusinessEventType type, boolean success) {
+        attempts.get(type).increment();
+        if (success) {
+            successes.get(type).increment();
+        }
+        experimentEngine.record(type.getExperiment(), versionType, success);
+    }
+
+    /**
+     * 같은 종류/변형의 결과를 모아서 한 번에 기록
+     * business_* 카운터는 이 인스턴스 버전의 메트릭이므로 다른 변형은 실험 집계에만 반영
+     */
+    public void record(BusinessEventType type, String variant, long attempted, long succeeded) {
+        if (versionType.equals(variant)) {
+            attempts.get(type).increment(attempted);
+            if (succeeded > 0) {
+                successes.get(type).increment(succeeded);
+            }
+        }
+        experimentEngine.record(type.getExperiment(), variant, attempted, succeeded);
+    }
+
+    public void recordCheckout(long durationMs) {
+        checkoutTime.record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    public Timer getCheckoutTime() {
+        return checkoutTime;
+    }
+
+    public double getAttempts(BusinessEventType type) {
+        return attempts.get(type).count();
+    }
+
+    public double getSuccesses(BusinessEventType type) {
+        return successes.get(type).count();
+    }
+
+    public String getVersionType() {
+        return versionType;
+    }
+}
@@ -0,0 +1,47 @@
+package junghun.studycicd.business;
+
+import junghun.studycicd.experiment.ExperimentEngine;
+
+/**
+ * 비즈니스 이벤트 종류 - 메트릭 이름과 A/B 실험 이름
+ */
+public enum BusinessEventType {
+
+    ORDER(ExperimentEngine.ORDER, "business_orders", "order"),
+    SIGNUP(ExperimentEngine.SIGNUP, "business_signups", "signup"),
+    LOGIN(ExperimentEngine.LOGIN, "business_logins", "login");
+
+    private final String experiment;
+    private final String metricPrefix;
+    private final String noun;
+
+    BusinessEventType(String experiment, String metricPrefix, String noun) {
+        this.experiment = experiment;
+        this.metricPrefix = metricPrefix;
+        this.noun = noun;
+    }
+
+    /**
+     * NDJSON type 값 (order/signup/login) - 모르는 값이면 null
+     */
+    public static BusinessEventType fromName(String name) {
+        for (BusinessEventType type : values()) {
+            if (type.experiment.equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public String getExperiment() {
+        return experiment;
+    }
+
+    String getMetricPrefix() {
+        return metricPrefix;
+    }
+
+    String getNoun() {
+        return noun;
+    }
+}
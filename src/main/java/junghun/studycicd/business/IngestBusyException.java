@@ -0,0 +1,18 @@
+package junghun.studycicd.business;
+
+/**
+ * 동시 수집 한도를 넘어 요청을 받지 않음 - 429 + Retry-After로 응답
+ */
+public class IngestBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IngestBusyException(int maxConcurrent, long retryAfterSeconds) {
+        super("Too many concurrent event ingestions (max " + maxConcurrent + ")");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
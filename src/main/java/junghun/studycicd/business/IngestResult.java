@@ -0,0 +1,80 @@
+package junghun.studycicd.business;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+/**
+ * NDJSON 일괄 수집 결과 - 성공한 줄은 개수만, 실패한 줄은 줄 번호와 이유를 보고
+ * 본문 자체를 끝까지 처리할 수 없었으면 failure에 이유를 남김 (그 전까지 받은 이벤트는 반영된 상태)
+ */
+public class IngestResult {
+
+    /**
+     * 본문 처리 중단 이유
+     */
+    public enum Failure {
+        // 압축 해제 후 max-body-bytes 초과 (413)
+        BODY_TOO_LARGE,
+        // gzip으로 풀 수 없는 본문 (400)
+        INVALID_GZIP
+    }
+
+    private final long lines;
+    private final long accepted;
+    private final long rejected;
+    private final boolean truncated;
+    private final Failure failure;
+    private final List<LineError> errors;
+    private final long unreportedErrors;
+    private final long durationMs;
+
+    IngestResult(long lines, long accepted, long rejected, boolean truncated, Failure failure,
+                 List<LineError> errors, long durationMs) {
+        this.lines = lines;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.truncated = truncated;
+        this.failure = failure;
+        this.errors = errors;
+        this.unreportedErrors = rejected - errors.size();
+        this.durationMs = durationMs;
+    }
+
+    // Getters
+    public long getLines() { return lines; }
+    public long getAccepted() { return accepted; }
+    public long getRejected() { return rejected; }
+    public boolean getTruncated() { return truncated; }
+    public Failure getFailure() { return failure; }
+    public List<LineError> getErrors() { return errors; }
+    public long getUnreportedErrors() { return unreportedErrors; }
+    public long getDurationMs() { return durationMs; }
+
+    /**
+     * 응답 상태 - 본문 한도 초과 413, gzip 오류 400, 그 외(max-events에서 멈춘 경우 포함) 200
+     */
+    public HttpStatus responseStatus() {
+        if (failure == Failure.BODY_TOO_LARGE) {
+            return HttpStatus.PAYLOAD_TOO_LARGE;
+        }
+        return failure == Failure.INVALID_GZIP ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+    }
+
+    /**
+     * 거부된 줄 (1부터 시작하는 줄 번호)
+     */
+    public static class LineError {
+        private final long line;
+        private final String message;
+
+        LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        // Getters
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
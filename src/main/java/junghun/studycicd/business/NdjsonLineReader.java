@@ -0,0 +1,130 @@
+package junghun.studycicd.business;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * 바이트 스트림을 줄 단위로 읽음 - 문자열로 디코딩하지 않고 줄 버퍼를 재사용해 JSON 파서에 그대로 넘김
+ * 한도보다 긴 줄은 버퍼에 담지 않고 끝까지 건너뛴 뒤 overflow로 표시 (한 줄로 메모리를 다 쓰지 못하게)
+ */
+final class NdjsonLineReader {
+
+    private static final int READ_BUFFER_BYTES = 16 * 1024;
+
+    private final InputStream in;
+    private final int maxLineBytes;
+    private final long maxTotalBytes;
+    private final byte[] buffer = new byte[READ_BUFFER_BYTES];
+    private int position;
+    private int limit;
+    private long totalBytes;
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private boolean overflow;
+
+    NdjsonLineReader(InputStream in, int maxLineBytes, long maxTotalBytes) {
+        this.in = in;
+        this.maxLineBytes = maxLineBytes;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    /**
+     * 다음 줄로 이동
+     *
+     * @return 스트림 끝이면 false
+     * @throws BodyTooLargeException 전체 크기가 한도를 넘은 경우
+     * @throws IOException 읽기 실패
+     */
+    boolean next() throws IOException {
+        lineLength = 0;
+        overflow = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                int count = in.read(buffer);
+                if (count < 0) {
+                    return read && endLine();
+                }
+                position = 0;
+                limit = count;
+                totalBytes += count;
+                if (totalBytes > maxTotalBytes) {
+                    throw new BodyTooLargeException(maxTotalBytes);
+                }
+                continue;
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            append(start, position - start);
+            if (position < limit) {
+                position++;
+                return endLine();
+            }
+        }
+    }
+
+    /**
+     * CRLF의 \r은 한도에 넣지 않으므로 한 바이트 더 받아 두고 줄이 끝난 뒤 판정
+     */
+    private boolean endLine() {
+        if (!overflow && length() > maxLineBytes) {
+            overflow = true;
+        }
+        return true;
+    }
+
+    private void append(int offset, int length) {
+        if (overflow || length == 0) {
+            return;
+        }
+        if (lineLength + length > maxLineBytes + 1) {
+            overflow = true;
+            return;
+        }
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.min(maxLineBytes + 1, Math.max(line.length * 2, lineLength + length)));
+        }
+        System.arraycopy(buffer, offset, line, lineLength, length);
+        lineLength += length;
+    }
+
+    byte[] line() {
+        return line;
+    }
+
+    /**
+     * CRLF의 \r은 제외한 길이
+     */
+    int length() {
+        return lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+    }
+
+    boolean isBlank() {
+        for (int i = 0; i < length(); i++) {
+            byte b = line[i];
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return !overflow;
+    }
+
+    boolean isOverflow() {
+        return overflow;
+    }
+
+    /**
+     * 본문 전체 크기 한도 초과 - 읽기 실패와 구분해 413으로 응답
+     */
+    static final class BodyTooLargeException extends IOException {
+
+        BodyTooLargeException(long maxTotalBytes) {
+            super("Request body exceeds " + maxTotalBytes + " bytes");
+        }
+    }
+}
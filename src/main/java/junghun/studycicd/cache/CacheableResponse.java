@@ -0,0 +1,27 @@
+package junghun.studycicd.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 멱등 GET 핸들러의 200 응답을 직렬화된 바이트로 짧게 캐싱 (ResponseCacheInterceptor 참고)
+ * 캐시 키는 요청 경로 + varyBy에 지정한 쿼리 파라미터 - 지정하지 않은 파라미터는 키에 영향을 주지 않음
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheableResponse {
+
+    /**
+     * 캐시 유지 시간 (밀리초)
+     */
+    long ttlMillis() default 1000;
+
+    /**
+     * 캐시 키에 포함할 쿼리 파라미터 이름
+     */
+    String[] varyBy() default {};
+}
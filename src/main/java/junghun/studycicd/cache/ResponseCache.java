@@ -0,0 +1,97 @@
+package junghun.studycicd.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 응답 캐시 저장소 - W-TinyLFU로 크기를 제한하고 TTL이 지난 항목은 조회 시 제거
+ */
+@Component
+public class ResponseCache {
+
+    private final TinyLfuCache<String, CachedBody> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${response-cache.max-entries:10000}") int maxEntries,
+                         @Value("${response-cache.window-percent:1.0}") double windowPercent) {
+        this.sizeEvictionCounter = Counter.builder("response_cache_evictions_total")
+                .description("Response cache entries evicted or rejected by the size bound")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        this.expiredEvictionCounter = Counter.builder("response_cache_evictions_total")
+                .description("Response cache entries removed after their TTL")
+                .tag("cause", "expired")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("response_cache_requests_total")
+                .description("Response cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("response_cache_requests_total")
+                .description("Response cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        this.cache = new TinyLfuCache<>(maxEntries, windowPercent, evicted -> sizeEvictionCounter.increment());
+
+        Gauge.builder("response_cache_entries", cache, TinyLfuCache::size)
+                .description("Entries currently held by the response cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 유효한 캐시 항목 조회 - 없거나 만료되었으면 null
+     */
+    public CachedBody get(String key) {
+        CachedBody body = cache.get(key);
+        if (body != null && body.isExpired(System.currentTimeMillis())) {
+            cache.invalidate(key);
+            expiredEvictionCounter.increment();
+            body = null;
+        }
+        if (body != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+        return body;
+    }
+
+    public void put(String key, byte[] body, String contentType, long ttlMillis) {
+        cache.put(key, new CachedBody(body, contentType, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 직렬화가 끝난 응답 본문
+     */
+    public static class CachedBody {
+        private final byte[] body;
+        private final String contentType;
+        private final long expiresAt;
+
+        public CachedBody(byte[] body, String contentType, long expiresAt) {
+            this.body = body;
+            this.contentType = contentType;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        // Getters
+        public byte[] getBody() { return body; }
+        public String getContentType() { return contentType; }
+        public long getExpiresAt() { return expiresAt; }
+    }
+}
@@ -0,0 +1,67 @@
+package junghun.studycicd.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 캐시를 놓친 @CacheableResponse 응답을 직렬화해 ResponseCache에 저장
+ * 본문은 평소처럼 메시지 컨버터가 한 번 더 직렬화 - 놓친 요청만 두 번 직렬화하고 적중한 요청은 직렬화하지 않음
+ * 같은 ObjectMapper를 쓰므로 캐시된 바이트는 원래 응답과 동일
+ */
+@ControllerAdvice
+public class ResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheAdvice.class);
+
+    private final ResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    public ResponseCacheAdvice(ResponseCache responseCache, ObjectMapper objectMapper) {
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(CacheableResponse.class)
+            && MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        HttpServletResponse httpResponse = servletResponse.getServletResponse();
+        String key = (String) httpRequest.getAttribute(ResponseCacheInterceptor.KEY_ATTRIBUTE);
+        Long ttlMillis = (Long) httpRequest.getAttribute(ResponseCacheInterceptor.TTL_ATTRIBUTE);
+        if (key == null || ttlMillis == null || httpResponse.getStatus() != HttpServletResponse.SC_OK) {
+            return body;
+        }
+
+        try {
+            responseCache.put(key, objectMapper.writeValueAsBytes(body), selectedContentType.toString(), ttlMillis);
+        } catch (Exception e) {
+            logger.debug("Failed to cache response for {}: {}", key, e.getMessage());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,80 @@
+package junghun.studycicd.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import junghun.studycicd.warmup.WarmupRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * @CacheableResponse 핸들러의 캐시 조회
+ * 적중하면 저장된 바이트를 그대로 쓰고 핸들러 호출과 JSON 직렬화를 건너뜀
+ * 놓치면 캐시 키를 요청 속성에 남겨 ResponseCacheAdvice가 직렬화된 본문을 저장하도록 함
+ *
+ * 워밍업 요청은 실제 코드 경로를 데워야 하므로 캐시를 거치지 않음
+ */
+@Component
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    static final String KEY_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".key";
+    static final String TTL_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".ttl";
+    static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+
+    @Value("${response-cache.enabled:true}")
+    private Boolean enabled;
+
+    public ResponseCacheInterceptor(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                            Object handler) throws Exception {
+        if (!enabled || !HttpMethod.GET.matches(request.getMethod())
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || WarmupRequest.isWarmup(request)) {
+            return true;
+        }
+        CacheableResponse cacheable = handlerMethod.getMethodAnnotation(CacheableResponse.class);
+        if (cacheable == null) {
+            return true;
+        }
+
+        String key = cacheKey(request, cacheable.varyBy());
+        ResponseCache.CachedBody cached = responseCache.get(key);
+        if (cached == null) {
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            request.setAttribute(TTL_ATTRIBUTE, cacheable.ttlMillis());
+            response.setHeader(CACHE_HEADER, "MISS");
+            return true;
+        }
+
+        byte[] body = cached.getBody();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(CACHE_HEADER, "HIT");
+        response.setContentType(cached.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    /**
+     * 경로 + varyBy 파라미터 값 - 파라미터 순서와 무관하도록 annotation에 적힌 순서로 붙임
+     */
+    static String cacheKey(HttpServletRequest request, String[] varyBy) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        for (String name : varyBy) {
+            String[] values = request.getParameterValues(name);
+            key.append('\u0000').append(name).append('=');
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package junghun.studycicd.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * W-TinyLFU 캐시 (크기 제한)
+ *
+ *   window(LRU, 전체의 windowPercent%) → 밀려난 후보 ─ 빈도 비교 ─→ main(SLRU: probation 20% / protected 80%)
+ *
+ * 새 항목은 window에 들어가고, window에서 밀려난 후보는 main의 probation 최하위(희생자)보다
+ * 스케치 빈도가 높을 때만 입장 - 한 번 지나가는 키(스캔)가 자주 쓰는 항목을 밀어내지 못함
+ * probation에서 다시 조회되면 protected로 승격되고, protected가 넘치면 최하위가 probation으로 강등됨
+ *
+ * 항목 수가 작은 인스턴스 로컬 캐시라 단일 락으로 동기화
+ */
+class TinyLfuCache<K, V> {
+
+    private final int maximumSize;
+    private final int maxWindow;
+    private final int maxProtected;
+    private final FrequencySketch sketch;
+    private final Consumer<V> evictionListener;
+
+    // accessOrder=true - 첫 항목이 가장 오래 전에 쓰인 항목
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+    TinyLfuCache(int maximumSize, double windowPercent, Consumer<V> evictionListener) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("maximumSize must be at least 2");
+        }
+        this.maximumSize = maximumSize;
+        this.maxWindow = Math.max(1, (int) (maximumSize * windowPercent / 100.0));
+        this.maxProtected = (int) ((maximumSize - maxWindow) * 0.8);
+        this.sketch = new FrequencySketch(maximumSize);
+        this.evictionListener = evictionListener;
+    }
+
+    synchronized V get(K key) {
+        sketch.increment(key);
+
+        V value = window.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = protectedSegment.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = probation.remove(key);
+        if (value != null) {
+            promote(key, value);
+        }
+        return value;
+    }
+
+    synchronized void put(K key, V value) {
+        if (window.containsKey(key)) {
+            window.put(key, value);
+            return;
+        }
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+            return;
+        }
+        if (probation.containsKey(key)) {
+            probation.remove(key);
+            promote(key, value);
+            return;
+        }
+
+        window.put(key, value);
+        if (window.size() > maxWindow) {
+            Map.Entry<K, V> candidate = removeEldest(window);
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    synchronized void invalidate(K key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * window에서 밀려난 후보를 main에 넣을지 결정 - main이 가득 찼으면 희생자와 빈도 비교
+     */
+    private void admit(K key, V value) {
+        if (probation.size() + protectedSegment.size() < maximumSize - maxWindow) {
+            probation.put(key, value);
+            return;
+        }
+
+        LinkedHashMap<K, V> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        K victimKey = victimSegment.keySet().iterator().next();
+        if (sketch.frequency(key) > sketch.frequency(victimKey)) {
+            evictionListener.accept(victimSegment.remove(victimKey));
+            probation.put(key, value);
+        } else {
+            evictionListener.accept(value);
+        }
+    }
+
+    private void promote(K key, V value) {
+        protectedSegment.put(key, value);
+        if (protectedSegment.size() > maxProtected) {
+            Map.Entry<K, V> demoted = removeEldest(protectedSegment);
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> segment) {
+        Iterator<Map.Entry<K, V>> iterator = segment.entrySet().iterator();
+        Map.Entry<K, V> eldest = iterator.next();
+        iterator.remove();
+        return Map.entry(eldest.getKey(), eldest.getValue());
+    }
+}
@@ -0,0 +1,86 @@
+package junghun.studycicd.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인스턴스에서 처리 중인 요청 수 추적
+ * 컨트롤러가 가중치를 0으로 내린 뒤 이 값이 0이 될 때까지 기다렸다가 upstream에서 제거
+ * 비동기 요청은 최초 디스패치에서 한 번 세고 ASYNC 디스패치가 끝날 때(afterCompletion) 한 번 뺌
+ * 끝나지 않는 SSE 스트림은 WebConfig에서 제외 (드레인이 0에 도달하지 못하므로)
+ */
+@Component
+public class InFlightRequestTracker implements AsyncHandlerInterceptor {
+
+    public static final String STREAM_PATH = "/api/auto-deployment/stream";
+
+    private static final String TRACKED_ATTRIBUTE = InFlightRequestTracker.class.getName() + ".tracked";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public InFlightRequestTracker(MeterRegistry meterRegistry) {
+        Gauge.builder("http_requests_in_flight", inFlight, AtomicInteger::get)
+                .description("Number of application requests currently being processed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                            Object handler) throws Exception {
+        // ASYNC 디스패치는 최초 디스패치에서 이미 셈
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (shouldTrackRequest(request)) {
+            inFlight.incrementAndGet();
+            request.setAttribute(TRACKED_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                               Object handler, Exception ex) throws Exception {
+        if (request.getAttribute(TRACKED_ATTRIBUTE) != null) {
+            request.removeAttribute(TRACKED_ATTRIBUTE);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) throws Exception {
+        // 비동기 처리가 시작되면 afterCompletion은 ASYNC 디스패치 끝에서 호출 - 여기서는 계속 처리 중으로 둠
+    }
+
+    /**
+     * 인터셉터를 거치지 않는 요청(reactive 프로파일)에서 직접 집계
+     */
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void requestFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private boolean shouldTrackRequest(HttpServletRequest request) {
+        String path = request.getRequestURI();
+
+        // 드레인 상태 조회 자체는 처리 중 요청으로 세지 않음
+        return !path.equals("/health") &&
+               !path.startsWith("/actuator") &&
+               !path.startsWith("/api/drain");
+    }
+}
@@ -1,6 +1,8 @@
 package junghun.studycicd.config;
 
 import jakarta.servlet.http.HttpServletRequest;
+import junghun.studycicd.replay.RequestCaptureService;
+import junghun.studycicd.warmup.WarmupRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,19 +18,36 @@ import java.util.UUID;
 @Configuration
 public class LoggingConfig implements WebMvcConfigurer {
 
+    private final RequestCaptureService requestCaptureService;
+
+    public LoggingConfig(RequestCaptureService requestCaptureService) {
+        this.requestCaptureService = requestCaptureService;
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RequestLoggingInterceptor());
+        registry.addInterceptor(new RequestLoggingInterceptor(requestCaptureService));
     }
 
     public static class RequestLoggingInterceptor implements HandlerInterceptor {
         private static final Logger logger = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
 
+        private final RequestCaptureService requestCaptureService;
+
+        public RequestLoggingInterceptor(RequestCaptureService requestCaptureService) {
+            this.requestCaptureService = requestCaptureService;
+        }
+
         @Value("${spring.application.name:studycicd}")
         private String applicationName;
 
         @Override
         public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+            // 워밍업 요청은 로그를 남기지 않음
+            if (WarmupRequest.isWarmup(request)) {
+                return true;
+            }
+            
             long startTime = System.currentTimeMillis();
             
             // Request ID 설정 (NGINX에서 오거나 새로 생성)
@@ -62,6 +81,9 @@ public class LoggingConfig implements WebMvcConfigurer {
 
         @Override
         public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+            if (WarmupRequest.isWarmup(request)) {
+                return;
+            }
             try {
                 long startTime = (Long) request.getAttribute("startTime");
                 long duration = System.currentTimeMillis() - startTime;
@@ -85,6 +107,8 @@ public class LoggingConfig implements WebMvcConfigurer {
                             ex.getMessage(), ex);
                 }
             } finally {
+                // 캡처 중이면 샘플링된 요청을 캡처 파일로 (본문은 핸들러가 읽은 뒤라 여기서 기록)
+                requestCaptureService.capture(request);
                 MDC.clear();
             }
         }
@@ -3,20 +3,25 @@ package junghun.studycicd.config;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import junghun.studycicd.service.ShadowRequest;
+import junghun.studycicd.warmup.WarmupRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 public class MetricsInterceptor implements HandlerInterceptor {
     
+    private final ShadowRequest shadowRequest;
     private final Counter totalRequestCounter;
     private final Counter successRequestCounter;
     private final Timer requestTimer;
     
-    public MetricsInterceptor(MeterRegistry meterRegistry) {
+    public MetricsInterceptor(MeterRegistry meterRegistry, ShadowRequest shadowRequest) {
+        this.shadowRequest = shadowRequest;
         this.totalRequestCounter = Counter.builder("http_requests_total")
                 .description("Total number of HTTP requests")
                 .register(meterRegistry);
@@ -35,7 +40,7 @@ public class MetricsInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, 
                             Object handler) throws Exception {
         
-        if (shouldTrackRequest(request)) {
+        if (shouldTrackRequest(request) || shadowRequest.isShadow(request)) {
             request.setAttribute("startTime", System.nanoTime());
         }
         
@@ -46,7 +51,18 @@ public class MetricsInterceptor implements HandlerInterceptor {
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, 
                                Object handler, Exception ex) throws Exception {
         
-        if (shouldTrackRequest(request)) {
+        // 섀도 요청은 응답이 버려지므로 요청 수/성공률에는 넣지 않고 섀도 비교용 타이머에만 기록
+        if (shadowRequest.isShadow(request)) {
+            Long startTime = (Long) request.getAttribute("startTime");
+            // 에러 디스패치(/error)에서 한 번 더 호출되므로 원래 요청에서만 기록
+            if (startTime != null && request.getDispatcherType() == DispatcherType.REQUEST) {
+                shadowRequest.record(request.getMethod(), response.getStatus(), System.nanoTime() - startTime);
+            }
+            return;
+        }
+        
+        // 캐시 적중으로 핸들러가 호출되지 않은 요청도 여기서 집계 (에러 디스패치는 제외)
+        if (shouldTrackRequest(request) && request.getDispatcherType() == DispatcherType.REQUEST) {
             Long startTime = (Long) request.getAttribute("startTime");
             if (startTime != null) {
                 long duration = System.nanoTime() - startTime;
@@ -66,6 +82,7 @@ public class MetricsInterceptor implements HandlerInterceptor {
         
         return !path.equals("/health") && 
                !path.equals("/nginx_status") && 
-               !path.startsWith("/actuator");
+               !path.startsWith("/actuator") &&
+               !WarmupRequest.isWarmup(request);
     }
 }
\ No newline at end of file
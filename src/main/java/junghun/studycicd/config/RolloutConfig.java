@@ -0,0 +1,205 @@
+package junghun.studycicd.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * SLO 임계값과 자동 배포 타이밍의 불변 스냅샷
+ * RolloutConfigSource가 volatile 참조 하나로 교체하므로 읽는 쪽은 한 번 가져온 스냅샷을 끝까지 사용
+ */
+public final class RolloutConfig {
+
+    public static final String ERROR_RATE_THRESHOLD = "slo.error-rate.threshold";
+    public static final String RESPONSE_TIME_P95_THRESHOLD = "slo.response-time.p95.threshold";
+    public static final String RESPONSE_TIME_P99_THRESHOLD = "slo.response-time.p99.threshold";
+    public static final String RESPONSE_TIME_AVERAGE_THRESHOLD = "slo.response-time.average.threshold";
+    public static final String AVAILABILITY_THRESHOLD = "slo.availability.threshold";
+    public static final String MIN_THROUGHPUT_RPS = "slo.throughput.min-rps";
+    public static final String AUTO_DEPLOYMENT_ENABLED = "auto-deployment.enabled";
+    public static final String STAGE_WAIT_MINUTES = "auto-deployment.stage-wait-minutes";
+    public static final String EVALUATION_PERIOD_MINUTES = "auto-deployment.evaluation-period-minutes";
+    public static final String MIN_SAMPLE_SIZE = "auto-deployment.min-sample-size";
+    public static final String CAPACITY_GATE_ENABLED = "capacity.gate-enabled";
+    public static final String SHADOW_PHASE_ENABLED = "shadow.phase-enabled";
+    public static final String SHADOW_PHASE_MINUTES = "shadow.phase-minutes";
+
+    // 설정 파일에서 허용하는 키 (오타로 인한 무시를 막기 위해 그 외 키는 거부)
+    public static final Set<String> KEYS = Set.of(
+        ERROR_RATE_THRESHOLD, RESPONSE_TIME_P95_THRESHOLD, RESPONSE_TIME_P99_THRESHOLD,
+        RESPONSE_TIME_AVERAGE_THRESHOLD, AVAILABILITY_THRESHOLD, MIN_THROUGHPUT_RPS,
+        AUTO_DEPLOYMENT_ENABLED, STAGE_WAIT_MINUTES, EVALUATION_PERIOD_MINUTES, MIN_SAMPLE_SIZE,
+        CAPACITY_GATE_ENABLED, SHADOW_PHASE_ENABLED, SHADOW_PHASE_MINUTES
+    );
+
+    private final Double errorRateThreshold;
+    private final Double responseTimeP95Threshold;
+    private final Double responseTimeP99Threshold;
+    private final Double responseTimeAverageThreshold;
+    private final Double availabilityThreshold;
+    private final Double minThroughputRps;
+    private final Boolean autoDeploymentEnabled;
+    private final Integer stageWaitMinutes;
+    private final Integer evaluationPeriodMinutes;
+    private final Integer minSampleSize;
+    private final Boolean capacityGateEnabled;
+    private final Boolean shadowPhaseEnabled;
+    private final Integer shadowPhaseMinutes;
+    private final Long version;
+    private final String source;
+    private final LocalDateTime loadedAt;
+
+    public RolloutConfig(Double errorRateThreshold, Double responseTimeP95Threshold,
+                         Double responseTimeP99Threshold, Double responseTimeAverageThreshold,
+                         Double availabilityThreshold, Double minThroughputRps,
+                         Boolean autoDeploymentEnabled, Integer stageWaitMinutes,
+                         Integer evaluationPeriodMinutes, Integer minSampleSize,
+                         Boolean capacityGateEnabled, Boolean shadowPhaseEnabled,
+                         Integer shadowPhaseMinutes, Long version, String source,
+                         LocalDateTime loadedAt) {
+        this.errorRateThreshold = errorRateThreshold;
+        this.responseTimeP95Threshold = responseTimeP95Threshold;
+        this.responseTimeP99Threshold = responseTimeP99Threshold;
+        this.responseTimeAverageThreshold = responseTimeAverageThreshold;
+        this.availabilityThreshold = availabilityThreshold;
+        this.minThroughputRps = minThroughputRps;
+        this.autoDeploymentEnabled = autoDeploymentEnabled;
+        this.stageWaitMinutes = stageWaitMinutes;
+        this.evaluationPeriodMinutes = evaluationPeriodMinutes;
+        this.minSampleSize = minSampleSize;
+        this.capacityGateEnabled = capacityGateEnabled;
+        this.shadowPhaseEnabled = shadowPhaseEnabled;
+        this.shadowPhaseMinutes = shadowPhaseMinutes;
+        this.version = version;
+        this.source = source;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * 키 조회 함수로 스냅샷 생성 - 파싱/검증 실패 시 IllegalArgumentException (모든 오류를 한 번에 보고)
+     */
+    public static RolloutConfig parse(Function<String, String> lookup, long version, String source) {
+        List<String> errors = new ArrayList<>();
+        Parser parser = new Parser(lookup, errors);
+
+        Double errorRate = parser.decimal(ERROR_RATE_THRESHOLD, 2.0);
+        Double p95 = parser.decimal(RESPONSE_TIME_P95_THRESHOLD, 1.0);
+        Double p99 = parser.decimal(RESPONSE_TIME_P99_THRESHOLD, 2.0);
+        Double average = parser.decimal(RESPONSE_TIME_AVERAGE_THRESHOLD, 1.5);
+        Double availability = parser.decimal(AVAILABILITY_THRESHOLD, 99.9);
+        Double minRps = parser.decimal(MIN_THROUGHPUT_RPS, 1.0);
+        Boolean enabled = parser.bool(AUTO_DEPLOYMENT_ENABLED, true);
+        Integer stageWait = parser.integer(STAGE_WAIT_MINUTES, 5);
+        Integer evaluationPeriod = parser.integer(EVALUATION_PERIOD_MINUTES, 3);
+        Integer minSamples = parser.integer(MIN_SAMPLE_SIZE, 100);
+        Boolean capacityGate = parser.bool(CAPACITY_GATE_ENABLED, true);
+        Boolean shadowEnabled = parser.bool(SHADOW_PHASE_ENABLED, true);
+        Integer shadowMinutes = parser.integer(SHADOW_PHASE_MINUTES, 10);
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        require(errors, errorRate >= 0 && errorRate <= 100, ERROR_RATE_THRESHOLD + " must be between 0 and 100");
+        require(errors, p95 > 0, RESPONSE_TIME_P95_THRESHOLD + " must be positive");
+        require(errors, p99 >= p95, RESPONSE_TIME_P99_THRESHOLD + " must not be below the p95 threshold");
+        require(errors, average > 0, RESPONSE_TIME_AVERAGE_THRESHOLD + " must be positive");
+        require(errors, availability >= 0 && availability <= 100, AVAILABILITY_THRESHOLD + " must be between 0 and 100");
+        require(errors, minRps >= 0, MIN_THROUGHPUT_RPS + " must not be negative");
+        require(errors, stageWait >= 1, STAGE_WAIT_MINUTES + " must be at least 1");
+        require(errors, evaluationPeriod >= 1, EVALUATION_PERIOD_MINUTES + " must be at least 1");
+        require(errors, minSamples >= 0, MIN_SAMPLE_SIZE + " must not be negative");
+        require(errors, shadowMinutes >= 0, SHADOW_PHASE_MINUTES + " must not be negative");
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        return new RolloutConfig(errorRate, p95, p99, average, availability, minRps, enabled,
+                                 stageWait, evaluationPeriod, minSamples, capacityGate,
+                                 shadowEnabled, shadowMinutes, version, source, LocalDateTime.now());
+    }
+
+    private static void require(List<String> errors, boolean condition, String message) {
+        if (!condition) {
+            errors.add(message);
+        }
+    }
+
+    private static class Parser {
+        private final Function<String, String> lookup;
+        private final List<String> errors;
+
+        Parser(Function<String, String> lookup, List<String> errors) {
+            this.lookup = lookup;
+            this.errors = errors;
+        }
+
+        private String raw(String key) {
+            String value = lookup.apply(key);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        Double decimal(String key, double defaultValue) {
+            String value = raw(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                double parsed = Double.parseDouble(value);
+                if (Double.isFinite(parsed)) {
+                    return parsed;
+                }
+            } catch (NumberFormatException ignored) {
+                // 아래에서 오류로 보고
+            }
+            errors.add(key + " is not a number: " + value);
+            return defaultValue;
+        }
+
+        Integer integer(String key, int defaultValue) {
+            String value = raw(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                errors.add(key + " is not an integer: " + value);
+                return defaultValue;
+            }
+        }
+
+        Boolean bool(String key, boolean defaultValue) {
+            String value = raw(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                errors.add(key + " is not a boolean: " + value);
+                return defaultValue;
+            }
+            return Boolean.parseBoolean(value);
+        }
+    }
+
+    // Getters
+    public Double getErrorRateThreshold() { return errorRateThreshold; }
+    public Double getResponseTimeP95Threshold() { return responseTimeP95Threshold; }
+    public Double getResponseTimeP99Threshold() { return responseTimeP99Threshold; }
+    public Double getResponseTimeAverageThreshold() { return responseTimeAverageThreshold; }
+    public Double getAvailabilityThreshold() { return availabilityThreshold; }
+    public Double getMinThroughputRps() { return minThroughputRps; }
+    public Boolean getAutoDeploymentEnabled() { return autoDeploymentEnabled; }
+    public Integer getStageWaitMinutes() { return stageWaitMinutes; }
+    public Integer getEvaluationPeriodMinutes() { return evaluationPeriodMinutes; }
+    public Integer getMinSampleSize() { return minSampleSize; }
+    public Boolean getCapacityGateEnabled() { return capacityGateEnabled; }
+    public Boolean getShadowPhaseEnabled() { return shadowPhaseEnabled; }
+    public Integer getShadowPhaseMinutes() { return shadowPhaseMinutes; }
+    public Long getVersion() { return version; }
+    public String getSource() { return source; }
+    public LocalDateTime getLoadedAt() { return loadedAt; }
+}
@@ -0,0 +1,204 @@
+package junghun.studycicd.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재시작 없이 바꿀 수 있는 롤아웃 설정
+ * application.properties 값을 기본으로, 설정 파일(rollout.config-file)의 값을 덮어써 스냅샷을 만들고
+ * WatchService로 파일 변경을 감지해 검증을 통과한 경우에만 교체 - 실패하면 이전 스냅샷 유지
+ */
+@Component
+public class RolloutConfigSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RolloutConfigSource.class);
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong versions = new AtomicLong();
+
+    @Value("${rollout.config-file:}")
+    private String configFile;
+
+    // 편집기가 여러 번 나눠 쓰는 경우를 한 번의 리로드로 묶기 위한 대기 시간
+    @Value("${rollout.reload-debounce-ms:200}")
+    private Long debounceMs;
+
+    private volatile RolloutConfig current;
+    private volatile String lastError;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public RolloutConfigSource(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.current = RolloutConfig.parse(environment::getProperty, versions.incrementAndGet(), "application");
+    }
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("rollout_config_version", this, s -> s.current.getVersion())
+                .description("Version of the active rollout configuration snapshot")
+                .register(meterRegistry);
+
+        if (configFile == null || configFile.isBlank()) {
+            logger.info("Rollout config file not set - using application properties only");
+            return;
+        }
+
+        Path path = Path.of(configFile).toAbsolutePath();
+        if (Files.exists(path)) {
+            reload("startup");
+        }
+
+        try {
+            Files.createDirectories(path.getParent());
+            watchService = FileSystems.getDefault().newWatchService();
+            path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.error("Failed to watch rollout config file {} - hot reload disabled", path, e);
+            return;
+        }
+
+        watcherThread = new Thread(() -> watch(path), "rollout-config-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.info("Watching rollout config file {}", path);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close rollout config watcher", e);
+            }
+        }
+    }
+
+    /**
+     * 현재 스냅샷 (락 없이 읽기 - 한 번의 평가/틱 동안 같은 스냅샷을 사용할 것)
+     */
+    public RolloutConfig current() {
+        return current;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * 설정 파일을 다시 읽어 검증 후 교체
+     */
+    public synchronized boolean reload(String trigger) {
+        if (configFile == null || configFile.isBlank()) {
+            return false;
+        }
+        Path path = Path.of(configFile).toAbsolutePath();
+
+        try {
+            RolloutConfig next;
+            if (Files.exists(path)) {
+                Properties overrides = new Properties();
+                try (InputStream in = Files.newInputStream(path)) {
+                    overrides.load(in);
+                }
+                Set<String> unknown = new HashSet<>(overrides.stringPropertyNames());
+                unknown.removeAll(RolloutConfig.KEYS);
+                if (!unknown.isEmpty()) {
+                    throw new IllegalArgumentException("Unknown keys " + unknown);
+                }
+                next = RolloutConfig.parse(
+                        key -> overrides.getProperty(key, environment.getProperty(key)),
+                        versions.incrementAndGet(), path.toString());
+            } else {
+                // 파일을 지우면 application.properties 값으로 복귀
+                next = RolloutConfig.parse(environment::getProperty, versions.incrementAndGet(), "application");
+            }
+
+            RolloutConfig previous = current;
+            current = next;
+            lastError = null;
+            count("success");
+            logger.info("🔧 Rollout config v{} loaded from {} ({}): errorRate={}%, p95={}s, p99={}s, " +
+                       "stageWait={}m, minSamples={}",
+                       next.getVersion(), next.getSource(), trigger,
+                       next.getErrorRateThreshold(), next.getResponseTimeP95Threshold(),
+                       next.getResponseTimeP99Threshold(), next.getStageWaitMinutes(), next.getMinSampleSize());
+            logger.debug("Replaced rollout config v{}", previous.getVersion());
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            lastError = e.getMessage();
+            count("failure");
+            logger.error("❌ Rejected rollout config change from {} - keeping v{}: {}",
+                        path, current.getVersion(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void watch(Path path) {
+        Path fileName = path.getFileName();
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                try {
+                    // 저장이 끝날 때까지 잠시 기다린 뒤 쌓인 이벤트를 버리고 한 번만 리로드
+                    TimeUnit.MILLISECONDS.sleep(debounceMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                key.pollEvents();
+                reload("file change");
+            }
+
+            if (!key.reset()) {
+                logger.warn("Rollout config directory is no longer accessible - hot reload stopped");
+                return;
+            }
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("rollout_config_reload_total", "result", result).increment();
+    }
+}
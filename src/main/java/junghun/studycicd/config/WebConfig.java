@@ -1,6 +1,9 @@
 package junghun.studycicd.config;
 
+import junghun.studycicd.cache.ResponseCacheInterceptor;
+import junghun.studycicd.simulation.FaultInjectionInterceptor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -8,13 +11,28 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
     
     private final MetricsInterceptor metricsInterceptor;
+    private final InFlightRequestTracker inFlightRequestTracker;
+    private final ResponseCacheInterceptor responseCacheInterceptor;
+    private final FaultInjectionInterceptor faultInjectionInterceptor;
     
-    public WebConfig(MetricsInterceptor metricsInterceptor) {
+    public WebConfig(MetricsInterceptor metricsInterceptor,
+                     InFlightRequestTracker inFlightRequestTracker,
+                     ResponseCacheInterceptor responseCacheInterceptor,
+                     FaultInjectionInterceptor faultInjectionInterceptor) {
         this.metricsInterceptor = metricsInterceptor;
+        this.inFlightRequestTracker = inFlightRequestTracker;
+        this.responseCacheInterceptor = responseCacheInterceptor;
+        this.faultInjectionInterceptor = faultInjectionInterceptor;
     }
     
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // SSE 스트림은 구독이 끝날 때까지 열려 있으므로 처리 중 요청으로 세지 않음
+        registry.addInterceptor(inFlightRequestTracker).excludePathPatterns(InFlightRequestTracker.STREAM_PATH);
         registry.addInterceptor(metricsInterceptor);
+        // 장애 규칙을 등록/해제하는 API 자체는 느려지지 않도록 제외
+        registry.addInterceptor(faultInjectionInterceptor).excludePathPatterns("/api/error-simulation/**");
+        // 캐시 적중 시 이후 인터셉터는 건너뛰므로 다른 인터셉터(요청 로그 포함)보다 뒤에 실행
+        registry.addInterceptor(responseCacheInterceptor).order(Ordered.LOWEST_PRECEDENCE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package junghun.studycicd.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import junghun.studycicd.dto.AlertmanagerAlert;
+import junghun.studycicd.service.AlertWebhookService;
+import junghun.studycicd.service.AlertmanagerPayloadParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alertmanager 웹훅 수신 (NGINX + webhook-handler + 스크립트 체인 대체)
+ */
+@RestController
+@RequestMapping("/webhook")
+public class AlertmanagerWebhookController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertmanagerWebhookController.class);
+
+    private final AlertmanagerPayloadParser payloadParser;
+    private final AlertWebhookService alertWebhookService;
+
+    @Value("${alertmanager.webhook.username:}")
+    private String username;
+
+    // 비어 있으면 인증 없이 수신
+    @Value("${alertmanager.webhook.password:}")
+    private String password;
+
+    public AlertmanagerWebhookController(AlertmanagerPayloadParser payloadParser,
+                                         AlertWebhookService alertWebhookService) {
+        this.payloadParser = payloadParser;
+        this.alertWebhookService = alertWebhookService;
+    }
+
+    @PostMapping("/alertmanager")
+    public ResponseEntity<Map<String, Object>> receive(HttpServletRequest request) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (!isAuthorized(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            response.put("message", "Unauthorized");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Rollback Webhook\"")
+                    .body(response);
+        }
+
+        List<AlertmanagerAlert> alerts;
+        try {
+            alerts = payloadParser.parse(request.getInputStream());
+        } catch (IOException e) {
+            logger.warn("Invalid Alertmanager payload: {}", e.getMessage());
+            response.put("message", "Invalid Alertmanager payload: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        AlertWebhookService.WebhookResult result = alertWebhookService.handle(alerts);
+        response.put("received", result.getReceived());
+        response.put("duplicates", result.getDuplicates());
+        response.put("groups", result.getGroups());
+        response.put("rollbackTriggered", result.getRollbackTriggered());
+        response.put("rolledBack", result.getRolledBack());
+        response.put("message", result.getMessage());
+        response.put("timestamp", System.currentTimeMillis());
+        if (result.getRollbackTriggered() && !result.getRolledBack()) {
+            // 5xx를 받아야 Alertmanager가 같은 알람을 다시 보냄
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    private boolean isAuthorized(String authorization) {
+        if (password == null || password.isEmpty()) {
+            return true;
+        }
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            return false;
+        }
+        byte[] expected = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
+        byte[] actual;
+        try {
+            actual = Base64.getDecoder().decode(authorization.substring(6).trim());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+}
@@ -1,10 +1,25 @@
 package junghun.studycicd.controller;
 
+import junghun.studycicd.baseline.SloBaselineLearner;
+import junghun.studycicd.config.RolloutConfigSource;
+import junghun.studycicd.history.SliHistoryStore;
 import junghun.studycicd.service.AutoDeploymentScheduler;
+import junghun.studycicd.service.CapacityAdvisor;
+import junghun.studycicd.service.DeploymentService;
+import junghun.studycicd.service.DeploymentStateVersion;
 import junghun.studycicd.service.SliSloEvaluator;
+import junghun.studycicd.stream.DeploymentEventStream;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,11 +32,32 @@ public class AutoDeploymentController {
     
     private final AutoDeploymentScheduler autoDeploymentScheduler;
     private final SliSloEvaluator sliSloEvaluator;
+    private final CapacityAdvisor capacityAdvisor;
+    private final DeploymentService deploymentService;
+    private final RolloutConfigSource rolloutConfigSource;
+    private final SliHistoryStore sliHistoryStore;
+    private final SloBaselineLearner sloBaselineLearner;
+    private final DeploymentStateVersion stateVersion;
+    private final DeploymentEventStream deploymentEventStream;
     
     public AutoDeploymentController(AutoDeploymentScheduler autoDeploymentScheduler,
-                                   SliSloEvaluator sliSloEvaluator) {
+                                   SliSloEvaluator sliSloEvaluator,
+                                   CapacityAdvisor capacityAdvisor,
+                                   DeploymentService deploymentService,
+                                   RolloutConfigSource rolloutConfigSource,
+                                   SliHistoryStore sliHistoryStore,
+                                   SloBaselineLearner sloBaselineLearner,
+                                   DeploymentStateVersion stateVersion,
+                                   DeploymentEventStream deploymentEventStream) {
         this.autoDeploymentScheduler = autoDeploymentScheduler;
         this.sliSloEvaluator = sliSloEvaluator;
+        this.capacityAdvisor = capacityAdvisor;
+        this.deploymentService = deploymentService;
+        this.rolloutConfigSource = rolloutConfigSource;
+        this.sliHistoryStore = sliHistoryStore;
+        this.sloBaselineLearner = sloBaselineLearner;
+        this.stateVersion = stateVersion;
+        this.deploymentEventStream = deploymentEventStream;
     }
     
     /**
@@ -61,11 +97,17 @@ public class AutoDeploymentController {
     }
     
     /**
-     * 자동 배포 상태 조회
+     * 자동 배포 상태 조회 - 상태 버전과 롤아웃 설정 버전이 같으면 304 (If-None-Match)
      */
     @GetMapping("/status")
-    public ResponseEntity<AutoDeploymentScheduler.AutoDeploymentStatus> getAutoDeploymentStatus() {
-        return ResponseEntity.ok(autoDeploymentScheduler.getAutoDeploymentStatus());
+    public ResponseEntity<AutoDeploymentScheduler.AutoDeploymentStatus> getAutoDeploymentStatus(WebRequest webRequest) {
+        // 응답에 설정값(단계 대기 시간 등)이 포함되므로 설정이 다시 로드되어도 ETag가 바뀌어야 함
+        String etag = stateVersion.etag("auto-deployment", rolloutConfigSource.current().getVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache())
+                .body(autoDeploymentScheduler.getAutoDeploymentStatus());
     }
     
     /**
@@ -90,24 +132,103 @@ public class AutoDeploymentController {
      */
     @GetMapping("/sli-slo/config")
     public ResponseEntity<Map<String, Object>> getSliSloConfig() {
-        var currentResult = sliSloEvaluator.evaluateCurrentState();
+        // Prometheus 조회 없이 현재 적용 중인 스냅샷을 그대로 반환
+        var config = rolloutConfigSource.current();
         
-        return ResponseEntity.ok(Map.of(
-            "thresholds", Map.of(
-                "errorRatePercent", currentResult.getErrorRateThreshold(),
-                "responseTimeP95Seconds", currentResult.getResponseTimeThreshold(),
-                "responseTimeP99Seconds", currentResult.getResponseTimeP99Threshold(),
-                "availabilityPercent", currentResult.getAvailabilityThreshold(),
-                "throughputRps", currentResult.getThroughputThreshold()
-            ),
-            "description", Map.of(
-                "errorRatePercent", "Maximum allowed error rate percentage",
-                "responseTimeP95Seconds", "Maximum allowed 95th percentile response time",
-                "responseTimeP99Seconds", "Maximum allowed 99th percentile response time", 
-                "availabilityPercent", "Minimum required availability percentage",
-                "throughputRps", "Minimum required requests per second"
-            )
+        Map<String, Object> thresholds = new HashMap<>();
+        thresholds.put("errorRatePercent", config.getErrorRateThreshold());
+        thresholds.put("responseTimeP95Seconds", config.getResponseTimeP95Threshold());
+        thresholds.put("responseTimeP99Seconds", config.getResponseTimeP99Threshold());
+        thresholds.put("responseTimeAverageSeconds", config.getResponseTimeAverageThreshold());
+        thresholds.put("availabilityPercent", config.getAvailabilityThreshold());
+        thresholds.put("throughputRps", config.getMinThroughputRps());
+        
+        Map<String, Object> rollout = new HashMap<>();
+        rollout.put("enabled", config.getAutoDeploymentEnabled());
+        rollout.put("stageWaitMinutes", config.getStageWaitMinutes());
+        rollout.put("evaluationPeriodMinutes", config.getEvaluationPeriodMinutes());
+        rollout.put("minSampleSize", config.getMinSampleSize());
+        rollout.put("capacityGateEnabled", config.getCapacityGateEnabled());
+        rollout.put("shadowPhaseEnabled", config.getShadowPhaseEnabled());
+        rollout.put("shadowPhaseMinutes", config.getShadowPhaseMinutes());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("thresholds", thresholds);
+        response.put("rollout", rollout);
+        response.put("version", config.getVersion());
+        response.put("source", config.getSource());
+        response.put("loadedAt", config.getLoadedAt());
+        response.put("lastReloadError", rolloutConfigSource.getLastError());
+        response.put("description", Map.of(
+            "errorRatePercent", "Maximum allowed error rate percentage",
+            "responseTimeP95Seconds", "Maximum allowed 95th percentile response time",
+            "responseTimeP99Seconds", "Maximum allowed 99th percentile response time", 
+            "responseTimeAverageSeconds", "Maximum allowed average response time",
+            "availabilityPercent", "Minimum required availability percentage",
+            "throughputRps", "Minimum required requests per second"
         ));
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 현재 시간대 레거시 기준선과 이를 반영한 SLO 게이트
+     */
+    @GetMapping("/baseline")
+    public ResponseEntity<SloBaselineLearner.BaselineReport> getBaseline() {
+        return ResponseEntity.ok(sloBaselineLearner.getReport());
+    }
+    
+    /**
+     * 설정 파일 즉시 다시 읽기 (파일 감시가 동작하지 않는 환경용)
+     */
+    @PostMapping("/config/reload")
+    public ResponseEntity<Map<String, Object>> reloadConfig() {
+        boolean reloaded = rolloutConfigSource.reload("api");
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", reloaded);
+        response.put("version", rolloutConfigSource.current().getVersion());
+        response.put("source", rolloutConfigSource.current().getSource());
+        response.put("error", rolloutConfigSource.getLastError());
+        return reloaded ? ResponseEntity.ok(response) : ResponseEntity.badRequest().body(response);
+    }
+    
+    /**
+     * SLI 평가 이력 (압축 저장된 평가 결과를 다운샘플링해서 반환)
+     * from/to는 epoch ms, 기본값은 최근 1시간 / step(ms)이 없으면 자동 계산
+     */
+    @GetMapping("/history")
+    public ResponseEntity<SliHistoryStore.HistoryResult> getHistory(
+            @RequestParam(required = false) List<String> metrics,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Long step) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - Duration.ofHours(1).toMillis();
+        if (start >= end) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        
+        return ResponseEntity.ok(sliHistoryStore.query(
+            metrics != null && !metrics.isEmpty() ? metrics : SliHistoryStore.METRICS, start, end, step));
+    }
+    
+    /**
+     * 단계별 필요 인스턴스 수 (현재/예측 부하 기준)
+     */
+    @GetMapping("/capacity")
+    public ResponseEntity<CapacityAdvisor.CapacityReport> getCapacityPlan() {
+        var stages = deploymentService.getDeploymentStatus().getAvailableStages();
+        return ResponseEntity.ok(capacityAdvisor.getReport(stages));
+    }
+    
+    /**
+     * 배포 상태/SLI 이벤트 스트림 (SSE) - 대시보드가 폴링 대신 구독
+     * 구독자가 늘어도 Prometheus 쿼리와 직렬화는 늘지 않음
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamDeploymentEvents() {
+        return deploymentEventStream.subscribe();
     }
     
     /**
@@ -0,0 +1,58 @@
+package junghun.studycicd.controller;
+
+import junghun.studycicd.replay.RequestCaptureService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실제 요청 캡처 API
+ */
+@RestController
+@RequestMapping("/api/capture")
+public class CaptureController {
+
+    private final RequestCaptureService requestCaptureService;
+
+    public CaptureController(RequestCaptureService requestCaptureService) {
+        this.requestCaptureService = requestCaptureService;
+    }
+
+    /**
+     * 캡처 시작 (sampleRate: 캡처할 요청 비율 0~1)
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> startCapture(@RequestParam(defaultValue = "0.1") Double sampleRate) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("success", true);
+            response.put("status", requestCaptureService.start(sampleRate));
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            response.put("success", false);
+            response.put("message", "Failed to create capture file: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<RequestCaptureService.CaptureStatus> stopCapture() {
+        return ResponseEntity.ok(requestCaptureService.stop());
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCaptureStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", requestCaptureService.getStatus());
+        try {
+            response.put("files", requestCaptureService.listFiles());
+        } catch (IOException e) {
+            response.put("files", List.of());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
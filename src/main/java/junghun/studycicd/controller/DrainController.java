@@ -0,0 +1,37 @@
+package junghun.studycicd.controller;
+
+import junghun.studycicd.config.InFlightRequestTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/drain")
+public class DrainController {
+
+    private final InFlightRequestTracker inFlightRequestTracker;
+
+    @Value("${info.app.version.type:default}")
+    private String appVersion;
+
+    public DrainController(InFlightRequestTracker inFlightRequestTracker) {
+        this.inFlightRequestTracker = inFlightRequestTracker;
+    }
+
+    /**
+     * 이 인스턴스에서 처리 중인 요청 수 (컨트롤러의 커넥션 드레인 판단용)
+     */
+    @GetMapping("/in-flight")
+    public ResponseEntity<Map<String, Object>> getInFlight() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("inFlight", inFlightRequestTracker.getInFlight());
+        response.put("version", appVersion);
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,17 +1,25 @@
 package junghun.studycicd.controller;
 
+import jakarta.validation.Valid;
+import junghun.studycicd.dto.FaultRuleRequest;
 import junghun.studycicd.simulation.ErrorSimulationConfig;
 import junghun.studycicd.simulation.ErrorSimulationService;
 import junghun.studycicd.simulation.ErrorType;
+import junghun.studycicd.simulation.FaultInjector;
+import junghun.studycicd.simulation.FaultRule;
 import junghun.studycicd.simulation.SimulatedErrorException;
+import junghun.studycicd.simulation.SimulatedErrorResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,11 +29,14 @@ public class ErrorSimulationController {
     private static final Logger logger = LoggerFactory.getLogger(ErrorSimulationController.class);
     private final ErrorSimulationService errorSimulationService;
     private final ErrorSimulationConfig config;
+    private final FaultInjector faultInjector;
 
     public ErrorSimulationController(ErrorSimulationService errorSimulationService,
-                                      ErrorSimulationConfig config) {
+                                      ErrorSimulationConfig config,
+                                      FaultInjector faultInjector) {
         this.errorSimulationService = errorSimulationService;
         this.config = config;
+        this.faultInjector = faultInjector;
     }
 
     /**
@@ -165,6 +176,47 @@ public class ErrorSimulationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 성능 장애 규칙 목록 API
+     */
+    @GetMapping("/faults")
+    public ResponseEntity<List<FaultRule>> getFaultRules() {
+        return ResponseEntity.ok(faultInjector.getRules());
+    }
+
+    /**
+     * 성능 장애 규칙 등록 API (지연/CPU/할당/스레드 풀 고갈)
+     */
+    @PostMapping("/faults")
+    public ResponseEntity<FaultRule> addFaultRule(@Valid @RequestBody FaultRuleRequest request) {
+        return ResponseEntity.ok(faultInjector.addRule(request));
+    }
+
+    /**
+     * 성능 장애 규칙 삭제 API
+     */
+    @DeleteMapping("/faults/{id}")
+    public ResponseEntity<Map<String, Object>> removeFaultRule(@PathVariable String id) {
+        if (!faultInjector.removeRule(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("removed", id);
+        response.put("message", "Fault rule removed");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 성능 장애 규칙 전체 삭제 API
+     */
+    @DeleteMapping("/faults")
+    public ResponseEntity<Map<String, Object>> clearFaultRules() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("removed", faultInjector.clearRules());
+        response.put("message", "All fault rules removed");
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 사용 가능한 에러 타입 목록 API
      */
@@ -186,22 +238,27 @@ public class ErrorSimulationController {
     }
 
     /**
-     * 예외 핸들러
+     * 예외 핸들러 - 로그는 ErrorSimulationService에서 빈도를 제한해 기록하므로 여기서는 응답만 만듦
      */
     @ExceptionHandler(SimulatedErrorException.class)
-    public ResponseEntity<Map<String, Object>> handleSimulatedError(SimulatedErrorException e) {
+    public ResponseEntity<byte[]> handleSimulatedError(SimulatedErrorException e) {
+        return SimulatedErrorResponses.toResponseEntity(e);
+    }
+
+    /**
+     * 잘못된 요청 핸들러 - 아래 일반 예외 핸들러가 500으로 바꾸지 않도록 먼저 처리
+     */
+    @ExceptionHandler({IllegalArgumentException.class, HttpMessageNotReadableException.class,
+                       MethodArgumentNotValidException.class})
+    public ResponseEntity<Map<String, Object>> handleBadRequest(Exception e) {
         Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", e.getErrorType().name());
-        errorResponse.put("message", e.getMessage());
-        errorResponse.put("httpStatus", e.getErrorType().getStatus().value());
+        errorResponse.put("error", "BAD_REQUEST");
+        errorResponse.put("message", e instanceof MethodArgumentNotValidException invalid
+                ? invalid.getBindingResult().getAllErrors().get(0).getDefaultMessage()
+                : e.getMessage());
         errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("simulated", true);
 
-        logger.error("Simulated error response: {}", errorResponse);
-
-        return ResponseEntity
-                .status(e.getErrorType().getStatus())
-                .body(errorResponse);
+        return ResponseEntity.badRequest().body(errorResponse);
     }
 
     /**
@@ -0,0 +1,66 @@
+package junghun.studycicd.controller;
+
+import jakarta.validation.Valid;
+import junghun.studycicd.dto.FeatureFlagRequest;
+import junghun.studycicd.featureflag.FeatureFlag;
+import junghun.studycicd.featureflag.FeatureFlagService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 기능 플래그 관리 API - 평가는 /api/business/feature(s)에서
+ * 인스턴스 단위 API: 변경은 호출된 인스턴스에만 반영 (NGINX를 거치면 임의의 한 인스턴스만 바뀜)
+ */
+@RestController
+@RequestMapping("/api/feature-flags")
+public class FeatureFlagController {
+
+    private final FeatureFlagService featureFlagService;
+
+    public FeatureFlagController(FeatureFlagService featureFlagService) {
+        this.featureFlagService = featureFlagService;
+    }
+
+    /**
+     * 기능 플래그 목록 API
+     */
+    @GetMapping
+    public ResponseEntity<Collection<FeatureFlag>> getFlags() {
+        return ResponseEntity.ok(featureFlagService.getFlags());
+    }
+
+    /**
+     * 기능 플래그 조회 API
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<FeatureFlag> getFlag(@PathVariable String name) {
+        FeatureFlag flag = featureFlagService.getFlag(name);
+        return flag != null ? ResponseEntity.ok(flag) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 기능 플래그 등록/교체 API - 이 인스턴스는 다음 요청부터 새 규칙으로 평가
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<FeatureFlag> putFlag(@PathVariable String name, @Valid @RequestBody FeatureFlagRequest request) {
+        return ResponseEntity.ok(featureFlagService.putFlag(name, request));
+    }
+
+    /**
+     * 기능 플래그 삭제 API - 이 인스턴스에서 삭제된 플래그는 꺼진 것으로 평가
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Map<String, Object>> removeFlag(@PathVariable String name) {
+        if (!featureFlagService.removeFlag(name)) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("removed", name);
+        response.put("message", "Feature flag removed");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,6 +2,8 @@ package junghun.studycicd.controller;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import junghun.studycicd.simulation.SimulatedErrorException;
+import junghun.studycicd.simulation.SimulatedErrorResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -17,24 +19,19 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // 요청 수는 MetricsInterceptor가 집계하므로 여기서는 에러 수만 증가
     private final Counter errorCounter;
-    private final Counter totalRequestCounter;
 
     public GlobalExceptionHandler(MeterRegistry meterRegistry) {
         this.errorCounter = Counter.builder("http_errors_total")
                 .description("Total number of HTTP errors")
                 .tag("status", "error")
                 .register(meterRegistry);
-        
-        this.totalRequestCounter = Counter.builder("http_requests_total")
-                .description("Total number of HTTP requests")
-                .register(meterRegistry);
     }
 
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException e) {
         errorCounter.increment();
-        totalRequestCounter.increment();
         
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", "Internal Server Error");
@@ -45,10 +42,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    /**
+     * API 에러 시뮬레이션
+     */
+    @ExceptionHandler(SimulatedErrorException.class)
+    public ResponseEntity<byte[]> handleSimulatedErrorException(SimulatedErrorException e) {
+        errorCounter.increment();
+        return SimulatedErrorResponses.toResponseEntity(e);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException e) {
         errorCounter.increment();
-        totalRequestCounter.increment();
         
         Map<String, String> fieldErrors = e.getBindingResult().getFieldErrors().stream()
                 .collect(Collectors.toMap(
@@ -69,7 +74,6 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException e) {
         errorCounter.increment();
-        totalRequestCounter.increment();
         
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", "Bad Request");
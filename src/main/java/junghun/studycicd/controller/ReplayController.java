@@ -0,0 +1,47 @@
+package junghun.studycicd.controller;
+
+import jakarta.validation.Valid;
+import junghun.studycicd.dto.ReplayRequest;
+import junghun.studycicd.replay.ReplayEngine;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 캡처 파일 재생 API (레거시/리팩토링 버전을 같은 실제 요청 구성으로 벤치마크)
+ */
+@RestController
+@RequestMapping("/api/replay")
+public class ReplayController {
+
+    private final ReplayEngine replayEngine;
+
+    public ReplayController(ReplayEngine replayEngine) {
+        this.replayEngine = replayEngine;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<ReplayEngine.ReplayRun> startReplay(@Valid @RequestBody ReplayRequest request) {
+        return ResponseEntity.ok(replayEngine.start(request.getFile(), request.getTarget(), request.getSpeed()));
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<ReplayEngine.ReplayRun>> getRuns() {
+        return ResponseEntity.ok(replayEngine.getRuns());
+    }
+
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<ReplayEngine.ReplayRun> getRun(@PathVariable String id) {
+        ReplayEngine.ReplayRun run = replayEngine.getRun(id);
+        return run != null ? ResponseEntity.ok(run) : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/runs/{id}/cancel")
+    public ResponseEntity<ReplayEngine.ReplayRun> cancelRun(@PathVariable String id) {
+        if (!replayEngine.cancel(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(replayEngine.getRun(id));
+    }
+}
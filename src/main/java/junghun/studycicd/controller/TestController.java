@@ -1,104 +1,55 @@
 package junghun.studycicd.controller;
 
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import junghun.studycicd.simulation.ErrorSimulationService;
+import junghun.studycicd.cache.CacheableResponse;
+import junghun.studycicd.dto.HelloResponse;
+import junghun.studycicd.dto.StatusMessageResponse;
+import junghun.studycicd.dto.TestResponse;
+import junghun.studycicd.dto.VersionResponse;
 import junghun.studycicd.simulation.SimulatedErrorException;
-import org.springframework.beans.factory.annotation.Value;
+import junghun.studycicd.simulation.WorkloadService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
-
+/**
+ * 요청 수/응답 시간(http_requests_total, http_request_duration_seconds)은 MetricsInterceptor에서 집계
+ * (캐시 적중으로 핸들러가 호출되지 않는 요청도 포함)
+ */
 @RestController
 @RequestMapping("/api")
 public class TestController {
 
-    private final Counter requestCounter;
-    private final Timer responseTimer;
-    private final Random random = new Random();
-    private final ErrorSimulationService errorSimulationService;
-
-    @Value("${info.app.version.type:default}")
-    private String versionType;
-
-    public TestController(MeterRegistry meterRegistry, ErrorSimulationService errorSimulationService) {
-        this.errorSimulationService = errorSimulationService;
-        this.requestCounter = Counter.builder("http_requests_total")
-                .description("Total number of HTTP requests")
-                .register(meterRegistry);
+    private final WorkloadService workloadService;
 
-        this.responseTimer = Timer.builder("http_request_duration_seconds")
-                .description("HTTP request duration")
-                .register(meterRegistry);
+    public TestController(WorkloadService workloadService) {
+        this.workloadService = workloadService;
     }
 
     @GetMapping("/hello")
-    public ResponseEntity<Map<String, Object>> hello() throws Exception {
-        return responseTimer.recordCallable(() -> {
-            requestCounter.increment();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Hello from " + versionType + " version!");
-            response.put("timestamp", LocalDateTime.now());
-            response.put("version", versionType);
-            response.put("instance", System.getProperty("HOSTNAME", "unknown"));
-            
-            return ResponseEntity.ok(response);
-        });
+    @CacheableResponse(ttlMillis = 1000)
+    public ResponseEntity<HelloResponse> hello() {
+        return ResponseEntity.ok(workloadService.hello());
     }
 
     @GetMapping("/test")
-    public ResponseEntity<Map<String, Object>> test() throws Exception {
-        return responseTimer.recordCallable(() -> {
-            requestCounter.increment();
-            
-            // 시뮬레이션을 위한 랜덤 지연
-            try {
-                Thread.sleep(random.nextInt(100));
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("version", versionType);
-            response.put("timestamp", LocalDateTime.now());
-            response.put("processingTime", random.nextInt(100) + "ms");
-            
-            return ResponseEntity.ok(response);
-        });
+    public ResponseEntity<TestResponse> test() {
+        // 시뮬레이션을 위한 랜덤 지연
+        try {
+            Thread.sleep(workloadService.testDelayMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return ResponseEntity.ok(workloadService.test());
     }
 
     @GetMapping("/error-simulation")
-    public ResponseEntity<Map<String, Object>> errorSimulation() throws SimulatedErrorException {
-        requestCounter.increment();
-
-        // 새로운 에러 시뮬레이션 서비스 사용
-        errorSimulationService.simulateApiError();
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("version", versionType);
-        response.put("message", "No error occurred");
-        response.put("timestamp", LocalDateTime.now());
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<StatusMessageResponse> errorSimulation() throws SimulatedErrorException {
+        return ResponseEntity.ok(workloadService.errorSimulation());
     }
 
     @GetMapping("/version")
-    public ResponseEntity<Map<String, Object>> version() {
-        requestCounter.increment();
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("version", versionType);
-        response.put("timestamp", LocalDateTime.now());
-        response.put("uptime", System.currentTimeMillis());
-        
-        return ResponseEntity.ok(response);
+    @CacheableResponse(ttlMillis = 1000)
+    public ResponseEntity<VersionResponse> version() {
+        return ResponseEntity.ok(workloadService.version());
     }
-}
\ No newline at end of file
+}
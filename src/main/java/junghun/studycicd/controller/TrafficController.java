@@ -4,10 +4,24 @@ import junghun.studycicd.dto.TrafficWeightRequest;
 import junghun.studycicd.dto.TrafficWeightResponse;
 import junghun.studycicd.dto.DeploymentStatusResponse;
 import junghun.studycicd.service.TrafficManagementService;
+import junghun.studycicd.service.ConnectionDrainService;
 import junghun.studycicd.service.DeploymentService;
+import junghun.studycicd.service.DeploymentStateVersion;
+import junghun.studycicd.service.InstanceOutlierDetector;
+import junghun.studycicd.service.NginxConfigService;
+import junghun.studycicd.service.NginxReloadMonitor;
+import junghun.studycicd.service.ShadowTrafficService;
+import junghun.studycicd.service.TrafficSplitVerifier;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/traffic")
@@ -15,17 +29,45 @@ public class TrafficController {
 
     private final TrafficManagementService trafficManagementService;
     private final DeploymentService deploymentService;
+    private final NginxConfigService nginxConfigService;
+    private final TrafficSplitVerifier trafficSplitVerifier;
+    private final NginxReloadMonitor nginxReloadMonitor;
+    private final InstanceOutlierDetector instanceOutlierDetector;
+    private final ConnectionDrainService connectionDrainService;
+    private final ShadowTrafficService shadowTrafficService;
+    private final DeploymentStateVersion stateVersion;
 
     public TrafficController(TrafficManagementService trafficManagementService, 
-                           DeploymentService deploymentService) {
+                           DeploymentService deploymentService,
+                           NginxConfigService nginxConfigService,
+                           TrafficSplitVerifier trafficSplitVerifier,
+                           NginxReloadMonitor nginxReloadMonitor,
+                           InstanceOutlierDetector instanceOutlierDetector,
+                           ConnectionDrainService connectionDrainService,
+                           ShadowTrafficService shadowTrafficService,
+                           DeploymentStateVersion stateVersion) {
         this.trafficManagementService = trafficManagementService;
         this.deploymentService = deploymentService;
+        this.nginxConfigService = nginxConfigService;
+        this.trafficSplitVerifier = trafficSplitVerifier;
+        this.nginxReloadMonitor = nginxReloadMonitor;
+        this.instanceOutlierDetector = instanceOutlierDetector;
+        this.connectionDrainService = connectionDrainService;
+        this.shadowTrafficService = shadowTrafficService;
+        this.stateVersion = stateVersion;
     }
 
+    /**
+     * 현재 가중치 조회 - 상태 버전이 같으면 304 (If-None-Match)
+     */
     @GetMapping("/status")
-    public ResponseEntity<TrafficWeightResponse> getCurrentTrafficStatus() {
+    public ResponseEntity<TrafficWeightResponse> getCurrentTrafficStatus(WebRequest webRequest) {
+        // 상태를 읽기 전에 ETag를 먼저 정해야 중간에 바뀐 상태가 이전 ETag로 캐싱되지 않음
+        if (webRequest.checkNotModified(stateVersion.etag("traffic"))) {
+            return null;
+        }
         TrafficWeightResponse response = trafficManagementService.getCurrentWeights();
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
     }
 
     @PostMapping("/adjust")
@@ -58,12 +100,94 @@ public class TrafficController {
     @PostMapping("/canary/rollback")
     public ResponseEntity<DeploymentStatusResponse> rollbackDeployment() {
         DeploymentStatusResponse response = deploymentService.rollbackDeployment();
+        if ("ROLLING_BACK".equals(response.getStatus())) {
+            // 가중치를 되돌리지 못함 - 다시 요청해야 함
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 카나리 배포 상태 조회 - 상태 버전이 같으면 304 (If-None-Match)
+     */
     @GetMapping("/canary/status")
-    public ResponseEntity<DeploymentStatusResponse> getCanaryStatus() {
+    public ResponseEntity<DeploymentStatusResponse> getCanaryStatus(WebRequest webRequest) {
+        if (webRequest.checkNotModified(stateVersion.etag("canary"))) {
+            return null;
+        }
         DeploymentStatusResponse response = deploymentService.getDeploymentStatus();
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
+    }
+
+    /**
+     * 목표 대비 실제 달성된 트래픽 분배와 서버별 가중치 조회
+     */
+    @GetMapping("/split")
+    public ResponseEntity<Map<String, Object>> getTrafficSplit() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("targetRefactoredPercent", trafficManagementService.getCurrentRefactoredWeight());
+        response.put("lastSample", trafficSplitVerifier.getLastSample());
+        response.put("upstreamServers", nginxConfigService.getUpstreamServers());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 최근 NGINX reload별 비용 (적용/드레인 시간, 전후 5xx·p99, 커넥션 리셋)
+     */
+    @GetMapping("/reloads")
+    public ResponseEntity<List<NginxReloadMonitor.ReloadRecord>> getRecentReloads() {
+        return ResponseEntity.ok(nginxReloadMonitor.getRecentReloads());
+    }
+
+    /**
+     * 인스턴스별 SLI와 현재 제외된 이상 인스턴스 조회
+     */
+    @GetMapping("/outliers")
+    public ResponseEntity<Map<String, Object>> getOutliers() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("instances", instanceOutlierDetector.getLastInstanceSlis());
+        response.put("ejections", instanceOutlierDetector.getEjections());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 가중치 0으로 내려간 서버들의 드레인 상태 (처리 중 요청 수, 제거 여부)
+     */
+    @GetMapping("/drain")
+    public ResponseEntity<Map<String, Object>> getDrainStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("drains", connectionDrainService.getDrains());
+        response.put("removedServers", nginxConfigService.getRemovedServers());
+        response.put("upstreamServers", nginxConfigService.getUpstreamServers());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 섀도 트래픽 시작 - 레거시 요청 일부를 리팩토링 버전으로 미러링 (응답은 버림)
+     */
+    @PostMapping("/shadow/start")
+    public ResponseEntity<Map<String, Object>> startShadow(@RequestParam(required = false) Integer percent) {
+        boolean started = shadowTrafficService.startShadow(percent);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", started);
+        response.put("mirrorPercent", nginxConfigService.getShadowPercent());
+        return started ? ResponseEntity.ok(response) : ResponseEntity.badRequest().body(response);
+    }
+
+    @PostMapping("/shadow/stop")
+    public ResponseEntity<Map<String, Object>> stopShadow() {
+        boolean stopped = shadowTrafficService.stopShadow();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", stopped);
+        response.put("mirrorPercent", nginxConfigService.getShadowPercent());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 섀도 트래픽 기준 버전별 지연 분포/에러율 비교
+     */
+    @GetMapping("/shadow")
+    public ResponseEntity<ShadowTrafficService.ShadowComparison> getShadowComparison() {
+        return ResponseEntity.ok(shadowTrafficService.compare());
+    }
 }
\ No newline at end of file
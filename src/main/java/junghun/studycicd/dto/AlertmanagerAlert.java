@@ -0,0 +1,48 @@
+package junghun.studycicd.dto;
+
+import java.util.Map;
+
+/**
+ * Alertmanager 웹훅 페이로드의 알람 한 건 (롤백 판단에 필요한 필드만)
+ */
+public class AlertmanagerAlert {
+
+    private final String status; // firing, resolved
+    private final String fingerprint;
+    private final Map<String, String> labels;
+    private final Map<String, String> annotations;
+    private final String startsAt;
+
+    public AlertmanagerAlert(String status, String fingerprint, Map<String, String> labels,
+                             Map<String, String> annotations, String startsAt) {
+        this.status = status;
+        this.fingerprint = fingerprint;
+        this.labels = labels;
+        this.annotations = annotations;
+        this.startsAt = startsAt;
+    }
+
+    public boolean isFiring() {
+        return "firing".equals(status);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    public Map<String, String> getAnnotations() {
+        return annotations;
+    }
+
+    public String getStartsAt() {
+        return startsAt;
+    }
+}
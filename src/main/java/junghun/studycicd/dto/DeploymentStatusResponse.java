@@ -14,6 +14,8 @@ public class DeploymentStatusResponse {
     private String message;
     private Integer rollbackCount;
     private Integer maxRollbacks;
+    private Double measuredRefactoredPercentage;
+    private Double trafficSplitDeviation;
 
     public DeploymentStatusResponse(String deploymentId, String status, Integer currentStage, 
                                    Integer totalStages, Integer currentPercentage, 
@@ -60,6 +62,10 @@ public class DeploymentStatusResponse {
         return lastUpdated;
     }
 
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -71,4 +77,20 @@ public class DeploymentStatusResponse {
     public Integer getMaxRollbacks() {
         return maxRollbacks;
     }
+
+    public Double getMeasuredRefactoredPercentage() {
+        return measuredRefactoredPercentage;
+    }
+
+    public void setMeasuredRefactoredPercentage(Double measuredRefactoredPercentage) {
+        this.measuredRefactoredPercentage = measuredRefactoredPercentage;
+    }
+
+    public Double getTrafficSplitDeviation() {
+        return trafficSplitDeviation;
+    }
+
+    public void setTrafficSplitDeviation(Double trafficSplitDeviation) {
+        this.trafficSplitDeviation = trafficSplitDeviation;
+    }
 }
\ No newline at end of file
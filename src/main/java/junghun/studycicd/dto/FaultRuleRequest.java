@@ -0,0 +1,189 @@
+package junghun.studycicd.dto;
+
+import jakarta.validation.constraints.NotNull;
+import junghun.studycicd.simulation.ErrorType;
+import junghun.studycicd.simulation.FaultMode;
+import junghun.studycicd.simulation.LatencyDistribution;
+
+/**
+ * 성능 장애 주입 규칙 등록 요청 - mode에 해당하는 값만 사용
+ */
+public class FaultRuleRequest {
+
+    @NotNull(message = "Fault mode is required")
+    private FaultMode mode;
+
+    // 경로 패턴 - /api/hello, /api/business/*, /api/** (비어 있으면 전체)
+    private String path = "/**";
+
+    // GET/POST 등 - 비어 있으면 모든 메서드
+    private String method;
+
+    // 이 헤더가 있는 요청에만 주입 - headerValue가 있으면 값까지 일치해야 함
+    private String headerName;
+    private String headerValue;
+
+    // legacy/refactored 등 - 비어 있으면 모든 버전
+    private String version;
+
+    // 규칙에 맞는 요청 중 주입할 비율 (0~100)
+    private Double percentage = 100.0;
+
+    // LATENCY
+    private LatencyDistribution distribution = LatencyDistribution.FIXED;
+    private Long latencyMs;
+    private Double sigma = 0.5;
+    private Long tailLatencyMs;
+    private Double tailPercentage = 1.0;
+
+    // CPU_BURN
+    private Long cpuMillis;
+
+    // ALLOCATION
+    private Integer allocationKb;
+
+    // THREAD_EXHAUSTION
+    private Integer maxThreads;
+    private Long holdMs;
+
+    // ERROR - 비어 있으면 에러 시뮬레이션 가중치로 선택
+    private ErrorType errorType;
+
+    public FaultRuleRequest() {}
+
+    public FaultMode getMode() {
+        return mode;
+    }
+
+    public void setMode(FaultMode mode) {
+        this.mode = mode;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getHeaderName() {
+        return headerName;
+    }
+
+    public void setHeaderName(String headerName) {
+        this.headerName = headerName;
+    }
+
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    public void setHeaderValue(String headerValue) {
+        this.headerValue = headerValue;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public Double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(Double percentage) {
+        this.percentage = percentage;
+    }
+
+    public LatencyDistribution getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(LatencyDistribution distribution) {
+        this.distribution = distribution;
+    }
+
+    public Long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public void setLatencyMs(Long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public Double getSigma() {
+        return sigma;
+    }
+
+    public void setSigma(Double sigma) {
+        this.sigma = sigma;
+    }
+
+    public Long getTailLatencyMs() {
+        return tailLatencyMs;
+    }
+
+    public void setTailLatencyMs(Long tailLatencyMs) {
+        this.tailLatencyMs = tailLatencyMs;
+    }
+
+    public Double getTailPercentage() {
+        return tailPercentage;
+    }
+
+    public void setTailPercentage(Double tailPercentage) {
+        this.tailPercentage = tailPercentage;
+    }
+
+    public Long getCpuMillis() {
+        return cpuMillis;
+    }
+
+    public void setCpuMillis(Long cpuMillis) {
+        this.cpuMillis = cpuMillis;
+    }
+
+    public Integer getAllocationKb() {
+        return allocationKb;
+    }
+
+    public void setAllocationKb(Integer allocationKb) {
+        this.allocationKb = allocationKb;
+    }
+
+    public Integer getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(Integer maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public Long getHoldMs() {
+        return holdMs;
+    }
+
+    public void setHoldMs(Long holdMs) {
+        this.holdMs = holdMs;
+    }
+
+    public ErrorType getErrorType() {
+        return errorType;
+    }
+
+    public void setErrorType(ErrorType errorType) {
+        this.errorType = errorType;
+    }
+}
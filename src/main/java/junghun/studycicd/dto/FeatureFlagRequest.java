@@ -0,0 +1,108 @@
+package junghun.studycicd.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기능 플래그 등록/수정 요청 - 규칙은 위에서부터 처음 맞는 것의 값을 사용
+ */
+public class FeatureFlagRequest {
+
+    private String description;
+
+    // false면 규칙과 무관하게 항상 꺼짐 (kill switch)
+    private Boolean enabled = true;
+
+    // 어떤 규칙에도 맞지 않을 때의 값
+    private Boolean defaultValue = false;
+
+    @Valid
+    private List<Rule> rules = new ArrayList<>();
+
+    public FeatureFlagRequest() {}
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Boolean getDefaultValue() {
+        return defaultValue;
+    }
+
+    public void setDefaultValue(Boolean defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * 평가 규칙 - 조건을 모두 만족하는 사용자에게 value를 줌
+     */
+    public static class Rule {
+
+        // legacy/refactored 등 - 비어 있으면 모든 버전
+        private List<String> versions = new ArrayList<>();
+
+        // premium 등 - 비어 있으면 모든 사용자 그룹
+        private List<String> userGroups = new ArrayList<>();
+
+        // userId 해시 기준 점진 적용 비율 (0~100) - 같은 사용자는 항상 같은 결과
+        private Double percentage = 100.0;
+
+        private Boolean value = true;
+
+        public Rule() {}
+
+        public List<String> getVersions() {
+            return versions;
+        }
+
+        public void setVersions(List<String> versions) {
+            this.versions = versions;
+        }
+
+        public List<String> getUserGroups() {
+            return userGroups;
+        }
+
+        public void setUserGroups(List<String> userGroups) {
+            this.userGroups = userGroups;
+        }
+
+        public Double getPercentage() {
+            return percentage;
+        }
+
+        public void setPercentage(Double percentage) {
+            this.percentage = percentage;
+        }
+
+        public Boolean getValue() {
+            return value;
+        }
+
+        public void setValue(Boolean value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * GET /api/business/feature/{featureName} 응답
+ * config는 기능별 설정 (checkout_optimization, personalization만 있음)
+ */
+@JsonSerialize(using = FeatureFlagResponse.Serializer.class)
+public record FeatureFlagResponse(String feature, String version, String userGroup, String userId,
+                                  LocalDateTime timestamp, boolean enabled, FeatureConfig config) {
+
+    /**
+     * 기능별 설정 - 이름/값 쌍을 순서대로 씀
+     */
+    public sealed interface FeatureConfig permits CheckoutConfig, PersonalizationConfig {
+        void write(JsonGenerator gen) throws IOException;
+    }
+
+    public record CheckoutConfig(boolean newUI, boolean expressCheckout, int recommendedItems) implements FeatureConfig {
+
+        private static final SerializedString NEW_UI = new SerializedString("newUI");
+        private static final SerializedString EXPRESS_CHECKOUT = new SerializedString("expressCheckout");
+        private static final SerializedString RECOMMENDED_ITEMS = new SerializedString("recommendedItems");
+
+        @Override
+        public void write(JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(NEW_UI);
+            gen.writeBoolean(newUI);
+            gen.writeFieldName(EXPRESS_CHECKOUT);
+            gen.writeBoolean(expressCheckout);
+            gen.writeFieldName(RECOMMENDED_ITEMS);
+            gen.writeNumber(recommendedItems);
+            gen.writeEndObject();
+        }
+    }
+
+    public record PersonalizationConfig(boolean personalizedRecommendations, boolean customDashboard,
+                                        boolean aiSuggestions) implements FeatureConfig {
+
+        private static final SerializedString PERSONALIZED_RECOMMENDATIONS =
+            new SerializedString("personalizedRecommendations");
+        private static final SerializedString CUSTOM_DASHBOARD = new SerializedString("customDashboard");
+        private static final SerializedString AI_SUGGESTIONS = new SerializedString("aiSuggestions");
+
+        @Override
+        public void write(JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(PERSONALIZED_RECOMMENDATIONS);
+            gen.writeBoolean(personalizedRecommendations);
+            gen.writeFieldName(CUSTOM_DASHBOARD);
+            gen.writeBoolean(customDashboard);
+            gen.writeFieldName(AI_SUGGESTIONS);
+            gen.writeBoolean(aiSuggestions);
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Serializer extends StdSerializer<FeatureFlagResponse> {
+
+        private static final SerializedString FEATURE = new SerializedString("feature");
+        private static final SerializedString USER_GROUP = new SerializedString("userGroup");
+        private static final SerializedString USER_ID = new SerializedString("userId");
+        private static final SerializedString ENABLED = new SerializedString("enabled");
+        private static final SerializedString CONFIG = new SerializedString("config");
+
+        public Serializer() {
+            super(FeatureFlagResponse.class);
+        }
+
+        @Override
+        public void serialize(FeatureFlagResponse value, JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, FEATURE, value.feature());
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeString(gen, USER_GROUP, value.userGroup());
+            ResponseJson.writeString(gen, USER_ID, value.userId());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            gen.writeFieldName(ENABLED);
+            gen.writeBoolean(value.enabled());
+            if (value.config() != null) {
+                gen.writeFieldName(CONFIG);
+                value.config().write(gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
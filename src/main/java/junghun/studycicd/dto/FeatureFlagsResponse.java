@@ -0,0 +1,48 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * GET /api/business/features 응답 - 페이지 하나에 필요한 플래그를 한 번에 평가한 결과
+ */
+@JsonSerialize(using = FeatureFlagsResponse.Serializer.class)
+public record FeatureFlagsResponse(String version, String userGroup, String userId, LocalDateTime timestamp,
+                                   Map<String, Boolean> flags) {
+
+    public static class Serializer extends StdSerializer<FeatureFlagsResponse> {
+
+        private static final SerializedString USER_GROUP = new SerializedString("userGroup");
+        private static final SerializedString USER_ID = new SerializedString("userId");
+        private static final SerializedString FLAGS = new SerializedString("flags");
+
+        public Serializer() {
+            super(FeatureFlagsResponse.class);
+        }
+
+        @Override
+        public void serialize(FeatureFlagsResponse value, JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeString(gen, USER_GROUP, value.userGroup());
+            ResponseJson.writeString(gen, USER_ID, value.userId());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            gen.writeFieldName(FLAGS);
+            gen.writeStartObject();
+            for (Map.Entry<String, Boolean> flag : value.flags().entrySet()) {
+                gen.writeFieldName(flag.getKey());
+                gen.writeBoolean(flag.getValue());
+            }
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+    }
+}
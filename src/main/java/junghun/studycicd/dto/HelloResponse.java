@@ -0,0 +1,36 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * GET /api/hello 응답
+ */
+@JsonSerialize(using = HelloResponse.Serializer.class)
+public record HelloResponse(String message, LocalDateTime timestamp, String version, String instance) {
+
+    public static class Serializer extends StdSerializer<HelloResponse> {
+
+        private static final SerializedString INSTANCE = new SerializedString("instance");
+
+        public Serializer() {
+            super(HelloResponse.class);
+        }
+
+        @Override
+        public void serialize(HelloResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ResponseJson.MESSAGE, value.message());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeString(gen, INSTANCE, value.instance());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * POST /api/business/login 응답 - 성공 시 sessionId/username/message, 실패 시 error/errorCode
+ */
+@JsonSerialize(using = LoginResponse.Serializer.class)
+public record LoginResponse(String version, LocalDateTime timestamp, boolean success, String sessionId,
+                            Object username, String message, String error, String errorCode) {
+
+    public static LoginResponse completed(String version, String sessionId, Object username) {
+        return new LoginResponse(version, LocalDateTime.now(), true, sessionId, username,
+                                 "Login successful", null, null);
+    }
+
+    public static LoginResponse failed(String version, String errorCode) {
+        return new LoginResponse(version, LocalDateTime.now(), false, null, null, null, "Login failed", errorCode);
+    }
+
+    public static class Serializer extends StdSerializer<LoginResponse> {
+
+        private static final SerializedString SESSION_ID = new SerializedString("sessionId");
+        private static final SerializedString USERNAME = new SerializedString("username");
+
+        public Serializer() {
+            super(LoginResponse.class);
+        }
+
+        @Override
+        public void serialize(LoginResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            gen.writeFieldName(ResponseJson.SUCCESS);
+            gen.writeBoolean(value.success());
+            ResponseJson.writeString(gen, SESSION_ID, value.sessionId());
+            ResponseJson.writeObject(gen, provider, USERNAME, value.username());
+            ResponseJson.writeString(gen, ResponseJson.MESSAGE, value.message());
+            ResponseJson.writeString(gen, ResponseJson.ERROR, value.error());
+            ResponseJson.writeString(gen, ResponseJson.ERROR_CODE, value.errorCode());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * POST /api/business/order 응답 - 성공 시 amount/processingTime/message, 실패 시 error/errorCode
+ */
+@JsonSerialize(using = OrderResponse.Serializer.class)
+public record OrderResponse(String orderId, String version, LocalDateTime timestamp, boolean success,
+                            Object amount, Integer processingTime, String message,
+                            String error, String errorCode) {
+
+    public static OrderResponse completed(String orderId, String version, Object amount, int processingTime) {
+        return new OrderResponse(orderId, version, LocalDateTime.now(), true, amount, processingTime,
+                                 "Order processed successfully", null, null);
+    }
+
+    public static OrderResponse failed(String orderId, String version, String errorCode) {
+        return new OrderResponse(orderId, version, LocalDateTime.now(), false, null, null, null,
+                                 "Order processing failed", errorCode);
+    }
+
+    public static class Serializer extends StdSerializer<OrderResponse> {
+
+        private static final SerializedString ORDER_ID = new SerializedString("orderId");
+        private static final SerializedString AMOUNT = new SerializedString("amount");
+        private static final SerializedString PROCESSING_TIME = new SerializedString("processingTime");
+
+        public Serializer() {
+            super(OrderResponse.class);
+        }
+
+        @Override
+        public void serialize(OrderResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ORDER_ID, value.orderId());
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            gen.writeFieldName(ResponseJson.SUCCESS);
+            gen.writeBoolean(value.success());
+            ResponseJson.writeObject(gen, provider, AMOUNT, value.amount());
+            if (value.processingTime() != null) {
+                gen.writeFieldName(PROCESSING_TIME);
+                gen.writeNumber(value.processingTime());
+            }
+            ResponseJson.writeString(gen, ResponseJson.MESSAGE, value.message());
+            ResponseJson.writeString(gen, ResponseJson.ERROR, value.error());
+            ResponseJson.writeString(gen, ResponseJson.ERROR_CODE, value.errorCode());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package junghun.studycicd.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class ReplayRequest {
+
+    @NotBlank(message = "Capture file cannot be blank")
+    private String file;
+
+    @NotBlank(message = "Replay target cannot be blank")
+    private String target;
+
+    // 1.0 = 캡처 당시 속도, 2.0 = 2배, null 또는 0 이하 = 최대 속도
+    private Double speed = 1.0;
+
+    public ReplayRequest() {}
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public Double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(Double speed) {
+        this.speed = speed;
+    }
+}
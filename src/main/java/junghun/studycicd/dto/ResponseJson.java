@@ -0,0 +1,57 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 워크로드 응답 레코드의 JSON 직접 작성 도우미
+ * 필드 이름은 미리 인코딩해 두고 값은 JsonGenerator로 바로 씀 - 요청마다 리플렉션/타입 조회 없음
+ * null 필드는 생략 (기존 Map 응답에서 해당 키를 넣지 않던 것과 같은 모양)
+ */
+final class ResponseJson {
+
+    static final SerializedString STATUS = new SerializedString("status");
+    static final SerializedString VERSION = new SerializedString("version");
+    static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    static final SerializedString MESSAGE = new SerializedString("message");
+    static final SerializedString SUCCESS = new SerializedString("success");
+    static final SerializedString ERROR = new SerializedString("error");
+    static final SerializedString ERROR_CODE = new SerializedString("errorCode");
+
+    private ResponseJson() {
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    /**
+     * JavaTimeModule과 같은 ISO-8601 형식
+     */
+    static void writeTimestamp(JsonGenerator gen, LocalDateTime value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(TIMESTAMP);
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    /**
+     * 요청 본문에서 그대로 옮긴 값처럼 타입을 알 수 없는 필드만 일반 직렬화 사용
+     */
+    static void writeObject(JsonGenerator gen, SerializerProvider provider, SerializableString name,
+                            Object value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * POST /api/business/signup 응답 - 성공 시 userId/email/message, 실패 시 error/errorCode
+ */
+@JsonSerialize(using = SignupResponse.Serializer.class)
+public record SignupResponse(String version, LocalDateTime timestamp, boolean success, String userId,
+                             Object email, String message, String error, String errorCode) {
+
+    public static SignupResponse completed(String version, String userId, Object email) {
+        return new SignupResponse(version, LocalDateTime.now(), true, userId, email,
+                                  "Signup completed successfully", null, null);
+    }
+
+    public static SignupResponse failed(String version, String errorCode) {
+        return new SignupResponse(version, LocalDateTime.now(), false, null, null, null, "Signup failed", errorCode);
+    }
+
+    public static class Serializer extends StdSerializer<SignupResponse> {
+
+        private static final SerializedString USER_ID = new SerializedString("userId");
+        private static final SerializedString EMAIL = new SerializedString("email");
+
+        public Serializer() {
+            super(SignupResponse.class);
+        }
+
+        @Override
+        public void serialize(SignupResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            gen.writeFieldName(ResponseJson.SUCCESS);
+            gen.writeBoolean(value.success());
+            ResponseJson.writeString(gen, USER_ID, value.userId());
+            ResponseJson.writeObject(gen, provider, EMAIL, value.email());
+            ResponseJson.writeString(gen, ResponseJson.MESSAGE, value.message());
+            ResponseJson.writeString(gen, ResponseJson.ERROR, value.error());
+            ResponseJson.writeString(gen, ResponseJson.ERROR_CODE, value.errorCode());
+            gen.writeEndObject();
+        }
+    }
+}
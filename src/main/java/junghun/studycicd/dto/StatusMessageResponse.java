@@ -0,0 +1,34 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * 상태 + 메시지 응답 (GET /api/error-simulation 성공 시)
+ */
+@JsonSerialize(using = StatusMessageResponse.Serializer.class)
+public record StatusMessageResponse(String status, String version, String message, LocalDateTime timestamp) {
+
+    public static class Serializer extends StdSerializer<StatusMessageResponse> {
+
+        public Serializer() {
+            super(StatusMessageResponse.class);
+        }
+
+        @Override
+        public void serialize(StatusMessageResponse value, JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ResponseJson.STATUS, value.status());
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeString(gen, ResponseJson.MESSAGE, value.message());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * GET /api/test 응답
+ */
+@JsonSerialize(using = TestResponse.Serializer.class)
+public record TestResponse(String status, String version, LocalDateTime timestamp, String processingTime) {
+
+    public static class Serializer extends StdSerializer<TestResponse> {
+
+        private static final SerializedString PROCESSING_TIME = new SerializedString("processingTime");
+
+        public Serializer() {
+            super(TestResponse.class);
+        }
+
+        @Override
+        public void serialize(TestResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ResponseJson.STATUS, value.status());
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            ResponseJson.writeString(gen, PROCESSING_TIME, value.processingTime());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package junghun.studycicd.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * GET /api/version 응답
+ */
+@JsonSerialize(using = VersionResponse.Serializer.class)
+public record VersionResponse(String version, LocalDateTime timestamp, long uptime) {
+
+    public static class Serializer extends StdSerializer<VersionResponse> {
+
+        private static final SerializedString UPTIME = new SerializedString("uptime");
+
+        public Serializer() {
+            super(VersionResponse.class);
+        }
+
+        @Override
+        public void serialize(VersionResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ResponseJson.writeString(gen, ResponseJson.VERSION, value.version());
+            ResponseJson.writeTimestamp(gen, value.timestamp());
+            gen.writeFieldName(UPTIME);
+            gen.writeNumber(value.uptime());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package junghun.studycicd.experiment;
+
+import junghun.studycicd.service.NginxConfigService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스트리밍 A/B 실험 엔진
+ * 요청 처리 중에는 실험/변형별 LongAdder에 참여와 전환만 더하고 (변형당 메모리 O(1)),
+ * 전환율/신뢰구간/p-value는 조회할 때 누적 카운트로 계산 (변형 수에 비례)
+ *
+ * 인스턴스마다 자기 버전의 결과만 가지므로 scope=cluster 조회는 upstream의 모든 인스턴스 카운트를 합산
+ */
+@Service
+public class ExperimentEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExperimentEngine.class);
+
+    public static final String ORDER = "order";
+    public static final String SIGNUP = "signup";
+    public static final String LOGIN = "login";
+
+    public static final String SCOPE_LOCAL = "local";
+    public static final String SCOPE_CLUSTER = "cluster";
+
+    private static final ParameterizedTypeReference<Map<String, VariantCount>> COUNTS_TYPE =
+        new ParameterizedTypeReference<>() {};
+
+    private final NginxConfigService nginxConfigService;
+    private final WebClient webClient;
+
+    private final Map<String, Experiment> experiments = new ConcurrentHashMap<>();
+    // 비교별 실행 중 최소 mSPRT p-value (scope/실험/대조군/변형) - 최솟값을 유지해야 언제 봐도 유효
+    private final Map<String, Double> sequentialPValues = new ConcurrentHashMap<>();
+
+    @Value("${experiment.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${experiment.control-variant:legacy}")
+    private String defaultControl;
+
+    @Value("${experiment.confidence-level:0.95}")
+    private Double confidenceLevel;
+
+    // mSPRT 혼합 분포 표준편차 τ - 검출하려는 전환율 차이 크기 (0.05 = 5%p)
+    @Value("${experiment.mixture-sd:0.05}")
+    private Double mixtureSd;
+
+    // 정규 근사가 성립하도록 변형마다 이 수 이상 모이기 전에는 유의하다고 판단하지 않음
+    @Value("${experiment.min-participants:100}")
+    private Long minParticipants;
+
+    @Value("${experiment.peer-path:/api/business/ab-test/%s/counts}")
+    private String peerPath;
+
+    @Value("${experiment.peer-timeout-ms:2000}")
+    private Long peerTimeoutMs;
+
+    public ExperimentEngine(NginxConfigService nginxConfigService) {
+        this.nginxConfigService = nginxConfigService;
+
+        WebClient client;
+        try {
+            client = WebClient.builder().build();
+        } catch (Exception e) {
+            logger.warn("Failed to initialize WebClient, creating default client", e);
+            client = WebClient.create();
+        }
+        this.webClient = client;
+    }
+
+    /**
+     * 결과 하나 기록 (요청 스레드에서 호출)
+     */
+    public void record(String experiment, String variant, boolean converted) {
+        if (enabled) {
+            counters(experiment, variant).record(converted);
+        }
+    }
+
+    /**
+     * 모아 둔 결과를 한 번에 기록 (일괄 수집용)
+     */
+    public void record(String experiment, String variant, long participants, long conversions) {
+        if (enabled && participants > 0) {
+            counters(experiment, variant).add(participants, conversions);
+        }
+    }
+
+    private VariantCounters counters(String experiment, String variant) {
+        Experiment state = experiments.get(experiment);
+        if (state == null) {
+            state = experiments.computeIfAbsent(experiment, name -> new Experiment());
+        }
+        VariantCounters counters = state.variants.get(variant);
+        if (counters == null) {
+            counters = state.variants.computeIfAbsent(variant, name -> new VariantCounters());
+        }
+        return counters;
+    }
+
+    /**
+     * 이 인스턴스의 변형별 누적 카운트
+     */
+    public Map<String, VariantCount> getLocalCounts(String experiment) {
+        Experiment state = experiments.get(experiment);
+        if (state == null) {
+            return Map.of();
+        }
+        Map<String, VariantCount> counts = new TreeMap<>();
+        state.variants.forEach((variant, counters) -> counts.put(variant, counters.snapshot()));
+        return counts;
+    }
+
+    public void reset(String experiment) {
+        experiments.remove(experiment);
+        sequentialPValues.keySet().removeIf(key -> key.contains("|" + experiment + "|"));
+        logger.info("🧪 Experiment {} reset", experiment);
+    }
+
+    /**
+     * 실험 결과 계산
+     *
+     * @param scope   local = 이 인스턴스, cluster = upstream 전체 인스턴스 합산
+     * @param control 대조군 변형 (없으면 experiment.control-variant)
+     */
+    public ExperimentReadout readout(String experiment, String scope, String control) {
+        String controlVariant = control != null && !control.isBlank() ? control : defaultControl;
+        List<String> unreachable = new ArrayList<>();
+        Map<String, VariantCount> counts = SCOPE_CLUSTER.equals(scope)
+            ? getClusterCounts(experiment, unreachable)
+            : getLocalCounts(experiment);
+        String resolvedScope = SCOPE_CLUSTER.equals(scope) ? SCOPE_CLUSTER : SCOPE_LOCAL;
+
+        double z = ExperimentStatistics.zForConfidence(confidenceLevel);
+        double alpha = 1 - confidenceLevel;
+
+        Map<String, ExperimentReadout.VariantResult> variants = new LinkedHashMap<>();
+        long totalParticipants = 0;
+        for (Map.Entry<String, VariantCount> entry : counts.entrySet()) {
+            VariantCount count = entry.getValue();
+            double[] interval = ExperimentStatistics.wilsonInterval(count.conversions(), count.participants(), z);
+            variants.put(entry.getKey(), new ExperimentReadout.VariantResult(
+                count.participants(), count.conversions(),
+                percent(count.participants() > 0 ? (double) count.conversions() / count.participants() : 0.0),
+                percent(interval[0]), percent(interval[1])
+            ));
+            totalParticipants += count.participants();
+        }
+
+        Map<String, ExperimentReadout.Comparison> comparisons = new LinkedHashMap<>();
+        VariantCount controlCount = counts.get(controlVariant);
+        boolean concluded = false;
+        if (controlCount != null) {
+            for (Map.Entry<String, VariantCount> entry : counts.entrySet()) {
+                if (entry.getKey().equals(controlVariant)) {
+                    continue;
+                }
+                ExperimentReadout.Comparison comparison =
+                    compare(resolvedScope, experiment, controlVariant, controlCount, entry.getKey(), entry.getValue(),
+                            alpha);
+                concluded |= comparison.getSignificant();
+                comparisons.put(entry.getKey(), comparison);
+            }
+        }
+
+        Experiment state = experiments.get(experiment);
+        String status = totalParticipants == 0 ? "no_data" : concluded ? "concluded" : "running";
+        return new ExperimentReadout(experiment, status, resolvedScope, state != null ? state.startedAt : null,
+                                     controlVariant, confidenceLevel, variants, comparisons, unreachable);
+    }
+
+    private ExperimentReadout.Comparison compare(String scope, String experiment, String controlVariant,
+                                                 VariantCount control, String variant, VariantCount treatment,
+                                                 double alpha) {
+        double controlRate = control.participants() > 0 ? (double) control.conversions() / control.participants() : 0.0;
+        double treatmentRate = treatment.participants() > 0
+            ? (double) treatment.conversions() / treatment.participants() : 0.0;
+        double absoluteLift = treatmentRate - controlRate;
+        Double relativeLift = controlRate > 0 ? percent(absoluteLift / controlRate) : null;
+
+        double pValue = ExperimentStatistics.twoProportionPValue(
+            control.conversions(), control.participants(), treatment.conversions(), treatment.participants());
+
+        boolean enoughSamples = control.participants() >= minParticipants && treatment.participants() >= minParticipants;
+        double sequentialPValue = 1.0;
+        if (enoughSamples) {
+            double current = ExperimentStatistics.msprtPValue(
+                control.conversions(), control.participants(), treatment.conversions(), treatment.participants(),
+                mixtureSd);
+            sequentialPValue = sequentialPValues.merge(scope + "|" + experiment + "|" + controlVariant + "|" + variant,
+                                                       current, Math::min);
+        }
+
+        boolean significant = enoughSamples && sequentialPValue < alpha;
+        String action = !significant ? "continue_test" : absoluteLift > 0 ? "promote_variant" : "rollback_variant";
+        return new ExperimentReadout.Comparison(percent(absoluteLift), relativeLift, round(pValue),
+                                                round(sequentialPValue), significant, action);
+    }
+
+    /**
+     * upstream에 설정된 모든 인스턴스의 카운트 합산 - 동시에 조회하고 peer-timeout-ms 안에 응답한 인스턴스만 합산
+     * 응답하지 않은 인스턴스는 제외하고 목록에 남김
+     */
+    private Map<String, VariantCount> getClusterCounts(String experiment, List<String> unreachable) {
+        Set<String> addresses = new LinkedHashSet<>(nginxConfigService.getConfiguredServers("legacy"));
+        addresses.addAll(nginxConfigService.getConfiguredServers("refactored"));
+
+        Map<String, Map<String, VariantCount>> responses = Flux.merge(
+                    addresses.stream().map(address -> fetchCounts(address, experiment)).toList())
+                .take(Duration.ofMillis(peerTimeoutMs))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+
+        Map<String, VariantCount> merged = new TreeMap<>();
+        for (String address : addresses) {
+            Map<String, VariantCount> counts = responses != null ? responses.get(address) : null;
+            if (counts == null) {
+                unreachable.add(address);
+                continue;
+            }
+            counts.forEach((variant, count) -> merged.merge(variant, count, VariantCount::plus));
+        }
+        // 로컬 개발처럼 upstream 인스턴스가 없으면 이 인스턴스 결과라도 보여줌
+        return unreachable.size() < addresses.size() ? merged : getLocalCounts(experiment);
+    }
+
+    private Mono<Map.Entry<String, Map<String, VariantCount>>> fetchCounts(String address, String experiment) {
+        return webClient.get()
+                .uri("http://" + address + String.format(peerPath, experiment))
+                .retrieve()
+                .bodyToMono(COUNTS_TYPE)
+                .defaultIfEmpty(Map.of())
+                .map(counts -> Map.entry(address, counts))
+                .onErrorResume(e -> {
+                    logger.debug("Failed to fetch experiment counts from {}: {}", address, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static double percent(double ratio) {
+        return round(ratio * 100);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+
+    /**
+     * 변형 하나의 누적 카운트 (인스턴스 간 전달용)
+     */
+    public record VariantCount(long participants, long conversions) {
+        VariantCount plus(VariantCount other) {
+            return new VariantCount(participants + other.participants, conversions + other.conversions);
+        }
+    }
+
+    private static class Experiment {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final Map<String, VariantCounters> variants = new ConcurrentHashMap<>();
+    }
+}
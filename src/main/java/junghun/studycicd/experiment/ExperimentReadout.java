@@ -0,0 +1,110 @@
+package junghun.studycicd.experiment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실험 결과 - 변형별 전환율/신뢰구간과 대조군 대비 비교
+ */
+public class ExperimentReadout {
+
+    private final String testName;
+    private final String status;
+    private final String scope;
+    private final LocalDateTime startedAt;
+    private final String control;
+    private final Double confidenceLevel;
+    private final Map<String, VariantResult> variants;
+    private final Map<String, Comparison> comparisons;
+    private final List<String> unreachableInstances;
+    private final LocalDateTime timestamp;
+
+    public ExperimentReadout(String testName, String status, String scope, LocalDateTime startedAt, String control,
+                             Double confidenceLevel, Map<String, VariantResult> variants,
+                             Map<String, Comparison> comparisons, List<String> unreachableInstances) {
+        this.testName = testName;
+        this.status = status;
+        this.scope = scope;
+        this.startedAt = startedAt;
+        this.control = control;
+        this.confidenceLevel = confidenceLevel;
+        this.variants = variants;
+        this.comparisons = comparisons;
+        this.unreachableInstances = unreachableInstances;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getTestName() { return testName; }
+    public String getStatus() { return status; }
+    public String getScope() { return scope; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public String getControl() { return control; }
+    public Double getConfidenceLevel() { return confidenceLevel; }
+    public Map<String, VariantResult> getVariants() { return variants; }
+    public Map<String, Comparison> getComparisons() { return comparisons; }
+    public List<String> getUnreachableInstances() { return unreachableInstances; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    /**
+     * 변형 하나의 결과 (전환율과 구간은 %)
+     */
+    public static class VariantResult {
+        private final Long participants;
+        private final Long conversions;
+        private final Double conversionRate;
+        private final Double confidenceLow;
+        private final Double confidenceHigh;
+
+        public VariantResult(Long participants, Long conversions, Double conversionRate,
+                             Double confidenceLow, Double confidenceHigh) {
+            this.participants = participants;
+            this.conversions = conversions;
+            this.conversionRate = conversionRate;
+            this.confidenceLow = confidenceLow;
+            this.confidenceHigh = confidenceHigh;
+        }
+
+        // Getters
+        public Long getParticipants() { return participants; }
+        public Long getConversions() { return conversions; }
+        public Double getConversionRate() { return conversionRate; }
+        public Double getConfidenceLow() { return confidenceLow; }
+        public Double getConfidenceHigh() { return confidenceHigh; }
+    }
+
+    /**
+     * 대조군 대비 비교 - 중간에 여러 번 들여다보는 카나리 특성상 판단은 sequentialPValue로 함
+     * pValue는 고정 표본 z-검정 값으로 참고용
+     */
+    public static class Comparison {
+        private final Double absoluteLift;
+        private final Double relativeLift;
+        private final Double pValue;
+        private final Double sequentialPValue;
+        private final Boolean significant;
+        private final String recommendedAction;
+
+        public Comparison(Double absoluteLift, Double relativeLift, Double pValue, Double sequentialPValue,
+                          Boolean significant, String recommendedAction) {
+            this.absoluteLift = absoluteLift;
+            this.relativeLift = relativeLift;
+            this.pValue = pValue;
+            this.sequentialPValue = sequentialPValue;
+            this.significant = significant;
+            this.recommendedAction = recommendedAction;
+        }
+
+        // Getters
+        public Double getAbsoluteLift() { return absoluteLift; }
+        public Double getRelativeLift() { return relativeLift; }
+        @JsonProperty("pValue")
+        public Double getPValue() { return pValue; }
+        public Double getSequentialPValue() { return sequentialPValue; }
+        public Boolean getSignificant() { return significant; }
+        public String getRecommendedAction() { return recommendedAction; }
+    }
+}
@@ -0,0 +1,103 @@
+package junghun.studycicd.experiment;
+
+/**
+ * 전환율 실험 통계 - 모두 누적 카운트만으로 계산하므로 읽을 때 변형(variant) 수에 비례하는 비용
+ */
+final class ExperimentStatistics {
+
+    private ExperimentStatistics() {
+    }
+
+    /**
+     * 표준정규분포 누적확률 Φ(x) - erfc 근사 (Numerical Recipes erfcc, 상대오차 1.2e-7 미만)
+     */
+    static double normalCdf(double x) {
+        double z = Math.abs(x) / Math.sqrt(2);
+        double t = 1.0 / (1.0 + 0.5 * z);
+        double erfc = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? 1.0 - 0.5 * erfc : 0.5 * erfc;
+    }
+
+    /**
+     * 양측 신뢰수준에 해당하는 z 값 (0.95 -> 1.96) - 설정 시 한 번만 계산하므로 이분법
+     */
+    static double zForConfidence(double confidenceLevel) {
+        if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+            throw new IllegalArgumentException("Confidence level must be in (0, 1)");
+        }
+        double target = 1 - (1 - confidenceLevel) / 2;
+        double low = 0;
+        double high = 10;
+        for (int i = 0; i < 100; i++) {
+            double mid = (low + high) / 2;
+            if (normalCdf(mid) < target) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * Wilson 점수 구간 - 표본이 작거나 전환율이 0/1에 가까워도 [0, 1]을 벗어나지 않음
+     *
+     * @return [하한, 상한], 표본이 없으면 [0, 1]
+     */
+    static double[] wilsonInterval(long conversions, long participants, double z) {
+        if (participants <= 0) {
+            return new double[] {0.0, 1.0};
+        }
+        double n = participants;
+        double p = conversions / n;
+        double z2 = z * z;
+        double denominator = 1 + z2 / n;
+        double center = (p + z2 / (2 * n)) / denominator;
+        double half = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+        return new double[] {Math.max(0.0, center - half), Math.min(1.0, center + half)};
+    }
+
+    /**
+     * 두 비율 z-검정 양측 p-value (합동 분산) - 표본 수를 미리 정해 한 번만 볼 때 유효
+     */
+    static double twoProportionPValue(long conversionsA, long participantsA, long conversionsB, long participantsB) {
+        if (participantsA <= 0 || participantsB <= 0) {
+            return 1.0;
+        }
+        double pA = (double) conversionsA / participantsA;
+        double pB = (double) conversionsB / participantsB;
+        double pooled = (double) (conversionsA + conversionsB) / (participantsA + participantsB);
+        double se = Math.sqrt(pooled * (1 - pooled) * (1.0 / participantsA + 1.0 / participantsB));
+        if (se == 0) {
+            return 1.0;
+        }
+        double z = (pB - pA) / se;
+        return Math.min(1.0, 2 * (1 - normalCdf(Math.abs(z))));
+    }
+
+    /**
+     * mSPRT 우도비 역수 (Johari et al., 정규 혼합 사전분포 N(0, τ²), 차이의 정규 근사)
+     * 결과를 실행 중 최솟값으로 누적하면 언제 들여다봐도 유효한(always-valid) p-value가 됨
+     *
+     *   Λ = sqrt(V / (V + τ²)) * exp(τ² θ² / (2V(V + τ²)))   θ = pB - pA, V = Var(θ)
+     */
+    static double msprtPValue(long conversionsA, long participantsA, long conversionsB, long participantsB,
+                              double mixtureSd) {
+        if (participantsA <= 1 || participantsB <= 1) {
+            return 1.0;
+        }
+        double pA = (double) conversionsA / participantsA;
+        double pB = (double) conversionsB / participantsB;
+        double variance = pA * (1 - pA) / participantsA + pB * (1 - pB) / participantsB;
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double tau2 = mixtureSd * mixtureSd;
+        double theta = pB - pA;
+        double logLambda = 0.5 * Math.log(variance / (variance + tau2))
+                + tau2 * theta * theta / (2 * variance * (variance + tau2));
+        return Math.min(1.0, Math.exp(-logLambda));
+    }
+}
@@ -0,0 +1,35 @@
+package junghun.studycicd.experiment;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실험 변형 하나의 누적 카운트 - 요청 스레드마다 다른 셀에 더해 경합 없이 기록
+ */
+final class VariantCounters {
+
+    private final LongAdder participants = new LongAdder();
+    private final LongAdder conversions = new LongAdder();
+
+    void record(boolean converted) {
+        participants.increment();
+        if (converted) {
+            conversions.increment();
+        }
+    }
+
+    void add(long participated, long converted) {
+        participants.add(participated);
+        if (converted > 0) {
+            conversions.add(converted);
+        }
+    }
+
+    /**
+     * 읽는 도중 기록이 들어와도 전환 수가 참여자 수를 넘지 않도록 전환 수를 먼저 읽음
+     */
+    ExperimentEngine.VariantCount snapshot() {
+        long converted = conversions.sum();
+        long participated = participants.sum();
+        return new ExperimentEngine.VariantCount(Math.max(participated, converted), converted);
+    }
+}
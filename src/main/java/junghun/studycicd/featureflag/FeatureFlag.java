@@ -0,0 +1,47 @@
+package junghun.studycicd.featureflag;
+
+import junghun.studycicd.dto.FeatureFlagRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 등록된 기능 플래그 정의 (불변) - 요청 처리에는 FeatureFlagTable로 컴파일된 형태를 사용
+ */
+public class FeatureFlag {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+    private static final int MAX_RULES = 32;
+
+    private final String name;
+    private final String description;
+    private final boolean enabled;
+    private final boolean defaultValue;
+    private final List<FeatureFlagRule> rules;
+    private final LocalDateTime updatedAt;
+
+    public FeatureFlag(String name, FeatureFlagRequest request) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Flag name must match " + NAME_PATTERN.pattern());
+        }
+        List<FeatureFlagRequest.Rule> requestRules = request.getRules() != null ? request.getRules() : List.of();
+        if (requestRules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("A flag can have at most " + MAX_RULES + " rules");
+        }
+        this.name = name;
+        this.description = request.getDescription();
+        this.enabled = request.getEnabled() == null || request.getEnabled();
+        this.defaultValue = request.getDefaultValue() != null && request.getDefaultValue();
+        this.rules = requestRules.stream().map(FeatureFlagRule::new).toList();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public boolean getEnabled() { return enabled; }
+    public boolean getDefaultValue() { return defaultValue; }
+    public List<FeatureFlagRule> getRules() { return rules; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,43 @@
+package junghun.studycicd.featureflag;
+
+import junghun.studycicd.dto.FeatureFlagRequest;
+
+import java.util.List;
+
+/**
+ * 기능 플래그 평가 규칙 (불변)
+ */
+public class FeatureFlagRule {
+
+    private final List<String> versions;
+    private final List<String> userGroups;
+    private final double percentage;
+    private final boolean value;
+
+    FeatureFlagRule(FeatureFlagRequest.Rule request) {
+        this.versions = normalize(request.getVersions());
+        this.userGroups = normalize(request.getUserGroups());
+        this.percentage = request.getPercentage() != null ? request.getPercentage() : 100.0;
+        this.value = request.getValue() == null || request.getValue();
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException("percentage must be in [0, 100]");
+        }
+    }
+
+    private static List<String> normalize(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+    }
+
+    // Getters
+    public List<String> getVersions() { return versions; }
+    public List<String> getUserGroups() { return userGroups; }
+    public double getPercentage() { return percentage; }
+    public boolean getValue() { return value; }
+}
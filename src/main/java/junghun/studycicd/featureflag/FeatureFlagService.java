@@ -0,0 +1,146 @@
+package junghun.studycicd.featureflag;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import junghun.studycicd.dto.FeatureFlagRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 기능 플래그 관리 및 평가
+ * 정의가 바뀔 때마다 FeatureFlagTable을 새로 컴파일해 교체 - 요청 스레드는 volatile 읽기 한 번으로 최신 테이블을 봄
+ * 정의는 인스턴스별 메모리에만 있으므로 버전별 동작은 규칙의 versions 조건으로 지정
+ *
+ * 변경은 요청을 받은 인스턴스에만 반영되고 다른 인스턴스로 전파/저장되지 않음 (재시작하면 기본 플래그로 돌아감)
+ * 같은 사용자가 인스턴스와 무관하게 같은 결과를 받는 것은 모든 인스턴스의 정의가 같을 때뿐 -
+ * 변경은 NGINX를 거치지 말고 인스턴스마다 직접 호출
+ */
+@Service
+public class FeatureFlagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeatureFlagService.class);
+
+    private final MeterRegistry meterRegistry;
+
+    // 변경은 synchronized 메서드에서만, 읽기는 스냅샷으로
+    private volatile Map<String, FeatureFlag> definitions = Map.of();
+    private volatile FeatureFlagTable table = FeatureFlagTable.EMPTY;
+
+    @Value("${info.app.version.type:default}")
+    private String versionType;
+
+    public FeatureFlagService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public synchronized void initialize() {
+        Gauge.builder("feature_flags", this, service -> service.definitions.size())
+                .description("Registered feature flags")
+                .register(meterRegistry);
+
+        Map<String, FeatureFlag> initial = new TreeMap<>();
+        for (FeatureFlag flag : defaultFlags()) {
+            initial.put(flag.getName(), flag);
+        }
+        publish(initial);
+        logger.info("🚩 Feature flags compiled for version {}: {}", versionType, initial.keySet());
+    }
+
+    public synchronized FeatureFlag putFlag(String name, FeatureFlagRequest request) {
+        FeatureFlag flag = new FeatureFlag(name, request);
+        Map<String, FeatureFlag> updated = new TreeMap<>(definitions);
+        updated.put(name, flag);
+        publish(updated);
+        logger.info("🚩 Feature flag {} updated (enabled {}, {} rules)", name, flag.getEnabled(), flag.getRules().size());
+        return flag;
+    }
+
+    public synchronized boolean removeFlag(String name) {
+        if (!definitions.containsKey(name)) {
+            return false;
+        }
+        Map<String, FeatureFlag> updated = new TreeMap<>(definitions);
+        updated.remove(name);
+        publish(updated);
+        logger.info("Feature flag {} removed", name);
+        return true;
+    }
+
+    private void publish(Map<String, FeatureFlag> updated) {
+        // 테이블을 먼저 만든 뒤 교체 - 읽는 쪽은 완성된 테이블만 봄
+        FeatureFlagTable updatedTable = FeatureFlagTable.compile(updated.values(), versionType);
+        definitions = Collections.unmodifiableMap(updated);
+        table = updatedTable;
+    }
+
+    public Collection<FeatureFlag> getFlags() {
+        return definitions.values();
+    }
+
+    public FeatureFlag getFlag(String name) {
+        return definitions.get(name);
+    }
+
+    /**
+     * 플래그 하나 평가 (요청 스레드에서 호출)
+     */
+    public boolean isEnabled(String name, String userGroup, String userId) {
+        return table.isEnabled(name, userGroup, userId);
+    }
+
+    /**
+     * 여러 플래그를 같은 테이블 스냅샷으로 평가 - 평가 도중 정의가 바뀌어도 결과가 섞이지 않음
+     *
+     * @param names 비어 있으면 등록된 전체 플래그
+     */
+    public Map<String, Boolean> evaluate(Collection<String> names, String userGroup, String userId) {
+        FeatureFlagTable current = table;
+        Collection<String> targets = names == null || names.isEmpty() ? current.names() : names;
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (String name : targets) {
+            results.put(name, current.isEnabled(name, userGroup, userId));
+        }
+        return results;
+    }
+
+    /**
+     * 기존 하드코딩 동작을 옮긴 기본 플래그 - personalization의 70%는 요청마다 난수 대신 userId 기준
+     */
+    public static List<FeatureFlag> defaultFlags() {
+        return List.of(
+            new FeatureFlag("checkout_optimization", flag("New checkout flow",
+                rule(List.of("refactored"), List.of(), 100.0),
+                rule(List.of(), List.of("premium"), 100.0))),
+            new FeatureFlag("personalization", flag("Personalized recommendations",
+                rule(List.of("refactored"), List.of(), 70.0))),
+            new FeatureFlag("new_dashboard", flag("Redesigned dashboard",
+                rule(List.of("refactored"), List.of(), 100.0)))
+        );
+    }
+
+    private static FeatureFlagRequest flag(String description, FeatureFlagRequest.Rule... rules) {
+        FeatureFlagRequest request = new FeatureFlagRequest();
+        request.setDescription(description);
+        request.setRules(List.of(rules));
+        return request;
+    }
+
+    private static FeatureFlagRequest.Rule rule(List<String> versions, List<String> userGroups, double percentage) {
+        FeatureFlagRequest.Rule rule = new FeatureFlagRequest.Rule();
+        rule.setVersions(versions);
+        rule.setUserGroups(userGroups);
+        rule.setPercentage(percentage);
+        return rule;
+    }
+}
@@ -0,0 +1,159 @@
+package junghun.studycicd.featureflag;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 기능 플래그 평가 테이블 (불변) - 정의가 바뀌면 새로 컴파일해 통째로 교체
+ *
+ * 인스턴스 버전은 배포 중 바뀌지 않으므로 버전 조건은 컴파일 때 미리 걸러내고,
+ * 평가 시에는 남은 규칙의 사용자 그룹 비교와 정수 버킷 비교만 함 (할당 없음)
+ *
+ * 점진 적용은 userId 해시를 0~9999 버킷으로 나눠 버킷 < 비율(bp)이면 적용
+ * 플래그 이름을 시드로 섞어 플래그마다 대상 사용자가 다르고, 비율을 올려도 기존 대상자는 그대로 유지
+ */
+public final class FeatureFlagTable {
+
+    static final FeatureFlagTable EMPTY = new FeatureFlagTable(Map.of());
+
+    private static final int BUCKETS = 10_000;
+
+    private final Map<String, CompiledFlag> flags;
+
+    private FeatureFlagTable(Map<String, CompiledFlag> flags) {
+        this.flags = flags;
+    }
+
+    public static FeatureFlagTable compile(Collection<FeatureFlag> definitions, String versionType) {
+        Map<String, CompiledFlag> compiled = new HashMap<>();
+        for (FeatureFlag definition : definitions) {
+            compiled.put(definition.getName(), CompiledFlag.compile(definition, versionType));
+        }
+        return new FeatureFlagTable(Map.copyOf(compiled));
+    }
+
+    /**
+     * 등록되지 않은 플래그는 꺼짐
+     *
+     * @param userId 없으면 모든 익명 사용자가 같은 버킷
+     */
+    public boolean isEnabled(String name, String userGroup, String userId) {
+        CompiledFlag flag = flags.get(name);
+        return flag != null && flag.evaluate(userGroup, userId);
+    }
+
+    public boolean contains(String name) {
+        return flags.containsKey(name);
+    }
+
+    public Set<String> names() {
+        return new TreeSet<>(flags.keySet());
+    }
+
+    /**
+     * murmur3 fmix32로 섞은 버킷 - String.hashCode는 명세로 고정되어 있어 인스턴스/재시작과 무관하게 같은 값
+     * (평가 결과가 같으려면 정의도 같아야 함 - 정의는 인스턴스별, FeatureFlagService 참고)
+     */
+    static int bucket(int seed, String userId) {
+        int h = seed ^ (userId != null ? userId.hashCode() : 0);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (h & 0x7fffffff) % BUCKETS;
+    }
+
+    /**
+     * 이 인스턴스 버전에 해당하는 규칙만 병렬 배열로 보관
+     */
+    private static final class CompiledFlag {
+
+        private static final CompiledFlag OFF = new CompiledFlag(0, new String[0][], new int[0], new boolean[0], false);
+
+        private final int seed;
+        // 규칙별 사용자 그룹 (null = 모든 그룹)
+        private final String[][] userGroups;
+        // 규칙별 적용 버킷 수 (BUCKETS = 전체)
+        private final int[] thresholds;
+        private final boolean[] values;
+        private final boolean defaultValue;
+
+        private CompiledFlag(int seed, String[][] userGroups, int[] thresholds, boolean[] values,
+                             boolean defaultValue) {
+            this.seed = seed;
+            this.userGroups = userGroups;
+            this.thresholds = thresholds;
+            this.values = values;
+            this.defaultValue = defaultValue;
+        }
+
+        static CompiledFlag compile(FeatureFlag definition, String versionType) {
+            if (!definition.getEnabled()) {
+                return OFF;
+            }
+            int size = definition.getRules().size();
+            String[][] userGroups = new String[size][];
+            int[] thresholds = new int[size];
+            boolean[] values = new boolean[size];
+            boolean defaultValue = definition.getDefaultValue();
+
+            int count = 0;
+            for (FeatureFlagRule rule : definition.getRules()) {
+                if (!rule.getVersions().isEmpty() && !rule.getVersions().contains(versionType)) {
+                    continue;
+                }
+                int threshold = (int) Math.round(rule.getPercentage() * (BUCKETS / 100));
+                if (threshold == 0) {
+                    continue;
+                }
+                if (rule.getUserGroups().isEmpty() && threshold == BUCKETS) {
+                    // 모든 사용자에게 맞는 규칙 - 뒤의 규칙은 도달할 수 없으므로 기본값으로 대신함
+                    defaultValue = rule.getValue();
+                    break;
+                }
+                userGroups[count] = rule.getUserGroups().isEmpty() ? null : rule.getUserGroups().toArray(String[]::new);
+                thresholds[count] = threshold;
+                values[count] = rule.getValue();
+                count++;
+            }
+
+            String[][] compactGroups = new String[count][];
+            System.arraycopy(userGroups, 0, compactGroups, 0, count);
+            int[] compactThresholds = new int[count];
+            System.arraycopy(thresholds, 0, compactThresholds, 0, count);
+            boolean[] compactValues = new boolean[count];
+            System.arraycopy(values, 0, compactValues, 0, count);
+            return new CompiledFlag(definition.getName().hashCode(), compactGroups, compactThresholds, compactValues,
+                                    defaultValue);
+        }
+
+        boolean evaluate(String userGroup, String userId) {
+            for (int i = 0; i < values.length; i++) {
+                if (!matchesGroup(userGroups[i], userGroup)) {
+                    continue;
+                }
+                if (thresholds[i] < BUCKETS && bucket(seed, userId) >= thresholds[i]) {
+                    continue;
+                }
+                return values[i];
+            }
+            return defaultValue;
+        }
+
+        private static boolean matchesGroup(String[] groups, String userGroup) {
+            if (groups == null) {
+                return true;
+            }
+            for (String group : groups) {
+                if (group.equals(userGroup)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
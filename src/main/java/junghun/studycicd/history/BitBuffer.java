@@ -0,0 +1,104 @@
+package junghun.studycicd.history;
+
+import java.util.Arrays;
+
+/**
+ * long 배열 위의 비트 단위 쓰기/읽기 버퍼 (상위 비트부터 채움)
+ */
+class BitBuffer {
+
+    private long[] words;
+    private int bitLength;
+
+    BitBuffer(int initialWords) {
+        this.words = new long[Math.max(1, initialWords)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1L : 0L, 1);
+    }
+
+    /**
+     * value의 하위 count 비트를 기록 (count 0~64)
+     */
+    void writeBits(long value, int count) {
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(bitLength + count);
+
+        int index = bitLength >>> 6;
+        int offset = bitLength & 63;
+        long masked = count == 64 ? value : value & ((1L << count) - 1);
+        int free = 64 - offset;
+
+        if (count <= free) {
+            words[index] |= masked << (free - count);
+        } else {
+            int spill = count - free;
+            words[index] |= masked >>> spill;
+            words[index + 1] |= masked << (64 - spill);
+        }
+        bitLength += count;
+    }
+
+    int bitLength() {
+        return bitLength;
+    }
+
+    int sizeInBytes() {
+        return words.length * Long.BYTES;
+    }
+
+    /**
+     * 닫힌 청크는 더 쓰지 않으므로 남는 용량 반환
+     */
+    void trim() {
+        words = Arrays.copyOf(words, Math.max(1, (bitLength + 63) >>> 6));
+    }
+
+    Reader reader() {
+        return new Reader();
+    }
+
+    private void ensureCapacity(int bits) {
+        int needed = (bits + 63) >>> 6;
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+        }
+    }
+
+    /**
+     * 읽기 커서 - 쓰기와 같은 스레드(또는 동기화된 구간)에서만 사용
+     */
+    class Reader {
+        private int position;
+
+        boolean readBit() {
+            return readBits(1) == 1L;
+        }
+
+        long readBits(int count) {
+            if (count == 0) {
+                return 0L;
+            }
+            int index = position >>> 6;
+            int offset = position & 63;
+            int available = 64 - offset;
+            long result;
+
+            if (count <= available) {
+                result = words[index] >>> (available - count);
+            } else {
+                int spill = count - available;
+                result = (words[index] << spill) | (words[index + 1] >>> (64 - spill));
+            }
+            position += count;
+            return count == 64 ? result : result & ((1L << count) - 1);
+        }
+
+        boolean hasMore() {
+            return position < bitLength;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package junghun.studycicd.history;
+
+/**
+ * Gorilla 방식 압축 시계열 청크 (timestamp: delta-of-delta, value: 이전 값과 XOR)
+ * 일정 주기로 기록되는 SLI는 timestamp가 대부분 1비트, 변화가 없는 값도 1비트로 저장됨
+ * 스레드 안전하지 않음 - SliHistoryStore가 동기화
+ */
+class GorillaChunk {
+
+    private final BitBuffer bits;
+    private final long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long lastValueBits;
+    private int lastLeadingZeros = Integer.MAX_VALUE;
+    private int lastTrailingZeros;
+    private int count;
+    private boolean closed;
+
+    GorillaChunk(long timestamp, double value) {
+        this.bits = new BitBuffer(16);
+        this.firstTimestamp = timestamp;
+        this.lastTimestamp = timestamp;
+        this.lastValueBits = Double.doubleToRawLongBits(value);
+        bits.writeBits(timestamp, 64);
+        bits.writeBits(lastValueBits, 64);
+        count = 1;
+    }
+
+    /**
+     * 점 추가 - timestamp는 마지막 점 이후여야 함 (ms)
+     */
+    void append(long timestamp, double value) {
+        long delta = timestamp - lastTimestamp;
+        writeTimestamp(delta - lastDelta);
+        writeValue(Double.doubleToRawLongBits(value));
+        lastDelta = delta;
+        lastTimestamp = timestamp;
+        count++;
+    }
+
+    private void writeTimestamp(long deltaOfDelta) {
+        // 주기가 일정하면 0 (1비트), 약간의 지터는 짧은 구간으로 인코딩
+        if (deltaOfDelta == 0) {
+            bits.writeBit(false);
+        } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+            bits.writeBits(0b10, 2);
+            bits.writeBits(deltaOfDelta, 7);
+        } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+            bits.writeBits(0b110, 3);
+            bits.writeBits(deltaOfDelta, 9);
+        } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+            bits.writeBits(0b1110, 4);
+            bits.writeBits(deltaOfDelta, 12);
+        } else if (deltaOfDelta >= Integer.MIN_VALUE && deltaOfDelta <= Integer.MAX_VALUE) {
+            bits.writeBits(0b11110, 5);
+            bits.writeBits(deltaOfDelta, 32);
+        } else {
+            bits.writeBits(0b11111, 5);
+            bits.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeValue(long valueBits) {
+        long xor = valueBits ^ lastValueBits;
+        lastValueBits = valueBits;
+
+        if (xor == 0) {
+            bits.writeBit(false);
+            return;
+        }
+        bits.writeBit(true);
+
+        // leading zero 수는 5비트에 담기도록 31로 제한
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+
+        if (lastLeadingZeros != Integer.MAX_VALUE && leading >= lastLeadingZeros && trailing >= lastTrailingZeros) {
+            // 이전 블록 안에 의미 있는 비트가 모두 들어가면 블록 정보 재사용
+            bits.writeBit(false);
+            int significant = 64 - lastLeadingZeros - lastTrailingZeros;
+            bits.writeBits(xor >>> lastTrailingZeros, significant);
+        } else {
+            int significant = 64 - leading - trailing;
+            bits.writeBit(true);
+            bits.writeBits(leading, 5);
+            // 64는 6비트에 담기지 않으므로 0으로 기록
+            bits.writeBits(significant == 64 ? 0 : significant, 6);
+            bits.writeBits(xor >>> trailing, significant);
+            lastLeadingZeros = leading;
+            lastTrailingZeros = trailing;
+        }
+    }
+
+    void close() {
+        closed = true;
+        bits.trim();
+    }
+
+    /**
+     * 모든 점을 순서대로 디코딩
+     */
+    void forEach(PointConsumer consumer) {
+        BitBuffer.Reader reader = bits.reader();
+        long timestamp = reader.readBits(64);
+        long valueBits = reader.readBits(64);
+        consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            delta += readDeltaOfDelta(reader);
+            timestamp += delta;
+
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.readBits(5);
+                    int significant = (int) reader.readBits(6);
+                    if (significant == 0) {
+                        significant = 64;
+                    }
+                    trailing = 64 - leading - significant;
+                }
+                int significant = 64 - leading - trailing;
+                valueBits ^= reader.readBits(significant) << trailing;
+            }
+            consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+        }
+    }
+
+    private long readDeltaOfDelta(BitBuffer.Reader reader) {
+        if (!reader.readBit()) {
+            return 0;
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(7), 7);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(9), 9);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(12), 12);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(32), 32);
+        }
+        return reader.readBits(64);
+    }
+
+    private static long signExtend(long value, int bits) {
+        long shift = 64 - bits;
+        return (value << shift) >> shift;
+    }
+
+    int getCount() { return count; }
+    long getFirstTimestamp() { return firstTimestamp; }
+    long getLastTimestamp() { return lastTimestamp; }
+    boolean isClosed() { return closed; }
+    int sizeInBytes() { return bits.sizeInBytes(); }
+    int bitLength() { return bits.bitLength(); }
+
+    @FunctionalInterface
+    interface PointConsumer {
+        void accept(long timestamp, double value);
+    }
+}
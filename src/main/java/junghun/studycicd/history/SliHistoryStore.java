@@ -0,0 +1,321 @@
+package junghun.studycicd.history;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import junghun.studycicd.service.SliSloEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SLI 평가 이력 저장소
+ * 평가 결과마다 지표별 Gorilla 압축 청크에 추가하고, 보존 기간/메모리 한도를 넘으면 오래된 청크부터 제거
+ * Prometheus를 다시 조회하지 않고 배포 의사결정 당시의 SLI 추세를 제공
+ */
+@Service
+public class SliHistoryStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SliHistoryStore.class);
+
+    public static final List<String> METRICS = List.of(
+        "errorRatePercent", "responseTimeP95", "responseTimeP99", "availability",
+        "throughputRps", "canaryErrorRate", "sampleSize", "sloCompliant"
+    );
+
+    @Value("${sli-history.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${sli-history.retention-hours:72}")
+    private Integer retentionHours;
+
+    // 닫힌 청크 하나에 담는 최대 점 수
+    @Value("${sli-history.chunk-max-points:240}")
+    private Integer chunkMaxPoints;
+
+    @Value("${sli-history.max-bytes:8388608}")
+    private Long maxBytes;
+
+    @Value("${sli-history.max-points-per-query:500}")
+    private Integer maxPointsPerQuery;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Series> series = new LinkedHashMap<>();
+    private long totalBytes;
+    private long totalPoints;
+
+    public SliHistoryStore(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (String metric : METRICS) {
+            series.put(metric, new Series());
+        }
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("sli_history_bytes", this, SliHistoryStore::getTotalBytes)
+                .description("Memory used by compressed SLI history chunks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 평가 결과 기록 - 값이 없는 SLI는 NaN으로 저장
+     */
+    public void record(SliSloEvaluator.SliSloResult result) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("errorRatePercent", result.getErrorRatePercent());
+        values.put("responseTimeP95", result.getResponseTimeP95());
+        values.put("responseTimeP99", result.getResponseTimeP99());
+        values.put("availability", result.getAvailability());
+        values.put("throughputRps", result.getThroughputRps());
+        values.put("canaryErrorRate", result.getCanaryErrorRate());
+        values.put("sampleSize", result.getSampleSize() != null ? result.getSampleSize().doubleValue() : null);
+        values.put("sloCompliant", Boolean.TRUE.equals(result.isSloCompliant()) ? 1.0 : 0.0);
+        record(System.currentTimeMillis(), values);
+    }
+
+    public synchronized void record(long timestamp, Map<String, Double> values) {
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            Series target = series.get(entry.getKey());
+            if (target != null) {
+                target.append(timestamp, entry.getValue() != null ? entry.getValue() : Double.NaN);
+            }
+        }
+        evict(timestamp);
+    }
+
+    /**
+     * 구간 조회 - step(ms) 단위 버킷으로 평균/최소/최대 다운샘플링
+     * step이 없으면 구간을 max-points-per-query 개 이하로 나누는 값 사용
+     */
+    public synchronized HistoryResult query(List<String> metrics, long from, long to, Long stepMs) {
+        long span = Math.max(1, to - from);
+        long minStep = (span + maxPointsPerQuery - 1) / maxPointsPerQuery;
+        long step = Math.max(stepMs != null && stepMs > 0 ? stepMs : minStep, minStep);
+        step = Math.max(step, 1000);
+
+        Map<String, List<HistoryPoint>> result = new LinkedHashMap<>();
+        for (String metric : metrics) {
+            Series source = series.get(metric);
+            if (source == null) {
+                throw new IllegalArgumentException("Unknown metric: " + metric + " (available: " + METRICS + ")");
+            }
+            result.put(metric, source.downsample(from, to, step));
+        }
+        return new HistoryResult(from, to, step, result, totalPoints, totalBytes);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * 보존 기간이 지난 청크 제거 후, 메모리 한도를 넘으면 가장 오래된 청크부터 제거
+     */
+    private void evict(long now) {
+        long cutoff = now - retentionHours * 3600_000L;
+        for (Series target : series.values()) {
+            target.evictBefore(cutoff);
+        }
+
+        while (totalBytes > maxBytes) {
+            Series oldest = null;
+            for (Series target : series.values()) {
+                if (!target.closed.isEmpty()
+                        && (oldest == null
+                            || target.closed.peekFirst().getFirstTimestamp() < oldest.closed.peekFirst().getFirstTimestamp())) {
+                    oldest = target;
+                }
+            }
+            if (oldest == null) {
+                logger.warn("SLI history exceeds {} bytes with only open chunks", maxBytes);
+                return;
+            }
+            oldest.removeOldest();
+        }
+    }
+
+    /**
+     * 지표 하나의 청크 목록 (닫힌 청크 + 쓰는 중인 청크)
+     */
+    private class Series {
+        private final Deque<GorillaChunk> closed = new ArrayDeque<>();
+        private GorillaChunk open;
+        private int openBytes;
+
+        void append(long timestamp, double value) {
+            if (open != null && timestamp < open.getLastTimestamp()) {
+                // 시계가 뒤로 간 경우 순서를 유지하기 위해 버림
+                return;
+            }
+            if (open == null) {
+                open = new GorillaChunk(timestamp, value);
+            } else {
+                open.append(timestamp, value);
+            }
+            totalPoints++;
+
+            if (open.getCount() >= chunkMaxPoints) {
+                // 닫으면서 trim된 크기로 다시 계산
+                open.close();
+                closed.addLast(open);
+                totalBytes += open.sizeInBytes() - openBytes;
+                openBytes = 0;
+                open = null;
+            } else {
+                updateOpenBytes();
+            }
+        }
+
+        void evictBefore(long cutoff) {
+            while (!closed.isEmpty() && closed.peekFirst().getLastTimestamp() < cutoff) {
+                removeOldest();
+            }
+            if (closed.isEmpty() && open != null && open.getLastTimestamp() < cutoff) {
+                totalPoints -= open.getCount();
+                open = null;
+                updateOpenBytes();
+            }
+        }
+
+        void removeOldest() {
+            GorillaChunk chunk = closed.pollFirst();
+            if (chunk != null) {
+                totalBytes -= chunk.sizeInBytes();
+                totalPoints -= chunk.getCount();
+            }
+        }
+
+        private void updateOpenBytes() {
+            int current = open != null ? open.sizeInBytes() : 0;
+            totalBytes += current - openBytes;
+            openBytes = current;
+        }
+
+        List<HistoryPoint> downsample(long from, long to, long step) {
+            List<HistoryPoint> points = new ArrayList<>();
+            Bucket[] current = new Bucket[1];
+
+            List<GorillaChunk> chunks = new ArrayList<>(closed);
+            if (open != null) {
+                chunks.add(open);
+            }
+            for (GorillaChunk chunk : chunks) {
+                if (chunk.getLastTimestamp() < from || chunk.getFirstTimestamp() > to) {
+                    continue;
+                }
+                chunk.forEach((timestamp, value) -> {
+                    if (timestamp < from || timestamp > to || Double.isNaN(value)) {
+                        return;
+                    }
+                    long bucketStart = from + (timestamp - from) / step * step;
+                    if (current[0] == null || current[0].start != bucketStart) {
+                        if (current[0] != null) {
+                            points.add(current[0].toPoint());
+                        }
+                        current[0] = new Bucket(bucketStart);
+                    }
+                    current[0].add(value);
+                });
+            }
+            if (current[0] != null) {
+                points.add(current[0].toPoint());
+            }
+            return points;
+        }
+    }
+
+    private static class Bucket {
+        private final long start;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private int count;
+
+        Bucket(long start) {
+            this.start = start;
+        }
+
+        void add(double value) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            count++;
+        }
+
+        HistoryPoint toPoint() {
+            return new HistoryPoint(start, sum / count, min, max, count);
+        }
+    }
+
+    /**
+     * 다운샘플링된 점 하나
+     */
+    public static class HistoryPoint {
+        private final Long timestamp;
+        private final Double avg;
+        private final Double min;
+        private final Double max;
+        private final Integer samples;
+
+        public HistoryPoint(Long timestamp, Double avg, Double min, Double max, Integer samples) {
+            this.timestamp = timestamp;
+            this.avg = avg;
+            this.min = min;
+            this.max = max;
+            this.samples = samples;
+        }
+
+        // Getters
+        public Long getTimestamp() { return timestamp; }
+        public Double getAvg() { return avg; }
+        public Double getMin() { return min; }
+        public Double getMax() { return max; }
+        public Integer getSamples() { return samples; }
+    }
+
+    /**
+     * 이력 조회 결과
+     */
+    public static class HistoryResult {
+        private final Long from;
+        private final Long to;
+        private final Long stepMs;
+        private final Map<String, List<HistoryPoint>> series;
+        private final Long storedPoints;
+        private final Long storedBytes;
+
+        public HistoryResult(Long from, Long to, Long stepMs, Map<String, List<HistoryPoint>> series,
+                             Long storedPoints, Long storedBytes) {
+            this.from = from;
+            this.to = to;
+            this.stepMs = stepMs;
+            this.series = series;
+            this.storedPoints = storedPoints;
+            this.storedBytes = storedBytes;
+        }
+
+        // Getters
+        public Long getFrom() { return from; }
+        public Long getTo() { return to; }
+        public Long getStepMs() { return stepMs; }
+        public Map<String, List<HistoryPoint>> getSeries() { return series; }
+        public Long getStoredPoints() { return storedPoints; }
+        public Long getStoredBytes() { return storedBytes; }
+    }
+}
@@ -0,0 +1,160 @@
+package junghun.studycicd.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import junghun.studycicd.warmup.WarmupRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 적응형 동시성 제한 필터
+ * 인스턴스가 감당할 수 있는 동시 처리 수를 RTT로 학습하고, 한도를 넘는 요청은 대기열에 쌓지 않고 즉시 503으로 거절
+ * 과부하가 지연 폭증 대신 거절 수로 드러나 배포 게이트에서 판단할 수 있고, NGINX는 503을 다른 서버로 재시도
+ *
+ * 요청 메트릭(http.server.requests) 수집 이후에 실행되어 거절한 503도 버전별 요청 메트릭에 집계됨
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private static final byte[] REJECTED_BODY =
+        "{\"error\":\"Service Unavailable\",\"message\":\"Concurrency limit exceeded\",\"status\":503}"
+            .getBytes(StandardCharsets.UTF_8);
+    // 핸들러가 없는 요청 (404, 정적 리소스 등)
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final GradientConcurrencyLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCounter;
+
+    @Value("${concurrency-limit.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${concurrency-limit.excluded-paths:/actuator,/health,/api/drain,/webhook,/api/business/events}")
+    private List<String> excludedPaths;
+
+    private volatile long lastRejectionLog;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${concurrency-limit.initial-limit:50}") int initialLimit,
+                                  @Value("${concurrency-limit.min-limit:10}") int minLimit,
+                                  @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+                                  @Value("${concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+                                  @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+                                  @Value("${concurrency-limit.baseline-window:500}") int baselineWindow) {
+        this.limit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, rttTolerance, smoothing,
+                                                  baselineWindow);
+
+        Gauge.builder("concurrency_limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit of this instance")
+                .register(meterRegistry);
+        Gauge.builder("concurrency_limit_in_flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+        Gauge.builder("concurrency_limit_rtt_ratio", limit, GradientConcurrencyLimit::getRttRatio)
+                .description("Recent request time relative to each route's no-queueing baseline (1 = no queueing)")
+                .register(meterRegistry);
+        Gauge.builder("concurrency_limit_rtt_seconds", limit, l -> l.getLastRttNanos() / 1_000_000_000.0)
+                .description("Most recent request time sampled by the concurrency limiter")
+                .tag("window", "short")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("concurrency_limit_rejected_total")
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || WarmupRequest.isWarmup(request)) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        for (String path : excludedPaths) {
+            if (uri.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        int current = inFlight.incrementAndGet();
+        if (current > limit.getLimit()) {
+            inFlight.decrementAndGet();
+            reject(response, current);
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        boolean sample = true;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            sample = false;
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            // 5xx는 빠르게 끝나는 경우가 많아 한도를 잘못 올리므로 학습에서 제외
+            if (sample && response.getStatus() < 500 && !request.isAsyncStarted()) {
+                limit.onSample(routeOf(request), System.nanoTime() - startTime, current);
+            }
+        }
+    }
+
+    /**
+     * 기준 RTT를 나누는 경로 - 핸들러 패턴 단위로 묶어 경로 변수마다 따로 늘어나지 않게 함
+     */
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+    }
+
+    private void reject(HttpServletResponse response, int current) throws IOException {
+        rejectedCounter.increment();
+
+        // 과부하 중 로그가 폭주하지 않도록 초당 한 번만 기록
+        long now = System.currentTimeMillis();
+        if (now - lastRejectionLog > 1000) {
+            lastRejectionLog = now;
+            logger.warn("🚦 Concurrency limit {} reached (in-flight {}) - shedding requests",
+                       limit.getLimit(), current - 1);
+        }
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
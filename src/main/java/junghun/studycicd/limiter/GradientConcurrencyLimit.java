@@ -0,0 +1,120 @@
+package junghun.studycicd.limiter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Gradient(Vegas) 방식 동시성 한도
+ * 대기열이 없을 때의 RTT(기준 RTT)와 현재 RTT의 비율로 대기열이 쌓이는지 판단해 한도를 줄이고,
+ * 대기열이 없으면 queueSize(√limit)만큼 여유를 두고 한도를 늘림
+ *
+ *   ratio    = 최근 SHORT_WINDOW개 표본의 (rtt / 경로별 기준 RTT) 지수 평균
+ *   gradient = clamp(tolerance / ratio, 0.5, 1.0)
+ *   newLimit = limit * gradient + √limit   (smoothing으로 완만하게 반영)
+ *
+ * 기준 RTT는 경로(핸들러 패턴)별 장기 지수 평균(window 표본) - 처리 시간이 수백 배 다른 엔드포인트가 섞여도
+ * 각 요청을 자기 경로의 평소 RTT와 비교하므로 요청 구성이 그대로면 ratio가 1 근처에 머묾
+ * 과부하가 계속되면 기준 RTT가 현재 RTT를 따라가 한도가 계속 오르므로,
+ * 경로의 첫 표본 이후에는 한도의 절반 이하로 처리 중일 때의 표본만 기준 RTT에 반영
+ *
+ * 요청마다 호출되므로 락 없이 CAS로만 갱신 - 동시에 들어온 표본은 순서와 무관하게 각각 한 번씩 반영됨
+ */
+class GradientConcurrencyLimit {
+
+    // 대기열 판단에 쓰는 최근 RTT 비율의 평균 구간 (표본 수)
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double baselineAlpha;
+    private final double ratioAlpha;
+
+    // double 값을 비트로 저장 (AtomicDouble 대신)
+    private final AtomicLong estimatedLimit;
+    private final AtomicLong rttRatio = new AtomicLong(Double.doubleToLongBits(1.0));
+    private final Map<String, AtomicLong> baselineRtts = new ConcurrentHashMap<>();
+    // 요청마다 읽는 값이므로 정수 한도를 따로 유지
+    private volatile int limit;
+    private volatile double lastRtt;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                             double rttTolerance, double smoothing, int window) {
+        this.estimatedLimit = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.baselineAlpha = 2.0 / (window + 1);
+        this.ratioAlpha = 2.0 / (SHORT_WINDOW + 1);
+    }
+
+    /**
+     * 완료된 요청 하나 반영
+     *
+     * @param route    요청 경로 (핸들러 패턴) - 기준 RTT를 나누는 단위
+     * @param rttNanos 처리 시간
+     * @param inFlight 요청 시작 시점의 동시 처리 수
+     * @return 갱신된 한도
+     */
+    int onSample(String route, long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return limit;
+        }
+        double rtt = rttNanos;
+        lastRtt = rtt;
+
+        double estimated = Double.longBitsToDouble(estimatedLimit.get());
+        AtomicLong baselineRtt = baselineRtts.get(route);
+        if (baselineRtt == null) {
+            baselineRtt = baselineRtts.computeIfAbsent(route, r -> new AtomicLong(Double.doubleToLongBits(Double.NaN)));
+        }
+        double baseline = Double.longBitsToDouble(baselineRtt.get());
+        if (Double.isNaN(baseline) || inFlight <= estimated / 2) {
+            baseline = update(baselineRtt, rtt, (previous, sample) -> Double.isNaN(previous)
+                ? sample : previous + baselineAlpha * (sample - previous));
+        }
+        double ratio = update(rttRatio, rtt / baseline,
+                              (previous, sample) -> previous + ratioAlpha * (sample - previous));
+
+        // 한도의 절반도 쓰지 않는 동안에는 RTT가 한도에 대한 정보를 주지 않음
+        if (inFlight < estimated / 2) {
+            return limit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance / ratio));
+        double newEstimate = update(estimatedLimit, gradient, (current, g) -> {
+            double queueSize = Math.max(1.0, Math.sqrt(current));
+            double newLimit = current * g + queueSize;
+            newLimit = current * (1 - smoothing) + newLimit * smoothing;
+            return Math.max(minLimit, Math.min(maxLimit, newLimit));
+        });
+        // 동시에 갱신한 스레드끼리 순서가 바뀌어도 다음 표본에서 바로잡힘
+        limit = (int) newEstimate;
+        return limit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 최근 RTT / 경로별 기준 RTT (1이면 대기열 없음)
+     */
+    double getRttRatio() {
+        return Double.longBitsToDouble(rttRatio.get());
+    }
+
+    double getLastRttNanos() {
+        return lastRtt;
+    }
+
+    private static double update(AtomicLong value, double sample, DoubleBinaryOperator function) {
+        return Double.longBitsToDouble(value.updateAndGet(
+            bits -> Double.doubleToLongBits(function.applyAsDouble(Double.longBitsToDouble(bits), sample))));
+    }
+}
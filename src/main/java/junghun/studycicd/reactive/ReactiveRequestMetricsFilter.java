@@ -0,0 +1,62 @@
+package junghun.studycicd.reactive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import junghun.studycicd.config.InFlightRequestTracker;
+import junghun.studycicd.service.ShadowRequest;
+import junghun.studycicd.warmup.WarmupRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * reactive 프로파일에서 서블릿 인터셉터(MetricsInterceptor, InFlightRequestTracker) 역할
+ * 처리 중 요청 수는 드레인이 인스턴스 제거 시점을 판단하는 데 쓰이므로 스택과 관계없이 집계해야 함
+ */
+@Component
+@Profile("reactive")
+public class ReactiveRequestMetricsFilter implements WebFilter {
+
+    private final InFlightRequestTracker inFlightRequestTracker;
+    private final ShadowRequest shadowRequest;
+    private final Counter successRequestCounter;
+
+    public ReactiveRequestMetricsFilter(InFlightRequestTracker inFlightRequestTracker, ShadowRequest shadowRequest,
+                                        MeterRegistry meterRegistry) {
+        this.inFlightRequestTracker = inFlightRequestTracker;
+        this.shadowRequest = shadowRequest;
+        this.successRequestCounter = Counter.builder("http_requests_total")
+                .description("Total number of successful HTTP requests")
+                .tag("status", "success")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (path.equals("/health") || path.startsWith("/actuator") || path.startsWith("/api/drain")
+                || path.equals(InFlightRequestTracker.STREAM_PATH)) {
+            return chain.filter(exchange);
+        }
+
+        boolean warmup = WarmupRequest.isWarmup(exchange.getRequest());
+        boolean shadow = shadowRequest.isShadow(exchange.getRequest());
+        long startTime = System.nanoTime();
+        inFlightRequestTracker.requestStarted();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    inFlightRequestTracker.requestFinished();
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (shadow) {
+                        shadowRequest.record(exchange.getRequest().getMethod().name(),
+                                             status != null ? status.value() : 200, System.nanoTime() - startTime);
+                    } else if (!warmup && (status == null || status.value() < 400)) {
+                        successRequestCounter.increment();
+                    }
+                });
+    }
+}
@@ -0,0 +1,194 @@
+package junghun.studycicd.reactive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import junghun.studycicd.business.BusinessEventIngester;
+import junghun.studycicd.business.IngestBusyException;
+import junghun.studycicd.experiment.ExperimentEngine;
+import junghun.studycicd.simulation.SimulatedErrorException;
+import junghun.studycicd.simulation.SimulatedErrorResponses;
+import junghun.studycicd.simulation.WorkloadService;
+import junghun.studycicd.service.ShadowRequest;
+import junghun.studycicd.warmup.WarmupRequest;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 워크로드 API(/api/*, /api/business/*)의 리액티브 구현 - reactive 프로파일 전용
+ * 시뮬레이션과 응답 생성은 서블릿 컨트롤러와 같은 WorkloadService를 쓰고, 지연은 스레드를 막지 않는 Mono.delay로 처리
+ */
+@Component
+@Profile("reactive")
+public class ReactiveWorkloadHandler {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_MAP =
+        new ParameterizedTypeReference<>() {};
+    // 일괄 수집 시 한 번에 요청할 DataBuffer 수
+    private static final int INGEST_DEMAND = 4;
+
+    private final WorkloadService workloadService;
+    private final ExperimentEngine experimentEngine;
+    private final Counter requestCounter;
+    private final Timer responseTimer;
+    private final BusinessEventIngester businessEventIngester;
+    private final ShadowRequest shadowRequest;
+
+    public ReactiveWorkloadHandler(MeterRegistry meterRegistry, WorkloadService workloadService,
+                                   ExperimentEngine experimentEngine,
+                                   BusinessEventIngester businessEventIngester, ShadowRequest shadowRequest) {
+        this.workloadService = workloadService;
+        this.experimentEngine = experimentEngine;
+        this.businessEventIngester = businessEventIngester;
+        this.shadowRequest = shadowRequest;
+        // 서블릿 쪽 MetricsInterceptor와 같은 이름/태그로 등록해 대시보드와 알림 규칙을 그대로 사용
+        this.requestCounter = Counter.builder("http_requests_total")
+                .description("Total number of HTTP requests")
+                .register(meterRegistry);
+        this.responseTimer = Timer.builder("http_request_duration_seconds")
+                .description("HTTP request duration")
+                .register(meterRegistry);
+    }
+
+    // ---- /api ----
+
+    public Mono<ServerResponse> hello(ServerRequest request) {
+        count(request, requestCounter);
+        return ServerResponse.ok().bodyValue(workloadService.hello());
+    }
+
+    /**
+     * 서블릿 버전은 Thread.sleep으로 요청 스레드를 점유하지만 여기서는 타이머로 지연 후 이어서 처리
+     */
+    public Mono<ServerResponse> test(ServerRequest request) {
+        count(request, requestCounter);
+        long startTime = System.nanoTime();
+
+        return Mono.delay(Duration.ofMillis(workloadService.testDelayMillis()))
+                .flatMap(tick -> ServerResponse.ok().bodyValue(workloadService.test()))
+                .doOnSuccess(response -> responseTimer.record(Duration.ofNanos(System.nanoTime() - startTime)));
+    }
+
+    public Mono<ServerResponse> errorSimulation(ServerRequest request) {
+        count(request, requestCounter);
+        try {
+            return ServerResponse.ok().bodyValue(workloadService.errorSimulation());
+        } catch (SimulatedErrorException e) {
+            return ServerResponse.status(e.getErrorType().getStatus())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(SimulatedErrorResponses.render(e));
+        }
+    }
+
+    public Mono<ServerResponse> version(ServerRequest request) {
+        count(request, requestCounter);
+        return ServerResponse.ok().bodyValue(workloadService.version());
+    }
+
+    // ---- /api/business ----
+
+    public Mono<ServerResponse> order(ServerRequest request) {
+        return request.bodyToMono(JSON_MAP).defaultIfEmpty(Map.of()).flatMap(orderData ->
+                ServerResponse.ok().bodyValue(workloadService.order(orderData, !excludedFromMetrics(request))));
+    }
+
+    public Mono<ServerResponse> signup(ServerRequest request) {
+        return request.bodyToMono(JSON_MAP).defaultIfEmpty(Map.of()).flatMap(signupData ->
+                ServerResponse.ok().bodyValue(workloadService.signup(signupData, !excludedFromMetrics(request))));
+    }
+
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return request.bodyToMono(JSON_MAP).defaultIfEmpty(Map.of()).flatMap(loginData ->
+                ServerResponse.ok().bodyValue(workloadService.login(loginData, !excludedFromMetrics(request))));
+    }
+
+    /**
+     * NDJSON 일괄 수집 - 본문은 읽는 만큼만 요청(demand)하는 InputStream으로 받아 boundedElastic에서 처리
+     * 응답 상태는 서블릿 버전과 같음 (본문 한도 초과 413, 잘못된 gzip 400)
+     */
+    public Mono<ServerResponse> ingestEvents(ServerRequest request) {
+        boolean gzip = "gzip".equalsIgnoreCase(request.headers().firstHeader(HttpHeaders.CONTENT_ENCODING));
+        return Mono.fromCallable(() -> businessEventIngester.ingest(
+                        DataBufferUtils.subscriberInputStream(request.body(BodyExtractors.toDataBuffers()), INGEST_DEMAND),
+                        gzip))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(result -> ServerResponse.status(result.responseStatus()).bodyValue(result))
+                .onErrorResume(IngestBusyException.class, e -> ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                        .bodyValue(Map.of("error", "Too Many Requests", "message", e.getMessage(),
+                                          "status", HttpStatus.TOO_MANY_REQUESTS.value())));
+    }
+
+    public Mono<ServerResponse> featureFlag(ServerRequest request) {
+        String featureName = request.pathVariable("featureName");
+        String userGroup = request.queryParam("userGroup").orElse("default");
+        String userId = request.queryParam("userId").orElse(null);
+        return ServerResponse.ok().bodyValue(workloadService.featureFlag(featureName, userGroup, userId));
+    }
+
+    public Mono<ServerResponse> featureFlags(ServerRequest request) {
+        List<String> names = request.queryParams().getOrDefault("names", List.of()).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .filter(name -> !name.isBlank())
+                .toList();
+        String userGroup = request.queryParam("userGroup").orElse("default");
+        String userId = request.queryParam("userId").orElse(null);
+        return ServerResponse.ok().bodyValue(workloadService.featureFlags(names, userGroup, userId));
+    }
+
+    public Mono<ServerResponse> metricsSummary(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(workloadService.metricsSummary());
+    }
+
+    public Mono<ServerResponse> abTestResults(ServerRequest request) {
+        String testName = request.pathVariable("testName");
+        String scope = request.queryParam("scope").orElse(ExperimentEngine.SCOPE_LOCAL);
+        String control = request.queryParam("control").orElse(null);
+        // scope=cluster는 다른 인스턴스를 블로킹 호출하므로 이벤트 루프 밖에서 계산
+        return Mono.fromCallable(() -> experimentEngine.readout(testName, scope, control))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(readout -> ServerResponse.ok().bodyValue(readout));
+    }
+
+    public Mono<ServerResponse> abTestCounts(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(experimentEngine.getLocalCounts(request.pathVariable("testName")));
+    }
+
+    public Mono<ServerResponse> resetAbTest(ServerRequest request) {
+        String testName = request.pathVariable("testName");
+        experimentEngine.reset(testName);
+        return ServerResponse.ok().bodyValue(Map.of("testName", testName, "status", "reset"));
+    }
+
+    /**
+     * 워밍업 요청은 요청/비즈니스 메트릭에 집계하지 않음
+     */
+    private void count(ServerRequest request, Counter counter) {
+        if (!excludedFromMetrics(request)) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * 워밍업/섀도 요청은 요청 수와 비즈니스 메트릭에서 제외
+     */
+    private boolean excludedFromMetrics(ServerRequest request) {
+        return WarmupRequest.isWarmup(request.exchange().getRequest())
+                || shadowRequest.isShadow(request.exchange().getRequest());
+    }
+}
@@ -0,0 +1,51 @@
+package junghun.studycicd.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * reactive 프로파일 - 워크로드 API를 WebFlux 함수형 엔드포인트로 제공
+ * 라우터는 애노테이션 컨트롤러보다 먼저 매칭되므로 같은 경로의 서블릿용 컨트롤러를 대신함
+ *
+ * 클래스패스에 Tomcat도 있으므로 이벤트 루프 서버(Netty)를 명시적으로 선택
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWorkloadRouter {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> workloadRoutes(ReactiveWorkloadHandler handler) {
+        return route()
+                .path("/api", api -> api
+                    .GET("/hello", handler::hello)
+                    .GET("/test", handler::test)
+                    .GET("/error-simulation", handler::errorSimulation)
+                    .GET("/version", handler::version)
+                    .path("/business", business -> business
+                        .POST("/order", accept(MediaType.APPLICATION_JSON), handler::order)
+                        .POST("/signup", accept(MediaType.APPLICATION_JSON), handler::signup)
+                        .POST("/login", accept(MediaType.APPLICATION_JSON), handler::login)
+                        .POST("/events", contentType(MediaType.APPLICATION_NDJSON), handler::ingestEvents)
+                        .GET("/feature/{featureName}", handler::featureFlag)
+                        .GET("/features", handler::featureFlags)
+                        .GET("/metrics/summary", handler::metricsSummary)
+                        .GET("/ab-test/{testName}", handler::abTestResults)
+                        .GET("/ab-test/{testName}/counts", handler::abTestCounts)
+                        .DELETE("/ab-test/{testName}", handler::resetAbTest)))
+                .build();
+    }
+}
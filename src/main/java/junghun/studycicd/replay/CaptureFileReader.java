@@ -0,0 +1,127 @@
+package junghun.studycicd.replay;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캡처 파일 읽기 (형식은 {@link CaptureFileWriter} 참고)
+ */
+public class CaptureFileReader implements Closeable {
+
+    private final InputStream in;
+    private final int maxDictionaryEntries;
+    private final List<String> dictionary = new ArrayList<>();
+    private long offsetMicros;
+
+    public CaptureFileReader(Path path) throws IOException {
+        this.in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        byte[] magic = in.readNBytes(CaptureFileWriter.MAGIC.length);
+        int version = in.read();
+        if (!Arrays.equals(magic, CaptureFileWriter.MAGIC) || version != CaptureFileWriter.VERSION) {
+            in.close();
+            throw new IOException("Not a capture file: " + path);
+        }
+        try {
+            this.maxDictionaryEntries = readLength();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 다음 요청, 파일 끝이면 null
+     */
+    public CapturedRequest next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        long delta = readVarLong(first);
+        offsetMicros += (delta >>> 1) ^ -(delta & 1);
+
+        String method = readString();
+        String uri = readString();
+        int headerCount = readLength();
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(readString(), readString()));
+        }
+        int bodyLength = readLength();
+        byte[] body = readBytes(bodyLength);
+        return new CapturedRequest(offsetMicros, method, uri, headers, body);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String readString() throws IOException {
+        long index = readVarLong(in.read());
+        if (index > 0) {
+            // 손상된 파일 - 아직 사전에 없는 번호
+            if (index > dictionary.size()) {
+                throw new IOException("Corrupt capture record: dictionary index " + index
+                        + " out of " + dictionary.size());
+            }
+            return dictionary.get((int) index - 1);
+        }
+        int length = readLength();
+        String value = new String(readBytes(length), StandardCharsets.UTF_8);
+        if (dictionary.size() < maxDictionaryEntries) {
+            dictionary.add(value);
+        }
+        return value;
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Truncated capture record");
+        }
+        return bytes;
+    }
+
+    /**
+     * 길이/개수 - int 범위를 넘으면 손상된 파일
+     */
+    private int readLength() throws IOException {
+        long value = readVarLong(in.read());
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt capture record: length " + value);
+        }
+        return (int) value;
+    }
+
+    private long readVarLong(int firstByte) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b = firstByte;
+        while (true) {
+            if (b < 0) {
+                throw new EOFException("Truncated capture record");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Corrupt capture record: varint too long");
+            }
+            b = in.read();
+        }
+    }
+}
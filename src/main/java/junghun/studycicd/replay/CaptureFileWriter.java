@@ -0,0 +1,97 @@
+package junghun.studycicd.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 캡처 파일 쓰기
+ *
+ * 형식: "RCAP" + 버전(1바이트) + 사전 최대 크기(varint) + 레코드 반복
+ * 레코드: 이전 레코드와의 시각 차이(µs, zigzag varint - 음수 가능), 메서드, URI, 헤더 수(varint), 헤더 이름/값,
+ *        본문 길이(varint) + 본문
+ * 문자열은 사전 인코딩 - 처음 나오면 0 + 길이 + UTF-8 바이트, 이후에는 사전 번호 + 1 (반복되는 헤더/URI가 1~2바이트)
+ * 사전이 최대 크기에 도달하면 새 문자열은 사전에 넣지 않고 그대로 기록 (요청 ID처럼 매번 다른 값으로 메모리가 늘지 않게)
+ */
+public class CaptureFileWriter implements Closeable {
+
+    static final byte[] MAGIC = {'R', 'C', 'A', 'P'};
+    static final int VERSION = 2;
+    static final int DEFAULT_MAX_DICTIONARY_ENTRIES = 4096;
+
+    private final OutputStream out;
+    private final int maxDictionaryEntries;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private long previousOffsetMicros;
+
+    public CaptureFileWriter(Path path) throws IOException {
+        this(path, DEFAULT_MAX_DICTIONARY_ENTRIES);
+    }
+
+    public CaptureFileWriter(Path path, int maxDictionaryEntries) throws IOException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024);
+        this.maxDictionaryEntries = maxDictionaryEntries;
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarLong(maxDictionaryEntries);
+    }
+
+    public void write(CapturedRequest request) throws IOException {
+        // 처리 시간이 긴 요청은 뒤에 도착한 요청보다 늦게 기록될 수 있으므로 차이는 부호 있게 저장
+        long delta = request.getOffsetMicros() - previousOffsetMicros;
+        writeVarLong((delta << 1) ^ (delta >> 63));
+        previousOffsetMicros = request.getOffsetMicros();
+
+        writeString(request.getMethod());
+        writeString(request.getUri());
+        writeVarLong(request.getHeaders().size());
+        for (Map.Entry<String, String> header : request.getHeaders()) {
+            writeString(header.getKey());
+            writeString(header.getValue());
+        }
+        byte[] body = request.getBody();
+        writeVarLong(body != null ? body.length : 0);
+        if (body != null && body.length > 0) {
+            out.write(body);
+        }
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeString(String value) throws IOException {
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            writeVarLong(index + 1L);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(0);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+        // 읽는 쪽도 같은 최대 크기로 사전을 채우므로 번호가 어긋나지 않음
+        if (dictionary.size() < maxDictionaryEntries) {
+            dictionary.put(value, dictionary.size());
+        }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
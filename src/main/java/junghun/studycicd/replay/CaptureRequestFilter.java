@@ -0,0 +1,37 @@
+package junghun.studycicd.replay;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+
+/**
+ * 캡처 중일 때만 요청 본문을 캐시하도록 감싸고 도착 시각을 기록
+ * 캡처가 꺼져 있으면 아무것도 하지 않음
+ */
+@Component
+public class CaptureRequestFilter extends OncePerRequestFilter {
+
+    private final RequestCaptureService requestCaptureService;
+
+    public CaptureRequestFilter(RequestCaptureService requestCaptureService) {
+        this.requestCaptureService = requestCaptureService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!requestCaptureService.isActive()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        requestCaptureService.markArrival(request);
+        filterChain.doFilter(new ContentCachingRequestWrapper(request, requestCaptureService.getMaxBodyBytes()),
+                             response);
+    }
+}
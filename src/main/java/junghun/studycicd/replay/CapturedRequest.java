@@ -0,0 +1,33 @@
+package junghun.studycicd.replay;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캡처된 요청 한 건
+ * offsetMicros는 캡처 시작 시점부터의 도착 시각 (재생 시 요청 간 간격 유지에 사용)
+ */
+public class CapturedRequest {
+
+    private final long offsetMicros;
+    private final String method;
+    private final String uri;
+    private final List<Map.Entry<String, String>> headers;
+    private final byte[] body;
+
+    public CapturedRequest(long offsetMicros, String method, String uri,
+                           List<Map.Entry<String, String>> headers, byte[] body) {
+        this.offsetMicros = offsetMicros;
+        this.method = method;
+        this.uri = uri;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    // Getters
+    public long getOffsetMicros() { return offsetMicros; }
+    public String getMethod() { return method; }
+    public String getUri() { return uri; }
+    public List<Map.Entry<String, String>> getHeaders() { return headers; }
+    public byte[] getBody() { return body; }
+}
@@ -0,0 +1,277 @@
+package junghun.studycicd.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 캡처 파일 재생 엔진
+ * 캡처된 요청 간 간격을 유지하며(1배/N배) 또는 최대 속도로 대상에 다시 전송
+ * 요청마다 가상 스레드 하나를 사용하고, 지연은 실제 전송 시각이 아니라 "보냈어야 할 시각"부터 측정해
+ * 대상이 느려져 송신이 밀린 시간까지 포함 (coordinated omission 보정)
+ */
+@Service
+public class ReplayEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayEngine.class);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final RequestCaptureService requestCaptureService;
+
+    @Value("${replay.max-runs:20}")
+    private Integer maxRuns;
+
+    @Value("${replay.request-timeout-ms:10000}")
+    private Long requestTimeoutMs;
+
+    // 최대 속도 모드에서 동시에 보낼 수 있는 요청 수
+    @Value("${replay.max-concurrency:256}")
+    private Integer maxConcurrency;
+
+    private final Map<String, ReplayRun> runs = new LinkedHashMap<>();
+
+    public ReplayEngine(RequestCaptureService requestCaptureService) {
+        this.requestCaptureService = requestCaptureService;
+    }
+
+    /**
+     * 재생 시작 - speed가 null이거나 0 이하면 최대 속도
+     */
+    public ReplayRun start(String fileName, String target, Double speed) {
+        Path file = requestCaptureService.resolveFile(fileName);
+        URI targetUri = URI.create(target.endsWith("/") ? target.substring(0, target.length() - 1) : target);
+        if (!"http".equals(targetUri.getScheme()) && !"https".equals(targetUri.getScheme())) {
+            throw new IllegalArgumentException("Replay target must be an http(s) URL: " + target);
+        }
+
+        ReplayRun run = new ReplayRun("replay-" + UUID.randomUUID().toString().substring(0, 8),
+                                      fileName, targetUri.toString(), speed != null && speed > 0 ? speed : null);
+        synchronized (runs) {
+            runs.put(run.getId(), run);
+            while (runs.size() > maxRuns) {
+                runs.remove(runs.keySet().iterator().next());
+            }
+        }
+
+        Thread.ofVirtual().name(run.getId()).start(() -> execute(run, file));
+        logger.info("▶️ Replay {} started: {} -> {} at {}", run.getId(), fileName, run.getTarget(),
+                   run.getSpeed() != null ? run.getSpeed() + "x" : "max speed");
+        return run;
+    }
+
+    public ReplayRun getRun(String id) {
+        synchronized (runs) {
+            return runs.get(id);
+        }
+    }
+
+    public List<ReplayRun> getRuns() {
+        synchronized (runs) {
+            return new ArrayList<>(runs.values());
+        }
+    }
+
+    public boolean cancel(String id) {
+        ReplayRun run = getRun(id);
+        if (run == null) {
+            return false;
+        }
+        run.cancelled = true;
+        return true;
+    }
+
+    private void execute(ReplayRun run, Path file) {
+        boolean maxSpeed = run.getSpeed() == null;
+        Semaphore permits = new Semaphore(maxConcurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             CaptureFileReader reader = new CaptureFileReader(file)) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            long startNanos = System.nanoTime();
+            CapturedRequest request;
+            while (!run.cancelled && (request = reader.next()) != null) {
+                long intendedNanos;
+                if (maxSpeed) {
+                    permits.acquire();
+                    intendedNanos = System.nanoTime();
+                } else {
+                    intendedNanos = startNanos + (long) (request.getOffsetMicros() * 1000 / run.getSpeed());
+                    sleepUntil(intendedNanos);
+                    run.maxDispatchLagMicros.accumulateAndGet(
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos), Math::max);
+                }
+
+                CapturedRequest current = request;
+                run.sent.incrementAndGet();
+                executor.submit(() -> {
+                    try {
+                        send(client, run, current, intendedNanos);
+                    } finally {
+                        if (maxSpeed) {
+                            permits.release();
+                        }
+                    }
+                });
+            }
+            // executor.close()가 남은 요청이 끝날 때까지 대기
+        } catch (IOException | RuntimeException e) {
+            // 손상된 캡처 파일 등 - RUNNING으로 남지 않게 실패로 종료
+            logger.error("Replay {} failed to read capture file", run.getId(), e);
+            run.finish("FAILED");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish("CANCELLED");
+            return;
+        }
+
+        run.finish(run.cancelled ? "CANCELLED" : "COMPLETED");
+        logger.info("⏹️ Replay {} {}: {} requests, p99={}µs (corrected), errors={}",
+                   run.getId(), run.getState(), run.getCompleted(),
+                   run.correctedLatency.percentile(99), run.getErrors());
+    }
+
+    private void send(HttpClient client, ReplayRun run, CapturedRequest request, long intendedNanos) {
+        long sentNanos = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(buildRequest(run, request), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                run.errors.incrementAndGet();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 타임아웃/연결 실패/잘못된 캡처 요청
+            run.errors.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.errors.incrementAndGet();
+        } finally {
+            // 실패한 요청도 지연에 포함 - 빠지면 대상이 타임아웃될수록 분위수가 좋아 보임
+            long doneNanos = System.nanoTime();
+            run.correctedLatency.record(TimeUnit.NANOSECONDS.toMicros(doneNanos - intendedNanos));
+            run.serviceLatency.record(TimeUnit.NANOSECONDS.toMicros(doneNanos - sentNanos));
+            run.completed.incrementAndGet();
+        }
+    }
+
+    private HttpRequest buildRequest(ReplayRun run, CapturedRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(run.getTarget() + request.getUri()))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header("X-Replay", run.getId());
+        for (Map.Entry<String, String> header : request.getHeaders()) {
+            try {
+                builder.header(header.getKey(), header.getValue());
+            } catch (IllegalArgumentException e) {
+                // HttpClient가 직접 관리하는 헤더 (host, connection 등)
+            }
+        }
+        byte[] body = request.getBody();
+        builder.method(request.getMethod(), body.length > 0
+            ? HttpRequest.BodyPublishers.ofByteArray(body)
+            : HttpRequest.BodyPublishers.noBody());
+        return builder.build();
+    }
+
+    private void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * 재생 실행 상태와 결과
+     */
+    public static class ReplayRun {
+        private final String id;
+        private final String file;
+        private final String target;
+        private final Double speed;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong maxDispatchLagMicros = new AtomicLong();
+        private final LatencyHistogram correctedLatency = new LatencyHistogram();
+        private final LatencyHistogram serviceLatency = new LatencyHistogram();
+        private volatile String state = "RUNNING"; // RUNNING, COMPLETED, CANCELLED, FAILED
+        private volatile LocalDateTime completedAt;
+        private volatile boolean cancelled;
+
+        public ReplayRun(String id, String file, String target, Double speed) {
+            this.id = id;
+            this.file = file;
+            this.target = target;
+            this.speed = speed;
+        }
+
+        void finish(String result) {
+            this.state = result;
+            this.completedAt = LocalDateTime.now();
+        }
+
+        /**
+         * 보냈어야 할 시각 기준 지연 분위수 (µs)
+         */
+        public Map<String, Long> getCorrectedLatencyMicros() {
+            return summarize(correctedLatency);
+        }
+
+        /**
+         * 실제 전송 시각 기준 지연 분위수 (µs) - 보정 전 값과 비교용
+         */
+        public Map<String, Long> getServiceLatencyMicros() {
+            return summarize(serviceLatency);
+        }
+
+        private static Map<String, Long> summarize(LatencyHistogram histogram) {
+            Map<String, Long> summary = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                summary.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                            histogram.percentile(percentile));
+            }
+            summary.put("max", histogram.getMax());
+            return summary;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public String getFile() { return file; }
+        public String getTarget() { return target; }
+        public Double getSpeed() { return speed; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+        public String getState() { return state; }
+        public Long getSent() { return sent.get(); }
+        public Long getCompleted() { return completed.get(); }
+        public Long getErrors() { return errors.get(); }
+        public Long getMaxDispatchLagMicros() { return maxDispatchLagMicros.get(); }
+    }
+}
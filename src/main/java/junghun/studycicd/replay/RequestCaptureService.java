@@ -0,0 +1,322 @@
+package junghun.studycicd.replay;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 실제 요청 캡처 서비스
+ * 요청 로깅 인터셉터에서 샘플링한 요청(메서드, URI, 헤더, 본문)을 bounded 큐에 넣고
+ * 백그라운드 스레드가 압축 바이너리 캡처 파일로 기록 - 큐가 가득 차면 요청 처리를 막지 않고 버림
+ * 요청은 끝난 순서로 큐에 들어오므로 기록 전에 reorder-window 동안 모아 도착 순서로 정렬
+ */
+@Service
+public class RequestCaptureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCaptureService.class);
+    private static final String ARRIVAL_ATTRIBUTE = RequestCaptureService.class.getName() + ".arrival";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${capture.directory:logs/capture}")
+    private String directory;
+
+    @Value("${capture.queue-capacity:10000}")
+    private Integer queueCapacity;
+
+    @Value("${capture.max-body-bytes:65536}")
+    private Integer maxBodyBytes;
+
+    // 이보다 오래 처리된 요청은 정렬되지 않은 채 기록 (파일에는 실제 도착 시각이 남으므로 재생 시 바로 전송)
+    @Value("${capture.reorder-window-ms:10000}")
+    private Long reorderWindowMs;
+
+    @Value("${capture.dictionary-max-entries:4096}")
+    private Integer dictionaryMaxEntries;
+
+    // 민감하거나 재생 시 다시 만들어지는 헤더는 기록하지 않음
+    @Value("${capture.excluded-headers:authorization,cookie,host,connection,content-length,transfer-encoding,expect,upgrade,keep-alive}")
+    private Set<String> excludedHeaders;
+
+    @Value("${capture.excluded-paths:/actuator,/api/capture,/api/replay,/api/drain}")
+    private List<String> excludedPaths;
+
+    private final Counter capturedCounter;
+    private final Counter droppedCounter;
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile CaptureSession session;
+
+    public RequestCaptureService(MeterRegistry meterRegistry) {
+        this.capturedCounter = Counter.builder("capture_requests_total")
+                .description("Number of requests written to the capture file")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("capture_requests_dropped_total")
+                .description("Number of sampled requests dropped because the capture queue was full")
+                .register(meterRegistry);
+    }
+
+    public boolean isActive() {
+        return session != null;
+    }
+
+    /**
+     * 캡처 시작 - capture.directory 아래 새 파일 생성
+     */
+    public synchronized CaptureStatus start(Double sampleRate) throws IOException {
+        if (session != null) {
+            return getStatus();
+        }
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        Path file = dir.resolve("capture-" + LocalDateTime.now().format(FILE_TIME) + ".rcap");
+
+        CaptureSession newSession = new CaptureSession(file, Math.max(0.0, Math.min(1.0, sampleRate)),
+                                                       new CaptureFileWriter(file, dictionaryMaxEntries),
+                                                       new ArrayBlockingQueue<>(queueCapacity));
+        captured.set(0);
+        dropped.set(0);
+        Thread writer = new Thread(() -> drain(newSession), "request-capture-writer");
+        writer.setDaemon(true);
+        newSession.writerThread = writer;
+        session = newSession;
+        writer.start();
+
+        logger.info("📼 Request capture started: {} (sample rate {})", file, newSession.sampleRate);
+        return getStatus();
+    }
+
+    public synchronized CaptureStatus stop() {
+        CaptureSession current = session;
+        if (current == null) {
+            return getStatus();
+        }
+        session = null;
+        current.stopped = true;
+        try {
+            current.writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("📼 Request capture stopped: {} ({} captured, {} dropped)",
+                   current.file, captured.get(), dropped.get());
+        return new CaptureStatus(false, current.file.toString(), current.sampleRate, captured.get(), dropped.get());
+    }
+
+    public CaptureStatus getStatus() {
+        CaptureSession current = session;
+        return new CaptureStatus(current != null, current != null ? current.file.toString() : null,
+                                 current != null ? current.sampleRate : null, captured.get(), dropped.get());
+    }
+
+    /**
+     * 캡처 파일 목록
+     */
+    public List<String> listFiles() throws IOException {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        try (var files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".rcap"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 캡처 디렉터리 안의 파일만 허용
+     */
+    public Path resolveFile(String name) {
+        Path dir = Paths.get(directory).toAbsolutePath().normalize();
+        Path file = dir.resolve(name).normalize();
+        if (!file.startsWith(dir) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Unknown capture file: " + name);
+        }
+        return file;
+    }
+
+    /**
+     * 요청 도착 시각 기록 (필터에서 호출 - 인터셉터 시점에는 이미 처리 지연이 포함됨)
+     */
+    public void markArrival(HttpServletRequest request) {
+        request.setAttribute(ARRIVAL_ATTRIBUTE, System.nanoTime());
+    }
+
+    /**
+     * 요청 처리 후 캡처 (본문은 핸들러가 읽은 뒤에야 캐시되므로 afterCompletion에서 호출)
+     */
+    public void capture(HttpServletRequest request) {
+        CaptureSession current = session;
+        if (current == null || !shouldCapture(request)
+                || ThreadLocalRandom.current().nextDouble() >= current.sampleRate) {
+            return;
+        }
+
+        Long arrival = (Long) request.getAttribute(ARRIVAL_ATTRIBUTE);
+        long offsetMicros = TimeUnit.NANOSECONDS.toMicros((arrival != null ? arrival : System.nanoTime())
+                                                          - current.startNanos);
+
+        String uri = request.getQueryString() != null
+            ? request.getRequestURI() + "?" + request.getQueryString()
+            : request.getRequestURI();
+
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (excludedHeaders.contains(name.toLowerCase())) {
+                continue;
+            }
+            Enumeration<String> values = request.getHeaders(name);
+            while (values.hasMoreElements()) {
+                headers.add(new AbstractMap.SimpleImmutableEntry<>(name, values.nextElement()));
+            }
+        }
+
+        byte[] body = new byte[0];
+        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        if (wrapper != null) {
+            byte[] cached = wrapper.getContentAsByteArray();
+            body = cached.length > maxBodyBytes ? Arrays.copyOf(cached, maxBodyBytes) : cached;
+        }
+
+        if (!current.queue.offer(new CapturedRequest(offsetMicros, request.getMethod(), uri, headers, body))) {
+            dropped.incrementAndGet();
+            droppedCounter.increment();
+        }
+    }
+
+    int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    private boolean shouldCapture(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 백그라운드 기록 - 큐가 빌 때마다 flush, 중지 후에는 남은 요청까지 기록하고 종료
+     * 도착 시각이 reorder-window보다 오래된 요청부터 도착 순서로 기록 (정렬 버퍼도 queue-capacity를 넘지 않게)
+     * (FileChannel 기반 스트림은 인터럽트 시 닫히므로 인터럽트 대신 stopped 플래그 사용)
+     */
+    private void drain(CaptureSession current) {
+        PriorityQueue<CapturedRequest> pending = new PriorityQueue<>(
+            Comparator.comparingLong(CapturedRequest::getOffsetMicros));
+        long windowMicros = TimeUnit.MILLISECONDS.toMicros(reorderWindowMs);
+        try (CaptureFileWriter writer = current.writer) {
+            while (!current.stopped || !current.queue.isEmpty()) {
+                CapturedRequest request = current.queue.poll(200, TimeUnit.MILLISECONDS);
+                if (request != null) {
+                    pending.add(request);
+                }
+                long nowMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - current.startNanos);
+                while (!pending.isEmpty()
+                        && (pending.peek().getOffsetMicros() <= nowMicros - windowMicros || pending.size() > queueCapacity)) {
+                    write(writer, pending.poll());
+                }
+                if (request == null) {
+                    writer.flush();
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(writer, pending.poll());
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write capture file {}", current.file, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(CaptureFileWriter writer, CapturedRequest request) throws IOException {
+        writer.write(request);
+        captured.incrementAndGet();
+        capturedCounter.increment();
+    }
+
+    private static class CaptureSession {
+        private final Path file;
+        private final double sampleRate;
+        private final CaptureFileWriter writer;
+        private final BlockingQueue<CapturedRequest> queue;
+        private final long startNanos = System.nanoTime();
+        private Thread writerThread;
+        private volatile boolean stopped;
+
+        CaptureSession(Path file, double sampleRate, CaptureFileWriter writer, BlockingQueue<CapturedRequest> queue) {
+            this.file = file;
+            this.sampleRate = sampleRate;
+            this.writer = writer;
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * 캡처 상태
+     */
+    public static class CaptureStatus {
+        private final Boolean active;
+        private final String file;
+        private final Double sampleRate;
+        private final Long captured;
+        private final Long dropped;
+
+        public CaptureStatus(Boolean active, String file, Double sampleRate, Long captured, Long dropped) {
+            this.active = active;
+            this.file = file;
+            this.sampleRate = sampleRate;
+            this.captured = captured;
+            this.dropped = dropped;
+        }
+
+        // Getters
+        public Boolean getActive() { return active; }
+        public String getFile() { return file; }
+        public Double getSampleRate() { return sampleRate; }
+        public Long getCaptured() { return captured; }
+        public Long getDropped() { return dropped; }
+    }
+}
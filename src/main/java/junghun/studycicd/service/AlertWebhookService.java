@@ -0,0 +1,165 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import junghun.studycicd.dto.AlertmanagerAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Alertmanager 웹훅 처리
+ * fingerprint 기준으로 중복 알람을 걸러내고(TTL) 롤백 대상 알람을 서비스별로 묶어
+ * 스케줄러와 같은 롤백 경로를 호출 - 배포 상태는 DeploymentService 하나만 유지
+ */
+@Service
+public class AlertWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertWebhookService.class);
+
+    private final AutoDeploymentScheduler autoDeploymentScheduler;
+    private final MeterRegistry meterRegistry;
+    private final Timer rollbackTimer;
+
+    // 롤백을 일으키는 알람 레이블 (name=value)
+    @Value("${alertmanager.webhook.rollback-label:action=auto-rollback}")
+    private String rollbackLabel;
+
+    @Value("${alertmanager.webhook.group-by:service}")
+    private String groupByLabel;
+
+    @Value("${alertmanager.webhook.dedupe-ttl-seconds:300}")
+    private Long dedupeTtlSeconds;
+
+    // fingerprint -> 만료 시각 (ms)
+    private final Map<String, Long> seenFingerprints = new ConcurrentHashMap<>();
+
+    public AlertWebhookService(AutoDeploymentScheduler autoDeploymentScheduler, MeterRegistry meterRegistry) {
+        this.autoDeploymentScheduler = autoDeploymentScheduler;
+        this.meterRegistry = meterRegistry;
+        this.rollbackTimer = Timer.builder("alertmanager_webhook_rollback_seconds")
+                .description("Time from receiving a rollback alert until traffic is shifted back")
+                .register(meterRegistry);
+    }
+
+    public WebhookResult handle(List<AlertmanagerAlert> alerts) {
+        long now = System.currentTimeMillis();
+        seenFingerprints.values().removeIf(expiry -> expiry < now);
+
+        String[] label = rollbackLabel.split("=", 2);
+        int duplicates = 0;
+        // 롤백이 성공한 뒤에만 기록 - 실패하면 Alertmanager 재전송이 중복으로 걸러지지 않아야 함
+        Set<String> newFingerprints = new LinkedHashSet<>();
+        Map<String, List<AlertmanagerAlert>> groups = new LinkedHashMap<>();
+
+        for (AlertmanagerAlert alert : alerts) {
+            if (!alert.isFiring()) {
+                // 해결 알람은 다음 발생 시 다시 처리되도록 중복 기록에서 제거
+                seenFingerprints.remove(fingerprintOf(alert));
+                count("resolved");
+                continue;
+            }
+            if (label.length == 2 && !label[1].equals(alert.getLabels().get(label[0]))) {
+                count("ignored");
+                continue;
+            }
+            String fingerprint = fingerprintOf(alert);
+            if (seenFingerprints.containsKey(fingerprint) || !newFingerprints.add(fingerprint)) {
+                duplicates++;
+                count("duplicate");
+                continue;
+            }
+            count("firing");
+            groups.computeIfAbsent(alert.getLabels().getOrDefault(groupByLabel, "unknown"), g -> new ArrayList<>())
+                  .add(alert);
+        }
+
+        if (groups.isEmpty()) {
+            return new WebhookResult(alerts.size(), duplicates, List.of(), false, false, "No new rollback alerts");
+        }
+
+        // 여러 그룹이 동시에 와도 롤백은 한 번
+        String reason = groups.entrySet().stream()
+                .map(group -> group.getKey() + ": " + group.getValue().stream()
+                        .map(this::describe)
+                        .collect(Collectors.joining(", ")))
+                .collect(Collectors.joining("; "));
+        logger.warn("🚨 Alertmanager rollback alerts received - {}", reason);
+
+        long startTime = System.nanoTime();
+        AutoDeploymentScheduler.RollbackResult outcome = autoDeploymentScheduler.triggerRollback("alertmanager " + reason);
+        if (!outcome.getSuccess()) {
+            count("rollback_failed");
+            return new WebhookResult(alerts.size(), duplicates, new ArrayList<>(groups.keySet()),
+                    true, false, outcome.getMessage());
+        }
+        rollbackTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+        long expiry = now + dedupeTtlSeconds * 1000;
+        newFingerprints.forEach(fingerprint -> seenFingerprints.put(fingerprint, expiry));
+        return new WebhookResult(alerts.size(), duplicates, new ArrayList<>(groups.keySet()),
+                true, true, outcome.getMessage());
+    }
+
+    private String describe(AlertmanagerAlert alert) {
+        String name = alert.getLabels().getOrDefault("alertname", "unknown");
+        String summary = alert.getAnnotations().get("summary");
+        return summary != null ? name + " (" + summary + ")" : name;
+    }
+
+    /**
+     * fingerprint가 없으면 레이블 집합으로 대신 식별
+     */
+    private String fingerprintOf(AlertmanagerAlert alert) {
+        if (alert.getFingerprint() != null && !alert.getFingerprint().isEmpty()) {
+            return alert.getFingerprint();
+        }
+        return new TreeMap<>(alert.getLabels()).toString();
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("alertmanager_webhook_alerts_total", "result", result).increment();
+    }
+
+    /**
+     * 웹훅 처리 결과
+     */
+    public static class WebhookResult {
+        private final Integer received;
+        private final Integer duplicates;
+        private final List<String> groups;
+        private final Boolean rollbackTriggered;
+        private final Boolean rolledBack;
+        private final String message;
+
+        public WebhookResult(Integer received, Integer duplicates, List<String> groups,
+                             Boolean rollbackTriggered, Boolean rolledBack, String message) {
+            this.received = received;
+            this.duplicates = duplicates;
+            this.groups = groups;
+            this.rollbackTriggered = rollbackTriggered;
+            this.rolledBack = rolledBack;
+            this.message = message;
+        }
+
+        // Getters
+        public Integer getReceived() { return received; }
+        public Integer getDuplicates() { return duplicates; }
+        public List<String> getGroups() { return groups; }
+        public Boolean getRollbackTriggered() { return rollbackTriggered; }
+        public Boolean getRolledBack() { return rolledBack; }
+        public String getMessage() { return message; }
+    }
+}
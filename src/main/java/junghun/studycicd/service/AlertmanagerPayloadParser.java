@@ -0,0 +1,87 @@
+package junghun.studycicd.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import junghun.studycicd.dto.AlertmanagerAlert;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alertmanager 웹훅 페이로드 스트리밍 파서
+ * 트리 전체를 만들지 않고 alerts 배열의 status/labels/annotations/fingerprint만 읽고 나머지는 건너뜀
+ */
+@Component
+public class AlertmanagerPayloadParser {
+
+    private final JsonFactory jsonFactory;
+
+    public AlertmanagerPayloadParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public List<AlertmanagerAlert> parse(InputStream body) throws IOException {
+        List<AlertmanagerAlert> alerts = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Alertmanager payload must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("alerts".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        alerts.add(parseAlert(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return alerts;
+    }
+
+    private AlertmanagerAlert parseAlert(JsonParser parser) throws IOException {
+        String status = null;
+        String fingerprint = null;
+        String startsAt = null;
+        Map<String, String> labels = Map.of();
+        Map<String, String> annotations = Map.of();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "status" -> status = parser.getValueAsString();
+                case "fingerprint" -> fingerprint = parser.getValueAsString();
+                case "startsAt" -> startsAt = parser.getValueAsString();
+                case "labels" -> labels = parseStringMap(parser, value);
+                case "annotations" -> annotations = parseStringMap(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new AlertmanagerAlert(status, fingerprint, labels, annotations, startsAt);
+    }
+
+    private Map<String, String> parseStringMap(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return Map.of();
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            parser.nextToken();
+            map.put(key, parser.getValueAsString());
+            parser.skipChildren();
+        }
+        return map;
+    }
+}
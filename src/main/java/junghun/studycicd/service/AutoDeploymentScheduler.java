@@ -1,8 +1,10 @@
 package junghun.studycicd.service;
 
+import junghun.studycicd.config.RolloutConfig;
+import junghun.studycicd.config.RolloutConfigSource;
+import junghun.studycicd.dto.DeploymentStatusResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -21,37 +23,46 @@ public class AutoDeploymentScheduler {
     
     private final DeploymentService deploymentService;
     private final SliSloEvaluator sliSloEvaluator;
+    private final InstanceOutlierDetector instanceOutlierDetector;
+    private final CapacityAdvisor capacityAdvisor;
+    private final ShadowTrafficService shadowTrafficService;
+    private final TrafficManagementService trafficManagementService;
+    private final DeploymentStateVersion stateVersion;
     
-    // 자동 배포 설정
-    @Value("${auto-deployment.enabled:true}")
-    private Boolean autoDeploymentEnabled;
-    
-    @Value("${auto-deployment.stage-wait-minutes:5}")
-    private Integer stageWaitMinutes;
-    
-    @Value("${auto-deployment.evaluation-period-minutes:3}")
-    private Integer evaluationPeriodMinutes;
-    
-    @Value("${auto-deployment.min-sample-size:100}")
-    private Integer minSampleSize;
+    // 자동 배포 설정 - 재시작 없이 바뀔 수 있으므로 틱마다 스냅샷을 한 번 읽어 사용
+    private final RolloutConfigSource rolloutConfigSource;
     
     // 자동 배포 상태
     private final AtomicBoolean autoDeploymentInProgress = new AtomicBoolean(false);
-    private LocalDateTime lastStageTransition;
-    private LocalDateTime stageStartTime;
-    private String currentAutoDeploymentId;
+    private final AtomicBoolean shadowPhase = new AtomicBoolean(false);
+    private volatile LocalDateTime lastStageTransition;
+    private volatile LocalDateTime stageStartTime;
+    private volatile String currentAutoDeploymentId;
     
     public AutoDeploymentScheduler(DeploymentService deploymentService, 
-                                  SliSloEvaluator sliSloEvaluator) {
+                                  SliSloEvaluator sliSloEvaluator,
+                                  InstanceOutlierDetector instanceOutlierDetector,
+                                  CapacityAdvisor capacityAdvisor,
+                                  ShadowTrafficService shadowTrafficService,
+                                  TrafficManagementService trafficManagementService,
+                                  RolloutConfigSource rolloutConfigSource,
+                                  DeploymentStateVersion stateVersion) {
         this.deploymentService = deploymentService;
         this.sliSloEvaluator = sliSloEvaluator;
+        this.instanceOutlierDetector = instanceOutlierDetector;
+        this.capacityAdvisor = capacityAdvisor;
+        this.shadowTrafficService = shadowTrafficService;
+        this.trafficManagementService = trafficManagementService;
+        this.rolloutConfigSource = rolloutConfigSource;
+        this.stateVersion = stateVersion;
     }
     
     /**
      * 자동 카나리 배포 시작
      */
     public boolean startAutoDeployment() {
-        if (!autoDeploymentEnabled) {
+        RolloutConfig config = rolloutConfigSource.current();
+        if (!config.getAutoDeploymentEnabled()) {
             logger.warn("Auto deployment is disabled");
             return false;
         }
@@ -61,12 +72,38 @@ public class AutoDeploymentScheduler {
             return false;
         }
         
+        // 1단계 전에 섀도 트래픽으로 먼저 검증
+        if (config.getShadowPhaseEnabled()) {
+            if (!shadowTrafficService.startShadow(null)) {
+                logger.warn("Failed to start shadow phase");
+                return false;
+            }
+            autoDeploymentInProgress.set(true);
+            shadowPhase.set(true);
+            currentAutoDeploymentId = null;
+            stageStartTime = LocalDateTime.now();
+            lastStageTransition = LocalDateTime.now();
+            stateVersion.bump();
+            
+            logger.info("🪞 Auto deployment started in shadow phase - {} minutes before stage 1",
+                       config.getShadowPhaseMinutes());
+            return true;
+        }
+        
+        return startCanary();
+    }
+    
+    /**
+     * 1단계(실제 트래픽 전환) 시작
+     */
+    private boolean startCanary() {
         var deploymentStatus = deploymentService.startCanaryDeployment();
         if ("DEPLOYING".equals(deploymentStatus.getStatus())) {
             autoDeploymentInProgress.set(true);
             currentAutoDeploymentId = deploymentStatus.getDeploymentId();
             stageStartTime = LocalDateTime.now();
             lastStageTransition = LocalDateTime.now();
+            stateVersion.bump();
             
             logger.info("🚀 Auto deployment started: {} - Stage {}/{}",
                        currentAutoDeploymentId, 
@@ -76,6 +113,8 @@ public class AutoDeploymentScheduler {
             return true;
         }
         
+        autoDeploymentInProgress.set(false);
+        stateVersion.bump();
         return false;
     }
     
@@ -85,10 +124,14 @@ public class AutoDeploymentScheduler {
     public void stopAutoDeployment() {
         if (autoDeploymentInProgress.get()) {
             logger.info("⏹️ Auto deployment stopped manually: {}", currentAutoDeploymentId);
+            if (shadowPhase.getAndSet(false)) {
+                shadowTrafficService.stopShadow();
+            }
             autoDeploymentInProgress.set(false);
             currentAutoDeploymentId = null;
             stageStartTime = null;
             lastStageTransition = null;
+            stateVersion.bump();
         }
     }
     
@@ -97,7 +140,13 @@ public class AutoDeploymentScheduler {
      */
     @Scheduled(fixedRate = 60000) // 1분마다 실행
     public void processAutoDeployment() {
-        if (!autoDeploymentEnabled || !autoDeploymentInProgress.get()) {
+        RolloutConfig config = rolloutConfigSource.current();
+        if (!config.getAutoDeploymentEnabled() || !autoDeploymentInProgress.get()) {
+            return;
+        }
+        
+        if (shadowPhase.get()) {
+            processShadowPhase(config);
             return;
         }
         
@@ -119,15 +168,16 @@ public class AutoDeploymentScheduler {
                 currentAutoDeploymentId = null;
                 stageStartTime = null;
                 lastStageTransition = null;
+                stateVersion.bump();
                 return;
             }
             
             // 최소 대기 시간 확인
             if (stageStartTime != null) {
                 long minutesSinceStageStart = ChronoUnit.MINUTES.between(stageStartTime, LocalDateTime.now());
-                if (minutesSinceStageStart < stageWaitMinutes) {
+                if (minutesSinceStageStart < config.getStageWaitMinutes()) {
                     logger.debug("⏳ Waiting for minimum stage duration: {}/{} minutes", 
-                               minutesSinceStageStart, stageWaitMinutes);
+                               minutesSinceStageStart, config.getStageWaitMinutes());
                     return;
                 }
             }
@@ -136,9 +186,17 @@ public class AutoDeploymentScheduler {
             var sliSloResult = sliSloEvaluator.evaluateCurrentState();
             
             // 충분한 샘플 수 확인
-            if (sliSloResult.getSampleSize() < minSampleSize) {
+            if (sliSloResult.getSampleSize() < config.getMinSampleSize()) {
                 logger.debug("📊 Insufficient sample size: {}/{}", 
-                           sliSloResult.getSampleSize(), minSampleSize);
+                           sliSloResult.getSampleSize(), config.getMinSampleSize());
+                return;
+            }
+            
+            // SLO 위반 시 단일 인스턴스 문제면 해당 인스턴스만 제외하고 단계를 다시 관찰
+            if (!sliSloResult.isSloCompliant() && instanceOutlierDetector.detectAndMitigate()) {
+                logger.warn("🔌 SLO violation attributed to an outlier instance - ejected it and restarting stage observation");
+                stageStartTime = LocalDateTime.now();
+                stateVersion.bump();
                 return;
             }
             
@@ -152,11 +210,12 @@ public class AutoDeploymentScheduler {
                            sliSloResult.getResponseTimeP95(),
                            sliSloResult.getResponseTimeThreshold());
                 
-                deploymentService.rollbackDeployment();
-                autoDeploymentInProgress.set(false);
-                currentAutoDeploymentId = null;
-                stageStartTime = null;
-                lastStageTransition = null;
+                triggerRollback("SLO violation");
+                return;
+            }
+            
+            // 다음 단계 부하를 감당할 인스턴스가 부족하면 현재 단계에서 대기 (롤백하지 않음)
+            if (config.getCapacityGateEnabled() && !hasCapacityForNextStage(deploymentStatus)) {
                 return;
             }
             
@@ -169,14 +228,18 @@ public class AutoDeploymentScheduler {
             
             var nextStageResult = deploymentService.proceedToNextStage();
             
-            if ("DEPLOYING".equals(nextStageResult.getStatus())) {
+            if ("DEPLOYING".equals(nextStageResult.getStatus())
+                    && nextStageResult.getCurrentStage() > deploymentStatus.getCurrentStage()) {
                 stageStartTime = LocalDateTime.now();
                 lastStageTransition = LocalDateTime.now();
+                stateVersion.bump();
                 
                 logger.info("🎯 Advanced to stage {}/{} - {}% traffic to refactored version",
                            nextStageResult.getCurrentStage() + 1,
                            nextStageResult.getTotalStages(),
                            nextStageResult.getCurrentPercentage());
+            } else if ("DEPLOYING".equals(nextStageResult.getStatus())) {
+                logger.warn("⏸️ {}", nextStageResult.getMessage());
             }
             
         } catch (Exception e) {
@@ -184,12 +247,122 @@ public class AutoDeploymentScheduler {
             
             // 에러 발생 시 안전을 위해 롤백
             logger.warn("⚠️ Error detected - triggering safety rollback");
-            deploymentService.rollbackDeployment();
+            triggerRollback("auto deployment error: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 롤백 - 스케줄러의 SLO 위반/오류 처리와 Alertmanager 웹훅이 같은 경로 사용
+     * 이미 레거시 100%이고 진행 중인 배포가 없으면 아무것도 하지 않음
+     * 가중치 변경에 실패하면 배포는 ROLLING_BACK으로 남고 실패 결과를 반환 (호출자가 재시도)
+     */
+    public synchronized RollbackResult triggerRollback(String reason) {
+        if (shadowPhase.getAndSet(false)) {
+            // 섀도 단계에서는 실제 트래픽이 없으므로 미러링만 끄고 중단
+            shadowTrafficService.stopShadow();
+            resetAutoDeploymentState();
+            logger.warn("⏪ Shadow phase aborted: {}", reason);
+            return new RollbackResult(true, "Shadow phase aborted");
+        }
+        
+        var deploymentStatus = deploymentService.getDeploymentStatus();
+        if (!"DEPLOYING".equals(deploymentStatus.getStatus())
+                && !"ROLLING_BACK".equals(deploymentStatus.getStatus())
+                && trafficManagementService.getCurrentRefactoredWeight() == 0) {
+            logger.info("⏪ Rollback requested but already on legacy: {}", reason);
+            resetAutoDeploymentState();
+            return new RollbackResult(true, "Already rolled back");
+        }
+        
+        logger.warn("⏪ Rolling back deployment {}: {}", deploymentStatus.getDeploymentId(), reason);
+        var result = deploymentService.rollbackDeployment();
+        resetAutoDeploymentState();
+        if ("ROLLING_BACK".equals(result.getStatus())) {
+            logger.error("❌ Rollback of deployment {} failed: {}", result.getDeploymentId(), result.getMessage());
+            return new RollbackResult(false, result.getMessage());
+        }
+        return new RollbackResult(true, result.getMessage());
+    }
+    
+    private void resetAutoDeploymentState() {
+        autoDeploymentInProgress.set(false);
+        currentAutoDeploymentId = null;
+        stageStartTime = null;
+        lastStageTransition = null;
+        stateVersion.bump();
+    }
+    
+    /**
+     * 섀도 단계 - 관찰 시간이 지나면 지연/에러 비교 후 1단계 진행 또는 중단
+     */
+    private void processShadowPhase(RolloutConfig config) {
+        try {
+            long minutesInShadow = ChronoUnit.MINUTES.between(stageStartTime, LocalDateTime.now());
+            if (minutesInShadow < config.getShadowPhaseMinutes()) {
+                logger.debug("🪞 Shadow phase: {}/{} minutes", minutesInShadow, config.getShadowPhaseMinutes());
+                return;
+            }
+            
+            var comparison = shadowTrafficService.compare();
+            if (!comparison.getSufficientSamples()) {
+                logger.debug("🪞 Insufficient shadow samples: legacy={}, refactored={}",
+                           comparison.getLegacy().getSamples(), comparison.getRefactored().getSamples());
+                return;
+            }
+            
+            shadowTrafficService.stopShadow();
+            shadowPhase.set(false);
+            
+            if (!comparison.getPassed()) {
+                // 실제 사용자는 아직 리팩토링 버전을 보지 않았으므로 롤백할 것이 없음
+                logger.warn("❌ Shadow phase caught a regression - auto deployment aborted: {}",
+                           comparison.getRegressions());
+                autoDeploymentInProgress.set(false);
+                stageStartTime = null;
+                lastStageTransition = null;
+                stateVersion.bump();
+                return;
+            }
+            
+            logger.info("✅ Shadow phase passed - starting canary stage 1");
+            if (!startCanary()) {
+                logger.warn("❌ Canary start after shadow phase failed - auto deployment aborted");
+                stageStartTime = null;
+                lastStageTransition = null;
+                stateVersion.bump();
+            }
+        } catch (Exception e) {
+            logger.error("❌ Error in shadow phase - aborting auto deployment", e);
+            shadowTrafficService.stopShadow();
+            shadowPhase.set(false);
             autoDeploymentInProgress.set(false);
-            currentAutoDeploymentId = null;
             stageStartTime = null;
             lastStageTransition = null;
+            stateVersion.bump();
+        }
+    }
+    
+    private boolean hasCapacityForNextStage(DeploymentStatusResponse deploymentStatus) {
+        int nextStage = deploymentStatus.getCurrentStage() + 1;
+        if (nextStage >= deploymentStatus.getAvailableStages().size()) {
+            return true;
+        }
+        
+        var plan = capacityAdvisor.checkStage(deploymentStatus.getAvailableStages().get(nextStage));
+        if (!plan.getSufficient()) {
+            if (plan.getRequiredRefactoredForecast() == null || plan.getRequiredLegacyForecast() == null) {
+                logger.warn("🧮 Holding at current stage - per-instance capacity for {}% is not learned yet " +
+                           "or cannot meet the latency SLO", plan.getRefactoredPercent());
+                return false;
+            }
+            logger.warn("🧮 Holding at current stage - {}% needs {} refactored / {} legacy instances at forecast load " +
+                       "but only {} / {} are available",
+                       plan.getRefactoredPercent(),
+                       plan.getRequiredRefactoredForecast(), plan.getRequiredLegacyForecast(),
+                       plan.getAvailableRefactored(), plan.getAvailableLegacy());
+            return false;
         }
+        return true;
     }
     
     /**
@@ -197,17 +370,19 @@ public class AutoDeploymentScheduler {
      */
     public AutoDeploymentStatus getAutoDeploymentStatus() {
         var deploymentStatus = deploymentService.getDeploymentStatus();
+        RolloutConfig config = rolloutConfigSource.current();
         
         return new AutoDeploymentStatus(
-            autoDeploymentEnabled,
+            config.getAutoDeploymentEnabled(),
             autoDeploymentInProgress.get(),
+            shadowPhase.get(),
             currentAutoDeploymentId,
             deploymentStatus,
             stageStartTime,
             lastStageTransition,
-            stageWaitMinutes,
-            evaluationPeriodMinutes,
-            minSampleSize
+            config.getStageWaitMinutes(),
+            config.getEvaluationPeriodMinutes(),
+            config.getMinSampleSize()
         );
     }
     
@@ -217,6 +392,7 @@ public class AutoDeploymentScheduler {
     public static class AutoDeploymentStatus {
         private final Boolean enabled;
         private final Boolean inProgress;
+        private final Boolean shadowPhase;
         private final String deploymentId;
         private final Object deploymentStatus;
         private final LocalDateTime stageStartTime;
@@ -225,12 +401,13 @@ public class AutoDeploymentScheduler {
         private final Integer evaluationPeriodMinutes;
         private final Integer minSampleSize;
         
-        public AutoDeploymentStatus(Boolean enabled, Boolean inProgress, String deploymentId,
+        public AutoDeploymentStatus(Boolean enabled, Boolean inProgress, Boolean shadowPhase, String deploymentId,
                                   Object deploymentStatus, LocalDateTime stageStartTime,
                                   LocalDateTime lastTransition, Integer stageWaitMinutes,
                                   Integer evaluationPeriodMinutes, Integer minSampleSize) {
             this.enabled = enabled;
             this.inProgress = inProgress;
+            this.shadowPhase = shadowPhase;
             this.deploymentId = deploymentId;
             this.deploymentStatus = deploymentStatus;
             this.stageStartTime = stageStartTime;
@@ -243,6 +420,7 @@ public class AutoDeploymentScheduler {
         // Getters
         public Boolean getEnabled() { return enabled; }
         public Boolean getInProgress() { return inProgress; }
+        public Boolean getShadowPhase() { return shadowPhase; }
         public String getDeploymentId() { return deploymentId; }
         public Object getDeploymentStatus() { return deploymentStatus; }
         public LocalDateTime getStageStartTime() { return stageStartTime; }
@@ -251,4 +429,21 @@ public class AutoDeploymentScheduler {
         public Integer getEvaluationPeriodMinutes() { return evaluationPeriodMinutes; }
         public Integer getMinSampleSize() { return minSampleSize; }
     }
+    
+    /**
+     * 롤백 결과 - success가 false면 트래픽이 아직 되돌려지지 않음
+     */
+    public static class RollbackResult {
+        private final Boolean success;
+        private final String message;
+        
+        public RollbackResult(Boolean success, String message) {
+            this.success = success;
+            this.message = message;
+        }
+        
+        // Getters
+        public Boolean getSuccess() { return success; }
+        public String getMessage() { return message; }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,366 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import junghun.studycicd.config.RolloutConfigSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 롤아웃 단계별 인스턴스 수 산정
+ * 버전별로 SLO를 지키며 인스턴스 한 대가 처리할 수 있는 RPS를 관측값으로 학습하고,
+ * 현재/예측 부하에서 각 단계가 필요로 하는 인스턴스 수를 계산
+ *
+ * 인스턴스 한 대를 M/M/1 대기열로 보고 p95 = S / (1 - ρ) 로 추정
+ * (S: 저부하 p95, ρ: 사용률) - 관측 RPS와 p95로 ρ를 구한 뒤 p95가 SLO에 닿는 RPS를 계산
+ * S는 최근 historySize개 관측의 최소 p95 - 배포로 서비스 시간이 바뀌면 창이 지나면서 따라감
+ * 관측값은 서비스율과 S로 저장하고 SLO 처리량은 조회 시 현재 롤아웃 설정의 p95 기준으로 계산
+ */
+@Service
+public class CapacityAdvisor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityAdvisor.class);
+    private static final String REQUEST_FILTER = "uri!~\"/actuator.*\"";
+    private static final List<String> VERSIONS = List.of("legacy", "refactored");
+    // 이 범위를 벗어난 사용률은 S/p95 비율로 추정할 수 없으므로 (S 근처의 저부하, 포화) 표본에서 제외
+    private static final double MIN_UTILIZATION = 0.05;
+    private static final double MAX_UTILIZATION = 0.99;
+
+    private final NginxConfigService nginxConfigService;
+    private final PrometheusQueryClient prometheusQueryClient;
+    private final MeterRegistry meterRegistry;
+    private final RolloutConfigSource rolloutConfigSource;
+
+    @Value("${capacity.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${capacity.window:2m}")
+    private String window;
+
+    @Value("${capacity.min-request-rate:1.0}")
+    private Double minRequestRate;
+
+    @Value("${capacity.history-size:60}")
+    private Integer historySize;
+
+    @Value("${capacity.target-utilization:0.7}")
+    private Double targetUtilization;
+
+    @Value("${capacity.forecast-window:1d}")
+    private String forecastWindow;
+
+    @Value("${capacity.forecast-growth:1.1}")
+    private Double forecastGrowth;
+
+    // 버전별 처리량 관측 이력 (최근 historySize개)
+    private final Map<String, Deque<CapacitySample>> capacitySamples = new ConcurrentHashMap<>();
+    // 버전별 최근 p95 이력 (최근 historySize개) - 최소값을 서비스 시간 S로 사용
+    private final Map<String, Deque<Double>> recentLatencies = new ConcurrentHashMap<>();
+
+    public CapacityAdvisor(NginxConfigService nginxConfigService,
+                           PrometheusQueryClient prometheusQueryClient,
+                           MeterRegistry meterRegistry,
+                           RolloutConfigSource rolloutConfigSource) {
+        this.nginxConfigService = nginxConfigService;
+        this.prometheusQueryClient = prometheusQueryClient;
+        this.meterRegistry = meterRegistry;
+        this.rolloutConfigSource = rolloutConfigSource;
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        for (String version : VERSIONS) {
+            Gauge.builder("capacity_rps_per_instance_at_slo", this,
+                          a -> {
+                              Double value = a.getCapacityPerInstance(version);
+                              return value != null ? value : Double.NaN;
+                          })
+                    .description("Learned requests per second one instance can serve within the latency SLO")
+                    .tag("version", version)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 인스턴스별 RPS/p95를 관측해 버전별 처리량 추정치 갱신
+     */
+    @Scheduled(fixedRateString = "${capacity.learn-interval-ms:60000}")
+    public void learn() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            double errorRateThreshold = rolloutConfigSource.current().getErrorRateThreshold();
+            Map<String, Double> requestRates = prometheusQueryClient.queryByLabel(String.format(
+                "sum by (instance) (rate(http_server_requests_seconds_count{%s}[%s]))",
+                REQUEST_FILTER, window), "instance");
+            Map<String, Double> errorRates = prometheusQueryClient.queryByLabel(String.format(
+                "sum by (instance) (rate(http_server_requests_seconds_count{%s,status=~\"5..\"}[%s]))",
+                REQUEST_FILTER, window), "instance");
+            Map<String, Double> p95 = prometheusQueryClient.queryByLabel(String.format(
+                "histogram_quantile(0.95, sum by (instance, le) (rate(http_server_requests_seconds_bucket{%s}[%s])))",
+                REQUEST_FILTER, window), "instance");
+
+            for (UpstreamServer server : nginxConfigService.getUpstreamServers()) {
+                Double rate = requestRates.get(server.getAddress());
+                Double latency = p95.get(server.getAddress());
+                if (rate == null || latency == null || rate < minRequestRate || latency <= 0) {
+                    continue;
+                }
+                double errorRatePercent = errorRates.getOrDefault(server.getAddress(), 0.0) / rate * 100;
+                if (errorRatePercent > errorRateThreshold) {
+                    // 에러 응답은 빠르게 끝나 처리량을 과대평가하게 만듦
+                    continue;
+                }
+                recordSample(server.getGroup(), rate, latency);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to learn instance capacity", e);
+        }
+    }
+
+    /**
+     * 버전별 인스턴스당 SLO 처리량 (최근 추정치의 중앙값), 학습 전이면 null
+     */
+    public Double getCapacityPerInstance(String version) {
+        return getCapacityPerInstance(version, rolloutConfigSource.current().getResponseTimeP95Threshold());
+    }
+
+    private Double getCapacityPerInstance(String version, double responseTimeP95Threshold) {
+        Deque<CapacitySample> samples = capacitySamples.get(version);
+        if (samples == null) {
+            return null;
+        }
+        List<Double> values = new ArrayList<>();
+        synchronized (samples) {
+            if (samples.isEmpty()) {
+                return null;
+            }
+            for (CapacitySample sample : samples) {
+                values.add(sample.rpsAt(responseTimeP95Threshold));
+            }
+        }
+        Collections.sort(values);
+        int middle = values.size() / 2;
+        return values.size() % 2 == 1 ? values.get(middle) : (values.get(middle - 1) + values.get(middle)) / 2;
+    }
+
+    /**
+     * 전체 단계에 대한 인스턴스 수 산정
+     */
+    public CapacityReport getReport(List<Integer> stages) {
+        Double currentRps = prometheusQueryClient.queryScalar(String.format(
+            "sum(rate(http_server_requests_seconds_count{%s}[%s]))", REQUEST_FILTER, window));
+        Double peakRps = prometheusQueryClient.queryScalar(String.format(
+            "max_over_time(sum(rate(http_server_requests_seconds_count{%s}[5m]))[%s:5m])",
+            REQUEST_FILTER, forecastWindow));
+
+        double current = currentRps != null ? currentRps : 0.0;
+        // 예측 부하: 예측 구간의 최대 부하에 증가율 적용 (현재 부하보다 작지 않게)
+        double forecast = Math.max(current, peakRps != null ? peakRps : 0.0) * forecastGrowth;
+
+        double responseTimeP95Threshold = rolloutConfigSource.current().getResponseTimeP95Threshold();
+        Map<String, Double> capacity = new HashMap<>();
+        Map<String, String> basis = new HashMap<>();
+        for (String version : VERSIONS) {
+            Double learned = getCapacityPerInstance(version, responseTimeP95Threshold);
+            if (learned != null) {
+                capacity.put(version, learned);
+                basis.put(version, "learned");
+            }
+        }
+        if (!capacity.containsKey("refactored") && capacity.containsKey("legacy")) {
+            // 리팩토링 버전 관측 전에는 레거시 처리량으로 가정
+            capacity.put("refactored", capacity.get("legacy"));
+            basis.put("refactored", "legacy-proxy");
+        }
+
+        List<StagePlan> plans = new ArrayList<>();
+        for (Integer stage : stages) {
+            plans.add(planStage(stage, current, forecast, capacity));
+        }
+        return new CapacityReport(capacity, basis, current, forecast, plans, LocalDateTime.now());
+    }
+
+    /**
+     * 단계 진입 전 확인 - 예측 부하 기준으로 인스턴스가 부족하면 false
+     * 부하가 있는데 처리량을 아직 모르거나 0이면(SLO를 지킬 수 없음) 부족한 것으로 보고 단계 유지
+     */
+    public StagePlan checkStage(Integer refactoredPercent) {
+        CapacityReport report = getReport(List.of(refactoredPercent));
+        return report.getStages().get(0);
+    }
+
+    private void recordSample(String version, double rate, double latency) {
+        double baseline = recordLatency(version, latency);
+        // 사용률: p95 = S / (1 - ρ) → ρ = 1 - S / p95
+        double utilization = 1 - baseline / latency;
+        if (utilization < MIN_UTILIZATION || utilization > MAX_UTILIZATION) {
+            logger.debug("Capacity sample {} skipped: rate={} p95={}s utilization={} out of range",
+                        version, rate, latency, utilization);
+            return;
+        }
+        CapacitySample sample = new CapacitySample(rate / utilization, baseline);
+
+        Deque<CapacitySample> samples = capacitySamples.computeIfAbsent(version, v -> new ArrayDeque<>());
+        synchronized (samples) {
+            samples.addLast(sample);
+            while (samples.size() > historySize) {
+                samples.removeFirst();
+            }
+        }
+        logger.debug("Capacity sample {}: rate={} p95={}s utilization={} serviceRate={}",
+                    version, rate, latency, utilization, sample.serviceRate());
+    }
+
+    /**
+     * p95 이력에 추가하고 창 안의 최소값(S) 반환
+     */
+    private double recordLatency(String version, double latency) {
+        Deque<Double> latencies = recentLatencies.computeIfAbsent(version, v -> new ArrayDeque<>());
+        synchronized (latencies) {
+            latencies.addLast(latency);
+            while (latencies.size() > historySize) {
+                latencies.removeFirst();
+            }
+            return Collections.min(latencies);
+        }
+    }
+
+    private StagePlan planStage(Integer refactoredPercent, double current, double forecast,
+                                Map<String, Double> capacity) {
+        int availableLegacy = availableInstances("legacy");
+        int availableRefactored = availableInstances("refactored");
+
+        Integer requiredLegacy = requiredInstances(forecast * (100 - refactoredPercent) / 100, capacity.get("legacy"));
+        Integer requiredRefactored = requiredInstances(forecast * refactoredPercent / 100, capacity.get("refactored"));
+        Integer requiredRefactoredNow = requiredInstances(current * refactoredPercent / 100, capacity.get("refactored"));
+
+        // null은 부하가 있는데 처리량을 모르거나 0인 경우 - 필요 인스턴스를 알 수 없으므로 부족으로 취급
+        boolean sufficient = requiredLegacy != null && requiredLegacy <= availableLegacy
+                && requiredRefactored != null && requiredRefactored <= availableRefactored;
+
+        return new StagePlan(refactoredPercent, current * refactoredPercent / 100, forecast * refactoredPercent / 100,
+                             requiredRefactoredNow, requiredRefactored, availableRefactored,
+                             requiredLegacy, availableLegacy, sufficient);
+    }
+
+    private Integer requiredInstances(double load, Double capacityPerInstance) {
+        if (load <= 0) {
+            return 0;
+        }
+        if (capacityPerInstance == null || capacityPerInstance <= 0) {
+            return null;
+        }
+        return (int) Math.ceil(load / (capacityPerInstance * targetUtilization));
+    }
+
+    /**
+     * 그룹에서 트래픽을 받을 수 있는 인스턴스 수 (이상 인스턴스로 제외된 서버는 빼고 계산)
+     */
+    private int availableInstances(String group) {
+        Map<String, Double> ejected = nginxConfigService.getEjectedServers();
+        return (int) nginxConfigService.getConfiguredServers(group).stream()
+                .filter(address -> ejected.getOrDefault(address, 1.0) > 0)
+                .count();
+    }
+
+    /**
+     * 관측 한 번의 서비스율(μ = RPS / ρ)과 그 시점의 S
+     */
+    private record CapacitySample(double serviceRate, double baseline) {
+
+        /**
+         * p95가 threshold에 닿는 RPS: ρ = 1 - S / threshold
+         */
+        double rpsAt(double responseTimeP95Threshold) {
+            return serviceRate * Math.max(0.0, 1 - baseline / responseTimeP95Threshold);
+        }
+    }
+
+    /**
+     * 단계별 인스턴스 산정 결과
+     */
+    public static class StagePlan {
+        private final Integer refactoredPercent;
+        private final Double refactoredCurrentRps;
+        private final Double refactoredForecastRps;
+        private final Integer requiredRefactoredCurrent;
+        private final Integer requiredRefactoredForecast;
+        private final Integer availableRefactored;
+        private final Integer requiredLegacyForecast;
+        private final Integer availableLegacy;
+        private final Boolean sufficient;
+
+        public StagePlan(Integer refactoredPercent, Double refactoredCurrentRps, Double refactoredForecastRps,
+                         Integer requiredRefactoredCurrent, Integer requiredRefactoredForecast,
+                         Integer availableRefactored, Integer requiredLegacyForecast,
+                         Integer availableLegacy, Boolean sufficient) {
+            this.refactoredPercent = refactoredPercent;
+            this.refactoredCurrentRps = refactoredCurrentRps;
+            this.refactoredForecastRps = refactoredForecastRps;
+            this.requiredRefactoredCurrent = requiredRefactoredCurrent;
+            this.requiredRefactoredForecast = requiredRefactoredForecast;
+            this.availableRefactored = availableRefactored;
+            this.requiredLegacyForecast = requiredLegacyForecast;
+            this.availableLegacy = availableLegacy;
+            this.sufficient = sufficient;
+        }
+
+        // Getters
+        public Integer getRefactoredPercent() { return refactoredPercent; }
+        public Double getRefactoredCurrentRps() { return refactoredCurrentRps; }
+        public Double getRefactoredForecastRps() { return refactoredForecastRps; }
+        public Integer getRequiredRefactoredCurrent() { return requiredRefactoredCurrent; }
+        public Integer getRequiredRefactoredForecast() { return requiredRefactoredForecast; }
+        public Integer getAvailableRefactored() { return availableRefactored; }
+        public Integer getRequiredLegacyForecast() { return requiredLegacyForecast; }
+        public Integer getAvailableLegacy() { return availableLegacy; }
+        public Boolean getSufficient() { return sufficient; }
+    }
+
+    /**
+     * 전체 단계 산정 결과
+     */
+    public static class CapacityReport {
+        private final Map<String, Double> rpsPerInstanceAtSlo;
+        private final Map<String, String> basis;
+        private final Double currentRps;
+        private final Double forecastRps;
+        private final List<StagePlan> stages;
+        private final LocalDateTime generatedAt;
+
+        public CapacityReport(Map<String, Double> rpsPerInstanceAtSlo, Map<String, String> basis,
+                              Double currentRps, Double forecastRps, List<StagePlan> stages,
+                              LocalDateTime generatedAt) {
+            this.rpsPerInstanceAtSlo = rpsPerInstanceAtSlo;
+            this.basis = basis;
+            this.currentRps = currentRps;
+            this.forecastRps = forecastRps;
+            this.stages = stages;
+            this.generatedAt = generatedAt;
+        }
+
+        // Getters
+        public Map<String, Double> getRpsPerInstanceAtSlo() { return rpsPerInstanceAtSlo; }
+        public Map<String, String> getBasis() { return basis; }
+        public Double getCurrentRps() { return currentRps; }
+        public Double getForecastRps() { return forecastRps; }
+        public List<StagePlan> getStages() { return stages; }
+        public LocalDateTime getGeneratedAt() { return generatedAt; }
+    }
+}
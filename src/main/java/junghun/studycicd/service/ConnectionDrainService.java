@@ -0,0 +1,232 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 커넥션 드레인 서비스
+ * 가중치가 0이 된 그룹의 서버는 먼저 down으로만 표시해 새 요청을 막고,
+ * 각 인스턴스의 처리 중 요청이 0이 되거나 데드라인이 지난 뒤에 upstream에서 제거
+ */
+@Service
+public class ConnectionDrainService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionDrainService.class);
+
+    private final NginxConfigService nginxConfigService;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "connection-drain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${drain.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${drain.poll-interval-ms:500}")
+    private Long pollIntervalMs;
+
+    @Value("${drain.timeout-seconds:30}")
+    private Long timeoutSeconds;
+
+    @Value("${drain.min-wait-seconds:2}")
+    private Long minWaitSeconds;
+
+    @Value("${drain.request-timeout-ms:1000}")
+    private Long requestTimeoutMs;
+
+    private final Map<String, DrainStatus> drains = new LinkedHashMap<>();
+    private final Map<String, ScheduledFuture<?>> pollers = new LinkedHashMap<>();
+
+    public ConnectionDrainService(NginxConfigService nginxConfigService, MeterRegistry meterRegistry) {
+        this.nginxConfigService = nginxConfigService;
+        this.meterRegistry = meterRegistry;
+        WebClient client;
+        try {
+            client = WebClient.builder().build();
+        } catch (Exception e) {
+            logger.warn("Failed to initialize WebClient, creating default client", e);
+            client = WebClient.create();
+        }
+        this.webClient = client;
+    }
+
+    /**
+     * 그룹 드레인 시작 - 가중치 0(down)으로 렌더링된 서버만 대상
+     * 같은 그룹에 진행 중인 드레인이 있으면 새 드레인으로 대체
+     */
+    public synchronized DrainStatus startDrain(String group, String reason) {
+        List<String> addresses = nginxConfigService.getUpstreamServers().stream()
+                .filter(server -> group.equals(server.getGroup()) && server.getWeight() <= 0)
+                .map(UpstreamServer::getAddress)
+                .toList();
+        if (addresses.isEmpty()) {
+            return null;
+        }
+
+        cancelPoller(group);
+        DrainStatus previous = drains.get(group);
+        if (previous != null && previous.getCompletedAt() == null) {
+            previous.finish("CANCELLED");
+        }
+        DrainStatus status = new DrainStatus("drain-" + sequence.incrementAndGet(), group, reason, addresses);
+        drains.put(group, status);
+
+        if (!enabled) {
+            // 드레인을 끄면 기존처럼 down 상태로 남겨 둠
+            status.finish("SKIPPED");
+            return status;
+        }
+
+        logger.info("🚰 Draining {} servers {} ({})", group, addresses, reason);
+        pollers.put(group, executor.scheduleWithFixedDelay(
+                () -> poll(status), pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS));
+        return status;
+    }
+
+    public synchronized List<DrainStatus> getDrains() {
+        return List.copyOf(drains.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void poll(DrainStatus status) {
+        try {
+            // 드레인 도중 다시 트래픽을 받기 시작한 그룹은 제거하지 않음
+            if (nginxConfigService.getGroupWeight(status.getGroup()) > 0) {
+                complete(status, "CANCELLED");
+                return;
+            }
+
+            for (String address : status.getServers()) {
+                status.getInFlight().put(address, fetchInFlight(address));
+            }
+
+            long elapsedSeconds = ChronoUnit.SECONDS.between(status.getStartedAt(), LocalDateTime.now());
+            boolean drained = status.getInFlight().values().stream().allMatch(count -> count == 0);
+
+            if (drained && elapsedSeconds >= minWaitSeconds) {
+                removeServers(status, "DRAINED");
+            } else if (elapsedSeconds >= timeoutSeconds) {
+                logger.warn("Drain deadline reached with requests still in flight: {}", status.getInFlight());
+                removeServers(status, "TIMED_OUT");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to poll connection drain {}", status.getId(), e);
+        }
+    }
+
+    /**
+     * 인스턴스의 처리 중 요청 수 - 조회 실패 시 -1 (알 수 없음, 데드라인까지 대기)
+     */
+    private int fetchInFlight(String address) {
+        try {
+            Map<?, ?> response = webClient.get()
+                    .uri("http://" + address + "/api/drain/in-flight")
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .timeout(Duration.ofMillis(requestTimeoutMs))
+                    .block();
+            Object value = response != null ? response.get("inFlight") : null;
+            return value instanceof Number number ? number.intValue() : -1;
+        } catch (Exception e) {
+            logger.debug("In-flight query failed for {}: {}", address, e.getMessage());
+            return -1;
+        }
+    }
+
+    private void removeServers(DrainStatus status, String result) {
+        String reason = "drain-complete " + status.getGroup() + " (" + status.getReason() + ")";
+        if (!nginxConfigService.removeServers(status.getServers(), reason)) {
+            logger.error("Failed to remove drained servers {}", status.getServers());
+            complete(status, "FAILED");
+            return;
+        }
+        logger.info("✅ Removed drained {} servers {} after {}ms ({})", status.getGroup(), status.getServers(),
+                   ChronoUnit.MILLIS.between(status.getStartedAt(), LocalDateTime.now()), result);
+        complete(status, result);
+    }
+
+    private synchronized void complete(DrainStatus status, String result) {
+        status.finish(result);
+        // 취소/실패한 드레인은 서버가 제거되지 않았으므로 결과별로 나눠 기록 (DRAINED/TIMED_OUT만 실제 드레인 시간)
+        Timer.builder("connection_drain_seconds")
+                .description("Time from marking servers down until the drain finished, by result")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(Duration.between(status.getStartedAt(), status.getCompletedAt()));
+        meterRegistry.counter("connection_drain_total", "result", result).increment();
+        if (drains.get(status.getGroup()) == status) {
+            cancelPoller(status.getGroup());
+        }
+    }
+
+    private void cancelPoller(String group) {
+        ScheduledFuture<?> poller = pollers.remove(group);
+        if (poller != null) {
+            poller.cancel(false);
+        }
+    }
+
+    /**
+     * 그룹 드레인 진행 상태
+     */
+    public static class DrainStatus {
+        private final String id;
+        private final String group;
+        private final String reason;
+        private final List<String> servers;
+        private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile String state = "DRAINING"; // DRAINING, DRAINED, TIMED_OUT, CANCELLED, FAILED, SKIPPED
+        private volatile LocalDateTime completedAt;
+
+        public DrainStatus(String id, String group, String reason, List<String> servers) {
+            this.id = id;
+            this.group = group;
+            this.reason = reason;
+            this.servers = servers;
+        }
+
+        void finish(String result) {
+            this.state = result;
+            this.completedAt = LocalDateTime.now();
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public String getGroup() { return group; }
+        public String getReason() { return reason; }
+        public List<String> getServers() { return servers; }
+        public Map<String, Integer> getInFlight() { return inFlight; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public String getState() { return state; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+    }
+}
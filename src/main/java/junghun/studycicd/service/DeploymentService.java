@@ -19,6 +19,8 @@ public class DeploymentService {
     
     private final TrafficManagementService trafficManagementService;
     private final MetricsService metricsService;
+    private final TrafficSplitVerifier trafficSplitVerifier;
+    private final DeploymentStateVersion stateVersion;
     
     // Deployment state
     private String currentDeploymentId;
@@ -28,12 +30,16 @@ public class DeploymentService {
     private LocalDateTime lastUpdated = LocalDateTime.now();
 
     public DeploymentService(TrafficManagementService trafficManagementService, 
-                           MetricsService metricsService) {
+                           MetricsService metricsService,
+                           TrafficSplitVerifier trafficSplitVerifier,
+                           DeploymentStateVersion stateVersion) {
         this.trafficManagementService = trafficManagementService;
         this.metricsService = metricsService;
+        this.trafficSplitVerifier = trafficSplitVerifier;
+        this.stateVersion = stateVersion;
     }
 
-    public DeploymentStatusResponse startCanaryDeployment() {
+    public synchronized DeploymentStatusResponse startCanaryDeployment() {
         if (!"STABLE".equals(deploymentStatus)) {
             return new DeploymentStatusResponse(
                 currentDeploymentId, deploymentStatus, currentStage, 
@@ -52,15 +58,25 @@ public class DeploymentService {
             );
         }
 
+        // Set initial traffic to first stage
+        Integer initialPercentage = DEPLOYMENT_STAGES.get(0);
+        var weightResult = trafficManagementService.updateWeights(100 - initialPercentage, initialPercentage);
+        if (!"SUCCESS".equals(weightResult.getStatus())) {
+            logger.warn("Canary deployment not started: {}", weightResult.getMessage());
+            return new DeploymentStatusResponse(
+                currentDeploymentId, deploymentStatus, currentStage, 
+                DEPLOYMENT_STAGES.size(), getCurrentPercentage(),
+                DEPLOYMENT_STAGES, "Deployment not started - " + weightResult.getMessage(), 
+                rollbackCount, MAX_ROLLBACKS
+            );
+        }
+        
         // Start new deployment
         currentDeploymentId = "deploy-" + UUID.randomUUID().toString().substring(0, 8);
         deploymentStatus = "DEPLOYING";
         currentStage = 0;
         lastUpdated = LocalDateTime.now();
-        
-        // Set initial traffic to first stage
-        Integer initialPercentage = DEPLOYMENT_STAGES.get(0);
-        trafficManagementService.updateWeights(100 - initialPercentage, initialPercentage);
+        stateVersion.bump();
         
         logger.info("Started canary deployment: {} with {}% traffic to refactored version", 
                    currentDeploymentId, initialPercentage);
@@ -73,7 +89,7 @@ public class DeploymentService {
         );
     }
 
-    public DeploymentStatusResponse proceedToNextStage() {
+    public synchronized DeploymentStatusResponse proceedToNextStage() {
         if (!"DEPLOYING".equals(deploymentStatus)) {
             return new DeploymentStatusResponse(
                 currentDeploymentId, deploymentStatus, currentStage, 
@@ -97,6 +113,7 @@ public class DeploymentService {
             deploymentStatus = "STABLE";
             rollbackCount = 0; // Reset rollback count on successful deployment
             lastUpdated = LocalDateTime.now();
+            stateVersion.bump();
             
             logger.info("Canary deployment {} completed successfully", currentDeploymentId);
             
@@ -110,8 +127,20 @@ public class DeploymentService {
         
         // Update traffic for next stage
         Integer nextPercentage = DEPLOYMENT_STAGES.get(currentStage);
-        trafficManagementService.updateWeights(100 - nextPercentage, nextPercentage);
+        var weightResult = trafficManagementService.updateWeights(100 - nextPercentage, nextPercentage);
+        if (!"SUCCESS".equals(weightResult.getStatus())) {
+            // 가중치를 바꾸지 못했으면 현재 단계에 머무름
+            currentStage--;
+            logger.warn("Staying at deployment stage {}: {}", currentStage + 1, weightResult.getMessage());
+            return new DeploymentStatusResponse(
+                currentDeploymentId, deploymentStatus, currentStage, 
+                DEPLOYMENT_STAGES.size(), getCurrentPercentage(),
+                DEPLOYMENT_STAGES, "Stage not advanced - " + weightResult.getMessage(), 
+                rollbackCount, MAX_ROLLBACKS
+            );
+        }
         lastUpdated = LocalDateTime.now();
+        stateVersion.bump();
         
         logger.info("Proceeded to deployment stage {}: {}% traffic to refactored version", 
                    currentStage + 1, nextPercentage);
@@ -124,9 +153,13 @@ public class DeploymentService {
         );
     }
 
-    public DeploymentStatusResponse rollbackDeployment() {
+    public synchronized DeploymentStatusResponse rollbackDeployment() {
         if (rollbackCount >= MAX_ROLLBACKS) {
-            deploymentStatus = "FAILED";
+            if (!"FAILED".equals(deploymentStatus)) {
+                deploymentStatus = "FAILED";
+                lastUpdated = LocalDateTime.now();
+                stateVersion.bump();
+            }
             return new DeploymentStatusResponse(
                 currentDeploymentId, deploymentStatus, currentStage, 
                 DEPLOYMENT_STAGES.size(), getCurrentPercentage(),
@@ -136,12 +169,28 @@ public class DeploymentService {
         }
         
         // Rollback to 100% legacy traffic
-        trafficManagementService.updateWeights(100, 0);
+        var weightResult = trafficManagementService.updateWeights(100, 0);
+        if (!"SUCCESS".equals(weightResult.getStatus())) {
+            // 트래픽을 되돌리지 못했으면 STABLE로 표시하지 않음 - ROLLING_BACK 상태에서 다시 롤백 가능
+            if (!"ROLLING_BACK".equals(deploymentStatus)) {
+                deploymentStatus = "ROLLING_BACK";
+                lastUpdated = LocalDateTime.now();
+                stateVersion.bump();
+            }
+            logger.error("Rollback of deployment {} failed: {}", currentDeploymentId, weightResult.getMessage());
+            return new DeploymentStatusResponse(
+                currentDeploymentId, deploymentStatus, currentStage, 
+                DEPLOYMENT_STAGES.size(), getCurrentPercentage(),
+                DEPLOYMENT_STAGES, "Rollback failed - " + weightResult.getMessage(), 
+                rollbackCount, MAX_ROLLBACKS
+            );
+        }
         
         deploymentStatus = "STABLE";
         currentStage = 0;
         rollbackCount++;
         lastUpdated = LocalDateTime.now();
+        stateVersion.bump();
         
         logger.warn("Deployment {} rolled back. Rollback count: {}", 
                    currentDeploymentId, rollbackCount);
@@ -155,12 +204,23 @@ public class DeploymentService {
     }
 
     public DeploymentStatusResponse getDeploymentStatus() {
-        return new DeploymentStatusResponse(
+        DeploymentStatusResponse response = new DeploymentStatusResponse(
             currentDeploymentId, deploymentStatus, currentStage, 
             DEPLOYMENT_STAGES.size(), getCurrentPercentage(),
             DEPLOYMENT_STAGES, "Current deployment status", 
             rollbackCount, MAX_ROLLBACKS
         );
+        response.setLastUpdated(lastUpdated);
+        
+        // 실제 달성된 트래픽 분배 (측정값이 있는 경우) - 상태 버전은 0.1%p 단위 값이 바뀔 때만 오르므로 같은 단위로 노출
+        var splitSample = trafficSplitVerifier.getLastSample();
+        if (splitSample != null) {
+            double measured = TrafficSplitVerifier.roundedPercent(splitSample.getMeasuredRefactoredPercent());
+            response.setMeasuredRefactoredPercentage(measured);
+            response.setTrafficSplitDeviation(TrafficSplitVerifier.roundedPercent(
+                measured - splitSample.getTargetRefactoredPercent()));
+        }
+        return response;
     }
     
     private Integer getCurrentPercentage() {
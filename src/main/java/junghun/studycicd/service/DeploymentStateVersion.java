@@ -0,0 +1,40 @@
+package junghun.studycicd.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 배포 상태 버전 - 트래픽 가중치, 카나리 단계, 자동 배포 진행 상태가 바뀔 때마다 증가
+ * 상태 조회 API가 ETag로 사용해 변경이 없으면 서비스를 호출하지 않고 304로 응답
+ *
+ * 재시작하면 버전이 처음부터 다시 시작하므로 기동 시각을 함께 넣어 이전 프로세스의 ETag와 구분
+ */
+@Component
+public class DeploymentStateVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public long bump() {
+        return version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 리소스별 약한 ETag - 같은 버전이라도 응답 형태가 다르므로 리소스 이름을 포함
+     *
+     * @param extra 상태 버전 외에 응답에 영향을 주는 값 (예: 롤아웃 설정 버전)
+     */
+    public String etag(String resource, long... extra) {
+        StringBuilder tag = new StringBuilder("W/\"")
+            .append(resource).append('-').append(epoch).append('-').append(version.get());
+        for (long part : extra) {
+            tag.append('-').append(part);
+        }
+        return tag.append('"').toString();
+    }
+}
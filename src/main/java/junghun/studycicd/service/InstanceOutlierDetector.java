@@ -0,0 +1,320 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인스턴스 단위 이상 탐지 및 제외 서비스
+ * 버전 전체를 롤백하기 전에, 같은 그룹의 다른 인스턴스(peer) 대비 에러율/지연이 튀는
+ * 단일 인스턴스를 upstream에서 제외(down)하거나 가중치를 낮추고 롤아웃은 계속 진행
+ */
+@Service
+public class InstanceOutlierDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceOutlierDetector.class);
+
+    private static final String REQUEST_FILTER = "uri!~\"/actuator.*\"";
+
+    private final NginxConfigService nginxConfigService;
+    private final PrometheusQueryClient prometheusQueryClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outlier-detection.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${outlier-detection.window:2m}")
+    private String window;
+
+    @Value("${outlier-detection.min-request-rate:0.5}")
+    private Double minRequestRate;
+
+    @Value("${outlier-detection.error-rate.ratio:3.0}")
+    private Double errorRateRatio;
+
+    @Value("${outlier-detection.error-rate.margin-percent:5.0}")
+    private Double errorRateMarginPercent;
+
+    @Value("${outlier-detection.latency.ratio:2.0}")
+    private Double latencyRatio;
+
+    @Value("${outlier-detection.latency.margin-seconds:0.2}")
+    private Double latencyMarginSeconds;
+
+    @Value("${outlier-detection.max-ejection-percent:50}")
+    private Integer maxEjectionPercent;
+
+    @Value("${outlier-detection.base-ejection-minutes:5}")
+    private Integer baseEjectionMinutes;
+
+    // 0이면 제외(down), 0~1이면 그룹 가중치 대비 감량
+    @Value("${outlier-detection.weight-factor:0.0}")
+    private Double weightFactor;
+
+    // 현재 제외 중인 인스턴스 -> 제외 정보
+    private final Map<String, Ejection> ejections = new ConcurrentHashMap<>();
+    // 인스턴스별 누적 제외 횟수 (재발할수록 제외 시간이 늘어남)
+    private final Map<String, Integer> ejectionCounts = new ConcurrentHashMap<>();
+    private volatile Map<String, InstanceSli> lastInstanceSlis = Collections.emptyMap();
+
+    public InstanceOutlierDetector(NginxConfigService nginxConfigService,
+                                   PrometheusQueryClient prometheusQueryClient,
+                                   MeterRegistry meterRegistry) {
+        this.nginxConfigService = nginxConfigService;
+        this.prometheusQueryClient = prometheusQueryClient;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("outlier_ejected_instances", nginxConfigService, s -> s.getEjectedServers().size())
+                .description("Number of upstream instances currently ejected or down-weighted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주기적 탐지 - 제외 시간이 끝난 인스턴스 복귀 후 새 이상 인스턴스 탐지
+     */
+    @Scheduled(fixedRateString = "${outlier-detection.interval-ms:30000}")
+    public void scheduledDetection() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            restoreExpiredEjections();
+            detectAndMitigate();
+        } catch (Exception e) {
+            logger.error("Failed to run outlier detection", e);
+        }
+    }
+
+    /**
+     * 이상 인스턴스를 찾아 제외 - 이번 호출에서 새로 제외한 인스턴스가 있으면 true
+     * SLO 위반 시 스케줄러가 롤백 전에 호출
+     */
+    public synchronized boolean detectAndMitigate() {
+        if (!enabled) {
+            return false;
+        }
+
+        Map<String, InstanceSli> slis = collectInstanceSlis();
+        lastInstanceSlis = slis;
+        if (slis.isEmpty()) {
+            return false;
+        }
+
+        // 그룹별 활성 인스턴스
+        Map<String, List<UpstreamServer>> groups = new LinkedHashMap<>();
+        for (UpstreamServer server : nginxConfigService.getUpstreamServers()) {
+            groups.computeIfAbsent(server.getGroup(), g -> new ArrayList<>()).add(server);
+        }
+
+        boolean mitigated = false;
+        for (Map.Entry<String, List<UpstreamServer>> group : groups.entrySet()) {
+            List<UpstreamServer> members = group.getValue();
+            int alreadyEjected = (int) members.stream().filter(s -> ejections.containsKey(s.getAddress())).count();
+            int maxEjections = members.size() * maxEjectionPercent / 100;
+            if (alreadyEjected >= maxEjections) {
+                continue;
+            }
+
+            String outlier = findOutlier(members, slis);
+            if (outlier != null && eject(outlier, slis.get(outlier))) {
+                mitigated = true;
+            }
+        }
+        return mitigated;
+    }
+
+    public Map<String, InstanceSli> getLastInstanceSlis() {
+        return lastInstanceSlis;
+    }
+
+    public Map<String, Ejection> getEjections() {
+        return new HashMap<>(ejections);
+    }
+
+    /**
+     * peer 중앙값 대비 가장 심하게 벗어난 인스턴스 하나 선택
+     */
+    private String findOutlier(List<UpstreamServer> members, Map<String, InstanceSli> slis) {
+        String worst = null;
+        double worstScore = 1.0;
+
+        for (UpstreamServer candidate : members) {
+            InstanceSli sli = slis.get(candidate.getAddress());
+            if (sli == null || ejections.containsKey(candidate.getAddress())
+                    || sli.getRequestRate() < minRequestRate) {
+                continue;
+            }
+
+            List<Double> peerErrorRates = new ArrayList<>();
+            List<Double> peerLatencies = new ArrayList<>();
+            for (UpstreamServer peer : members) {
+                InstanceSli peerSli = slis.get(peer.getAddress());
+                if (peer == candidate || peerSli == null || ejections.containsKey(peer.getAddress())
+                        || peerSli.getRequestRate() < minRequestRate) {
+                    continue;
+                }
+                peerErrorRates.add(peerSli.getErrorRatePercent());
+                if (peerSli.getResponseTimeP95() != null) {
+                    peerLatencies.add(peerSli.getResponseTimeP95());
+                }
+            }
+            if (peerErrorRates.isEmpty()) {
+                // 비교할 정상 peer가 없으면 인스턴스 문제인지 버전 문제인지 구분 불가
+                continue;
+            }
+
+            double score = 0.0;
+            double peerErrorRate = median(peerErrorRates);
+            double errorLimit = Math.max(peerErrorRate * errorRateRatio, peerErrorRate + errorRateMarginPercent);
+            if (sli.getErrorRatePercent() > errorLimit) {
+                score = Math.max(score, sli.getErrorRatePercent() / Math.max(errorLimit, 0.01));
+            }
+
+            if (sli.getResponseTimeP95() != null && !peerLatencies.isEmpty()) {
+                double peerLatency = median(peerLatencies);
+                double latencyLimit = Math.max(peerLatency * latencyRatio, peerLatency + latencyMarginSeconds);
+                if (sli.getResponseTimeP95() > latencyLimit) {
+                    score = Math.max(score, sli.getResponseTimeP95() / latencyLimit);
+                }
+            }
+
+            if (score > worstScore) {
+                worstScore = score;
+                worst = candidate.getAddress();
+            }
+        }
+        return worst;
+    }
+
+    private boolean eject(String address, InstanceSli sli) {
+        int count = ejectionCounts.getOrDefault(address, 0) + 1;
+        LocalDateTime until = LocalDateTime.now().plusMinutes((long) baseEjectionMinutes * count);
+
+        String reason = String.format("outlier-ejection %s errorRate=%.2f%% p95=%s",
+                                      address, sli.getErrorRatePercent(), sli.getResponseTimeP95());
+        if (!nginxConfigService.ejectServer(address, weightFactor, reason)) {
+            logger.error("Failed to eject outlier instance {}", address);
+            return false;
+        }
+
+        ejectionCounts.put(address, count);
+        ejections.put(address, new Ejection(address, count, LocalDateTime.now(), until, sli));
+        Counter.builder("outlier_ejections_total")
+                .description("Number of outlier instance ejections")
+                .tag("instance", address)
+                .register(meterRegistry)
+                .increment();
+
+        logger.warn("🔌 Outlier instance ejected: {} until {} (errorRate={}%, p95={}s)",
+                   address, until, String.format("%.2f", sli.getErrorRatePercent()), sli.getResponseTimeP95());
+        return true;
+    }
+
+    private synchronized void restoreExpiredEjections() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Ejection ejection : new ArrayList<>(ejections.values())) {
+            if (now.isBefore(ejection.getUntil())) {
+                continue;
+            }
+            if (nginxConfigService.restoreServer(ejection.getAddress(), "outlier-restore " + ejection.getAddress())) {
+                ejections.remove(ejection.getAddress());
+                logger.info("Outlier instance restored: {}", ejection.getAddress());
+            }
+        }
+    }
+
+    /**
+     * 인스턴스별 요청률, 에러율, p95 수집 (instance 레이블 = upstream 주소)
+     */
+    private Map<String, InstanceSli> collectInstanceSlis() {
+        Map<String, Double> requestRates = prometheusQueryClient.queryByLabel(String.format(
+            "sum by (instance) (rate(http_server_requests_seconds_count{%s}[%s]))",
+            REQUEST_FILTER, window), "instance");
+        Map<String, Double> errorRates = prometheusQueryClient.queryByLabel(String.format(
+            "sum by (instance) (rate(http_server_requests_seconds_count{%s,status=~\"5..\"}[%s]))",
+            REQUEST_FILTER, window), "instance");
+        Map<String, Double> p95 = prometheusQueryClient.queryByLabel(String.format(
+            "histogram_quantile(0.95, sum by (instance, le) (rate(http_server_requests_seconds_bucket{%s}[%s])))",
+            REQUEST_FILTER, window), "instance");
+
+        Map<String, InstanceSli> slis = new HashMap<>();
+        for (Map.Entry<String, Double> entry : requestRates.entrySet()) {
+            double rate = entry.getValue();
+            double errors = errorRates.getOrDefault(entry.getKey(), 0.0);
+            double errorRatePercent = rate > 0 ? errors / rate * 100 : 0.0;
+            slis.put(entry.getKey(), new InstanceSli(entry.getKey(), rate, errorRatePercent, p95.get(entry.getKey())));
+        }
+        return slis;
+    }
+
+    private double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    /**
+     * 인스턴스별 SLI
+     */
+    public static class InstanceSli {
+        private final String instance;
+        private final Double requestRate;
+        private final Double errorRatePercent;
+        private final Double responseTimeP95;
+
+        public InstanceSli(String instance, Double requestRate, Double errorRatePercent, Double responseTimeP95) {
+            this.instance = instance;
+            this.requestRate = requestRate;
+            this.errorRatePercent = errorRatePercent;
+            this.responseTimeP95 = responseTimeP95;
+        }
+
+        // Getters
+        public String getInstance() { return instance; }
+        public Double getRequestRate() { return requestRate; }
+        public Double getErrorRatePercent() { return errorRatePercent; }
+        public Double getResponseTimeP95() { return responseTimeP95; }
+    }
+
+    /**
+     * 인스턴스 제외 정보
+     */
+    public static class Ejection {
+        private final String address;
+        private final Integer count;
+        private final LocalDateTime ejectedAt;
+        private final LocalDateTime until;
+        private final InstanceSli trigger;
+
+        public Ejection(String address, Integer count, LocalDateTime ejectedAt,
+                        LocalDateTime until, InstanceSli trigger) {
+            this.address = address;
+            this.count = count;
+            this.ejectedAt = ejectedAt;
+            this.until = until;
+            this.trigger = trigger;
+        }
+
+        // Getters
+        public String getAddress() { return address; }
+        public Integer getCount() { return count; }
+        public LocalDateTime getEjectedAt() { return ejectedAt; }
+        public LocalDateTime getUntil() { return until; }
+        public InstanceSli getTrigger() { return trigger; }
+    }
+}
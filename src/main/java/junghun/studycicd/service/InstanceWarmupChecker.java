@@ -0,0 +1,84 @@
+package junghun.studycicd.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인스턴스 워밍업 확인
+ * 리팩토링 인스턴스의 readiness(워밍업 포함)가 UP이 아니면 해당 그룹으로 가중치를 올리지 않음
+ */
+@Service
+public class InstanceWarmupChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceWarmupChecker.class);
+
+    private final NginxConfigService nginxConfigService;
+    private final WebClient webClient;
+
+    @Value("${warmup.gate-enabled:true}")
+    private Boolean gateEnabled;
+
+    @Value("${warmup.readiness-path:/actuator/health/readiness}")
+    private String readinessPath;
+
+    @Value("${warmup.readiness-timeout-ms:2000}")
+    private Long readinessTimeoutMs;
+
+    public InstanceWarmupChecker(NginxConfigService nginxConfigService) {
+        this.nginxConfigService = nginxConfigService;
+
+        WebClient client;
+        try {
+            client = WebClient.builder().build();
+        } catch (Exception e) {
+            logger.warn("Failed to initialize WebClient, creating default client", e);
+            client = WebClient.create();
+        }
+        this.webClient = client;
+    }
+
+    /**
+     * 그룹에서 아직 준비되지 않은 인스턴스 목록 (이상 인스턴스로 제외된 서버는 확인하지 않음)
+     */
+    public List<String> findColdInstances(String group) {
+        if (!gateEnabled) {
+            return List.of();
+        }
+
+        Map<String, Double> ejected = nginxConfigService.getEjectedServers();
+        List<String> cold = new ArrayList<>();
+        for (String address : nginxConfigService.getConfiguredServers(group)) {
+            if (ejected.getOrDefault(address, 1.0) <= 0) {
+                continue;
+            }
+            if (!isReady(address)) {
+                cold.add(address);
+            }
+        }
+        return cold;
+    }
+
+    private boolean isReady(String address) {
+        try {
+            Map<?, ?> response = webClient.get()
+                    .uri("http://" + address + readinessPath)
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .timeout(Duration.ofMillis(readinessTimeoutMs))
+                    .block();
+            return response != null && "UP".equals(response.get("status"));
+        } catch (Exception e) {
+            // OUT_OF_SERVICE는 503으로 응답되므로 예외로 들어옴
+            logger.debug("Readiness check failed for {}: {}", address, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package junghun.studycicd.service;
 
+import junghun.studycicd.config.RolloutConfig;
+import junghun.studycicd.config.RolloutConfigSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,15 +20,13 @@ public class MetricsService {
     @Value("${prometheus.url:http://prometheus:9090}")
     private String prometheusUrl;
     
-    @Value("${metrics.error-rate.threshold:2.0}")
-    private Double errorRateThreshold;
-    
-    @Value("${metrics.response-time.threshold:1.5}")
-    private Double responseTimeThreshold;
+    // SliSloEvaluator와 같은 임계값 스냅샷 사용
+    private final RolloutConfigSource rolloutConfigSource;
     
     private final WebClient webClient;
 
-    public MetricsService() {
+    public MetricsService(RolloutConfigSource rolloutConfigSource) {
+        this.rolloutConfigSource = rolloutConfigSource;
         WebClient client;
         try {
             client = WebClient.builder()
@@ -40,6 +40,9 @@ public class MetricsService {
     }
 
     public boolean isDeploymentSafe() {
+        RolloutConfig config = rolloutConfigSource.current();
+        double errorRateThreshold = config.getErrorRateThreshold();
+        double responseTimeThreshold = config.getResponseTimeAverageThreshold();
         try {
             // Check error rate
             Double errorRate = getErrorRate();
@@ -89,12 +92,13 @@ public class MetricsService {
         try {
             Double errorRate = getErrorRate();
             Double responseTime = getAverageResponseTime();
+            RolloutConfig config = rolloutConfigSource.current();
             
             return Map.of(
                 "errorRate", errorRate != null ? errorRate : 0.0,
                 "averageResponseTime", responseTime != null ? responseTime : 0.0,
-                "errorRateThreshold", errorRateThreshold,
-                "responseTimeThreshold", responseTimeThreshold,
+                "errorRateThreshold", config.getErrorRateThreshold(),
+                "responseTimeThreshold", config.getResponseTimeAverageThreshold(),
                 "isHealthy", isDeploymentSafe(),
                 "timestamp", System.currentTimeMillis()
             );
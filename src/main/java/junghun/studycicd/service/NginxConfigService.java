@@ -1,49 +1,370 @@
 package junghun.studycicd.service;
 
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 public class NginxConfigService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(NginxConfigService.class);
-    
+
     @Value("${nginx.container.name:nginx-lb}")
     private String nginxContainerName;
-    
+
     @Value("${nginx.reload.script:/reload-config.sh}")
     private String reloadScript;
 
-    public boolean updateNginxConfig(Integer legacyWeight, Integer refactoredWeight) {
+    @Value("${nginx.upstream.legacy-servers:legacy-app-1:8080,legacy-app-2:8080}")
+    private List<String> legacyServers;
+
+    @Value("${nginx.upstream.refactored-servers:refactored-app-1:8080,refactored-app-2:8080}")
+    private List<String> refactoredServers;
+
+    @Value("${shadow.methods:GET,HEAD}")
+    private List<String> shadowMethods;
+
+    // 섀도 요청 표시 헤더 값 (ShadowRequest가 같은 값으로 확인)
+    @Value("${shadow.request-secret:}")
+    private String shadowRequestSecret;
+
+    private final NginxReloadMonitor reloadMonitor;
+
+    // 서버별 현재 가중치 (주소 -> 서버 설정)
+    private final Map<String, UpstreamServer> upstreamServers = new LinkedHashMap<>();
+    // 이상 인스턴스별 가중치 배율 (0이면 제외) - 그룹 가중치가 바뀌어도 유지
+    private final Map<String, Double> ejectedServers = new LinkedHashMap<>();
+    // 드레인이 끝나 upstream에서 빠진 서버 - 그룹 가중치가 다시 0보다 커지면 복귀
+    private final Set<String> removedServers = new LinkedHashSet<>();
+    private Integer legacyWeight = 95;
+    private Integer refactoredWeight = 5;
+    // 리팩토링 버전으로 미러링할 요청 비율 (0이면 미러링 끔)
+    private Integer shadowPercent = 0;
+
+    public NginxConfigService(NginxReloadMonitor reloadMonitor) {
+        this.reloadMonitor = reloadMonitor;
+    }
+
+    @PostConstruct
+    void initUpstreamServers() {
+        resetServerWeights();
+    }
+
+    /**
+     * 그룹 가중치 변경 - 서버별 보정값은 초기화됨
+     */
+    public synchronized boolean updateNginxConfig(Integer legacyWeight, Integer refactoredWeight) {
+        return updateNginxConfig(legacyWeight, refactoredWeight,
+                                 "weights " + this.legacyWeight + "/" + this.refactoredWeight
+                                 + " -> " + legacyWeight + "/" + refactoredWeight);
+    }
+
+    /**
+     * 그룹 가중치 변경 - reason은 reload 측정 기록에 남는 변경 원인
+     */
+    public synchronized boolean updateNginxConfig(Integer legacyWeight, Integer refactoredWeight, String reason) {
+        Integer previousLegacy = this.legacyWeight;
+        Integer previousRefactored = this.refactoredWeight;
+        Map<String, UpstreamServer> previousServers = new LinkedHashMap<>(upstreamServers);
+        Set<String> previousRemoved = new LinkedHashSet<>(removedServers);
+
+        this.legacyWeight = legacyWeight;
+        this.refactoredWeight = refactoredWeight;
+        resetServerWeights();
+
+        if (!reload(reason)) {
+            this.legacyWeight = previousLegacy;
+            this.refactoredWeight = previousRefactored;
+            removedServers.clear();
+            removedServers.addAll(previousRemoved);
+            upstreamServers.clear();
+            upstreamServers.putAll(previousServers);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 서버별 가중치 변경 (그룹 가중치는 유지)
+     * 지정하지 않은 서버는 현재 가중치를 유지
+     */
+    public synchronized boolean updateServerWeights(Map<String, Integer> serverWeights, String reason) {
+        Map<String, UpstreamServer> previousServers = new LinkedHashMap<>(upstreamServers);
+
+        for (Map.Entry<String, Integer> entry : serverWeights.entrySet()) {
+            UpstreamServer server = upstreamServers.get(entry.getKey());
+            if (server == null) {
+                logger.warn("Unknown upstream server: {}", entry.getKey());
+                continue;
+            }
+            upstreamServers.put(entry.getKey(), server.withWeight(Math.max(0, entry.getValue())));
+        }
+
+        if (!reload(reason)) {
+            upstreamServers.clear();
+            upstreamServers.putAll(previousServers);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 이상 인스턴스 제외/감량 - weightFactor가 0이면 down, 그 외에는 그룹 가중치에 배율 적용
+     */
+    public synchronized boolean ejectServer(String address, double weightFactor, String reason) {
+        UpstreamServer server = upstreamServers.get(address);
+        if (server == null) {
+            logger.warn("Unknown upstream server: {}", address);
+            return false;
+        }
+        Double previousFactor = ejectedServers.put(address, weightFactor);
+        upstreamServers.put(address, server.withWeight(ejectedWeight(server.getGroup(), weightFactor)));
+
+        if (!reload(reason)) {
+            restoreEjection(address, previousFactor);
+            upstreamServers.put(address, server);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 제외했던 인스턴스를 그룹 가중치로 복귀
+     */
+    public synchronized boolean restoreServer(String address, String reason) {
+        UpstreamServer server = upstreamServers.get(address);
+        Double previousFactor = ejectedServers.remove(address);
+        if (server == null || previousFactor == null) {
+            return false;
+        }
+        upstreamServers.put(address, server.withWeight(getGroupWeight(server.getGroup())));
+
+        if (!reload(reason)) {
+            ejectedServers.put(address, previousFactor);
+            upstreamServers.put(address, server);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 섀도 미러링 비율 변경 - 응답은 버려지므로 사용자에게 영향 없음, 0이면 끔
+     */
+    public synchronized boolean updateShadowMirror(Integer percent, String reason) {
+        Integer previousPercent = this.shadowPercent;
+        this.shadowPercent = Math.max(0, Math.min(100, percent));
+
+        if (!reload(reason)) {
+            this.shadowPercent = previousPercent;
+            return false;
+        }
+        return true;
+    }
+
+    public synchronized Integer getShadowPercent() {
+        return shadowPercent;
+    }
+
+    /**
+     * 드레인이 끝난 서버를 upstream에서 제거 - 가중치가 0(down)인 서버만 제거
+     */
+    public synchronized boolean removeServers(Collection<String> addresses, String reason) {
+        Map<String, UpstreamServer> previousServers = new LinkedHashMap<>(upstreamServers);
+        Set<String> previousRemoved = new LinkedHashSet<>(removedServers);
+
+        for (String address : addresses) {
+            UpstreamServer server = upstreamServers.get(address);
+            if (server == null || server.getWeight() > 0) {
+                logger.warn("Skipping removal of upstream server {} - not drained", address);
+                continue;
+            }
+            removedServers.add(address);
+            upstreamServers.remove(address);
+        }
+        if (previousServers.size() == upstreamServers.size()) {
+            return false;
+        }
+
+        if (!reload(reason)) {
+            removedServers.clear();
+            removedServers.addAll(previousRemoved);
+            upstreamServers.clear();
+            upstreamServers.putAll(previousServers);
+            return false;
+        }
+        return true;
+    }
+
+    public synchronized Set<String> getRemovedServers() {
+        return new LinkedHashSet<>(removedServers);
+    }
+
+    public synchronized Map<String, Double> getEjectedServers() {
+        return new LinkedHashMap<>(ejectedServers);
+    }
+
+    public synchronized List<UpstreamServer> getUpstreamServers() {
+        return new ArrayList<>(upstreamServers.values());
+    }
+
+    /**
+     * 그룹에 설정된 전체 서버 주소 (드레인으로 제거된 서버 포함)
+     */
+    public List<String> getConfiguredServers(String group) {
+        return "refactored".equals(group) ? List.copyOf(refactoredServers) : List.copyOf(legacyServers);
+    }
+
+    public synchronized Integer getGroupWeight(String group) {
+        return "refactored".equals(group) ? refactoredWeight : legacyWeight;
+    }
+
+    private void restoreEjection(String address, Double previousFactor) {
+        if (previousFactor == null) {
+            ejectedServers.remove(address);
+        } else {
+            ejectedServers.put(address, previousFactor);
+        }
+    }
+
+    private Integer ejectedWeight(String group, double weightFactor) {
+        int groupWeight = getGroupWeight(group);
+        if (weightFactor <= 0 || groupWeight <= 0) {
+            return 0;
+        }
+        return Math.max(1, (int) Math.round(groupWeight * weightFactor));
+    }
+
+    private void resetServerWeights() {
+        upstreamServers.clear();
+        if (legacyWeight > 0) {
+            removedServers.removeAll(legacyServers);
+        }
+        if (refactoredWeight > 0) {
+            removedServers.removeAll(refactoredServers);
+        }
+        for (String address : legacyServers) {
+            if (!removedServers.contains(address)) {
+                upstreamServers.put(address, new UpstreamServer(address, "legacy", legacyWeight));
+            }
+        }
+        for (String address : refactoredServers) {
+            if (!removedServers.contains(address)) {
+                upstreamServers.put(address, new UpstreamServer(address, "refactored", refactoredWeight));
+            }
+        }
+        for (Map.Entry<String, Double> entry : ejectedServers.entrySet()) {
+            UpstreamServer server = upstreamServers.get(entry.getKey());
+            if (server != null) {
+                upstreamServers.put(entry.getKey(),
+                                    server.withWeight(ejectedWeight(server.getGroup(), entry.getValue())));
+            }
+        }
+    }
+
+    private String renderUpstreamServers() {
+        return upstreamServers.values().stream()
+                .map(UpstreamServer::toDirective)
+                .collect(Collectors.joining("\n    "));
+    }
+
+    /**
+     * 섀도 upstream과 샘플링 변수 (http 컨텍스트)
+     * 미러 서브요청은 메인 요청과 변수를 공유하므로 $request_id 기준으로 샘플링
+     */
+    private String renderShadowHttp() {
+        if (shadowPercent <= 0) {
+            return "";
+        }
+        String servers = refactoredServers.stream()
+                .map(address -> "    server " + address + ";")
+                .collect(Collectors.joining("\n"));
+        return "upstream refactored_shadow {\n" + servers + "\n    keepalive 16;\n}\n"
+                + "split_clients \"$request_id\" $shadow_sample {\n    " + shadowPercent + "% 1;\n    * 0;\n}\n"
+                + "map \"$shadow_sample:$request_method\" $shadow_target {\n"
+                + "    ~^1:(" + String.join("|", shadowMethods) + ")$ 1;\n    default 0;\n}";
+    }
+
+    private String renderShadowMirror() {
+        if (shadowPercent <= 0) {
+            return "";
+        }
+        return "mirror /__shadow;\n        mirror_request_body off;";
+    }
+
+    private String renderShadowLocation() {
+        if (shadowPercent <= 0) {
+            return "";
+        }
+        return "location = /__shadow {\n"
+                + "        internal;\n"
+                + "        access_log off;\n"
+                + "        if ($shadow_target = 0) {\n            return 204;\n        }\n"
+                + "        proxy_pass http://refactored_shadow$request_uri;\n"
+                + "        proxy_http_version 1.1;\n"
+                + "        proxy_set_header Connection \"\";\n"
+                + "        proxy_set_header Host $host;\n"
+                + "        proxy_set_header X-Request-ID $request_id;\n"
+                + "        proxy_set_header " + ShadowRequest.HEADER + " \"" + shadowRequestSecret + "\";\n"
+                + "        proxy_set_header X-Warmup \"\";\n"
+                + "        proxy_pass_request_body off;\n"
+                + "        proxy_set_header Content-Length \"\";\n"
+                + "        proxy_connect_timeout 1s;\n"
+                + "        proxy_read_timeout 5s;\n"
+                + "    }";
+    }
+
+    private boolean reload(String reason) {
+        var record = reloadMonitor.begin(reason, legacyWeight, refactoredWeight, renderUpstreamServers());
+        long startTime = System.nanoTime();
+        boolean success = executeReload();
+        reloadMonitor.complete(record, success, System.nanoTime() - startTime);
+        return success;
+    }
+
+    private boolean executeReload() {
         try {
             // Docker exec 명령을 통해 NGINX 설정 업데이트
+            // 서버별 server 지시어는 UPSTREAM_SERVERS 환경변수로 템플릿에 전달
             String[] command = {
-                "docker", "exec", nginxContainerName, 
-                reloadScript, 
-                legacyWeight.toString(), 
-                refactoredWeight.toString(), 
+                "docker", "exec",
+                "-e", "UPSTREAM_SERVERS=" + renderUpstreamServers(),
+                "-e", "SHADOW_HTTP=" + renderShadowHttp(),
+                "-e", "SHADOW_MIRROR=" + renderShadowMirror(),
+                "-e", "SHADOW_LOCATION=" + renderShadowLocation(),
+                nginxContainerName,
+                reloadScript,
+                legacyWeight.toString(),
+                refactoredWeight.toString(),
                 refactoredWeight.toString()
             };
-            
+
             logger.info("Executing NGINX reload command: {}", String.join(" ", command));
-            
+
             ProcessBuilder processBuilder = new ProcessBuilder(command);
             processBuilder.redirectErrorStream(true);
-            
+
             Process process = processBuilder.start();
             boolean finished = process.waitFor(30, TimeUnit.SECONDS);
-            
+
             if (!finished) {
                 process.destroyForcibly();
                 logger.error("NGINX reload command timed out");
                 return false;
             }
-            
+
             int exitCode = process.exitValue();
             if (exitCode == 0) {
                 logger.info("NGINX configuration updated successfully");
@@ -52,7 +373,7 @@ public class NginxConfigService {
                 logger.error("NGINX reload command failed with exit code: {}", exitCode);
                 return false;
             }
-            
+
         } catch (IOException e) {
             logger.error("Failed to execute NGINX reload command", e);
             return false;
@@ -63,4 +384,4 @@ public class NginxConfigService {
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,432 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NGINX reload 비용 측정 서비스
+ * reload 한 번마다 새 설정 적용 시간, 이전 워커 드레인 시간,
+ * reload 전후 5xx/502 수와 p99 변화, 커넥션 리셋 수를 기록하고 원인이 된 가중치 변경과 연결
+ */
+@Service
+public class NginxReloadMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(NginxReloadMonitor.class);
+    private static final int MAX_RECORDS = 50;
+    private static final DateTimeFormatter ERROR_LOG_TIME = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+
+    @Value("${nginx.container.name:nginx-lb}")
+    private String nginxContainerName;
+
+    @Value("${nginx.reload.poll-interval-ms:100}")
+    private Long pollIntervalMs;
+
+    @Value("${nginx.reload.drain-timeout-seconds:60}")
+    private Long drainTimeoutSeconds;
+
+    @Value("${nginx.reload.observation-seconds:15}")
+    private Long observationSeconds;
+
+    @Value("${nginx.reload.log-tail-lines:50000}")
+    private Integer logTailLines;
+
+    @Value("${nginx.reload.log-zone:UTC}")
+    private String logZone;
+
+    // 워커 추적(최대 drain-timeout 동안 실행)과 영향 분석이 서로 막지 않도록 2개 스레드 사용
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, r -> {
+        Thread thread = new Thread(r, "nginx-reload-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Deque<ReloadRecord> records = new ArrayDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final Timer commandTimer;
+    private final Timer activationTimer;
+    private final Timer drainTimer;
+    private final DistributionSummary errors5xxSummary;
+    private final DistributionSummary errors502Summary;
+    private final Counter connectionResetCounter;
+    private volatile double lastP99ShiftSeconds = Double.NaN;
+
+    public NginxReloadMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.commandTimer = Timer.builder("nginx_reload_command_seconds")
+                .description("Time from reload request until the reload script exits")
+                .register(meterRegistry);
+        this.activationTimer = Timer.builder("nginx_reload_activation_seconds")
+                .description("Time from reload request until new workers are serving")
+                .register(meterRegistry);
+        this.drainTimer = Timer.builder("nginx_reload_drain_seconds")
+                .description("Time until all workers of the previous configuration exited")
+                .register(meterRegistry);
+        this.errors5xxSummary = DistributionSummary.builder("nginx_reload_5xx_requests")
+                .description("5xx responses in the observation window after a reload")
+                .register(meterRegistry);
+        this.errors502Summary = DistributionSummary.builder("nginx_reload_502_requests")
+                .description("502 responses in the observation window after a reload")
+                .register(meterRegistry);
+        this.connectionResetCounter = Counter.builder("nginx_reload_connection_resets_total")
+                .description("Upstream connection resets logged in the observation window after reloads")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("nginx_reload_last_p99_shift_seconds", this, m -> m.lastP99ShiftSeconds)
+                .description("p99 request time after minus before the most recent reload")
+                .register(meterRegistry);
+    }
+
+    /**
+     * reload 직전 호출 - 현재 워커 PID를 기억해 두고 기록을 생성
+     */
+    public ReloadRecord begin(String reason, Integer legacyWeight, Integer refactoredWeight, String servers) {
+        ReloadRecord record = new ReloadRecord(
+            "reload-" + sequence.incrementAndGet(), reason, legacyWeight, refactoredWeight, servers,
+            Instant.now(), findWorkerPids(false)
+        );
+        synchronized (records) {
+            records.addFirst(record);
+            while (records.size() > MAX_RECORDS) {
+                records.removeLast();
+            }
+        }
+        return record;
+    }
+
+    /**
+     * reload 스크립트 종료 후 호출 - 성공 시 워커 교체/드레인 추적과 영향 분석을 예약
+     */
+    public void complete(ReloadRecord record, boolean success, long commandNanos) {
+        record.commandMillis = TimeUnit.NANOSECONDS.toMillis(commandNanos);
+        record.success = success;
+        commandTimer.record(commandNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("nginx_reload_total")
+                .description("Number of NGINX reloads by result")
+                .tag("result", success ? "success" : "failure")
+                .register(meterRegistry)
+                .increment();
+
+        if (!success) {
+            return;
+        }
+        executor.execute(() -> trackWorkers(record));
+        executor.schedule(() -> analyzeImpact(record), observationSeconds + 1, TimeUnit.SECONDS);
+    }
+
+    public List<ReloadRecord> getRecentReloads() {
+        synchronized (records) {
+            return new ArrayList<>(records);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 새 워커가 뜰 때까지(적용) / 이전 워커가 모두 종료될 때까지(드레인) 폴링
+     */
+    private void trackWorkers(ReloadRecord record) {
+        Instant deadline = record.requestedAt.plusSeconds(drainTimeoutSeconds);
+        try {
+            while (Instant.now().isBefore(deadline)) {
+                Set<Integer> current = findWorkerPids(true);
+                long elapsed = Instant.now().toEpochMilli() - record.requestedAt.toEpochMilli();
+
+                if (record.activationMillis == null && findNewWorker(current, record.previousWorkerPids)) {
+                    record.activationMillis = elapsed;
+                    activationTimer.record(elapsed, TimeUnit.MILLISECONDS);
+                }
+                if (record.activationMillis != null && Collections.disjoint(current, record.previousWorkerPids)) {
+                    record.drainMillis = elapsed;
+                    drainTimer.record(elapsed, TimeUnit.MILLISECONDS);
+                    logger.info("NGINX {} ({}) active after {}ms, old workers drained after {}ms",
+                               record.id, record.reason, record.activationMillis, record.drainMillis);
+                    return;
+                }
+                Thread.sleep(pollIntervalMs);
+            }
+            record.drainTimedOut = true;
+            logger.warn("NGINX {} ({}) old workers still draining after {}s",
+                       record.id, record.reason, drainTimeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Failed to track NGINX workers for {}", record.id, e);
+        }
+    }
+
+    private boolean findNewWorker(Set<Integer> current, Set<Integer> previous) {
+        for (Integer pid : current) {
+            if (!previous.contains(pid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * reload 전후 같은 길이의 구간에서 5xx/502 수, p99 요청 시간, 커넥션 리셋 수 비교
+     */
+    private void analyzeImpact(ReloadRecord record) {
+        try {
+            Instant reloadAt = record.requestedAt;
+            Instant windowStart = reloadAt.minusSeconds(observationSeconds);
+            Instant windowEnd = reloadAt.plusSeconds(observationSeconds);
+
+            List<Double> before = new ArrayList<>();
+            List<Double> after = new ArrayList<>();
+            int errors5xxBefore = 0;
+            int errors5xxAfter = 0;
+            int errors502After = 0;
+
+            for (String line : execInNginx("tail -n " + logTailLines + " /var/log/nginx/routing.log")) {
+                String[] fields = line.split("\\|");
+                if (fields.length < 2) {
+                    continue;
+                }
+                Instant time;
+                try {
+                    time = OffsetDateTime.parse(fields[0]).toInstant();
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (time.isBefore(windowStart) || !time.isBefore(windowEnd)) {
+                    continue;
+                }
+                int status = parseIntField(fields, "status=");
+                double requestTime = parseDoubleField(fields, "request_time=");
+                boolean afterReload = !time.isBefore(reloadAt);
+
+                (afterReload ? after : before).add(requestTime);
+                if (status >= 500) {
+                    if (afterReload) {
+                        errors5xxAfter++;
+                    } else {
+                        errors5xxBefore++;
+                    }
+                }
+                if (status == 502 && afterReload) {
+                    errors502After++;
+                }
+            }
+
+            int resets = 0;
+            ZoneId zone = ZoneId.of(logZone);
+            for (String line : execInNginx("tail -n " + logTailLines + " /var/log/nginx/error.log")) {
+                if (line.length() < 19
+                        || !(line.contains("reset by peer") || line.contains("prematurely closed"))) {
+                    continue;
+                }
+                Instant time;
+                try {
+                    time = LocalDateTime.parse(line.substring(0, 19), ERROR_LOG_TIME).atZone(zone).toInstant();
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (!time.isBefore(reloadAt) && time.isBefore(windowEnd)) {
+                    resets++;
+                }
+            }
+
+            record.errors5xxBefore = errors5xxBefore;
+            record.errors5xxAfter = errors5xxAfter;
+            record.errors502After = errors502After;
+            record.p99BeforeSeconds = percentile(before, 0.99);
+            record.p99AfterSeconds = percentile(after, 0.99);
+            record.connectionResets = resets;
+
+            errors5xxSummary.record(errors5xxAfter);
+            errors502Summary.record(errors502After);
+            connectionResetCounter.increment(resets);
+            if (record.p99BeforeSeconds != null && record.p99AfterSeconds != null) {
+                lastP99ShiftSeconds = record.p99AfterSeconds - record.p99BeforeSeconds;
+            }
+
+            logger.info("NGINX {} ({}) impact: 5xx {} -> {}, 502 after {}, p99 {}s -> {}s, resets {}",
+                       record.id, record.reason, errors5xxBefore, errors5xxAfter, errors502After,
+                       record.p99BeforeSeconds, record.p99AfterSeconds, resets);
+        } catch (Exception e) {
+            logger.error("Failed to analyze impact of NGINX {}", record.id, e);
+        }
+    }
+
+    private int parseIntField(String[] fields, String prefix) {
+        double value = parseDoubleField(fields, prefix);
+        return Double.isNaN(value) ? 0 : (int) value;
+    }
+
+    private double parseDoubleField(String[] fields, String prefix) {
+        for (String field : fields) {
+            if (field.startsWith(prefix)) {
+                try {
+                    return Double.parseDouble(field.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    return Double.NaN;
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    private Double percentile(List<Double> values, double quantile) {
+        List<Double> valid = new ArrayList<>();
+        for (Double value : values) {
+            if (!value.isNaN()) {
+                valid.add(value);
+            }
+        }
+        if (valid.isEmpty()) {
+            return null;
+        }
+        Collections.sort(valid);
+        int index = (int) Math.ceil(quantile * valid.size()) - 1;
+        return valid.get(Math.max(0, Math.min(valid.size() - 1, index)));
+    }
+
+    /**
+     * NGINX 워커 PID 조회 (includeShuttingDown=false면 현재 설정의 워커만)
+     */
+    private Set<Integer> findWorkerPids(boolean includeShuttingDown) {
+        Set<Integer> pids = new HashSet<>();
+        for (String line : execInNginx("ps -o pid,args")) {
+            String trimmed = line.trim();
+            if (!trimmed.contains("nginx: worker process")) {
+                continue;
+            }
+            if (!includeShuttingDown && trimmed.contains("shutting down")) {
+                continue;
+            }
+            try {
+                pids.add(Integer.parseInt(trimmed.split("\\s+")[0]));
+            } catch (NumberFormatException e) {
+                // 헤더 등 PID가 아닌 줄은 무시
+            }
+        }
+        return pids;
+    }
+
+    private List<String> execInNginx(String shellCommand) {
+        Path output = null;
+        try {
+            // 출력을 파일로 받아야 명령이 멈춰도 waitFor 시간 제한이 적용됨 (파이프를 EOF까지 읽으면 그 전에 막힘)
+            output = Files.createTempFile("nginx-exec", ".log");
+            ProcessBuilder processBuilder = new ProcessBuilder(
+                "docker", "exec", nginxContainerName, "sh", "-c", shellCommand);
+            processBuilder.redirectErrorStream(true);
+            processBuilder.redirectOutput(output.toFile());
+            Process process = processBuilder.start();
+
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                logger.debug("Command in NGINX container timed out: {}", shellCommand);
+                return List.of();
+            }
+            return Files.readAllLines(output, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.debug("Failed to execute command in NGINX container: {}", shellCommand, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException e) {
+                    logger.debug("Failed to delete {}", output, e);
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * reload 한 번의 측정 기록
+     */
+    public static class ReloadRecord {
+        private final String id;
+        private final String reason;
+        private final Integer legacyWeight;
+        private final Integer refactoredWeight;
+        private final String servers;
+        private final Instant requestedAt;
+        private final Set<Integer> previousWorkerPids;
+
+        private volatile Boolean success;
+        private volatile Long commandMillis;
+        private volatile Long activationMillis;
+        private volatile Long drainMillis;
+        private volatile boolean drainTimedOut;
+        private volatile Integer errors5xxBefore;
+        private volatile Integer errors5xxAfter;
+        private volatile Integer errors502After;
+        private volatile Double p99BeforeSeconds;
+        private volatile Double p99AfterSeconds;
+        private volatile Integer connectionResets;
+
+        ReloadRecord(String id, String reason, Integer legacyWeight, Integer refactoredWeight,
+                     String servers, Instant requestedAt, Set<Integer> previousWorkerPids) {
+            this.id = id;
+            this.reason = reason;
+            this.legacyWeight = legacyWeight;
+            this.refactoredWeight = refactoredWeight;
+            this.servers = servers;
+            this.requestedAt = requestedAt;
+            this.previousWorkerPids = previousWorkerPids;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public String getReason() { return reason; }
+        public Integer getLegacyWeight() { return legacyWeight; }
+        public Integer getRefactoredWeight() { return refactoredWeight; }
+        public String getServers() { return servers; }
+        public Instant getRequestedAt() { return requestedAt; }
+        public Boolean getSuccess() { return success; }
+        public Long getCommandMillis() { return commandMillis; }
+        public Long getActivationMillis() { return activationMillis; }
+        public Long getDrainMillis() { return drainMillis; }
+        public boolean isDrainTimedOut() { return drainTimedOut; }
+        public Integer getErrors5xxBefore() { return errors5xxBefore; }
+        public Integer getErrors5xxAfter() { return errors5xxAfter; }
+        public Integer getErrors502After() { return errors502After; }
+        public Double getP99BeforeSeconds() { return p99BeforeSeconds; }
+        public Double getP99AfterSeconds() { return p99AfterSeconds; }
+        public Integer getConnectionResets() { return connectionResets; }
+    }
+}
@@ -0,0 +1,115 @@
+package junghun.studycicd.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prometheus HTTP API 클라이언트
+ * 레이블별 결과(instant vector)가 필요한 서비스들이 공통으로 사용
+ */
+@Component
+public class PrometheusQueryClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusQueryClient.class);
+
+    @Value("${prometheus.url:http://prometheus:9090}")
+    private String prometheusUrl;
+
+    private final WebClient webClient;
+
+    public PrometheusQueryClient() {
+        WebClient client;
+        try {
+            client = WebClient.builder()
+                    .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                    .build();
+        } catch (Exception e) {
+            logger.warn("Failed to initialize WebClient, creating default client", e);
+            client = WebClient.create();
+        }
+        this.webClient = client;
+    }
+
+    /**
+     * 단일 값 쿼리 (첫 번째 시계열의 값)
+     */
+    public Double queryScalar(String query) {
+        Map<String, Double> result = queryByLabel(query, null);
+        return result.isEmpty() ? null : result.values().iterator().next();
+    }
+
+    /**
+     * 레이블 값별 결과 조회 (예: sum by (version) (...))
+     * label이 null이면 시계열 순서대로 인덱스를 키로 사용
+     */
+    public Map<String, Double> queryByLabel(String query, String label) {
+        try {
+            // PromQL의 중괄호가 URI 템플릿 변수로 해석되지 않도록 쿼리를 변수로 전달
+            QueryResponse response = webClient.get()
+                    .uri(prometheusUrl + "/api/v1/query?query={query}", query)
+                    .retrieve()
+                    .bodyToMono(QueryResponse.class)
+                    .timeout(Duration.ofSeconds(10))
+                    .block();
+
+            if (response == null || !"success".equals(response.status())
+                    || response.data() == null || response.data().result() == null) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, Double> values = new LinkedHashMap<>();
+            List<Series> results = response.data().result();
+            for (int i = 0; i < results.size(); i++) {
+                Series series = results.get(i);
+                List<Object> value = series.value();
+                if (value == null || value.size() < 2) {
+                    continue;
+                }
+                String valueStr = value.get(1).toString();
+                if ("NaN".equals(valueStr)) {
+                    continue;
+                }
+
+                String key = String.valueOf(i);
+                if (label != null) {
+                    String labelValue = series.metric() != null ? series.metric().get(label) : null;
+                    if (labelValue == null) {
+                        continue;
+                    }
+                    key = labelValue;
+                }
+                values.put(key, Double.parseDouble(valueStr));
+            }
+            return values;
+
+        } catch (Exception e) {
+            logger.debug("Failed to execute Prometheus query: {}", query, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * /api/v1/query 응답 (instant vector) - value는 [시각, "값"]
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record QueryResponse(String status, QueryData data) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record QueryData(List<Series> result) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Series(Map<String, String> metric, List<Object> value) {
+    }
+}
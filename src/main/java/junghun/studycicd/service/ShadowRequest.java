@@ -0,0 +1,99 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 섀도(미러링) 요청 식별
+ * NGINX mirror가 보낸 요청은 X-Shadow-Request 헤더를 가지며, 응답은 버려지므로 SLI/비즈니스 메트릭에서 제외하고
+ * 섀도 비교용 shadow_requests_seconds에만 기록 (일반 요청의 헤더는 NGINX가 지워서 전달)
+ *
+ * 헤더 값이 shadow.request-secret과 같을 때만 인정 - NGINX를 거치지 않고 인스턴스에 직접 보낸 요청이
+ * 헤더를 붙여 SLI에서 빠지지 못하게 (비어 있으면 섀도 요청으로 인정하지 않음)
+ */
+@Component
+public class ShadowRequest {
+
+    public static final String HEADER = "X-Shadow-Request";
+    public static final String METRIC = "shadow_requests_seconds";
+
+    // 판정 결과를 요청 속성에 캐시 (인터셉터/컨트롤러에서 여러 번 확인)
+    private static final String ATTRIBUTE = ShadowRequest.class.getName() + ".SHADOW";
+
+    private final MeterRegistry meterRegistry;
+    private final byte[] secret;
+    // method + status -> 타이머 (요청마다 등록하지 않음)
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ShadowRequest(MeterRegistry meterRegistry, @Value("${shadow.request-secret:}") String secret) {
+        // NGINX 설정의 따옴표 안에 그대로 들어가므로 안전한 문자만 허용
+        if (!secret.matches("[A-Za-z0-9._~-]*")) {
+            throw new IllegalArgumentException("shadow.request-secret may only contain letters, digits and ._~-");
+        }
+        this.meterRegistry = meterRegistry;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean isShadow(HttpServletRequest request) {
+        if (request == null) {
+            return false;
+        }
+        if (request.getAttribute(ATTRIBUTE) instanceof Boolean cached) {
+            return cached;
+        }
+        boolean shadow = matches(request.getHeader(HEADER));
+        request.setAttribute(ATTRIBUTE, shadow);
+        return shadow;
+    }
+
+    public boolean isShadow(ServerHttpRequest request) {
+        return request != null && matches(request.getHeaders().getFirst(HEADER));
+    }
+
+    /**
+     * 현재 스레드에서 처리 중인 요청이 섀도 요청인지 확인
+     */
+    public boolean isCurrent() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return isShadow(attributes.getRequest());
+        }
+        return false;
+    }
+
+    /**
+     * 섀도 요청 처리 시간 기록 (http_server_requests 대신)
+     */
+    public void record(String method, int status, long durationNanos) {
+        timers.computeIfAbsent(method + " " + status, key -> Timer.builder(METRIC)
+                        .description("Processing time of mirrored shadow requests")
+                        .tag("method", method)
+                        .tag("status", String.valueOf(status))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * NGINX 섀도 location이 붙일 헤더 값을 설정했는지
+     */
+    public boolean isConfigured() {
+        return secret.length > 0;
+    }
+
+    private boolean matches(String value) {
+        return value != null && secret.length > 0
+                && MessageDigest.isEqual(secret, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,221 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 섀도 트래픽 서비스
+ * 레거시로 가는 실제 요청 일부를 리팩토링 upstream으로 미러링(응답은 버림)하고
+ * 두 버전의 지연 분포(p50/p90/p95/p99)와 에러율을 비교해 1단계 전에 성능 회귀를 찾음
+ */
+@Service
+public class ShadowTrafficService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShadowTrafficService.class);
+    private static final List<Double> QUANTILES = List.of(0.5, 0.9, 0.95, 0.99);
+
+    private final NginxConfigService nginxConfigService;
+    private final PrometheusQueryClient prometheusQueryClient;
+    private final InstanceWarmupChecker instanceWarmupChecker;
+    private final ShadowRequest shadowRequest;
+
+    @Value("${shadow.percent:10}")
+    private Integer defaultPercent;
+
+    @Value("${shadow.methods:GET,HEAD}")
+    private List<String> methods;
+
+    @Value("${shadow.window:5m}")
+    private String window;
+
+    @Value("${shadow.min-samples:500}")
+    private Integer minSamples;
+
+    // 리팩토링 분위수 <= 레거시 분위수 * ratio + margin 이면 통과
+    @Value("${shadow.latency.ratio:1.2}")
+    private Double latencyRatio;
+
+    @Value("${shadow.latency.margin-seconds:0.05}")
+    private Double latencyMarginSeconds;
+
+    @Value("${shadow.error-rate.margin-percent:1.0}")
+    private Double errorRateMarginPercent;
+
+    private volatile LocalDateTime startedAt;
+
+    public ShadowTrafficService(NginxConfigService nginxConfigService,
+                                PrometheusQueryClient prometheusQueryClient,
+                                InstanceWarmupChecker instanceWarmupChecker,
+                                ShadowRequest shadowRequest,
+                                MeterRegistry meterRegistry) {
+        this.nginxConfigService = nginxConfigService;
+        this.prometheusQueryClient = prometheusQueryClient;
+        this.instanceWarmupChecker = instanceWarmupChecker;
+        this.shadowRequest = shadowRequest;
+
+        Gauge.builder("shadow_mirror_percent", nginxConfigService, NginxConfigService::getShadowPercent)
+                .description("Share of eligible requests mirrored to the refactored upstream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 미러링 시작 - 섀도 요청 표시 값이 없거나 워밍업이 끝나지 않은 인스턴스가 있으면 시작하지 않음
+     */
+    public boolean startShadow(Integer percent) {
+        int target = percent != null ? percent : defaultPercent;
+        if (!shadowRequest.isConfigured()) {
+            // 표시 헤더를 인정받지 못하면 미러링한 요청이 리팩토링 버전의 실제 트래픽으로 집계됨
+            logger.warn("Shadow traffic not started - shadow.request-secret is not set");
+            return false;
+        }
+        List<String> coldInstances = instanceWarmupChecker.findColdInstances("refactored");
+        if (!coldInstances.isEmpty()) {
+            logger.warn("Shadow traffic not started - refactored instances not warm: {}", coldInstances);
+            return false;
+        }
+        if (!nginxConfigService.updateShadowMirror(target, "shadow-start " + target + "%")) {
+            return false;
+        }
+        startedAt = LocalDateTime.now();
+        logger.info("🪞 Shadow traffic started: mirroring {}% of {} requests to refactored", target, methods);
+        return true;
+    }
+
+    public boolean stopShadow() {
+        if (nginxConfigService.getShadowPercent() <= 0) {
+            return true;
+        }
+        if (!nginxConfigService.updateShadowMirror(0, "shadow-stop")) {
+            return false;
+        }
+        logger.info("🪞 Shadow traffic stopped");
+        startedAt = null;
+        return true;
+    }
+
+    public boolean isActive() {
+        return nginxConfigService.getShadowPercent() > 0;
+    }
+
+    /**
+     * 버전별 지연 분포와 에러율 비교 (미러링 대상 메서드의 요청만 집계)
+     * 레거시는 실제 요청(http_server_requests), 리팩토링은 미러링된 요청(shadow_requests_seconds) 기준
+     * - 섀도 요청은 SLI 메트릭에서 빠지므로 별도 타이머로 비교
+     */
+    public ShadowComparison compare() {
+        String methodFilter = String.format("method=~\"%s\"", String.join("|", methods));
+        VersionStats legacy = collectStats("legacy", "http_server_requests_seconds",
+                                           "uri!~\"/actuator.*|/api/drain.*\"," + methodFilter);
+        VersionStats refactored = collectStats("refactored", ShadowRequest.METRIC, methodFilter);
+
+        List<String> regressions = new ArrayList<>();
+        boolean sufficient = legacy.getSamples() >= minSamples && refactored.getSamples() >= minSamples;
+        if (sufficient) {
+            for (String name : legacy.getLatencySeconds().keySet()) {
+                Double legacyValue = legacy.getLatencySeconds().get(name);
+                Double refactoredValue = refactored.getLatencySeconds().get(name);
+                if (legacyValue != null && refactoredValue != null
+                        && refactoredValue > legacyValue * latencyRatio + latencyMarginSeconds) {
+                    regressions.add(String.format("%s %.3fs vs %.3fs", name, refactoredValue, legacyValue));
+                }
+            }
+            if (refactored.getErrorRatePercent() > legacy.getErrorRatePercent() + errorRateMarginPercent) {
+                regressions.add(String.format("errorRate %.2f%% vs %.2f%%",
+                                              refactored.getErrorRatePercent(), legacy.getErrorRatePercent()));
+            }
+        }
+
+        return new ShadowComparison(nginxConfigService.getShadowPercent(), startedAt, legacy, refactored,
+                                    sufficient, sufficient && regressions.isEmpty(), regressions,
+                                    LocalDateTime.now());
+    }
+
+    private VersionStats collectStats(String version, String metric, String filter) {
+        String versionFilter = filter + ",version=\"" + version + "\"";
+        double samples = prometheusQueryClient.queryByLabel(String.format(
+            "sum by (version) (increase(%s_count{%s}[%s]))", metric, versionFilter, window), "version")
+            .getOrDefault(version, 0.0);
+        double errors = prometheusQueryClient.queryByLabel(String.format(
+            "sum by (version) (increase(%s_count{%s,status=~\"5..\"}[%s]))", metric, versionFilter, window), "version")
+            .getOrDefault(version, 0.0);
+
+        Map<String, Double> latency = new LinkedHashMap<>();
+        for (Double quantile : QUANTILES) {
+            Double value = prometheusQueryClient.queryByLabel(String.format(
+                "histogram_quantile(%s, sum by (version, le) (rate(%s_bucket{%s}[%s])))",
+                quantile, metric, versionFilter, window), "version").get(version);
+            if (value != null) {
+                latency.put("p" + Math.round(quantile * 100), value);
+            }
+        }
+        double errorRatePercent = samples > 0 ? errors / samples * 100 : 0.0;
+        return new VersionStats((long) samples, errorRatePercent, latency);
+    }
+
+    /**
+     * 버전별 통계
+     */
+    public static class VersionStats {
+        private final Long samples;
+        private final Double errorRatePercent;
+        private final Map<String, Double> latencySeconds;
+
+        public VersionStats(Long samples, Double errorRatePercent, Map<String, Double> latencySeconds) {
+            this.samples = samples;
+            this.errorRatePercent = errorRatePercent;
+            this.latencySeconds = latencySeconds;
+        }
+
+        // Getters
+        public Long getSamples() { return samples; }
+        public Double getErrorRatePercent() { return errorRatePercent; }
+        public Map<String, Double> getLatencySeconds() { return latencySeconds; }
+    }
+
+    /**
+     * 섀도 비교 결과
+     */
+    public static class ShadowComparison {
+        private final Integer mirrorPercent;
+        private final LocalDateTime startedAt;
+        private final VersionStats legacy;
+        private final VersionStats refactored;
+        private final Boolean sufficientSamples;
+        private final Boolean passed;
+        private final List<String> regressions;
+        private final LocalDateTime comparedAt;
+
+        public ShadowComparison(Integer mirrorPercent, LocalDateTime startedAt, VersionStats legacy,
+                                VersionStats refactored, Boolean sufficientSamples, Boolean passed,
+                                List<String> regressions, LocalDateTime comparedAt) {
+            this.mirrorPercent = mirrorPercent;
+            this.startedAt = startedAt;
+            this.legacy = legacy;
+            this.refactored = refactored;
+            this.sufficientSamples = sufficientSamples;
+            this.passed = passed;
+            this.regressions = regressions;
+            this.comparedAt = comparedAt;
+        }
+
+        // Getters
+        public Integer getMirrorPercent() { return mirrorPercent; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public VersionStats getLegacy() { return legacy; }
+        public VersionStats getRefactored() { return refactored; }
+        public Boolean getSufficientSamples() { return sufficientSamples; }
+        public Boolean getPassed() { return passed; }
+        public List<String> getRegressions() { return regressions; }
+        public LocalDateTime getComparedAt() { return comparedAt; }
+    }
+}
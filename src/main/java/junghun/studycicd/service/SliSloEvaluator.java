@@ -1,5 +1,8 @@
 package junghun.studycicd.service;
 
+import junghun.studycicd.baseline.SloBaselineLearner;
+import junghun.studycicd.config.RolloutConfigSource;
+import junghun.studycicd.history.SliHistoryStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,29 +21,28 @@ import java.util.Map;
 public class SliSloEvaluator {
     
     private static final Logger logger = LoggerFactory.getLogger(SliSloEvaluator.class);
+    private static final String DEFAULT_TIME_RANGE = "2m";
     
     @Value("${prometheus.url:http://prometheus:9090}")
     private String prometheusUrl;
     
-    // SLO 임계값 설정 (실무에서는 환경별로 다르게 설정)
-    @Value("${slo.error-rate.threshold:2.0}")
-    private Double errorRateThreshold;
-    
-    @Value("${slo.response-time.p95.threshold:1.0}")
-    private Double responseTimeP95Threshold;
-    
-    @Value("${slo.response-time.p99.threshold:2.0}")
-    private Double responseTimeP99Threshold;
-    
-    @Value("${slo.availability.threshold:99.9}")
-    private Double availabilityThreshold;
-    
-    @Value("${slo.throughput.min-rps:1.0}")
-    private Double minThroughputRps;
+    // SLO 임계값은 재시작 없이 바뀔 수 있으므로 평가마다 스냅샷을 한 번 읽어 사용
+    private final RolloutConfigSource rolloutConfigSource;
+    private final SliHistoryStore sliHistoryStore;
+    // 현재 시간대의 레거시 기준선으로 고정 임계값을 보정
+    private final SloBaselineLearner sloBaselineLearner;
     
     private final WebClient webClient;
     
-    public SliSloEvaluator() {
+    // 기본 구간(2m) 최신 평가 결과 - 대시보드 스트림이 추가 쿼리 없이 재사용
+    private volatile SliSloResult lastResult;
+    private volatile long lastResultAt;
+    
+    public SliSloEvaluator(RolloutConfigSource rolloutConfigSource, SliHistoryStore sliHistoryStore,
+                           SloBaselineLearner sloBaselineLearner) {
+        this.rolloutConfigSource = rolloutConfigSource;
+        this.sliHistoryStore = sliHistoryStore;
+        this.sloBaselineLearner = sloBaselineLearner;
         WebClient client;
         try {
             client = WebClient.builder()
@@ -53,19 +55,31 @@ public class SliSloEvaluator {
         this.webClient = client;
     }
     
+    /**
+     * 기본 구간의 가장 최근 평가 결과 (아직 없으면 null)
+     */
+    public SliSloResult getLastResult() {
+        return lastResult;
+    }
+    
+    public long getLastResultAt() {
+        return lastResultAt;
+    }
+    
     /**
      * 현재 상태의 SLI/SLO 평가
      */
     public SliSloResult evaluateCurrentState() {
-        return evaluateCurrentState("2m");
+        return evaluateCurrentState(DEFAULT_TIME_RANGE);
     }
     
     /**
      * 지정된 시간 범위에서 SLI/SLO 평가
      */
     public SliSloResult evaluateCurrentState(String timeRange) {
+        SloBaselineLearner.SloGates gates = sloBaselineLearner.gatesFor(rolloutConfigSource.current());
         try {
-            logger.debug("Evaluating SLI/SLO for time range: {}", timeRange);
+            logger.debug("Evaluating SLI/SLO for time range: {} (gates: {})", timeRange, gates.getSources());
             
             // 현재 메트릭 수집
             Double errorRate = getErrorRatePercent(timeRange);
@@ -81,22 +95,30 @@ public class SliSloEvaluator {
             
             // SLO 준수 여부 평가
             boolean sloCompliant = evaluateSloCompliance(
-                errorRate, responseTimeP95, responseTimeP99, availability, throughput
+                gates, errorRate, responseTimeP95, responseTimeP99, availability, throughput
             );
             
             var result = new SliSloResult(
                 errorRate, responseTimeP95, responseTimeP99, availability, throughput,
                 canaryConversionRate, canaryErrorRate, sampleSize, sloCompliant,
-                errorRateThreshold, responseTimeP95Threshold, responseTimeP99Threshold,
-                availabilityThreshold, minThroughputRps
+                gates.getErrorRateThreshold(), gates.getResponseTimeP95Threshold(),
+                gates.getResponseTimeP99Threshold(), gates.getAvailabilityThreshold(),
+                gates.getMinThroughputRps()
             );
             
             logger.debug("SLI/SLO evaluation result: {}", result);
+            // 이력은 기본 구간 평가만 기록 - /sli-slo/{timeRange} 조회처럼 구간이 다른 값이 섞이면 시계열이 의미를 잃음
+            // (실패 시의 failsafe 값도 실제 측정값이 아니므로 남기지 않음)
+            if (DEFAULT_TIME_RANGE.equals(timeRange)) {
+                sliHistoryStore.record(result);
+                lastResult = result;
+                lastResultAt = System.currentTimeMillis();
+            }
             return result;
             
         } catch (Exception e) {
             logger.error("Failed to evaluate SLI/SLO", e);
-            return createFailsafeResult();
+            return createFailsafeResult(gates);
         }
     }
     
@@ -190,9 +212,15 @@ public class SliSloEvaluator {
     /**
      * SLO 준수 여부 평가
      */
-    private boolean evaluateSloCompliance(Double errorRate, Double responseTimeP95, 
+    private boolean evaluateSloCompliance(SloBaselineLearner.SloGates gates, Double errorRate, Double responseTimeP95, 
                                          Double responseTimeP99, Double availability, 
                                          Double throughput) {
+        double errorRateThreshold = gates.getErrorRateThreshold();
+        double responseTimeP95Threshold = gates.getResponseTimeP95Threshold();
+        double responseTimeP99Threshold = gates.getResponseTimeP99Threshold();
+        double availabilityThreshold = gates.getAvailabilityThreshold();
+        double minThroughputRps = gates.getMinThroughputRps();
+        
         // 에러율 체크
         if (errorRate != null && errorRate > errorRateThreshold) {
             logger.warn("SLO violation: Error rate {:.2f}% exceeds threshold {:.2f}%", 
@@ -271,13 +299,14 @@ public class SliSloEvaluator {
     /**
      * 실패시 안전한 결과 반환
      */
-    private SliSloResult createFailsafeResult() {
+    private SliSloResult createFailsafeResult(SloBaselineLearner.SloGates gates) {
         logger.warn("Creating failsafe SLI/SLO result - considering deployment unsafe");
         return new SliSloResult(
             100.0, 10.0, 10.0, 0.0, 0.0, // 최악의 메트릭 값
             null, null, 0, false, // 비즈니스 메트릭과 SLO 실패
-            errorRateThreshold, responseTimeP95Threshold, responseTimeP99Threshold,
-            availabilityThreshold, minThroughputRps
+            gates.getErrorRateThreshold(), gates.getResponseTimeP95Threshold(),
+            gates.getResponseTimeP99Threshold(), gates.getAvailabilityThreshold(),
+            gates.getMinThroughputRps()
         );
     }
     
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class TrafficManagementService {
@@ -14,22 +15,34 @@ public class TrafficManagementService {
     private static final Logger logger = LoggerFactory.getLogger(TrafficManagementService.class);
     
     private final NginxConfigService nginxConfigService;
+    private final ConnectionDrainService connectionDrainService;
+    private final InstanceWarmupChecker instanceWarmupChecker;
+    private final DeploymentStateVersion stateVersion;
     
     private Integer currentLegacyWeight = 95;
     private Integer currentRefactoredWeight = 5;
     private LocalDateTime lastUpdated = LocalDateTime.now();
 
-    public TrafficManagementService(NginxConfigService nginxConfigService) {
+    public TrafficManagementService(NginxConfigService nginxConfigService,
+                                    ConnectionDrainService connectionDrainService,
+                                    InstanceWarmupChecker instanceWarmupChecker,
+                                    DeploymentStateVersion stateVersion) {
         this.nginxConfigService = nginxConfigService;
+        this.connectionDrainService = connectionDrainService;
+        this.instanceWarmupChecker = instanceWarmupChecker;
+        this.stateVersion = stateVersion;
     }
 
     public TrafficWeightResponse getCurrentWeights() {
-        return new TrafficWeightResponse(
+        TrafficWeightResponse response = new TrafficWeightResponse(
             currentLegacyWeight, 
             currentRefactoredWeight, 
             "SUCCESS", 
             "Current traffic weights retrieved successfully"
         );
+        // 조회 시각이 아닌 마지막 변경 시각 - 같은 상태 버전이면 본문도 같아야 ETag가 유효함
+        response.setLastUpdated(lastUpdated);
+        return response;
     }
 
     public TrafficWeightResponse updateWeights(Integer legacyWeight, Integer refactoredWeight) {
@@ -42,6 +55,20 @@ public class TrafficManagementService {
             );
         }
 
+        // 워밍업이 끝나지 않은 리팩토링 인스턴스로는 트래픽을 늘리지 않음
+        if (refactoredWeight > currentRefactoredWeight) {
+            List<String> coldInstances = instanceWarmupChecker.findColdInstances("refactored");
+            if (!coldInstances.isEmpty()) {
+                logger.warn("Refusing to shift traffic to refactored version - instances not warm: {}", coldInstances);
+                return new TrafficWeightResponse(
+                    currentLegacyWeight, 
+                    currentRefactoredWeight, 
+                    "ERROR", 
+                    "Refactored instances are not warmed up: " + coldInstances
+                );
+            }
+        }
+
         try {
             boolean success = nginxConfigService.updateNginxConfig(legacyWeight, refactoredWeight);
             
@@ -49,10 +76,19 @@ public class TrafficManagementService {
                 this.currentLegacyWeight = legacyWeight;
                 this.currentRefactoredWeight = refactoredWeight;
                 this.lastUpdated = LocalDateTime.now();
+                stateVersion.bump();
                 
                 logger.info("Traffic weights updated successfully: Legacy={}%, Refactored={}%", 
                            legacyWeight, refactoredWeight);
                 
+                // 가중치가 0이 된 그룹은 down 상태에서 처리 중 요청을 마친 뒤 upstream에서 제거
+                if (refactoredWeight == 0) {
+                    connectionDrainService.startDrain("refactored", "weights " + legacyWeight + "/" + refactoredWeight);
+                }
+                if (legacyWeight == 0) {
+                    connectionDrainService.startDrain("legacy", "weights " + legacyWeight + "/" + refactoredWeight);
+                }
+                
                 return new TrafficWeightResponse(
                     legacyWeight, 
                     refactoredWeight, 
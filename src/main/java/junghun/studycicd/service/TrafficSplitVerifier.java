@@ -0,0 +1,267 @@
+package junghun.studycicd.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실제 트래픽 분배 검증 서비스
+ * NGINX 가중치는 서버 단위이고 keepalive 때문에 분배가 어긋날 수 있으므로
+ * 버전/인스턴스별 실제 요청 수로 달성된 비율을 측정하고, 목표와 차이가 크면 서버별 가중치를 보정
+ */
+@Service
+public class TrafficSplitVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficSplitVerifier.class);
+
+    // 애플리케이션이 직접 기록한 요청 수 (Prometheus relabel로 version/instance 레이블 부여)
+    private static final String REQUEST_COUNT_QUERY =
+        "sum by (%s) (increase(http_server_requests_seconds_count{uri!~\"/actuator.*\"}[%s]))";
+
+    private final TrafficManagementService trafficManagementService;
+    private final NginxConfigService nginxConfigService;
+    private final PrometheusQueryClient prometheusQueryClient;
+    private final DeploymentStateVersion stateVersion;
+    private final MeterRegistry meterRegistry;
+    private final Counter correctionCounter;
+
+    @Value("${traffic-split.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${traffic-split.window:2m}")
+    private String window;
+
+    @Value("${traffic-split.settle-seconds:120}")
+    private Integer settleSeconds;
+
+    @Value("${traffic-split.min-samples:200}")
+    private Integer minSamples;
+
+    @Value("${traffic-split.tolerance-percent:2.0}")
+    private Double tolerancePercent;
+
+    @Value("${traffic-split.correction.enabled:true}")
+    private Boolean correctionEnabled;
+
+    @Value("${traffic-split.correction.max-factor:4.0}")
+    private Double maxCorrectionFactor;
+
+    private volatile SplitSample lastSample;
+    // 상태 응답에 노출된 값(목표/측정 비율, 0.1%p 단위) - 이 값이 바뀔 때만 상태 버전을 올림
+    private String publishedSplit;
+    private LocalDateTime lastCorrection;
+
+    public TrafficSplitVerifier(TrafficManagementService trafficManagementService,
+                                NginxConfigService nginxConfigService,
+                                PrometheusQueryClient prometheusQueryClient,
+                                DeploymentStateVersion stateVersion,
+                                MeterRegistry meterRegistry) {
+        this.trafficManagementService = trafficManagementService;
+        this.nginxConfigService = nginxConfigService;
+        this.prometheusQueryClient = prometheusQueryClient;
+        this.stateVersion = stateVersion;
+        this.meterRegistry = meterRegistry;
+
+        this.correctionCounter = Counter.builder("traffic_split_corrections_total")
+                .description("Number of per-server weight corrections applied")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("traffic_split_measured_refactored_percent", this,
+                      v -> v.lastSample != null ? v.lastSample.getMeasuredRefactoredPercent() : Double.NaN)
+                .description("Measured share of requests served by the refactored version")
+                .register(meterRegistry);
+
+        Gauge.builder("traffic_split_deviation_percent", this,
+                      v -> v.lastSample != null ? v.lastSample.getDeviationPercent() : Double.NaN)
+                .description("Measured minus target refactored share in percentage points")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주기적으로 달성된 트래픽 비율 검증
+     */
+    @Scheduled(fixedRateString = "${traffic-split.verify-interval-ms:30000}")
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+
+        Integer target = trafficManagementService.getCurrentRefactoredWeight();
+        if (target <= 0 || target >= 100) {
+            // 한쪽으로만 보내는 경우 검증할 분배가 없음
+            return;
+        }
+
+        // 가중치 변경/보정 직후에는 측정 구간에 이전 분배가 섞여 있음
+        if (!isSettled(trafficManagementService.getLastUpdated()) || !isSettled(lastCorrection)) {
+            return;
+        }
+
+        try {
+            SplitSample sample = measure(target);
+            if (sample == null) {
+                return;
+            }
+            lastSample = sample;
+            // 측정값이 카나리 상태 응답에 포함되므로 보이는 값이 바뀐 경우에만 상태 버전을 올림
+            // (매 측정마다 올리면 상태 ETag와 이벤트 스트림이 주기마다 무효화됨)
+            String split = sample.getTargetRefactoredPercent() + "/" + roundedPercent(sample.getMeasuredRefactoredPercent());
+            if (!split.equals(publishedSplit)) {
+                publishedSplit = split;
+                stateVersion.bump();
+            }
+
+            logger.debug("Traffic split measured: target={}%, measured={}%, deviation={}pp, samples={}",
+                        target, sample.getMeasuredRefactoredPercent(),
+                        sample.getDeviationPercent(), sample.getSampleSize());
+
+            if (Math.abs(sample.getDeviationPercent()) > tolerancePercent) {
+                logger.warn("Traffic split drift detected: target {}% but refactored received {}%",
+                           target, String.format("%.2f", sample.getMeasuredRefactoredPercent()));
+                if (correctionEnabled && nginxConfigService.getEjectedServers().isEmpty()) {
+                    correct(sample);
+                } else if (correctionEnabled) {
+                    // 이상 인스턴스 제외 중에는 의도적으로 분배가 어긋나 있으므로 보정하지 않음
+                    logger.debug("Skipping split correction while outlier instances are ejected");
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to verify traffic split", e);
+        }
+    }
+
+    public SplitSample getLastSample() {
+        return lastSample;
+    }
+
+    /**
+     * 상태 응답에 쓰는 0.1%p 단위 값
+     */
+    public static double roundedPercent(double percent) {
+        return Math.round(percent * 10) / 10.0;
+    }
+
+    private boolean isSettled(LocalDateTime since) {
+        return since == null || ChronoUnit.SECONDS.between(since, LocalDateTime.now()) >= settleSeconds;
+    }
+
+    private SplitSample measure(Integer target) {
+        Map<String, Double> byInstance = prometheusQueryClient.queryByLabel(
+            String.format(REQUEST_COUNT_QUERY, "instance", window), "instance");
+
+        double total = 0.0;
+        double refactored = 0.0;
+        Map<String, Double> instanceShares = new HashMap<>();
+        List<UpstreamServer> servers = nginxConfigService.getUpstreamServers();
+
+        for (UpstreamServer server : servers) {
+            total += byInstance.getOrDefault(server.getAddress(), 0.0);
+        }
+        if (total < minSamples) {
+            logger.debug("Insufficient samples for traffic split verification: {}/{}", (long) total, minSamples);
+            return null;
+        }
+
+        for (UpstreamServer server : servers) {
+            double count = byInstance.getOrDefault(server.getAddress(), 0.0);
+            instanceShares.put(server.getAddress(), count / total * 100);
+            if ("refactored".equals(server.getGroup())) {
+                refactored += count;
+            }
+        }
+
+        double measured = refactored / total * 100;
+        return new SplitSample(target, measured, measured - target, (long) total,
+                               instanceShares, LocalDateTime.now());
+    }
+
+    /**
+     * 서버별 가중치 보정
+     * 각 서버의 목표 비율(그룹 비율 / 그룹 서버 수) 대비 측정 비율로 가중치를 비례 조정
+     */
+    private void correct(SplitSample sample) {
+        List<UpstreamServer> servers = nginxConfigService.getUpstreamServers();
+        Map<String, Long> groupSizes = new HashMap<>();
+        for (UpstreamServer server : servers) {
+            groupSizes.merge(server.getGroup(), 1L, Long::sum);
+        }
+
+        Map<String, Integer> correctedWeights = new HashMap<>();
+        for (UpstreamServer server : servers) {
+            if (server.getWeight() <= 0) {
+                continue;
+            }
+            double groupTarget = "refactored".equals(server.getGroup())
+                ? sample.getTargetRefactoredPercent()
+                : 100 - sample.getTargetRefactoredPercent();
+            double serverTarget = groupTarget / groupSizes.get(server.getGroup());
+            double serverMeasured = sample.getInstanceSharePercent().getOrDefault(server.getAddress(), 0.0);
+
+            // 측정값이 0이면 비율 계산이 불가하므로 최대 보정
+            double factor = serverMeasured > 0 ? serverTarget / serverMeasured : maxCorrectionFactor;
+            factor = Math.max(1.0 / maxCorrectionFactor, Math.min(maxCorrectionFactor, factor));
+
+            int nominal = (int) Math.round(groupTarget);
+            int minWeight = Math.max(1, (int) Math.floor(nominal / maxCorrectionFactor));
+            int maxWeight = Math.max(minWeight, (int) Math.ceil(nominal * maxCorrectionFactor));
+            int corrected = (int) Math.round(server.getWeight() * factor);
+            correctedWeights.put(server.getAddress(), Math.max(minWeight, Math.min(maxWeight, corrected)));
+        }
+
+        if (nginxConfigService.updateServerWeights(correctedWeights,
+                String.format("split-correction measured %.1f%% target %d%%",
+                              sample.getMeasuredRefactoredPercent(), sample.getTargetRefactoredPercent()))) {
+            lastCorrection = LocalDateTime.now();
+            correctionCounter.increment();
+            logger.info("Applied per-server weight correction: {}", correctedWeights);
+        } else {
+            logger.error("Failed to apply per-server weight correction: {}", correctedWeights);
+        }
+    }
+
+    /**
+     * 트래픽 분배 측정 결과
+     */
+    public static class SplitSample {
+        private final Integer targetRefactoredPercent;
+        private final Double measuredRefactoredPercent;
+        private final Double deviationPercent;
+        private final Long sampleSize;
+        private final Map<String, Double> instanceSharePercent;
+        private final LocalDateTime measuredAt;
+
+        public SplitSample(Integer targetRefactoredPercent, Double measuredRefactoredPercent,
+                           Double deviationPercent, Long sampleSize,
+                           Map<String, Double> instanceSharePercent, LocalDateTime measuredAt) {
+            this.targetRefactoredPercent = targetRefactoredPercent;
+            this.measuredRefactoredPercent = measuredRefactoredPercent;
+            this.deviationPercent = deviationPercent;
+            this.sampleSize = sampleSize;
+            this.instanceSharePercent = instanceSharePercent;
+            this.measuredAt = measuredAt;
+        }
+
+        // Getters
+        public Integer getTargetRefactoredPercent() { return targetRefactoredPercent; }
+        public Double getMeasuredRefactoredPercent() { return measuredRefactoredPercent; }
+        public Double getDeviationPercent() { return deviationPercent; }
+        public Long getSampleSize() { return sampleSize; }
+        public Map<String, Double> getInstanceSharePercent() { return instanceSharePercent; }
+        public LocalDateTime getMeasuredAt() { return measuredAt; }
+    }
+}
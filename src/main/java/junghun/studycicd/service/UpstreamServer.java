@@ -0,0 +1,42 @@
+package junghun.studycicd.service;
+
+/**
+ * NGINX upstream 서버 한 대의 현재 설정
+ * weight가 0이면 down으로 렌더링 (NGINX는 weight=0을 허용하지 않음)
+ */
+public class UpstreamServer {
+
+    private final String address;
+    private final String group; // legacy, refactored
+    private final Integer weight;
+
+    public UpstreamServer(String address, String group, Integer weight) {
+        this.address = address;
+        this.group = group;
+        this.weight = weight;
+    }
+
+    public UpstreamServer withWeight(Integer newWeight) {
+        return new UpstreamServer(address, group, newWeight);
+    }
+
+    /**
+     * upstream 블록에 들어갈 server 지시어
+     */
+    public String toDirective() {
+        String params = weight > 0 ? "weight=" + weight : "down";
+        return "server " + address + " " + params + ";";
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public Integer getWeight() {
+        return weight;
+    }
+}
@@ -27,6 +27,9 @@ public class ErrorSimulationConfig {
     private final AtomicInteger externalApiErrorWeight = new AtomicInteger(5);
     private final AtomicInteger memoryErrorWeight = new AtomicInteger(5);
 
+    // 가중치가 바뀔 때마다 증가 - 에러 타입 선택 테이블 재생성 판단용
+    private final AtomicInteger weightsVersion = new AtomicInteger();
+
     // Getters and Setters
     public boolean isPeriodicErrorEnabled() {
         return periodicErrorEnabled.get();
@@ -74,6 +77,7 @@ public class ErrorSimulationConfig {
 
     public void setInternalErrorWeight(int weight) {
         internalErrorWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getBadRequestWeight() {
@@ -82,6 +86,7 @@ public class ErrorSimulationConfig {
 
     public void setBadRequestWeight(int weight) {
         badRequestWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getNotFoundWeight() {
@@ -90,6 +95,7 @@ public class ErrorSimulationConfig {
 
     public void setNotFoundWeight(int weight) {
         notFoundWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getServiceUnavailableWeight() {
@@ -98,6 +104,7 @@ public class ErrorSimulationConfig {
 
     public void setServiceUnavailableWeight(int weight) {
         serviceUnavailableWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getTimeoutWeight() {
@@ -106,6 +113,7 @@ public class ErrorSimulationConfig {
 
     public void setTimeoutWeight(int weight) {
         timeoutWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getDatabaseErrorWeight() {
@@ -114,6 +122,7 @@ public class ErrorSimulationConfig {
 
     public void setDatabaseErrorWeight(int weight) {
         databaseErrorWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getExternalApiErrorWeight() {
@@ -122,6 +131,7 @@ public class ErrorSimulationConfig {
 
     public void setExternalApiErrorWeight(int weight) {
         externalApiErrorWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getMemoryErrorWeight() {
@@ -130,6 +140,7 @@ public class ErrorSimulationConfig {
 
     public void setMemoryErrorWeight(int weight) {
         memoryErrorWeight.set(Math.max(0, weight));
+        weightsVersion.incrementAndGet();
     }
 
     public int getTotalWeight() {
@@ -137,4 +148,19 @@ public class ErrorSimulationConfig {
                 serviceUnavailableWeight.get() + timeoutWeight.get() + databaseErrorWeight.get() +
                 externalApiErrorWeight.get() + memoryErrorWeight.get();
     }
+
+    /**
+     * ErrorType 선언 순서대로의 가중치
+     */
+    public int[] getWeights() {
+        return new int[] {
+                internalErrorWeight.get(), badRequestWeight.get(), notFoundWeight.get(),
+                serviceUnavailableWeight.get(), timeoutWeight.get(), databaseErrorWeight.get(),
+                externalApiErrorWeight.get(), memoryErrorWeight.get()
+        };
+    }
+
+    public int getWeightsVersion() {
+        return weightsVersion.get();
+    }
 }
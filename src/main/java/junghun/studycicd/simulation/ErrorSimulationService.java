@@ -4,35 +4,48 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class ErrorSimulationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ErrorSimulationService.class);
-    private final Random random = new Random();
     private final ErrorSimulationConfig config;
     private final MeterRegistry meterRegistry;
 
-    // 에러 통계
-    private final AtomicLong totalErrorsSimulated = new AtomicLong(0);
-    private final Map<ErrorType, AtomicLong> errorCountByType = new HashMap<>();
-    private final Map<ErrorType, Counter> errorCounters = new HashMap<>();
+    // 에러 통계 - 부하 테스트 중 요청 스레드끼리 경합하지 않도록 스레드별로 나눠 누적
+    private final LongAdder totalErrorsSimulated = new LongAdder();
+    private final Map<ErrorType, LongAdder> errorCountByType = new EnumMap<>(ErrorType.class);
+    private final Map<ErrorType, Counter> errorCounters = new EnumMap<>(ErrorType.class);
+
+    // 가중치가 바뀌었을 때만 다시 만듦
+    private volatile ErrorTypeAliasTable aliasTable;
+
+    // 에러율이 높은 부하 테스트에서 로그 기록이 지연을 좌우하지 않도록 타입별로 구간당 한 번만 기록
+    private final Map<ErrorType, LogWindow> logWindows = new EnumMap<>(ErrorType.class);
+
+    @Value("${error-simulation.log-interval-ms:1000}")
+    private long logIntervalMs;
 
     public ErrorSimulationService(ErrorSimulationConfig config, MeterRegistry meterRegistry) {
         this.config = config;
         this.meterRegistry = meterRegistry;
         initializeMetrics();
+        this.aliasTable = new ErrorTypeAliasTable(config.getWeights(), config.getWeightsVersion());
     }
 
     private void initializeMetrics() {
         for (ErrorType errorType : ErrorType.values()) {
-            errorCountByType.put(errorType, new AtomicLong(0));
+            errorCountByType.put(errorType, new LongAdder());
+            logWindows.put(errorType, new LogWindow());
 
             Counter counter = Counter.builder("simulated_errors_total")
                     .tag("error_type", errorType.name().toLowerCase())
@@ -53,7 +66,7 @@ public class ErrorSimulationService {
         }
 
         int errorRate = config.getApiErrorRate();
-        if (random.nextInt(100) < errorRate) {
+        if (ThreadLocalRandom.current().nextInt(100) < errorRate) {
             throwRandomError("API");
         }
     }
@@ -67,7 +80,7 @@ public class ErrorSimulationService {
         }
 
         int errorRate = config.getPeriodicErrorRate();
-        if (random.nextInt(100) < errorRate) {
+        if (ThreadLocalRandom.current().nextInt(100) < errorRate) {
             try {
                 throwRandomError("PERIODIC");
             } catch (SimulatedErrorException e) {
@@ -84,6 +97,13 @@ public class ErrorSimulationService {
         throwError(errorType, "SPECIFIC");
     }
 
+    /**
+     * 장애 주입 규칙에서 에러 발생 - errorType이 없으면 가중치 기반으로 선택
+     */
+    public void simulateRuleError(ErrorType errorType) throws SimulatedErrorException {
+        throwError(errorType != null ? errorType : selectWeightedErrorType(), "RULE");
+    }
+
     /**
      * 랜덤 에러 발생
      */
@@ -93,35 +113,17 @@ public class ErrorSimulationService {
     }
 
     /**
-     * 가중치 기반 에러 타입 선택
+     * 가중치 기반 에러 타입 선택 - 별칭 테이블로 O(1)
      */
     private ErrorType selectWeightedErrorType() {
-        int totalWeight = config.getTotalWeight();
-        int randomValue = random.nextInt(totalWeight);
-        int currentWeight = 0;
-
-        if ((currentWeight += config.getInternalErrorWeight()) > randomValue) {
-            return ErrorType.INTERNAL_SERVER_ERROR;
-        }
-        if ((currentWeight += config.getBadRequestWeight()) > randomValue) {
-            return ErrorType.BAD_REQUEST;
-        }
-        if ((currentWeight += config.getNotFoundWeight()) > randomValue) {
-            return ErrorType.NOT_FOUND;
+        ErrorTypeAliasTable table = aliasTable;
+        int version = config.getWeightsVersion();
+        if (table.getWeightsVersion() != version) {
+            // 동시에 여러 스레드가 다시 만들어도 결과가 같으므로 락 없이 교체
+            table = new ErrorTypeAliasTable(config.getWeights(), version);
+            aliasTable = table;
         }
-        if ((currentWeight += config.getServiceUnavailableWeight()) > randomValue) {
-            return ErrorType.SERVICE_UNAVAILABLE;
-        }
-        if ((currentWeight += config.getTimeoutWeight()) > randomValue) {
-            return ErrorType.TIMEOUT;
-        }
-        if ((currentWeight += config.getDatabaseErrorWeight()) > randomValue) {
-            return ErrorType.DATABASE_ERROR;
-        }
-        if ((currentWeight += config.getExternalApiErrorWeight()) > randomValue) {
-            return ErrorType.EXTERNAL_API_ERROR;
-        }
-        return ErrorType.MEMORY_ERROR;
+        return table.sample(ThreadLocalRandom.current());
     }
 
     /**
@@ -131,8 +133,8 @@ public class ErrorSimulationService {
         String message = errorType.getRandomMessage();
 
         // 통계 업데이트
-        totalErrorsSimulated.incrementAndGet();
-        errorCountByType.get(errorType).incrementAndGet();
+        totalErrorsSimulated.increment();
+        errorCountByType.get(errorType).increment();
         errorCounters.get(errorType).increment();
 
         // 로그 레벨에 따라 다르게 로깅
@@ -143,26 +145,31 @@ public class ErrorSimulationService {
     }
 
     /**
-     * 에러 타입에 따라 다른 로그 레벨로 로깅
+     * 에러 타입에 따라 다른 로그 레벨로 로깅 - 타입별 logIntervalMs당 한 번, 그 사이 생략한 건수를 함께 기록
      */
     private void logError(ErrorType errorType, String message, String source) {
-        String logMessage = String.format("[%s] Simulated %s error: %s",
-                source, errorType.name(), message);
+        LogWindow window = logWindows.get(errorType);
+        long now = System.currentTimeMillis();
+        long last = window.lastLoggedAt.get();
+        if (now - last < logIntervalMs || !window.lastLoggedAt.compareAndSet(last, now)) {
+            window.suppressed.increment();
+            return;
+        }
+        long suppressed = window.suppressed.sumThenReset();
 
         switch (errorType.getStatus().series()) {
             case CLIENT_ERROR:
-                logger.warn(logMessage);
+                logger.warn("[{}] Simulated {} error: {} ({} similar suppressed)",
+                        source, errorType.name(), message, suppressed);
                 break;
             case SERVER_ERROR:
-                logger.error(logMessage);
+                logger.error("[{}] Simulated {} error: {} ({} similar suppressed)",
+                        source, errorType.name(), message, suppressed);
                 break;
             default:
-                logger.info(logMessage);
+                logger.info("[{}] Simulated {} error: {} ({} similar suppressed)",
+                        source, errorType.name(), message, suppressed);
         }
-
-        // 추가 상세 로깅 (디버그 레벨)
-        logger.debug("Error simulation details - Type: {}, Status: {}, Source: {}",
-                errorType.name(), errorType.getStatus().value(), source);
     }
 
     /**
@@ -170,11 +177,11 @@ public class ErrorSimulationService {
      */
     public Map<String, Object> getStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalErrorsSimulated", totalErrorsSimulated.get());
+        stats.put("totalErrorsSimulated", totalErrorsSimulated.sum());
 
         Map<String, Long> errorsByType = new HashMap<>();
-        for (Map.Entry<ErrorType, AtomicLong> entry : errorCountByType.entrySet()) {
-            errorsByType.put(entry.getKey().name(), entry.getValue().get());
+        for (Map.Entry<ErrorType, LongAdder> entry : errorCountByType.entrySet()) {
+            errorsByType.put(entry.getKey().name(), entry.getValue().sum());
         }
         stats.put("errorsByType", errorsByType);
 
@@ -185,10 +192,15 @@ public class ErrorSimulationService {
      * 통계 초기화
      */
     public void resetStatistics() {
-        totalErrorsSimulated.set(0);
-        for (AtomicLong count : errorCountByType.values()) {
-            count.set(0);
+        totalErrorsSimulated.reset();
+        for (LongAdder count : errorCountByType.values()) {
+            count.reset();
         }
         logger.info("Error simulation statistics have been reset");
     }
+
+    private static class LogWindow {
+        private final AtomicLong lastLoggedAt = new AtomicLong();
+        private final LongAdder suppressed = new LongAdder();
+    }
 }
@@ -2,7 +2,7 @@ package junghun.studycicd.simulation;
 
 import org.springframework.http.HttpStatus;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public enum ErrorType {
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, new String[]{
@@ -71,7 +71,6 @@ public enum ErrorType {
 
     private final HttpStatus status;
     private final String[] messages;
-    private static final Random random = new Random();
 
     ErrorType(HttpStatus status, String[] messages) {
         this.status = status;
@@ -83,7 +82,7 @@ public enum ErrorType {
     }
 
     public String getRandomMessage() {
-        return messages[random.nextInt(messages.length)];
+        return messages[ThreadLocalRandom.current().nextInt(messages.length)];
     }
 
     public String[] getAllMessages() {
@@ -92,6 +91,6 @@ public enum ErrorType {
 
     public static ErrorType getRandomErrorType() {
         ErrorType[] types = values();
-        return types[random.nextInt(types.length)];
+        return types[ThreadLocalRandom.current().nextInt(types.length)];
     }
 }
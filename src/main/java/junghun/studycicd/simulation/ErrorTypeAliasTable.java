@@ -0,0 +1,98 @@
+package junghun.studycicd.simulation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Walker 별칭(alias) 테이블 - 가중치 기반 에러 타입 선택을 난수 두 개로 O(1)에 수행
+ * 칸마다 자기 타입을 고를 확률(prob)과 나머지 확률을 넘겨받는 별칭(alias)을 가짐 (Vose 방식 생성)
+ * 불변 객체라 가중치가 바뀌면 새로 만들어 교체
+ */
+final class ErrorTypeAliasTable {
+
+    private static final ErrorType[] TYPES = ErrorType.values();
+
+    private final int weightsVersion;
+    private final double[] prob;
+    private final int[] alias;
+
+    /**
+     * @param weights ErrorType 선언 순서대로의 가중치 - 합이 0이면 균등 선택
+     */
+    ErrorTypeAliasTable(int[] weights, int weightsVersion) {
+        if (weights.length != TYPES.length) {
+            throw new IllegalArgumentException("Expected " + TYPES.length + " weights but got " + weights.length);
+        }
+        this.weightsVersion = weightsVersion;
+
+        int n = weights.length;
+        long total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+
+        prob = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) {
+            scaled[i] = total == 0 ? 1.0 : (double) weights[i] * n / total;
+        }
+
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            prob[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // 부동소수점 오차로 남은 칸은 확률 1
+        while (largeSize > 0) {
+            prob[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            prob[small[--smallSize]] = 1.0;
+        }
+    }
+
+    ErrorType sample(ThreadLocalRandom random) {
+        int column = random.nextInt(prob.length);
+        return TYPES[random.nextDouble() < prob[column] ? column : alias[column]];
+    }
+
+    /**
+     * 테이블이 실제로 해당 타입을 고를 확률 (칸을 고를 확률 1/n x 자기 몫 또는 별칭 몫)
+     */
+    double probability(ErrorType type) {
+        int index = type.ordinal();
+        double probability = 0;
+        for (int column = 0; column < prob.length; column++) {
+            if (column == index) {
+                probability += prob[column];
+            }
+            if (alias[column] == index) {
+                probability += 1.0 - prob[column];
+            }
+        }
+        return probability / prob.length;
+    }
+
+    int getWeightsVersion() {
+        return weightsVersion;
+    }
+}
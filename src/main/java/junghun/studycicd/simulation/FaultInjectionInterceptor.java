@@ -0,0 +1,31 @@
+package junghun.studycicd.simulation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import junghun.studycicd.warmup.WarmupRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 모든 경로에서 핸들러 실행 전에 장애 규칙 적용 (경로/메서드/헤더/버전으로 대상 지정)
+ * 주입한 지연은 요청 메트릭과 NGINX 지연 히스토그램에 그대로 잡혀 SLO 게이트가 판단하게 됨
+ * ERROR 규칙의 예외는 GlobalExceptionHandler가 에러 타입의 상태 코드로 응답
+ */
+@Component
+public class FaultInjectionInterceptor implements HandlerInterceptor {
+
+    private final FaultInjector faultInjector;
+
+    public FaultInjectionInterceptor(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) throws SimulatedErrorException {
+        if (!WarmupRequest.isWarmup(request)) {
+            faultInjector.inject(request.getRequestURI(), request.getMethod(), request::getHeader);
+        }
+        return true;
+    }
+}
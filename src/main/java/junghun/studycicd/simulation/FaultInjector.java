@@ -0,0 +1,227 @@
+package junghun.studycicd.simulation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import junghun.studycicd.dto.FaultRuleRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 장애 주입 - 지연, CPU 소모, 할당 폭증, 스레드 풀 고갈, 에러 응답
+ * 상태 코드만 바꾸는 에러 시뮬레이션으로는 p95/p99와 포화도 게이트가 검증되지 않으므로 실제로 느려지게 만듦
+ * 규칙은 인스턴스별 메모리에만 있으므로 버전별 주입은 각 인스턴스에 규칙을 등록하고 version으로 대상 지정
+ *
+ * 규칙이 바뀌면 경로 트라이를 새로 만들어 통째로 교체 - 요청 스레드는 volatile 읽기 한 번으로 최신 트라이를 봄
+ */
+@Service
+public class FaultInjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjector.class);
+
+    private static final int ALLOCATION_CHUNK_BYTES = 64 * 1024;
+    private static final int PAGE_BYTES = 4096;
+
+    private final ErrorSimulationService errorSimulationService;
+    private final AtomicLong sequence = new AtomicLong();
+    // 변경은 synchronized 메서드에서만, 읽기는 스냅샷으로
+    private volatile List<FaultRule> rules = List.of();
+    private volatile FaultRouteTrie trie = FaultRouteTrie.EMPTY;
+    private final MeterRegistry meterRegistry;
+    private final Map<FaultMode, Counter> injectedCounters = new EnumMap<>(FaultMode.class);
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final boolean threadCpuTimeSupported;
+
+    // 연산/할당 결과를 JIT가 제거하지 못하도록 보관
+    private volatile long sink;
+
+    @Value("${info.app.version.type:default}")
+    private String versionType;
+
+    @Value("${fault-injection.enabled:true}")
+    private Boolean enabled;
+
+    public FaultInjector(MeterRegistry meterRegistry, ErrorSimulationService errorSimulationService) {
+        this.errorSimulationService = errorSimulationService;
+        this.meterRegistry = meterRegistry;
+        for (FaultMode mode : FaultMode.values()) {
+            injectedCounters.put(mode, Counter.builder("injected_faults_total")
+                    .tag("mode", mode.name().toLowerCase())
+                    .description("Requests affected by fault injection rules")
+                    .register(meterRegistry));
+        }
+        this.threadCpuTimeSupported = threadMXBean.isCurrentThreadCpuTimeSupported();
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("injected_faults_held_threads", this,
+                      injector -> injector.rules.stream().mapToInt(FaultRule::getHeldThreads).sum())
+                .description("Request threads currently held by thread-exhaustion fault rules")
+                .register(meterRegistry);
+        Gauge.builder("injected_fault_rules", this, injector -> injector.rules.size())
+                .description("Active fault injection rules")
+                .register(meterRegistry);
+    }
+
+    public synchronized FaultRule addRule(FaultRuleRequest request) {
+        FaultRule rule = new FaultRule(UUID.randomUUID().toString().substring(0, 8), sequence.incrementAndGet(),
+                                       request);
+        List<FaultRule> updated = new ArrayList<>(rules);
+        updated.add(rule);
+        publish(updated);
+        logger.warn("💉 Fault rule {} added: {} on {} {} (version {}, {}%)",
+                   rule.getId(), rule.getMode(), rule.getMethod() != null ? rule.getMethod() : "*", rule.getPath(),
+                   rule.getVersion() != null ? rule.getVersion() : "all", rule.getPercentage());
+        return rule;
+    }
+
+    public synchronized boolean removeRule(String id) {
+        List<FaultRule> updated = new ArrayList<>(rules);
+        boolean removed = updated.removeIf(rule -> rule.getId().equals(id));
+        if (removed) {
+            publish(updated);
+            logger.info("Fault rule {} removed", id);
+        }
+        return removed;
+    }
+
+    public synchronized int clearRules() {
+        int count = rules.size();
+        publish(List.of());
+        if (count > 0) {
+            logger.info("All {} fault rules cleared", count);
+        }
+        return count;
+    }
+
+    private void publish(List<FaultRule> updated) {
+        // 트라이를 먼저 만든 뒤 교체 - 읽는 쪽은 완성된 트라이만 봄
+        FaultRouteTrie updatedTrie = new FaultRouteTrie(updated);
+        rules = List.copyOf(updated);
+        trie = updatedTrie;
+    }
+
+    public List<FaultRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * 요청에 맞는 규칙을 등록 순서대로 적용 (요청 스레드에서 호출)
+     *
+     * @param headers 헤더 이름으로 값을 찾는 함수 - 헤더 조건이 있는 규칙에서만 호출
+     * @throws SimulatedErrorException ERROR 규칙에 걸린 경우
+     */
+    public void inject(String path, String method, Function<String, String> headers) throws SimulatedErrorException {
+        FaultRouteTrie current = trie;
+        if (current.isEmpty() || !enabled) {
+            return;
+        }
+        List<FaultRule> candidates = current.match(path);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (FaultRule rule : candidates) {
+            if (!rule.matches(method, headers, versionType)) {
+                continue;
+            }
+            if (rule.getPercentage() < 100.0 && random.nextDouble(100.0) >= rule.getPercentage()) {
+                continue;
+            }
+            if (apply(rule, random)) {
+                injectedCounters.get(rule.getMode()).increment();
+            }
+        }
+    }
+
+    private boolean apply(FaultRule rule, ThreadLocalRandom random) throws SimulatedErrorException {
+        switch (rule.getMode()) {
+            case LATENCY -> sleep(rule.getDistribution().sampleMillis(rule, random));
+            case CPU_BURN -> burnCpu(rule.getCpuMillis());
+            case ALLOCATION -> churn(rule.getAllocationKb());
+            case THREAD_EXHAUSTION -> {
+                // 한도만큼 붙잡은 뒤 들어온 요청은 통과 - 풀에 남은 스레드가 나머지 부하를 처리
+                if (rule.heldThreads().incrementAndGet() > rule.getMaxThreads()) {
+                    rule.heldThreads().decrementAndGet();
+                    return false;
+                }
+                try {
+                    sleep(rule.getHoldMs());
+                } finally {
+                    rule.heldThreads().decrementAndGet();
+                }
+            }
+            case ERROR -> {
+                injectedCounters.get(FaultMode.ERROR).increment();
+                errorSimulationService.simulateRuleError(rule.getErrorType());
+            }
+        }
+        return true;
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 스레드 CPU 시간 기준으로 연산 - 코어를 나눠 쓰는 상황에서도 요청마다 같은 CPU 양을 소모
+     */
+    private void burnCpu(long cpuMillis) {
+        long budget = TimeUnit.MILLISECONDS.toNanos(cpuMillis);
+        long start = cpuTimeNanos();
+        long x = System.nanoTime();
+        do {
+            for (int i = 0; i < 10_000; i++) {
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+            }
+        } while (cpuTimeNanos() - start < budget);
+        sink = x;
+    }
+
+    private long cpuTimeNanos() {
+        return threadCpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /**
+     * 짧게 살고 버려지는 배열을 할당 - 페이지마다 한 번씩 써서 실제로 메모리를 건드림
+     */
+    private void churn(int allocationKb) {
+        long remaining = allocationKb * 1024L;
+        long acc = 0;
+        while (remaining > 0) {
+            int size = (int) Math.min(ALLOCATION_CHUNK_BYTES, remaining);
+            byte[] chunk = new byte[size];
+            for (int i = 0; i < size; i += PAGE_BYTES) {
+                chunk[i] = (byte) i;
+            }
+            acc += chunk[size - 1] + chunk.length;
+            remaining -= size;
+        }
+        sink = acc;
+    }
+}
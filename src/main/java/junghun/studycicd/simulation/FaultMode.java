@@ -0,0 +1,17 @@
+package junghun.studycicd.simulation;
+
+/**
+ * 장애 주입 방식 - ERROR 외에는 상태 코드만 바꾸는 ErrorType과 달리 실제로 느려지거나 자원을 소모함
+ */
+public enum FaultMode {
+    // 분포에서 뽑은 시간만큼 요청 스레드를 멈춤
+    LATENCY,
+    // 요청마다 지정한 CPU 시간만큼 연산
+    CPU_BURN,
+    // 요청마다 지정한 크기만큼 할당해 GC 압박
+    ALLOCATION,
+    // 최대 maxThreads개의 요청 스레드를 holdMs 동안 붙잡아 스레드 풀을 고갈
+    THREAD_EXHAUSTION,
+    // errorType(없으면 가중치 기반 선택)의 시뮬레이션 에러 응답
+    ERROR
+}
@@ -0,0 +1,165 @@
+package junghun.studycicd.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장애 규칙 경로 트라이 - 규칙이 바뀔 때 새로 만들고, 만든 뒤에는 바뀌지 않으므로 요청 스레드가 락 없이 읽음
+ *
+ * 경로 패턴은 '/'로 나눈 세그먼트 단위
+ *   /api/hello           정확히 일치
+ *   /api/business/*      세그먼트 하나
+ *   /api/**              /api 자신과 그 아래 전부 (마지막 세그먼트로만 사용)
+ *
+ * 조회 비용은 경로 길이에 비례하고, '*' 세그먼트가 있는 깊이에서만 후보 노드가 늘어남
+ */
+final class FaultRouteTrie {
+
+    static final FaultRouteTrie EMPTY = new FaultRouteTrie(List.of());
+
+    private static final Comparator<FaultRule> REGISTRATION_ORDER = Comparator.comparingLong(FaultRule::getSequence);
+
+    private final Node root = new Node();
+    private final boolean empty;
+
+    FaultRouteTrie(List<FaultRule> rules) {
+        for (FaultRule rule : rules) {
+            insert(rule);
+        }
+        this.empty = rules.isEmpty();
+    }
+
+    /**
+     * 경로 패턴 검증 - 규칙 생성 시 호출
+     */
+    static void validatePattern(String pattern) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("path must start with '/'");
+        }
+        String[] segments = segments(pattern);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**") && i != segments.length - 1) {
+                throw new IllegalArgumentException("'**' is only allowed as the last path segment");
+            }
+            if (!segment.equals("*") && !segment.equals("**") && segment.contains("*")) {
+                throw new IllegalArgumentException("Partial wildcards are not supported: " + segment);
+            }
+        }
+    }
+
+    private void insert(FaultRule rule) {
+        Node node = root;
+        for (String segment : segments(rule.getPath())) {
+            if (segment.equals("**")) {
+                node.remainderRules.add(rule);
+                return;
+            }
+            if (segment.equals("*")) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.exactRules.add(rule);
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * 경로에 걸리는 규칙 (등록 순서) - 없으면 빈 리스트이며 할당하지 않음
+     */
+    List<FaultRule> match(String path) {
+        if (empty) {
+            return List.of();
+        }
+        List<FaultRule> matched = null;
+        List<Node> current = List.of(root);
+        int length = path.length();
+        int start = 0;
+        while (true) {
+            while (start < length && path.charAt(start) == '/') {
+                start++;
+            }
+            for (Node node : current) {
+                matched = addAll(matched, node.remainderRules);
+            }
+            if (start >= length) {
+                for (Node node : current) {
+                    matched = addAll(matched, node.exactRules);
+                }
+                break;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            String segment = path.substring(start, end);
+
+            List<Node> next = null;
+            for (Node node : current) {
+                Node child = node.children.get(segment);
+                if (child != null) {
+                    next = add(next, child);
+                }
+                if (node.wildcard != null) {
+                    next = add(next, node.wildcard);
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            current = next;
+            start = end;
+        }
+
+        if (matched == null) {
+            return List.of();
+        }
+        if (matched.size() > 1) {
+            matched.sort(REGISTRATION_ORDER);
+        }
+        return matched;
+    }
+
+    private static List<FaultRule> addAll(List<FaultRule> target, List<FaultRule> rules) {
+        if (rules.isEmpty()) {
+            return target;
+        }
+        if (target == null) {
+            target = new ArrayList<>(rules.size());
+        }
+        target.addAll(rules);
+        return target;
+    }
+
+    private static List<Node> add(List<Node> target, Node node) {
+        if (target == null) {
+            target = new ArrayList<>(2);
+        }
+        target.add(node);
+        return target;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node wildcard;
+        // 이 노드에서 끝나는 패턴의 규칙
+        private final List<FaultRule> exactRules = new ArrayList<>();
+        // 이 노드 아래 전부('**')에 걸리는 규칙
+        private final List<FaultRule> remainderRules = new ArrayList<>();
+    }
+}
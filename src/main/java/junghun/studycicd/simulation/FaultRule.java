@@ -0,0 +1,165 @@
+package junghun.studycicd.simulation;
+
+import junghun.studycicd.dto.FaultRuleRequest;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 등록된 장애 주입 규칙 (불변, 스레드 풀 고갈용 점유 수만 변함)
+ * 경로는 FaultRouteTrie가 고르고, 메서드/헤더/버전 조건은 여기서 확인
+ */
+public class FaultRule {
+
+    static final long MAX_DURATION_MS = 60_000;
+
+    private final String id;
+    private final long sequence;
+    private final FaultMode mode;
+    private final String path;
+    private final String method;
+    private final String headerName;
+    private final String headerValue;
+    private final String version;
+    private final double percentage;
+    private final LatencyDistribution distribution;
+    private final long latencyMs;
+    private final double sigma;
+    private final long tailLatencyMs;
+    private final double tailPercentage;
+    private final long cpuMillis;
+    private final int allocationKb;
+    private final int maxThreads;
+    private final long holdMs;
+    private final ErrorType errorType;
+    private final LocalDateTime createdAt;
+
+    // THREAD_EXHAUSTION 규칙이 현재 붙잡고 있는 요청 스레드 수
+    private final AtomicInteger heldThreads = new AtomicInteger();
+
+    FaultRule(String id, long sequence, FaultRuleRequest request) {
+        if (request.getMode() == null) {
+            throw new IllegalArgumentException("Fault mode is required");
+        }
+        this.id = id;
+        this.sequence = sequence;
+        this.mode = request.getMode();
+        this.path = blankToNull(request.getPath()) == null ? "/**" : request.getPath().trim();
+        this.method = blankToNull(request.getMethod()) == null ? null : request.getMethod().trim().toUpperCase(Locale.ROOT);
+        this.headerName = blankToNull(request.getHeaderName());
+        this.headerValue = request.getHeaderValue();
+        this.version = blankToNull(request.getVersion());
+        this.percentage = request.getPercentage() != null ? request.getPercentage() : 100.0;
+        this.distribution = request.getDistribution() != null ? request.getDistribution() : LatencyDistribution.FIXED;
+        this.latencyMs = valueOrZero(request.getLatencyMs());
+        this.sigma = request.getSigma() != null ? request.getSigma() : 0.5;
+        this.tailLatencyMs = valueOrZero(request.getTailLatencyMs());
+        this.tailPercentage = request.getTailPercentage() != null ? request.getTailPercentage() : 1.0;
+        this.cpuMillis = valueOrZero(request.getCpuMillis());
+        this.allocationKb = request.getAllocationKb() != null ? request.getAllocationKb() : 0;
+        this.maxThreads = request.getMaxThreads() != null ? request.getMaxThreads() : 0;
+        this.holdMs = valueOrZero(request.getHoldMs());
+        this.errorType = request.getErrorType();
+        this.createdAt = LocalDateTime.now();
+        validate();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private void validate() {
+        if (percentage <= 0 || percentage > 100) {
+            throw new IllegalArgumentException("percentage must be in (0, 100]");
+        }
+        FaultRouteTrie.validatePattern(path);
+        if (headerValue != null && headerName == null) {
+            throw new IllegalArgumentException("headerValue requires headerName");
+        }
+        switch (mode) {
+            case LATENCY -> {
+                requireDuration("latencyMs", latencyMs);
+                if (distribution == LatencyDistribution.LOGNORMAL && (sigma <= 0 || sigma > 3)) {
+                    throw new IllegalArgumentException("sigma must be in (0, 3]");
+                }
+                if (distribution == LatencyDistribution.BIMODAL) {
+                    requireDuration("tailLatencyMs", tailLatencyMs);
+                    if (tailPercentage <= 0 || tailPercentage > 100) {
+                        throw new IllegalArgumentException("tailPercentage must be in (0, 100]");
+                    }
+                }
+            }
+            case CPU_BURN -> requireDuration("cpuMillis", cpuMillis);
+            case ALLOCATION -> {
+                if (allocationKb <= 0 || allocationKb > 512 * 1024) {
+                    throw new IllegalArgumentException("allocationKb must be in (0, 524288]");
+                }
+            }
+            case THREAD_EXHAUSTION -> {
+                requireDuration("holdMs", holdMs);
+                if (maxThreads <= 0) {
+                    throw new IllegalArgumentException("maxThreads must be positive");
+                }
+            }
+            case ERROR -> {
+                // errorType이 없으면 가중치 기반 선택
+            }
+        }
+    }
+
+    private static void requireDuration(String name, long value) {
+        if (value <= 0 || value > MAX_DURATION_MS) {
+            throw new IllegalArgumentException(name + " must be in (0, " + MAX_DURATION_MS + "]");
+        }
+    }
+
+    /**
+     * 경로 외 조건 확인 - 요청 메서드, 헤더, 이 인스턴스 버전
+     */
+    boolean matches(String requestMethod, Function<String, String> headers, String instanceVersion) {
+        if (method != null && !method.equals(requestMethod)) {
+            return false;
+        }
+        if (version != null && !version.equals(instanceVersion)) {
+            return false;
+        }
+        if (headerName != null) {
+            String value = headers.apply(headerName);
+            return value != null && (headerValue == null || headerValue.equals(value));
+        }
+        return true;
+    }
+
+    AtomicInteger heldThreads() {
+        return heldThreads;
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public long getSequence() { return sequence; }
+    public FaultMode getMode() { return mode; }
+    public String getPath() { return path; }
+    public String getMethod() { return method; }
+    public String getHeaderName() { return headerName; }
+    public String getHeaderValue() { return headerValue; }
+    public String getVersion() { return version; }
+    public double getPercentage() { return percentage; }
+    public LatencyDistribution getDistribution() { return distribution; }
+    public long getLatencyMs() { return latencyMs; }
+    public double getSigma() { return sigma; }
+    public long getTailLatencyMs() { return tailLatencyMs; }
+    public double getTailPercentage() { return tailPercentage; }
+    public long getCpuMillis() { return cpuMillis; }
+    public int getAllocationKb() { return allocationKb; }
+    public int getMaxThreads() { return maxThreads; }
+    public long getHoldMs() { return holdMs; }
+    public ErrorType getErrorType() { return errorType; }
+    public int getHeldThreads() { return heldThreads.get(); }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
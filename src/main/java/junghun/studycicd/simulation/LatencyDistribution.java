@@ -0,0 +1,34 @@
+package junghun.studycicd.simulation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 지연 주입 분포
+ */
+public enum LatencyDistribution {
+    // 항상 latencyMs
+    FIXED {
+        @Override
+        long sampleMillis(FaultRule rule, ThreadLocalRandom random) {
+            return rule.getLatencyMs();
+        }
+    },
+    // 중앙값 latencyMs, 형태 sigma인 로그정규 - 실제 서비스 지연처럼 오른쪽 꼬리가 김
+    // 꼬리가 무한하므로 규칙에 허용되는 최대 지연으로 자름 (요청 스레드가 수 분씩 묶이지 않게)
+    LOGNORMAL {
+        @Override
+        long sampleMillis(FaultRule rule, ThreadLocalRandom random) {
+            return Math.min(Math.round(rule.getLatencyMs() * Math.exp(rule.getSigma() * random.nextGaussian())),
+                            FaultRule.MAX_DURATION_MS);
+        }
+    },
+    // 대부분 latencyMs, tailPercentage% 요청만 tailLatencyMs - 평균은 멀쩡하고 p99만 나빠지는 회귀
+    BIMODAL {
+        @Override
+        long sampleMillis(FaultRule rule, ThreadLocalRandom random) {
+            return random.nextDouble(100.0) < rule.getTailPercentage() ? rule.getTailLatencyMs() : rule.getLatencyMs();
+        }
+    };
+
+    abstract long sampleMillis(FaultRule rule, ThreadLocalRandom random);
+}
@@ -1,11 +1,14 @@
 package junghun.studycicd.simulation;
 
+/**
+ * 시뮬레이션 에러 - 실제 장애가 아니므로 스택 트레이스를 만들지 않음 (생성 비용이 메시지 객체 수준)
+ */
 public class SimulatedErrorException extends Exception {
 
     private final ErrorType errorType;
 
     public SimulatedErrorException(ErrorType errorType, String message) {
-        super(message);
+        super(message, null, false, false);
         this.errorType = errorType;
     }
 
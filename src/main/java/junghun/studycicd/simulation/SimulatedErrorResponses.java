@@ -0,0 +1,70 @@
+package junghun.studycicd.simulation;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 시뮬레이션 에러 응답 본문 - 타입/메시지별 JSON을 시작 시 한 번 만들어 두고 요청마다 timestamp만 붙임
+ *
+ *   {"error":"TIMEOUT","message":"...","httpStatus":408,"simulated":true,"timestamp":"2025-01-01T00:00:00.123"}
+ */
+public final class SimulatedErrorResponses {
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+    private static final Map<ErrorType, Map<String, byte[]>> PREFIXES = new EnumMap<>(ErrorType.class);
+
+    static {
+        for (ErrorType errorType : ErrorType.values()) {
+            Map<String, byte[]> byMessage = new HashMap<>();
+            for (String message : errorType.getAllMessages()) {
+                byMessage.put(message, prefix(errorType, message));
+            }
+            PREFIXES.put(errorType, byMessage);
+        }
+    }
+
+    private SimulatedErrorResponses() {
+    }
+
+    /**
+     * 에러 타입의 HTTP 상태와 미리 만든 본문으로 응답 생성
+     */
+    public static ResponseEntity<byte[]> toResponseEntity(SimulatedErrorException e) {
+        return ResponseEntity.status(e.getErrorType().getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(render(e));
+    }
+
+    public static byte[] render(SimulatedErrorException e) {
+        byte[] prefix = PREFIXES.get(e.getErrorType()).get(e.getMessage());
+        if (prefix == null) {
+            // 미리 정의되지 않은 메시지 - 드문 경로라 그때그때 만듦
+            prefix = prefix(e.getErrorType(), e.getMessage());
+        }
+        byte[] timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now())
+                .getBytes(StandardCharsets.US_ASCII);
+
+        byte[] body = new byte[prefix.length + timestamp.length + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+        System.arraycopy(SUFFIX, 0, body, prefix.length + timestamp.length, SUFFIX.length);
+        return body;
+    }
+
+    private static byte[] prefix(ErrorType errorType, String message) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        String json = "{\"error\":\"" + errorType.name()
+                + "\",\"message\":\"" + (message == null ? "" : new String(encoder.quoteAsString(message)))
+                + "\",\"httpStatus\":" + errorType.getStatus().value()
+                + ",\"simulated\":true,\"timestamp\":\"";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,206 @@
+package junghun.studycicd.simulation;
+
+import junghun.studycicd.business.BusinessEventRecorder;
+import junghun.studycicd.business.BusinessEventType;
+import junghun.studycicd.dto.FeatureFlagResponse;
+import junghun.studycicd.dto.FeatureFlagsResponse;
+import junghun.studycicd.dto.HelloResponse;
+import junghun.studycicd.dto.LoginResponse;
+import junghun.studycicd.dto.OrderResponse;
+import junghun.studycicd.dto.SignupResponse;
+import junghun.studycicd.dto.StatusMessageResponse;
+import junghun.studycicd.dto.TestResponse;
+import junghun.studycicd.dto.VersionResponse;
+import junghun.studycicd.featureflag.FeatureFlagService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 워크로드 API(/api/*, /api/business/*) 시뮬레이션과 응답 생성
+ * 서블릿 컨트롤러(TestController, BusinessMetricsController)와 reactive 핸들러가 함께 사용 -
+ * 스택별 코드는 요청/응답 변환과 지연 방식(Thread.sleep / Mono.delay)만 가짐
+ *
+ * recordMetrics가 false인 요청(워밍업/섀도)은 비즈니스 메트릭과 실험에 집계하지 않음
+ */
+@Service
+public class WorkloadService {
+
+    private final ErrorSimulationService errorSimulationService;
+    private final FeatureFlagService featureFlagService;
+    private final BusinessEventRecorder businessEventRecorder;
+
+    @Value("${info.app.version.type:default}")
+    private String versionType;
+
+    public WorkloadService(ErrorSimulationService errorSimulationService, FeatureFlagService featureFlagService,
+                           BusinessEventRecorder businessEventRecorder) {
+        this.errorSimulationService = errorSimulationService;
+        this.featureFlagService = featureFlagService;
+        this.businessEventRecorder = businessEventRecorder;
+    }
+
+    // ---- /api ----
+
+    public HelloResponse hello() {
+        return new HelloResponse(
+            "Hello from " + versionType + " version!",
+            LocalDateTime.now(),
+            versionType,
+            System.getProperty("HOSTNAME", "unknown")
+        );
+    }
+
+    /**
+     * /api/test 처리 지연 (0-99ms) - 기다리는 방식은 스택마다 다름
+     */
+    public int testDelayMillis() {
+        return ThreadLocalRandom.current().nextInt(100);
+    }
+
+    public TestResponse test() {
+        return new TestResponse("success", versionType, LocalDateTime.now(), ThreadLocalRandom.current().nextInt(100) + "ms");
+    }
+
+    public StatusMessageResponse errorSimulation() throws SimulatedErrorException {
+        errorSimulationService.simulateApiError();
+        return new StatusMessageResponse("success", versionType, "No error occurred", LocalDateTime.now());
+    }
+
+    public VersionResponse version() {
+        return new VersionResponse(versionType, LocalDateTime.now(), System.currentTimeMillis());
+    }
+
+    // ---- /api/business ----
+
+    /**
+     * 주문 시뮬레이션 - 버전별 성공률 (리팩토링 버전이 더 나은 성능)
+     */
+    public OrderResponse order(Map<String, Object> orderData, boolean recordMetrics) {
+        long startTime = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double successRate = "refactored".equals(versionType) ? 0.95 : 0.90;
+        boolean isSuccess = random.nextDouble() < successRate;
+        String orderId = UUID.randomUUID().toString();
+
+        OrderResponse response;
+        if (isSuccess) {
+            // 주문 성공 시 추가 정보 (처리 시간 500-1500ms)
+            response = OrderResponse.completed(orderId, versionType, orderData.getOrDefault("amount", 100.0),
+                                               random.nextInt(1000) + 500);
+        } else {
+            response = OrderResponse.failed(orderId, versionType, errorCode("ORDER_"));
+        }
+        if (recordMetrics) {
+            businessEventRecorder.record(BusinessEventType.ORDER, isSuccess);
+            businessEventRecorder.getCheckoutTime().record(Duration.ofNanos(System.nanoTime() - startTime));
+        }
+        return response;
+    }
+
+    /**
+     * 회원가입 시뮬레이션 - 리팩토링 버전에서 더 나은 회원가입 경험
+     */
+    public SignupResponse signup(Map<String, Object> signupData, boolean recordMetrics) {
+        double successRate = "refactored".equals(versionType) ? 0.92 : 0.85;
+        boolean isSuccess = ThreadLocalRandom.current().nextDouble() < successRate;
+        if (recordMetrics) {
+            businessEventRecorder.record(BusinessEventType.SIGNUP, isSuccess);
+        }
+
+        if (isSuccess) {
+            return SignupResponse.completed(
+                versionType, UUID.randomUUID().toString(), signupData.getOrDefault("email", "user@example.com"));
+        }
+        return SignupResponse.failed(versionType, errorCode("SIGNUP_"));
+    }
+
+    /**
+     * 로그인 시뮬레이션 - 기본 성공률 (버전별 차이 없음)
+     */
+    public LoginResponse login(Map<String, Object> loginData, boolean recordMetrics) {
+        boolean isSuccess = ThreadLocalRandom.current().nextDouble() < 0.88;
+        if (recordMetrics) {
+            businessEventRecorder.record(BusinessEventType.LOGIN, isSuccess);
+        }
+
+        if (isSuccess) {
+            return LoginResponse.completed(
+                versionType, UUID.randomUUID().toString(), loginData.getOrDefault("username", "testuser"));
+        }
+        return LoginResponse.failed(versionType, errorCode("AUTH_"));
+    }
+
+    /**
+     * 기능 플래그 평가 + 기능별 추가 설정 - 같은 사용자는 플래그 정의가 바뀌기 전까지 항상 같은 결과
+     */
+    public FeatureFlagResponse featureFlag(String featureName, String userGroup, String userId) {
+        // 버전/사용자 그룹/userId 버킷 규칙으로 평가
+        boolean featureEnabled = featureFlagService.isEnabled(featureName, userGroup, userId);
+
+        FeatureFlagResponse.FeatureConfig config = null;
+        if ("checkout_optimization".equals(featureName)) {
+            config = new FeatureFlagResponse.CheckoutConfig(
+                featureEnabled && "refactored".equals(versionType),
+                featureEnabled,
+                featureEnabled ? 3 : 1
+            );
+        } else if ("personalization".equals(featureName)) {
+            config = new FeatureFlagResponse.PersonalizationConfig(
+                featureEnabled,
+                featureEnabled && "premium".equals(userGroup),
+                featureEnabled && "refactored".equals(versionType)
+            );
+        }
+        return new FeatureFlagResponse(featureName, versionType, userGroup, userId, LocalDateTime.now(),
+                                       featureEnabled, config);
+    }
+
+    /**
+     * 여러 기능 플래그 일괄 평가 (names가 비어 있으면 전체)
+     */
+    public FeatureFlagsResponse featureFlags(List<String> names, String userGroup, String userId) {
+        return new FeatureFlagsResponse(versionType, userGroup, userId, LocalDateTime.now(),
+                                        featureFlagService.evaluate(names, userGroup, userId));
+    }
+
+    /**
+     * 이 인스턴스의 비즈니스 메트릭 요약
+     */
+    public Map<String, Object> metricsSummary() {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("version", versionType);
+        summary.put("orderConversionRate", conversionRate(BusinessEventType.ORDER));
+        summary.put("signupConversionRate", conversionRate(BusinessEventType.SIGNUP));
+        summary.put("loginSuccessRate", conversionRate(BusinessEventType.LOGIN));
+
+        summary.put("totalOrders", businessEventRecorder.getAttempts(BusinessEventType.ORDER));
+        summary.put("successfulOrders", businessEventRecorder.getSuccesses(BusinessEventType.ORDER));
+        summary.put("totalSignups", businessEventRecorder.getAttempts(BusinessEventType.SIGNUP));
+        summary.put("successfulSignups", businessEventRecorder.getSuccesses(BusinessEventType.SIGNUP));
+
+        summary.put("timestamp", LocalDateTime.now());
+        summary.put("date", LocalDate.now());
+        return summary;
+    }
+
+    private double conversionRate(BusinessEventType type) {
+        double attempts = businessEventRecorder.getAttempts(type);
+        return attempts > 0 ? (businessEventRecorder.getSuccesses(type) / attempts) * 100 : 0.0;
+    }
+
+    /**
+     * 실패 코드 (PREFIX_1 ~ PREFIX_3)
+     */
+    private static String errorCode(String prefix) {
+        return prefix + (ThreadLocalRandom.current().nextInt(3) + 1);
+    }
+}
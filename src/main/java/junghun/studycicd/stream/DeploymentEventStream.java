@@ -0,0 +1,179 @@
+package junghun.studycicd.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import junghun.studycicd.config.RolloutConfigSource;
+import junghun.studycicd.service.AutoDeploymentScheduler;
+import junghun.studycicd.service.DeploymentStateVersion;
+import junghun.studycicd.service.SliSloEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 배포 상태/SLI 이벤트 스트림 (Server-Sent Events)
+ * 구독자 수와 무관하게 하나의 발행자가 상태 변경과 새 SLI 스냅샷을 한 번씩 직렬화해 모든 구독자에게 전달
+ *
+ * - status: 배포 상태 버전(DeploymentStateVersion)이나 롤아웃 설정 버전이 바뀔 때
+ * - sli: 기본 구간(2m) 평가가 새로 끝났을 때 - 배포 스케줄러 등이 이미 평가한 결과를 재사용하고,
+ *        구독자가 있는데 최근 결과가 없을 때만 공유 평가를 한 번 실행
+ *
+ * 종류별로 최신 이벤트 하나만 보관(replay latest) - 새 구독자는 즉시 현재 상태를 받고,
+ * 느린 구독자는 발행자를 막지 않고 밀린 중간 값을 건너뛰어 최신 값을 받음
+ */
+@Service
+public class DeploymentEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentEventStream.class);
+
+    private final AutoDeploymentScheduler autoDeploymentScheduler;
+    private final SliSloEvaluator sliSloEvaluator;
+    private final DeploymentStateVersion stateVersion;
+    private final RolloutConfigSource rolloutConfigSource;
+    private final ObjectMapper objectMapper;
+
+    private final Sinks.Many<ServerSentEvent<String>> statusSink = Sinks.many().replay().latest();
+    private final Sinks.Many<ServerSentEvent<String>> sliSink = Sinks.many().replay().latest();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter statusEventCounter;
+    private final Counter sliEventCounter;
+
+    @Value("${deployment-stream.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${deployment-stream.sli-refresh-ms:15000}")
+    private Long sliRefreshMs;
+
+    @Value("${deployment-stream.heartbeat-seconds:15}")
+    private Long heartbeatSeconds;
+
+    // 이 엔드포인트만의 연결 수명 - 끝나면 스트림을 정상 종료하고 EventSource가 재연결 (재연결 시 최신 상태를 바로 받음)
+    @Value("${deployment-stream.max-connection-seconds:1800}")
+    private Long maxConnectionSeconds;
+
+    // 발행은 스케줄러 스레드 하나에서만 수행
+    private String lastStatusTag;
+    private SliSloEvaluator.SliSloResult lastPublishedSli;
+    private long eventId;
+
+    public DeploymentEventStream(AutoDeploymentScheduler autoDeploymentScheduler,
+                                 SliSloEvaluator sliSloEvaluator,
+                                 DeploymentStateVersion stateVersion,
+                                 RolloutConfigSource rolloutConfigSource,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.autoDeploymentScheduler = autoDeploymentScheduler;
+        this.sliSloEvaluator = sliSloEvaluator;
+        this.stateVersion = stateVersion;
+        this.rolloutConfigSource = rolloutConfigSource;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("deployment_stream_subscribers", subscribers, AtomicInteger::get)
+                .description("Dashboards currently subscribed to the deployment event stream")
+                .register(meterRegistry);
+        this.statusEventCounter = Counter.builder("deployment_stream_events_total")
+                .description("Events published to the deployment event stream")
+                .tag("type", "status")
+                .register(meterRegistry);
+        this.sliEventCounter = Counter.builder("deployment_stream_events_total")
+                .description("Events published to the deployment event stream")
+                .tag("type", "sli")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 구독 - 최신 status/sli 이벤트를 즉시 받은 뒤 이후 변경을 받음
+     * 주석 이벤트를 주기적으로 보내 프록시 유휴 타임아웃을 피하고 끊긴 연결을 감지
+     * 느린 구독자에게는 종류별 최신 이벤트만 남기고 밀린 heartbeat는 버림 (구독자별 버퍼가 쌓이지 않게)
+     */
+    public Flux<ServerSentEvent<String>> subscribe() {
+        Flux<ServerSentEvent<String>> heartbeat = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<String>builder().comment("keep-alive").build());
+
+        return Flux.merge(statusSink.asFlux().onBackpressureLatest(),
+                          sliSink.asFlux().onBackpressureLatest(),
+                          heartbeat)
+                .take(Duration.ofSeconds(maxConnectionSeconds))
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    /**
+     * 상태 버전/새 SLI 결과 확인 후 바뀐 것만 발행
+     */
+    @Scheduled(fixedDelayString = "${deployment-stream.poll-interval-ms:500}")
+    public void publishChanges() {
+        if (!enabled) {
+            return;
+        }
+
+        // 상태를 읽기 전에 버전을 먼저 읽어야 중간 변경을 놓치지 않음
+        String statusTag = stateVersion.etag("stream", rolloutConfigSource.current().getVersion());
+        if (!statusTag.equals(lastStatusTag)) {
+            lastStatusTag = statusTag;
+            if (emit(statusSink, "status", autoDeploymentScheduler.getAutoDeploymentStatus())) {
+                statusEventCounter.increment();
+            }
+        }
+
+        SliSloEvaluator.SliSloResult sli = sliSloEvaluator.getLastResult();
+        if (sli != null && sli != lastPublishedSli) {
+            lastPublishedSli = sli;
+            if (emit(sliSink, "sli", sli)) {
+                sliEventCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * 구독자가 있는데 최근 SLI 평가가 없으면 공유 평가 한 번 - 구독자가 몇 명이든 주기당 한 번
+     */
+    @Scheduled(fixedDelayString = "${deployment-stream.sli-refresh-ms:15000}")
+    public void refreshSli() {
+        if (!enabled || subscribers.get() == 0) {
+            return;
+        }
+        if (System.currentTimeMillis() - sliSloEvaluator.getLastResultAt() < sliRefreshMs) {
+            return;
+        }
+        sliSloEvaluator.evaluateCurrentState();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    private boolean emit(Sinks.Many<ServerSentEvent<String>> sink, String type, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize {} event: {}", type, e.getMessage());
+            return false;
+        }
+
+        ServerSentEvent<String> event = ServerSentEvent.<String>builder()
+                .id(Long.toString(++eventId))
+                .event(type)
+                .data(data)
+                .build();
+        Sinks.EmitResult result = sink.tryEmitNext(event);
+        if (result.isFailure()) {
+            logger.warn("Failed to publish {} event: {}", type, result);
+            return false;
+        }
+        return true;
+    }
+}
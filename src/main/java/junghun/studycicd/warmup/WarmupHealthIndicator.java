@@ -0,0 +1,33 @@
+package junghun.studycicd.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 워밍업 완료 여부 - readiness 그룹에 포함되어 워밍업 전에는 OUT_OF_SERVICE
+ */
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupRunner warmupRunner;
+
+    public WarmupHealthIndicator(WarmupRunner warmupRunner) {
+        this.warmupRunner = warmupRunner;
+    }
+
+    @Override
+    public Health health() {
+        WarmupRunner.WarmupStatus status = warmupRunner.getStatus();
+        Health.Builder builder = warmupRunner.isWarm() ? Health.up() : Health.outOfService();
+        builder.withDetail("state", status.getState())
+               .withDetail("rounds", status.getRounds());
+        if (status.getLastRoundCompileMs() != null) {
+            builder.withDetail("lastRoundCompileMs", status.getLastRoundCompileMs());
+        }
+        if (status.getLastRoundP95Ms() != null) {
+            builder.withDetail("lastRoundP95Ms", status.getLastRoundP95Ms());
+        }
+        return builder.build();
+    }
+}
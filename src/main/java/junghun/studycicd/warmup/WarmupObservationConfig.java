@@ -0,0 +1,32 @@
+package junghun.studycicd.warmup;
+
+import io.micrometer.observation.ObservationPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import junghun.studycicd.service.ShadowRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+@Configuration
+public class WarmupObservationConfig {
+
+    /**
+     * 워밍업 요청과 섀도(미러링) 요청은 http_server_requests 메트릭에 기록하지 않음 (카나리 SLI 오염 방지)
+     * 섀도 요청은 MetricsInterceptor/ReactiveRequestMetricsFilter가 shadow_requests_seconds에 따로 기록
+     */
+    @Bean
+    public ObservationPredicate skipWarmupRequestObservations(ShadowRequest shadowRequest) {
+        return (name, context) -> {
+            if (context instanceof ServerRequestObservationContext serverContext) {
+                HttpServletRequest request = serverContext.getCarrier();
+                return !WarmupRequest.isWarmup(request) && !shadowRequest.isShadow(request);
+            }
+            // reactive 프로파일 (WebFlux)
+            if (context instanceof org.springframework.http.server.reactive.observation.ServerRequestObservationContext reactiveContext) {
+                return !WarmupRequest.isWarmup(reactiveContext.getCarrier())
+                        && !shadowRequest.isShadow(reactiveContext.getCarrier());
+            }
+            return true;
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package junghun.studycicd.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 워밍업 요청 식별
+ * 워밍업 러너가 보낸 요청은 X-Warmup 헤더를 가지며 SLI/비즈니스 메트릭과 요청 로그에서 제외
+ * 헤더는 러너가 보내는 루프백 요청에서만 인정 - 외부 클라이언트가 헤더를 붙여 메트릭/동시성 한도를 우회하지 못하게
+ * (NGINX도 X-Warmup을 지워서 전달)
+ */
+public final class WarmupRequest {
+
+    public static final String HEADER = "X-Warmup";
+
+    // 판정 결과를 요청 속성에 캐시 (인터셉터/필터/컨트롤러에서 여러 번 확인)
+    private static final String ATTRIBUTE = WarmupRequest.class.getName() + ".WARMUP";
+
+    private WarmupRequest() {
+    }
+
+    public static boolean isWarmup(HttpServletRequest request) {
+        if (request == null) {
+            return false;
+        }
+        if (request.getAttribute(ATTRIBUTE) instanceof Boolean cached) {
+            return cached;
+        }
+        boolean warmup = request.getHeader(HEADER) != null && isLoopback(request.getRemoteAddr());
+        request.setAttribute(ATTRIBUTE, warmup);
+        return warmup;
+    }
+
+    public static boolean isWarmup(ServerHttpRequest request) {
+        if (request == null || request.getHeaders().getFirst(HEADER) == null) {
+            return false;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                && remoteAddress.getAddress().isLoopbackAddress();
+    }
+
+    /**
+     * 현재 스레드에서 처리 중인 요청이 워밍업 요청인지 확인
+     */
+    public static boolean isCurrent() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return isWarmup(attributes.getRequest());
+        }
+        return false;
+    }
+
+    /**
+     * getRemoteAddr()는 IP 리터럴이므로 DNS 조회 없이 문자열로 판정
+     */
+    static boolean isLoopback(String remoteAddr) {
+        if (remoteAddr == null) {
+            return false;
+        }
+        return remoteAddr.startsWith("127.")
+                || remoteAddr.equals("::1")
+                || remoteAddr.equals("0:0:0:0:0:0:0:1")
+                || remoteAddr.startsWith("::ffff:127.");
+    }
+}
@@ -0,0 +1,224 @@
+package junghun.studycicd.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * JIT 워밍업 러너
+ * 기동 직후 대표 요청을 자기 자신에게 반복 전송해 핫 경로를 컴파일시키고,
+ * 라운드당 JIT 컴파일 시간과 요청 지연이 안정되면 워밍업 완료로 표시 (readiness 그룹의 warmup 지표)
+ */
+@Component
+public class WarmupRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    @Value("${warmup.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${server.port:8080}")
+    private Integer serverPort;
+
+    // "METHOD path" 목록 - POST는 빈 JSON 본문으로 전송
+    @Value("${warmup.requests:GET /api/hello,GET /api/test,GET /api/version,GET /api/business/feature/new-checkout,GET /api/business/metrics/summary,POST /api/business/order,POST /api/business/signup,POST /api/business/login}")
+    private List<String> requests;
+
+    @Value("${warmup.iterations-per-round:50}")
+    private Integer iterationsPerRound;
+
+    @Value("${warmup.concurrency:4}")
+    private Integer concurrency;
+
+    @Value("${warmup.min-rounds:5}")
+    private Integer minRounds;
+
+    @Value("${warmup.stable-rounds:3}")
+    private Integer stableRounds;
+
+    // 라운드 동안 JIT 컴파일에 쓴 시간이 이 값 이하면 컴파일 활동이 가라앉은 것으로 판단
+    @Value("${warmup.max-compile-ms-per-round:50}")
+    private Long maxCompileMsPerRound;
+
+    // 직전 라운드 대비 p95 변화율이 이 값 이하면 지연이 안정된 것으로 판단
+    @Value("${warmup.latency-tolerance:0.15}")
+    private Double latencyTolerance;
+
+    @Value("${warmup.max-duration-seconds:180}")
+    private Long maxDurationSeconds;
+
+    private final WebClient webClient;
+    private volatile WarmupStatus status = new WarmupStatus("PENDING", 0, null, null, null, null);
+
+    public WarmupRunner() {
+        WebClient client;
+        try {
+            client = WebClient.builder().build();
+        } catch (Exception e) {
+            logger.warn("Failed to initialize WebClient, creating default client", e);
+            client = WebClient.create();
+        }
+        this.webClient = client;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmup() {
+        if (!enabled) {
+            status = new WarmupStatus("DISABLED", 0, null, null, LocalDateTime.now(), LocalDateTime.now());
+            return;
+        }
+        Thread thread = new Thread(this::runWarmup, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public WarmupStatus getStatus() {
+        return status;
+    }
+
+    public boolean isWarm() {
+        String state = status.getState();
+        return "WARM".equals(state) || "TIMED_OUT".equals(state) || "DISABLED".equals(state);
+    }
+
+    private void runWarmup() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        boolean compilationTimeSupported = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long deadline = System.nanoTime() + Duration.ofSeconds(maxDurationSeconds).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "jit-warmup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        logger.info("🔥 JIT warm-up started: {} requests x {} per round", requests.size(), iterationsPerRound);
+        try {
+            int round = 0;
+            int stable = 0;
+            Double previousP95 = null;
+
+            while (true) {
+                round++;
+                long compileBefore = compilationTimeSupported ? compilation.getTotalCompilationTime() : 0;
+                double p95 = runRound(executor);
+                long compileMs = compilationTimeSupported ? compilation.getTotalCompilationTime() - compileBefore : 0;
+
+                boolean compileSettled = compileMs <= maxCompileMsPerRound;
+                boolean latencySettled = previousP95 != null
+                        && Math.abs(p95 - previousP95) <= previousP95 * latencyTolerance;
+                stable = compileSettled && latencySettled ? stable + 1 : 0;
+                previousP95 = p95;
+
+                status = new WarmupStatus("WARMING", round, compileMs, p95, startedAt, null);
+                logger.debug("Warm-up round {}: compile={}ms p95={}ms stable={}/{}",
+                            round, compileMs, String.format("%.2f", p95), stable, stableRounds);
+
+                if (round >= minRounds && stable >= stableRounds) {
+                    status = new WarmupStatus("WARM", round, compileMs, p95, startedAt, LocalDateTime.now());
+                    logger.info("✅ JIT warm-up completed after {} rounds (compile={}ms, p95={}ms)",
+                               round, compileMs, String.format("%.2f", p95));
+                    return;
+                }
+                if (System.nanoTime() > deadline) {
+                    // 무한히 트래픽을 막지 않도록 최대 시간이 지나면 준비 완료로 전환
+                    status = new WarmupStatus("TIMED_OUT", round, compileMs, p95, startedAt, LocalDateTime.now());
+                    logger.warn("⏰ JIT warm-up did not settle within {}s - marking ready anyway", maxDurationSeconds);
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            status = new WarmupStatus("TIMED_OUT", status.getRounds(), null, null, startedAt, LocalDateTime.now());
+            logger.error("JIT warm-up failed - marking ready anyway", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 한 라운드 실행 후 요청 지연 p95(ms) 반환
+     */
+    private double runRound(ExecutorService executor) throws Exception {
+        List<Future<Double>> futures = new ArrayList<>();
+        for (int i = 0; i < iterationsPerRound; i++) {
+            for (String request : requests) {
+                futures.add(executor.submit(() -> send(request)));
+            }
+        }
+
+        List<Double> latencies = new ArrayList<>(futures.size());
+        for (Future<Double> future : futures) {
+            latencies.add(future.get());
+        }
+        Collections.sort(latencies);
+        return latencies.get((int) Math.ceil(latencies.size() * 0.95) - 1);
+    }
+
+    private double send(String request) {
+        String[] parts = request.trim().split("\\s+", 2);
+        HttpMethod method = parts.length == 2 ? HttpMethod.valueOf(parts[0]) : HttpMethod.GET;
+        String path = parts.length == 2 ? parts[1] : parts[0];
+
+        long startTime = System.nanoTime();
+        WebClient.RequestBodySpec spec = webClient.method(method)
+                .uri("http://localhost:" + serverPort + path)
+                .header(WarmupRequest.HEADER, "true");
+        WebClient.RequestHeadersSpec<?> headersSpec = HttpMethod.POST.equals(method)
+                ? spec.contentType(MediaType.APPLICATION_JSON).bodyValue("{}")
+                : spec;
+
+        // 에러 응답(시뮬레이션된 실패 포함)도 워밍업 대상이므로 상태 코드는 무시
+        headersSpec.exchangeToMono(response -> response.releaseBody())
+                .onErrorResume(e -> Mono.empty())
+                .block(Duration.ofSeconds(10));
+        return (System.nanoTime() - startTime) / 1_000_000.0;
+    }
+
+    /**
+     * 워밍업 진행 상태
+     */
+    public static class WarmupStatus {
+        private final String state; // PENDING, WARMING, WARM, TIMED_OUT, DISABLED
+        private final Integer rounds;
+        private final Long lastRoundCompileMs;
+        private final Double lastRoundP95Ms;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime completedAt;
+
+        public WarmupStatus(String state, Integer rounds, Long lastRoundCompileMs, Double lastRoundP95Ms,
+                            LocalDateTime startedAt, LocalDateTime completedAt) {
+            this.state = state;
+            this.rounds = rounds;
+            this.lastRoundCompileMs = lastRoundCompileMs;
+            this.lastRoundP95Ms = lastRoundP95Ms;
+            this.startedAt = startedAt;
+            this.completedAt = completedAt;
+        }
+
+        // Getters
+        public String getState() { return state; }
+        public Integer getRounds() { return rounds; }
+        public Long getLastRoundCompileMs() { return lastRoundCompileMs; }
+        public Double getLastRoundP95Ms() { return lastRoundP95Ms; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+    }
+}
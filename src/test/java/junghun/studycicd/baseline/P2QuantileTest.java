@@ -0,0 +1,122 @@
+package junghun.studycicd.baseline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class P2QuantileTest {
+
+    @Test
+    void emptyEstimateIsNaN() {
+        P2Quantile quantile = new P2Quantile(0.95);
+
+        assertTrue(Double.isNaN(quantile.estimate()));
+        assertEquals(0, quantile.getCount());
+    }
+
+    @Test
+    void fewerThanFiveObservationsAreExact() {
+        P2Quantile median = new P2Quantile(0.5);
+        median.add(30);
+        assertEquals(30, median.estimate());
+        median.add(10);
+        median.add(20);
+        assertEquals(20, median.estimate());
+
+        P2Quantile p99 = new P2Quantile(0.99);
+        p99.add(3);
+        p99.add(1);
+        p99.add(2);
+        p99.add(4);
+        assertEquals(4, p99.estimate());
+    }
+
+    @Test
+    void tracksQuantilesOfUniformData() {
+        Random random = new Random(1);
+        double[] samples = new double[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = random.nextDouble() * 1000;
+        }
+
+        for (double p : new double[] {0.5, 0.9, 0.95, 0.99}) {
+            double estimate = estimate(p, samples);
+            assertEquals(exact(p, samples), estimate, 10.0, "p" + p);
+        }
+    }
+
+    @Test
+    void tracksTailOfSkewedLatencies() {
+        // 지연 분포처럼 꼬리가 긴 로그정규 분포에서 p95/p99 상대 오차 3% 이내
+        Random random = new Random(2);
+        double[] samples = new double[50_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = Math.exp(Math.log(0.05) + 0.8 * random.nextGaussian());
+        }
+
+        for (double p : new double[] {0.95, 0.99}) {
+            double exact = exact(p, samples);
+            double estimate = estimate(p, samples);
+            assertEquals(exact, estimate, exact * 0.03, "p" + p);
+        }
+    }
+
+    @Test
+    void sortedInputStaysWithinObservedRange() {
+        P2Quantile quantile = new P2Quantile(0.95);
+        for (int i = 1; i <= 10_000; i++) {
+            quantile.add(i);
+        }
+
+        assertEquals(9500, quantile.estimate(), 100);
+        assertEquals(10_000, quantile.getCount());
+    }
+
+    @Test
+    void restoredStateContinuesLikeTheOriginal() {
+        Random random = new Random(3);
+        P2Quantile original = new P2Quantile(0.95);
+        for (int i = 0; i < 1000; i++) {
+            original.add(random.nextGaussian());
+        }
+
+        P2Quantile restored = new P2Quantile(0.95);
+        restored.restore(original.toState());
+        assertEquals(original.getCount(), restored.getCount());
+        assertEquals(original.estimate(), restored.estimate());
+
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextGaussian();
+            original.add(x);
+            restored.add(x);
+        }
+        assertEquals(original.estimate(), restored.estimate());
+    }
+
+    @Test
+    void restoreRejectsWrongStateSize() {
+        P2Quantile quantile = new P2Quantile(0.5);
+
+        assertThrows(IllegalArgumentException.class, () -> quantile.restore(new double[P2Quantile.STATE_SIZE - 1]));
+        assertThrows(IllegalArgumentException.class, () -> quantile.restore(null));
+    }
+
+    private static double estimate(double p, double[] samples) {
+        P2Quantile quantile = new P2Quantile(p);
+        for (double sample : samples) {
+            quantile.add(sample);
+        }
+        return quantile.estimate();
+    }
+
+    private static double exact(double p, double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(p * sorted.length) - 1];
+    }
+}
@@ -0,0 +1,83 @@
+package junghun.studycicd.baseline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlotStatsTest {
+
+    @Test
+    void quantileForgetsObservationsOlderThanTwoWindows() {
+        SlotStats stats = new SlotStats(0.5, 100);
+        for (int i = 0; i < 1000; i++) {
+            stats.add(10);
+        }
+        for (int i = 0; i < 200; i++) {
+            stats.add(50);
+        }
+
+        assertEquals(50, stats.getQuantile(), 1e-9);
+        assertEquals(200, stats.getCount());
+    }
+
+    @Test
+    void quantileBlendsCurrentAndPreviousWindowByCount() {
+        SlotStats stats = new SlotStats(0.5, 100);
+        for (int i = 0; i < 100; i++) {
+            stats.add(10);
+        }
+        for (int i = 0; i < 50; i++) {
+            stats.add(40);
+        }
+
+        // 직전 구간 100개(10)와 현재 구간 50개(40)의 개수 가중 평균
+        assertEquals((10 * 100 + 40 * 50) / 150.0, stats.getQuantile(), 1e-9);
+        assertEquals(150, stats.getCount());
+    }
+
+    @Test
+    void meanFollowsRecentValuesAfterMaxWeight() {
+        SlotStats stats = new SlotStats(0.95, 50);
+        for (int i = 0; i < 1000; i++) {
+            stats.add(1.0);
+        }
+        for (int i = 0; i < 500; i++) {
+            stats.add(3.0);
+        }
+
+        assertEquals(3.0, stats.getMean(), 0.01);
+    }
+
+    @Test
+    void stateRoundTrip() {
+        Random random = new Random(4);
+        SlotStats original = new SlotStats(0.95, 100);
+        for (int i = 0; i < 250; i++) {
+            original.add(random.nextGaussian());
+        }
+
+        SlotStats restored = new SlotStats(0.95, 100);
+        restored.restore(original.toState());
+        assertEquals(original.getCount(), restored.getCount());
+        assertEquals(original.getMean(), restored.getMean());
+        assertEquals(original.getStdDev(), restored.getStdDev());
+        assertEquals(original.getQuantile(), restored.getQuantile());
+
+        for (int i = 0; i < 100; i++) {
+            double x = random.nextGaussian();
+            original.add(x);
+            restored.add(x);
+        }
+        assertEquals(original.getQuantile(), restored.getQuantile());
+    }
+
+    @Test
+    void restoreRejectsOldStateLayout() {
+        SlotStats stats = new SlotStats(0.95, 100);
+
+        assertThrows(IllegalArgumentException.class, () -> stats.restore(new double[3 + P2Quantile.STATE_SIZE]));
+    }
+}
@@ -0,0 +1,154 @@
+package junghun.studycicd.business;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonLineReaderTest {
+
+    private static final String OVERFLOW = "<overflow>";
+
+    @Test
+    void emptyInputHasNoLines() throws IOException {
+        assertEquals(List.of(), readAll("", 100));
+    }
+
+    @Test
+    void splitsOnNewlineWithOrWithoutTrailingNewline() throws IOException {
+        assertEquals(List.of("a", "bc", "def"), readAll("a\nbc\ndef\n", 100));
+        assertEquals(List.of("a", "bc", "def"), readAll("a\nbc\ndef", 100));
+    }
+
+    @Test
+    void crlfLinesExcludeCarriageReturn() throws IOException {
+        assertEquals(List.of("{\"a\":1}", "{\"b\":2}", "last"), readAll("{\"a\":1}\r\n{\"b\":2}\r\nlast\r", 100));
+        // 줄 중간의 \r은 그대로 유지
+        assertEquals(List.of("a\rb"), readAll("a\rb\n", 100));
+    }
+
+    @Test
+    void blankLinesAreReportedAsBlank() throws IOException {
+        NdjsonLineReader reader = reader("\n  \t\n\r\nx\n", 100, Long.MAX_VALUE, 16 * 1024);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(reader.next());
+            assertTrue(reader.isBlank(), "line " + (i + 1));
+        }
+        assertTrue(reader.next());
+        assertFalse(reader.isBlank());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void lineAtTheLimitIsAcceptedWithLfOrCrlf() throws IOException {
+        String full = "x".repeat(10);
+
+        assertEquals(List.of(full, "y"), readAll(full + "\ny\n", 10));
+        assertEquals(List.of(full, "y"), readAll(full + "\r\ny\r\n", 10));
+        assertEquals(List.of(full), readAll(full, 10));
+        assertEquals(List.of(full), readAll(full + "\r", 10));
+    }
+
+    @Test
+    void lineOverTheLimitOverflowsAndReadingContinues() throws IOException {
+        String tooLong = "x".repeat(11);
+
+        assertEquals(List.of("a", OVERFLOW, "b"), readAll("a\n" + tooLong + "\nb\n", 10));
+        assertEquals(List.of("a", OVERFLOW, "b"), readAll("a\r\n" + tooLong + "\r\nb\r\n", 10));
+        assertEquals(List.of(OVERFLOW), readAll(tooLong, 10));
+        // 11바이트째가 \r이 아니면 CRLF 여유로 받은 바이트라도 초과
+        assertEquals(List.of(OVERFLOW), readAll("x".repeat(10) + "y\r", 10));
+    }
+
+    @Test
+    void overflowLineSpanningManyReadBuffersIsSkipped() throws IOException {
+        String huge = "{\"type\":\"order\",\"pad\":\"" + "p".repeat(100_000) + "\"}";
+        String body = "{\"first\":1}\n" + huge + "\n{\"last\":2}\n";
+
+        assertEquals(List.of("{\"first\":1}", OVERFLOW, "{\"last\":2}"), readAll(body, 4096));
+    }
+
+    @Test
+    void linesSplitAcrossReadsAreReassembled() throws IOException {
+        String body = "{\"type\":\"order\",\"success\":true}\r\n{\"type\":\"login\",\"success\":false}\n\nend";
+        List<String> expected = List.of("{\"type\":\"order\",\"success\":true}",
+                                        "{\"type\":\"login\",\"success\":false}", "", "end");
+
+        for (int chunk = 1; chunk <= 7; chunk++) {
+            assertEquals(expected, readAll(reader(body, 4096, Long.MAX_VALUE, chunk)), "chunk " + chunk);
+        }
+    }
+
+    @Test
+    void growsLineBufferForLongLines() throws IOException {
+        String longLine = "z".repeat(3000);
+
+        assertEquals(List.of(longLine, "short", longLine), readAll(longLine + "\nshort\n" + longLine, 4096));
+    }
+
+    @Test
+    void bodyOverTotalLimitFails() throws IOException {
+        NdjsonLineReader reader = reader("a\n".repeat(100), 100, 50, 16 * 1024);
+
+        assertThrows(NdjsonLineReader.BodyTooLargeException.class, () -> {
+            while (reader.next()) {
+                // 한도를 넘을 때까지 읽음
+            }
+        });
+    }
+
+    @Test
+    void bodyAtTotalLimitIsRead() throws IOException {
+        assertEquals(25, readAll(reader("a\n".repeat(25), 100, 50, 16 * 1024)).size());
+    }
+
+    private static List<String> readAll(String body, int maxLineBytes) throws IOException {
+        return readAll(reader(body, maxLineBytes, Long.MAX_VALUE, 16 * 1024));
+    }
+
+    private static List<String> readAll(NdjsonLineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        while (reader.next()) {
+            lines.add(reader.isOverflow() ? OVERFLOW
+                : new String(reader.line(), 0, reader.length(), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    private static NdjsonLineReader reader(String body, int maxLineBytes, long maxTotalBytes, int chunkSize) {
+        return new NdjsonLineReader(new ChunkedInputStream(body.getBytes(StandardCharsets.UTF_8), chunkSize),
+                                    maxLineBytes, maxTotalBytes);
+    }
+
+    /**
+     * 한 번에 최대 chunkSize 바이트만 돌려주는 스트림 (네트워크에서 나눠 도착하는 본문)
+     */
+    private static final class ChunkedInputStream extends FilterInputStream {
+        private final int chunkSize;
+
+        ChunkedInputStream(byte[] bytes, int chunkSize) {
+            super(new ByteArrayInputStream(bytes));
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, chunkSize));
+        }
+
+        @Override
+        public int read(byte[] b) throws IOException {
+            return read(b, 0, b.length);
+        }
+    }
+}
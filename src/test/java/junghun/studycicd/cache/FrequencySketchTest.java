@@ -0,0 +1,72 @@
+package junghun.studycicd.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void unseenKeyHasZeroFrequency() {
+        FrequencySketch sketch = new FrequencySketch(100);
+
+        assertEquals(0, sketch.frequency("missing"));
+    }
+
+    @Test
+    void countsUpToFifteen() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 1; i <= 15; i++) {
+            sketch.increment("key");
+            assertEquals(i, sketch.frequency("key"));
+        }
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("key");
+        }
+
+        assertEquals(15, sketch.frequency("key"));
+    }
+
+    @Test
+    void neverUnderestimatesBeforeAging() {
+        // sampleSize = 10 x 1000 - 이 테스트의 추가 횟수로는 절반 감소가 일어나지 않음
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int key = 0; key < 500; key++) {
+            for (int i = 0; i <= key % 10; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        for (int key = 0; key < 500; key++) {
+            assertTrue(sketch.frequency(key) >= key % 10 + 1, "key " + key);
+        }
+    }
+
+    @Test
+    void halvesCountersAfterSampleSizeAdditions() {
+        // maximumSize 10 -> sampleSize 100
+        FrequencySketch sketch = new FrequencySketch(10);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(8, sketch.frequency("hot"));
+
+        for (int key = 0; key < 92; key++) {
+            sketch.increment(key);
+        }
+
+        assertEquals(4, sketch.frequency("hot"));
+    }
+
+    @Test
+    void saturatedIncrementsDoNotAdvanceAging() {
+        FrequencySketch sketch = new FrequencySketch(10);
+        for (int i = 0; i < 1000; i++) {
+            sketch.increment("hot");
+        }
+
+        // 15에서 멈춘 뒤의 증가는 추가 횟수에 들어가지 않으므로 감소가 일어나지 않음
+        assertEquals(15, sketch.frequency("hot"));
+    }
+}
@@ -0,0 +1,111 @@
+package junghun.studycicd.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void getReturnsWhatWasPut() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, 1, value -> { });
+
+        assertNull(cache.get("a"));
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+
+        cache.put("a", "2");
+        assertEquals("2", cache.get("a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidateRemovesFromEverySegment() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(10, 10, value -> { });
+        for (int key = 0; key < 10; key++) {
+            cache.put(key, key);
+        }
+        // 일부는 probation에서 조회되어 protected로 승격
+        cache.get(0);
+        cache.get(1);
+
+        for (int key = 0; key < 10; key++) {
+            cache.invalidate(key);
+        }
+
+        assertEquals(0, cache.size());
+        for (int key = 0; key < 10; key++) {
+            assertNull(cache.get(key));
+        }
+    }
+
+    @Test
+    void sizeStaysBoundedAndEveryEvictionIsReported() {
+        List<Integer> evicted = new ArrayList<>();
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(50, 1, evicted::add);
+        int inserted = 0;
+        for (int key = 0; key < 5000; key++) {
+            if (cache.get(key % 700) == null) {
+                cache.put(key % 700, key % 700);
+                inserted++;
+            }
+            assertTrue(cache.size() <= 50);
+        }
+
+        assertEquals(50, cache.size());
+        assertEquals(inserted - cache.size(), evicted.size());
+    }
+
+    @Test
+    void frequentlyUsedEntriesSurviveAScan() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, 1, value -> { });
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 50; key++) {
+                String hot = "hot-" + key;
+                if (cache.get(hot) == null) {
+                    cache.put(hot, hot);
+                }
+            }
+        }
+
+        // 한 번씩만 쓰이는 키가 캐시 크기의 100배 지나가는 동안 인기 키도 계속 조회됨
+        // (조회가 끊긴 키는 스케치 감소로 빈도가 0이 되어 밀려나는 것이 정상)
+        for (int key = 0; key < 10_000; key++) {
+            String scan = "scan-" + key;
+            if (cache.get(scan) == null) {
+                cache.put(scan, scan);
+            }
+            // 인기 키마다 100번에 한 번 - 그 사이 150개 키가 지나가므로 LRU였다면 모두 밀려남
+            if (key % 2 == 0) {
+                cache.get("hot-" + (key / 2) % 50);
+            }
+        }
+
+        for (int key = 0; key < 50; key++) {
+            assertEquals("hot-" + key, cache.get("hot-" + key), "hot-" + key);
+        }
+    }
+
+    @Test
+    void smallestCacheStillWorks() {
+        List<String> evicted = new ArrayList<>();
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(2, 1, evicted::add);
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.put("c", "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, evicted.size());
+    }
+
+    @Test
+    void rejectsMaximumSizeBelowTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<String, String>(1, 1, value -> { }));
+    }
+}
@@ -0,0 +1,179 @@
+package junghun.studycicd.featureflag;
+
+import junghun.studycicd.dto.FeatureFlagRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeatureFlagTableTest {
+
+    private static final int USERS = 100_000;
+
+    @Test
+    void unknownFlagIsOff() {
+        FeatureFlagTable table = FeatureFlagTable.compile(List.of(flag("known", true, true)), "legacy");
+
+        assertFalse(table.isEnabled("unknown", null, "user-1"));
+        assertTrue(table.contains("known"));
+        assertFalse(table.contains("unknown"));
+        assertFalse(FeatureFlagTable.EMPTY.isEnabled("known", null, "user-1"));
+    }
+
+    @Test
+    void namesAreSorted() {
+        FeatureFlagTable table = FeatureFlagTable.compile(
+            List.of(flag("b", true, false), flag("c", true, false), flag("a", true, false)), "legacy");
+
+        assertEquals(List.of("a", "b", "c"), List.copyOf(table.names()));
+    }
+
+    @Test
+    void disabledFlagIsOffWhateverItsRules() {
+        FeatureFlagTable table = FeatureFlagTable.compile(
+            List.of(flag("off", false, true, rule(100.0, true, null, null))), "legacy");
+
+        assertFalse(table.isEnabled("off", "beta", "user-1"));
+    }
+
+    @Test
+    void zeroPercentRuleNeverApplies() {
+        FeatureFlagTable table = FeatureFlagTable.compile(
+            List.of(flag("zero", true, false, rule(0.0, true, null, null))), "legacy");
+
+        assertEquals(0, enabledUsers(table, "zero", null));
+    }
+
+    @Test
+    void hundredPercentRuleAppliesToEveryone() {
+        FeatureFlagTable table = FeatureFlagTable.compile(
+            List.of(flag("all", true, false, rule(100.0, true, null, null), rule(100.0, false, null, null))),
+            "legacy");
+
+        assertEquals(USERS, enabledUsers(table, "all", null));
+        assertTrue(table.isEnabled("all", null, null));
+    }
+
+    @Test
+    void hundredPercentRuleForAGroupAppliesToEveryoneInIt() {
+        FeatureFlagTable table = FeatureFlagTable.compile(
+            List.of(flag("beta", true, false, rule(100.0, true, List.of("beta"), null))), "legacy");
+
+        assertEquals(USERS, enabledUsers(table, "beta", "beta"));
+        assertEquals(0, enabledUsers(table, "beta", "general"));
+        assertEquals(0, enabledUsers(table, "beta", null));
+    }
+
+    @Test
+    void percentageSelectsThatShareOfUsers() {
+        for (double percentage : new double[] {0.01, 1.0, 25.0, 50.0, 99.99}) {
+            FeatureFlagTable table = FeatureFlagTable.compile(
+                List.of(flag("rollout", true, false, rule(percentage, true, null, null))), "legacy");
+
+            double share = 100.0 * enabledUsers(table, "rollout", null) / USERS;
+            assertEquals(percentage, share, 0.5, "percentage " + percentage);
+        }
+    }
+
+    @Test
+    void raisingPercentageKeepsExistingUsers() {
+        FeatureFlagTable ten = FeatureFlagTable.compile(
+            List.of(flag("rollout", true, false, rule(10.0, true, null, null))), "legacy");
+        FeatureFlagTable thirty = FeatureFlagTable.compile(
+            List.of(flag("rollout", true, false, rule(30.0, true, null, null))), "legacy");
+
+        for (int user = 0; user < USERS; user++) {
+            if (ten.isEnabled("rollout", null, "user-" + user)) {
+                assertTrue(thirty.isEnabled("rollout", null, "user-" + user), "user-" + user);
+            }
+        }
+    }
+
+    @Test
+    void differentFlagsSelectIndependentUsers() {
+        FeatureFlagTable table = FeatureFlagTable.compile(List.of(
+            flag("first", true, false, rule(10.0, true, null, null)),
+            flag("second", true, false, rule(10.0, true, null, null))), "legacy");
+
+        int both = 0;
+        for (int user = 0; user < USERS; user++) {
+            String userId = "user-" + user;
+            if (table.isEnabled("first", null, userId) && table.isEnabled("second", null, userId)) {
+                both++;
+            }
+        }
+        // 독립이면 약 1% (같은 버킷을 쓰면 10%)
+        assertEquals(1.0, 100.0 * both / USERS, 0.3);
+    }
+
+    @Test
+    void versionRulesAreResolvedAtCompileTime() {
+        List<FeatureFlag> definitions = List.of(
+            flag("checkout", true, false, rule(100.0, true, null, List.of("refactored"))));
+
+        assertTrue(FeatureFlagTable.compile(definitions, "refactored").isEnabled("checkout", null, "user-1"));
+        assertFalse(FeatureFlagTable.compile(definitions, "legacy").isEnabled("checkout", null, "user-1"));
+    }
+
+    @Test
+    void firstMatchingRuleWins() {
+        FeatureFlagTable table = FeatureFlagTable.compile(List.of(flag("ordered", true, true,
+            rule(100.0, false, List.of("internal"), null),
+            rule(100.0, true, List.of("internal", "beta"), null))), "legacy");
+
+        assertFalse(table.isEnabled("ordered", "internal", "user-1"));
+        assertTrue(table.isEnabled("ordered", "beta", "user-1"));
+        // 어느 규칙에도 맞지 않으면 기본값
+        assertTrue(table.isEnabled("ordered", "general", "user-1"));
+    }
+
+    @Test
+    void bucketIsStableAndInRange() {
+        int[] counts = new int[10];
+        for (int user = 0; user < USERS; user++) {
+            int bucket = FeatureFlagTable.bucket(42, "user-" + user);
+            assertTrue(bucket >= 0 && bucket < 10_000);
+            assertEquals(bucket, FeatureFlagTable.bucket(42, "user-" + user));
+            counts[bucket / 1000]++;
+        }
+        assertEquals(FeatureFlagTable.bucket(7, null), FeatureFlagTable.bucket(7, null));
+
+        // 버킷 1000개 단위 구간마다 약 10%
+        for (int count : counts) {
+            assertEquals(USERS / 10.0, count, USERS * 0.01, Arrays.toString(counts));
+        }
+    }
+
+    private static int enabledUsers(FeatureFlagTable table, String name, String userGroup) {
+        int enabled = 0;
+        for (int user = 0; user < USERS; user++) {
+            if (table.isEnabled(name, userGroup, "user-" + user)) {
+                enabled++;
+            }
+        }
+        return enabled;
+    }
+
+    private static FeatureFlag flag(String name, boolean enabled, boolean defaultValue,
+                                    FeatureFlagRequest.Rule... rules) {
+        FeatureFlagRequest request = new FeatureFlagRequest();
+        request.setEnabled(enabled);
+        request.setDefaultValue(defaultValue);
+        request.setRules(List.of(rules));
+        return new FeatureFlag(name, request);
+    }
+
+    private static FeatureFlagRequest.Rule rule(double percentage, boolean value, List<String> userGroups,
+                                                List<String> versions) {
+        FeatureFlagRequest.Rule rule = new FeatureFlagRequest.Rule();
+        rule.setPercentage(percentage);
+        rule.setValue(value);
+        rule.setUserGroups(userGroups);
+        rule.setVersions(versions);
+        return rule;
+    }
+}
@@ -0,0 +1,74 @@
+package junghun.studycicd.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitBufferTest {
+
+    @Test
+    void readsBackEveryWidthAcrossWordBoundaries() {
+        BitBuffer buffer = new BitBuffer(1);
+        long[] values = new long[65];
+        Random random = new Random(42);
+        for (int count = 0; count <= 64; count++) {
+            values[count] = random.nextLong();
+            buffer.writeBits(values[count], count);
+        }
+        assertEquals(64 * 65 / 2, buffer.bitLength());
+
+        BitBuffer.Reader reader = buffer.reader();
+        for (int count = 0; count <= 64; count++) {
+            long expected = count == 64 ? values[count] : values[count] & ((1L << count) - 1);
+            assertEquals(expected, reader.readBits(count), "width " + count);
+        }
+        assertFalse(reader.hasMore());
+    }
+
+    @Test
+    void keepsSingleBitsInOrder() {
+        BitBuffer buffer = new BitBuffer(1);
+        boolean[] bits = new boolean[200];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = i % 3 == 0;
+            buffer.writeBit(bits[i]);
+        }
+
+        BitBuffer.Reader reader = buffer.reader();
+        for (int i = 0; i < bits.length; i++) {
+            assertTrue(reader.hasMore());
+            assertEquals(bits[i], reader.readBit(), "bit " + i);
+        }
+        assertFalse(reader.hasMore());
+    }
+
+    @Test
+    void masksHighBitsOfNegativeValues() {
+        BitBuffer buffer = new BitBuffer(1);
+        buffer.writeBits(-1L, 3);
+        buffer.writeBits(-1L, 64);
+        buffer.writeBits(0L, 5);
+
+        BitBuffer.Reader reader = buffer.reader();
+        assertEquals(0b111, reader.readBits(3));
+        assertEquals(-1L, reader.readBits(64));
+        assertEquals(0L, reader.readBits(5));
+    }
+
+    @Test
+    void trimKeepsWrittenBits() {
+        BitBuffer buffer = new BitBuffer(16);
+        buffer.writeBits(0x1234_5678_9ABC_DEF0L, 64);
+        buffer.writeBits(0b101, 3);
+        buffer.trim();
+
+        assertEquals(2 * Long.BYTES, buffer.sizeInBytes());
+        BitBuffer.Reader reader = buffer.reader();
+        assertEquals(0x1234_5678_9ABC_DEF0L, reader.readBits(64));
+        assertEquals(0b101, reader.readBits(3));
+    }
+}
@@ -0,0 +1,122 @@
+package junghun.studycicd.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GorillaChunkTest {
+
+    @Test
+    void singlePointRoundTrip() {
+        GorillaChunk chunk = new GorillaChunk(1_700_000_000_000L, 12.5);
+
+        assertRoundTrip(chunk, new long[] {1_700_000_000_000L}, new double[] {12.5});
+        assertEquals(1, chunk.getCount());
+        assertEquals(128, chunk.bitLength());
+    }
+
+    @Test
+    void regularIntervalAndUnchangedValueTakeTwoBitsPerPoint() {
+        long start = 1_700_000_000_000L;
+        int points = 1000;
+        long[] timestamps = new long[points];
+        double[] values = new double[points];
+        for (int i = 0; i < points; i++) {
+            timestamps[i] = start + i * 15_000L;
+            values[i] = 99.9;
+        }
+        GorillaChunk chunk = build(timestamps, values);
+
+        assertRoundTrip(chunk, timestamps, values);
+        // 두 번째 점은 delta가 처음 나오므로 delta-of-delta가 0이 아님, 이후는 timestamp 1비트 + 값 1비트
+        int secondPointMaxBits = 5 + 32 + 1;
+        assertTrue(chunk.bitLength() <= 128 + secondPointMaxBits + (points - 2) * 2, "bits " + chunk.bitLength());
+    }
+
+    @Test
+    void deltaOfDeltaBoundariesRoundTrip() {
+        long[] deltaOfDeltas = {0, 1, -1, 63, -64, 64, -65, 255, -256, 256, -257, 2047, -2048, 2048, -2049,
+                                Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L};
+        List<Long> timestamps = new ArrayList<>();
+        long timestamp = 1_000_000_000_000L;
+        long delta = 10_000_000_000L;
+        timestamps.add(timestamp);
+        timestamp += delta;
+        timestamps.add(timestamp);
+        for (long deltaOfDelta : deltaOfDeltas) {
+            delta += deltaOfDelta;
+            timestamp += delta;
+            timestamps.add(timestamp);
+        }
+
+        long[] expectedTimestamps = timestamps.stream().mapToLong(Long::longValue).toArray();
+        double[] values = new double[expectedTimestamps.length];
+        GorillaChunk chunk = build(expectedTimestamps, values);
+
+        assertRoundTrip(chunk, expectedTimestamps, values);
+    }
+
+    @Test
+    void specialAndRandomValuesRoundTripBitExact() {
+        double[] special = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                            Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, Double.MIN_NORMAL, 1.0, 1.0,
+                            Double.longBitsToDouble(1L), Double.longBitsToDouble(Long.MIN_VALUE | 1L), 0.1, 0.2};
+        Random random = new Random(7);
+        int points = special.length + 500;
+        long[] timestamps = new long[points];
+        double[] values = new double[points];
+        for (int i = 0; i < points; i++) {
+            timestamps[i] = 1_700_000_000_000L + i * 1000L + random.nextInt(5);
+            if (i < special.length) {
+                values[i] = special[i];
+            } else if (i % 2 == 0) {
+                values[i] = Double.longBitsToDouble(random.nextLong());
+            } else {
+                // 비슷한 값이 이어지는 SLI 형태 - 이전 블록 재사용 경로
+                values[i] = 0.25 + random.nextGaussian() * 0.001;
+            }
+        }
+        GorillaChunk chunk = build(timestamps, values);
+
+        assertRoundTrip(chunk, timestamps, values);
+    }
+
+    @Test
+    void closedChunkStillDecodes() {
+        long[] timestamps = {1000, 2000, 3000, 4100};
+        double[] values = {1.5, 1.5, 2.5, -3.0};
+        GorillaChunk chunk = build(timestamps, values);
+        chunk.close();
+
+        assertTrue(chunk.isClosed());
+        assertTrue(chunk.sizeInBytes() * 8 >= chunk.bitLength());
+        assertTrue(chunk.sizeInBytes() * 8 < chunk.bitLength() + 64);
+        assertRoundTrip(chunk, timestamps, values);
+        assertEquals(1000, chunk.getFirstTimestamp());
+        assertEquals(4100, chunk.getLastTimestamp());
+    }
+
+    private static GorillaChunk build(long[] timestamps, double[] values) {
+        GorillaChunk chunk = new GorillaChunk(timestamps[0], values[0]);
+        for (int i = 1; i < timestamps.length; i++) {
+            chunk.append(timestamps[i], values[i]);
+        }
+        return chunk;
+    }
+
+    private static void assertRoundTrip(GorillaChunk chunk, long[] timestamps, double[] values) {
+        List<long[]> decoded = new ArrayList<>();
+        chunk.forEach((timestamp, value) -> decoded.add(new long[] {timestamp, Double.doubleToRawLongBits(value)}));
+
+        assertEquals(timestamps.length, decoded.size());
+        for (int i = 0; i < timestamps.length; i++) {
+            assertEquals(timestamps[i], decoded.get(i)[0], "timestamp " + i);
+            assertEquals(Double.doubleToRawLongBits(values[i]), decoded.get(i)[1], "value " + i);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package junghun.studycicd.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ErrorTypeAliasTableTest {
+
+    private static final int TYPES = ErrorType.values().length;
+
+    @Test
+    void tableReproducesWeightsExactly() {
+        assertProbabilities(new int[] {30, 20, 15, 10, 10, 8, 5, 2});
+        assertProbabilities(new int[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertProbabilities(new int[] {1, 1, 1, 1, 1, 1, 1, 1000});
+        assertProbabilities(new int[] {7, 0, 0, 3, 0, 0, 0, 0});
+    }
+
+    @Test
+    void singleNonZeroWeightAlwaysWins() {
+        int[] weights = new int[TYPES];
+        weights[ErrorType.TIMEOUT.ordinal()] = 5;
+        ErrorTypeAliasTable table = new ErrorTypeAliasTable(weights, 1);
+
+        assertEquals(1.0, table.probability(ErrorType.TIMEOUT), 1e-12);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ErrorType.TIMEOUT, table.sample(ThreadLocalRandom.current()));
+        }
+    }
+
+    @Test
+    void allZeroWeightsSelectUniformly() {
+        ErrorTypeAliasTable table = new ErrorTypeAliasTable(new int[TYPES], 1);
+
+        for (ErrorType type : ErrorType.values()) {
+            assertEquals(1.0 / TYPES, table.probability(type), 1e-12, type.name());
+        }
+    }
+
+    @Test
+    void largeWeightsDoNotOverflow() {
+        int[] weights = new int[TYPES];
+        weights[0] = Integer.MAX_VALUE;
+        weights[1] = Integer.MAX_VALUE;
+        weights[2] = 1;
+
+        assertProbabilities(weights);
+    }
+
+    @Test
+    void zeroWeightTypeIsNeverSampled() {
+        int[] weights = {10, 0, 10, 10, 10, 10, 10, 10};
+        ErrorTypeAliasTable table = new ErrorTypeAliasTable(weights, 1);
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(table.sample(ThreadLocalRandom.current()) != ErrorType.BAD_REQUEST);
+        }
+    }
+
+    @Test
+    void sampledFrequenciesMatchWeights() {
+        int[] weights = {30, 20, 15, 10, 10, 8, 5, 2};
+        ErrorTypeAliasTable table = new ErrorTypeAliasTable(weights, 1);
+        int samples = 400_000;
+        int[] counts = new int[TYPES];
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(ThreadLocalRandom.current()).ordinal()]++;
+        }
+
+        // 표준편차의 6배 이내 (가장 큰 경우 약 0.0043)
+        for (int i = 0; i < TYPES; i++) {
+            double expected = weights[i] / 100.0;
+            double tolerance = 6 * Math.sqrt(expected * (1 - expected) / samples);
+            assertEquals(expected, (double) counts[i] / samples, tolerance, ErrorType.values()[i].name());
+        }
+    }
+
+    @Test
+    void rejectsWrongNumberOfWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new ErrorTypeAliasTable(new int[TYPES - 1], 1));
+        assertThrows(IllegalArgumentException.class, () -> new ErrorTypeAliasTable(new int[TYPES + 1], 1));
+    }
+
+    @Test
+    void keepsWeightsVersion() {
+        assertEquals(42, new ErrorTypeAliasTable(new int[TYPES], 42).getWeightsVersion());
+    }
+
+    private static void assertProbabilities(int[] weights) {
+        ErrorTypeAliasTable table = new ErrorTypeAliasTable(weights, 1);
+        long total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        double sum = 0;
+        for (ErrorType type : ErrorType.values()) {
+            double probability = table.probability(type);
+            assertEquals((double) weights[type.ordinal()] / total, probability, 1e-9, type.name());
+            sum += probability;
+        }
+        assertEquals(1.0, sum, 1e-9);
+    }
+}
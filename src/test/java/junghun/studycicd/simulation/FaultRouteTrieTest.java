@@ -0,0 +1,134 @@
+package junghun.studycicd.simulation;
+
+import junghun.studycicd.dto.FaultRuleRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FaultRouteTrieTest {
+
+    @Test
+    void emptyTrieMatchesNothing() {
+        assertTrue(FaultRouteTrie.EMPTY.isEmpty());
+        assertTrue(FaultRouteTrie.EMPTY.match("/api/hello").isEmpty());
+    }
+
+    @Test
+    void exactPatternMatchesOnlyThatPath() {
+        FaultRule hello = rule(1, "/api/hello");
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(hello));
+
+        assertEquals(List.of(hello), trie.match("/api/hello"));
+        assertTrue(trie.match("/api").isEmpty());
+        assertTrue(trie.match("/api/hello/more").isEmpty());
+        assertTrue(trie.match("/api/hellox").isEmpty());
+        assertTrue(trie.match("/").isEmpty());
+    }
+
+    @Test
+    void singleWildcardMatchesExactlyOneSegment() {
+        FaultRule business = rule(1, "/api/business/*");
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(business));
+
+        assertEquals(List.of(business), trie.match("/api/business/order"));
+        assertEquals(List.of(business), trie.match("/api/business/login"));
+        assertTrue(trie.match("/api/business").isEmpty());
+        assertTrue(trie.match("/api/business/order/items").isEmpty());
+    }
+
+    @Test
+    void doubleWildcardMatchesPrefixAndEverythingBelow() {
+        FaultRule api = rule(1, "/api/**");
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(api));
+
+        assertEquals(List.of(api), trie.match("/api"));
+        assertEquals(List.of(api), trie.match("/api/hello"));
+        assertEquals(List.of(api), trie.match("/api/business/order/items"));
+        assertTrue(trie.match("/apix").isEmpty());
+        assertTrue(trie.match("/health").isEmpty());
+        assertTrue(trie.match("/").isEmpty());
+    }
+
+    @Test
+    void rootDoubleWildcardMatchesEveryPath() {
+        FaultRule all = rule(1, "/**");
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(all));
+
+        assertEquals(List.of(all), trie.match("/"));
+        assertEquals(List.of(all), trie.match(""));
+        assertEquals(List.of(all), trie.match("/health"));
+        assertEquals(List.of(all), trie.match("/api/business/order"));
+    }
+
+    @Test
+    void wildcardFollowedByDoubleWildcardNeedsOneSegment() {
+        FaultRule rule = rule(1, "/api/*/**");
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(rule));
+
+        assertTrue(trie.match("/api").isEmpty());
+        assertEquals(List.of(rule), trie.match("/api/business"));
+        assertEquals(List.of(rule), trie.match("/api/business/order/items"));
+    }
+
+    @Test
+    void extraSlashesAreIgnored() {
+        FaultRule hello = rule(1, "/api/hello");
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(hello));
+
+        assertEquals(List.of(hello), trie.match("/api/hello/"));
+        assertEquals(List.of(hello), trie.match("//api//hello"));
+
+        FaultRule trailing = rule(2, "/api/hello/");
+        assertEquals(List.of(trailing), new FaultRouteTrie(List.of(trailing)).match("/api/hello"));
+    }
+
+    @Test
+    void overlappingPatternsReturnAllInRegistrationOrder() {
+        FaultRule all = rule(1, "/**");
+        FaultRule api = rule(2, "/api/**");
+        FaultRule wildcard = rule(3, "/api/*/order");
+        FaultRule exact = rule(4, "/api/business/order");
+        FaultRule other = rule(5, "/api/business/login");
+        // 트라이에 넣는 순서와 관계없이 등록 순서(sequence)로 반환
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(other, exact, wildcard, api, all));
+
+        assertEquals(List.of(all, api, wildcard, exact), trie.match("/api/business/order"));
+        assertEquals(List.of(all, api, other), trie.match("/api/business/login"));
+        assertEquals(List.of(all), trie.match("/health"));
+    }
+
+    @Test
+    void samePatternKeepsEveryRule() {
+        FaultRule first = rule(1, "/api/hello");
+        FaultRule second = rule(2, "/api/hello");
+        FaultRouteTrie trie = new FaultRouteTrie(List.of(second, first));
+
+        assertEquals(List.of(first, second), trie.match("/api/hello"));
+    }
+
+    @Test
+    void validatePatternRejectsUnsupportedPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> FaultRouteTrie.validatePattern(null));
+        assertThrows(IllegalArgumentException.class, () -> FaultRouteTrie.validatePattern("api/hello"));
+        assertThrows(IllegalArgumentException.class, () -> FaultRouteTrie.validatePattern("/api/**/hello"));
+        assertThrows(IllegalArgumentException.class, () -> FaultRouteTrie.validatePattern("/api/hel*"));
+        assertThrows(IllegalArgumentException.class, () -> FaultRouteTrie.validatePattern("/api/***"));
+
+        FaultRouteTrie.validatePattern("/");
+        FaultRouteTrie.validatePattern("/**");
+        FaultRouteTrie.validatePattern("/api/*/order");
+        FaultRouteTrie.validatePattern("/api/*/**");
+    }
+
+    private static FaultRule rule(long sequence, String path) {
+        FaultRuleRequest request = new FaultRuleRequest();
+        request.setMode(FaultMode.LATENCY);
+        request.setPath(path);
+        request.setLatencyMs(10L);
+        return new FaultRule("rule-" + sequence, sequence, request);
+    }
+}